@@ -0,0 +1,146 @@
+package com.iflash.gatewayservice.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves identical {@code GET} requests of a route from one backend response for {@code ttl}. Requests arriving while
+ * that response is still on its way wait for it instead of reaching the backend, so a polling storm costs one backend
+ * call per path and {@code ttl}. Only {@code 200} responses are kept, after any other response every waiting request
+ * calls the backend itself.
+ */
+@Component
+public class MicroCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<MicroCacheGatewayFilterFactory.Config> {
+
+    private static final int EXPIRED_ENTRIES_CLEANUP_SIZE = 10_000;
+
+    private final Map<String, CacheEntry> entriesByKey = new ConcurrentHashMap<>();
+
+    public MicroCacheGatewayFilterFactory() {
+        super(Config.class);
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("ttl");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        // wraps the response before NettyWriteResponseFilter writes the backend body into it
+        return new OrderedGatewayFilter((exchange, chain) -> filter(exchange, chain, config.getTtl()), NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain, Duration ttl) {
+        if (!HttpMethod.GET.equals(exchange.getRequest().getMethod())) {
+            return chain.filter(exchange);
+        }
+        String key = exchange.getRequest().getURI().getRawPath() + '?' + exchange.getRequest().getURI().getRawQuery();
+        long now = System.nanoTime();
+        CacheEntry freshEntry = new CacheEntry();
+        CacheEntry cacheEntry = entriesByKey.compute(key, (ignored, currentEntry) -> currentEntry == null || currentEntry.expired(now) ? freshEntry : currentEntry);
+        if (cacheEntry != freshEntry) {
+            return cacheEntry.response.asMono()
+                                      .map(Optional::of)
+                                      .defaultIfEmpty(Optional.empty())
+                                      .flatMap(cachedResponse -> cachedResponse.map(response -> write(exchange.getResponse(), response))
+                                                                               .orElseGet(() -> chain.filter(exchange)));
+        }
+        if (entriesByKey.size() > EXPIRED_ENTRIES_CLEANUP_SIZE) {
+            entriesByKey.values().removeIf(entry -> entry.expired(now));
+        }
+        return chain.filter(exchange.mutate().response(new CachingResponse(exchange.getResponse(), cacheEntry, ttl)).build())
+                    .doFinally(signalType -> {
+                        if (!cacheEntry.completed) {
+                            entriesByKey.remove(key, cacheEntry);
+                            cacheEntry.response.tryEmitEmpty();
+                        }
+                    });
+    }
+
+    private Mono<Void> write(ServerHttpResponse serverHttpResponse, CachedResponse cachedResponse) {
+        serverHttpResponse.setStatusCode(cachedResponse.statusCode());
+        serverHttpResponse.getHeaders().putAll(cachedResponse.headers());
+        return serverHttpResponse.writeWith(Mono.just(serverHttpResponse.bufferFactory().wrap(cachedResponse.body())));
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+
+        private Duration ttl;
+    }
+
+    private static class CacheEntry {
+
+        private final Sinks.One<CachedResponse> response = Sinks.one();
+        private volatile boolean completed;
+        private volatile long expiresAtNanos;
+
+        private boolean expired(long now) {
+            return completed && now - expiresAtNanos >= 0L;
+        }
+    }
+
+    private record CachedResponse(HttpStatusCode statusCode, HttpHeaders headers, byte[] body) {
+    }
+
+    private static class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final CacheEntry cacheEntry;
+        private final Duration ttl;
+
+        private CachingResponse(ServerHttpResponse delegate, CacheEntry cacheEntry, Duration ttl) {
+            super(delegate);
+            this.cacheEntry = cacheEntry;
+            this.ttl = ttl;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return DataBufferUtils.join(body)
+                                  .map(joinedBody -> {
+                                      byte[] bytes = new byte[joinedBody.readableByteCount()];
+                                      joinedBody.read(bytes);
+                                      DataBufferUtils.release(joinedBody);
+                                      return bytes;
+                                  })
+                                  .defaultIfEmpty(new byte[0])
+                                  .flatMap(bytes -> {
+                                      if (HttpStatus.OK.isSameCodeAs(getStatusCode())) {
+                                          HttpHeaders headers = HttpHeaders.copyOf(getHeaders());
+                                          headers.remove(HttpHeaders.TRANSFER_ENCODING);
+                                          headers.setContentLength(bytes.length);
+                                          cacheEntry.expiresAtNanos = System.nanoTime() + ttl.toNanos();
+                                          cacheEntry.completed = true;
+                                          cacheEntry.response.tryEmitValue(new CachedResponse(getStatusCode(), headers, bytes));
+                                      }
+                                      return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                                  });
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.iflash.gatewayservice.overload;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Smoothed time until backends answer, every new sample moves the estimate by an eighth of its difference like the
+ * round trip time estimate of TCP.
+ */
+@Component
+class DownstreamLatency {
+
+    private final AtomicLong smoothedNanos = new AtomicLong();
+    private volatile long sampledAtNanos = System.nanoTime();
+
+    void record(long latencyNanos) {
+        smoothedNanos.accumulateAndGet(latencyNanos, (smoothed, sample) -> smoothed == 0L ? sample : smoothed + (sample - smoothed) / 8L);
+        sampledAtNanos = System.nanoTime();
+    }
+
+    Duration smoothed() {
+        return Duration.ofNanos(smoothedNanos.get());
+    }
+
+    Duration sinceLastSample() {
+        return Duration.ofNanos(System.nanoTime() - sampledAtNanos);
+    }
+}
@@ -0,0 +1,34 @@
+package com.iflash.gatewayservice.overload;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Measures every backend call from sending the request until the response headers arrive.
+ */
+@Component
+@RequiredArgsConstructor
+class DownstreamLatencyFilter implements GlobalFilter, Ordered {
+
+    private final DownstreamLatency downstreamLatency;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return Mono.defer(() -> {
+            long startedAtNanos = System.nanoTime();
+            return chain.filter(exchange)
+                        .doFinally(signalType -> downstreamLatency.record(System.nanoTime() - startedAtNanos));
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyRoutingFilter.ORDER - 1;
+    }
+}
@@ -0,0 +1,75 @@
+package com.iflash.gatewayservice.overload;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rejects requests with 503 while the {@link DownstreamLatency} is above the limit of their {@link RequestPriority},
+ * the limits rise from reads over cancels to new orders so reads are shed first. Requests answered by the gateway
+ * itself, like micro cache hits, are never shed. When nothing reached a backend for {@code probe-interval} one
+ * request is let through anyway, so the estimate keeps following the backends while everything is shed.
+ */
+@Slf4j
+@Component
+class LoadSheddingFilter implements GlobalFilter, Ordered {
+
+    static final int ORDER = 0; // after MicroCache, before the route filters calling rate limiters or retrying
+
+    private final DownstreamLatency downstreamLatency;
+    private final Map<RequestPriority, Duration> latencyLimits = new EnumMap<>(RequestPriority.class);
+    private final Duration probeInterval;
+    private final AtomicLong probedAtNanos = new AtomicLong(System.nanoTime());
+
+    LoadSheddingFilter(DownstreamLatency downstreamLatency,
+                       @Value("${gateway.load-shedding.read-latency}") Duration readLatencyLimit,
+                       @Value("${gateway.load-shedding.cancel-latency}") Duration cancelLatencyLimit,
+                       @Value("${gateway.load-shedding.new-order-latency}") Duration newOrderLatencyLimit,
+                       @Value("${gateway.load-shedding.probe-interval}") Duration probeInterval) {
+        this.downstreamLatency = downstreamLatency;
+        this.latencyLimits.put(RequestPriority.READ, readLatencyLimit);
+        this.latencyLimits.put(RequestPriority.CANCEL, cancelLatencyLimit);
+        this.latencyLimits.put(RequestPriority.NEW_ORDER, newOrderLatencyLimit);
+        this.probeInterval = probeInterval;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        RequestPriority requestPriority = RequestPriority.of(exchange.getRequest());
+        Duration smoothedLatency = downstreamLatency.smoothed();
+        if (smoothedLatency.compareTo(latencyLimits.get(requestPriority)) < 0 || probe()) {
+            return chain.filter(exchange);
+        }
+        log.debug("Shedding {} request {}, downstream latency {}", requestPriority, exchange.getRequest().getPath(), smoothedLatency);
+        ServerWebExchangeUtils.setResponseStatus(exchange, HttpStatus.SERVICE_UNAVAILABLE);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+        return exchange.getResponse().setComplete();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private boolean probe() {
+        if (downstreamLatency.sinceLastSample().compareTo(probeInterval) < 0) {
+            return false;
+        }
+        long probedAt = probedAtNanos.get();
+        long now = System.nanoTime();
+        return now - probedAt >= probeInterval.toNanos() && probedAtNanos.compareAndSet(probedAt, now);
+    }
+}
@@ -0,0 +1,22 @@
+package com.iflash.gatewayservice.overload;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+/**
+ * Order in which requests are shed, reads first and new orders last.
+ */
+enum RequestPriority {
+
+    READ,
+    CANCEL,
+    NEW_ORDER;
+
+    static RequestPriority of(ServerHttpRequest request) {
+        HttpMethod method = request.getMethod();
+        if (HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method)) {
+            return READ;
+        }
+        return HttpMethod.DELETE.equals(method) ? CANCEL : NEW_ORDER;
+    }
+}
@@ -0,0 +1,27 @@
+package com.iflash.gatewayservice.ratelimit;
+
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Rate limits requests by their {@code X-API-Key} header and requests without one by the client address.
+ */
+@Component
+class ClientKeyResolver implements KeyResolver {
+
+    static final String API_KEY_HEADER = "X-API-Key";
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        String apiKey = exchange.getRequest().getHeaders().getFirst(API_KEY_HEADER);
+        if (apiKey != null && !apiKey.isBlank()) {
+            return Mono.just("key:" + apiKey);
+        }
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        return remoteAddress == null ? Mono.empty() : Mono.just("address:" + remoteAddress.getHostString());
+    }
+}
@@ -0,0 +1,59 @@
+package com.iflash.gatewayservice.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@code RequestRateLimiter} backend keeping one {@link TokenBucket} per client and budget in memory, so no external
+ * store is needed. Routes naming the same {@code budget} share the buckets, the first route used by a client sets
+ * their rates. Every gateway instance enforces the budgets on its own.
+ */
+@Component
+class LocalRateLimiter extends AbstractRateLimiter<LocalRateLimiter.Config> {
+
+    static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    private static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    private static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+    private static final int IDLE_BUCKETS_CLEANUP_SIZE = 10_000;
+
+    private final Map<String, TokenBucket> bucketsByClient = new ConcurrentHashMap<>();
+
+    LocalRateLimiter(ConfigurationService configurationService) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().get(routeId);
+        if (config == null) {
+            throw new IllegalArgumentException("No " + CONFIGURATION_PROPERTY_NAME + " configuration for route " + routeId);
+        }
+        long now = System.nanoTime();
+        TokenBucket tokenBucket = bucketsByClient.computeIfAbsent(config.getBudget() + ':' + id,
+                                                                  key -> new TokenBucket(config.getBurstCapacity(), config.getReplenishRate(), now));
+        long remainingTokens = tokenBucket.tryTake(now);
+        if (bucketsByClient.size() > IDLE_BUCKETS_CLEANUP_SIZE) {
+            bucketsByClient.values().removeIf(bucket -> bucket.full(now)); // a full bucket is the same as a new one
+        }
+        return Mono.just(new Response(remainingTokens >= 0L, Map.of(REMAINING_HEADER, String.valueOf(Math.max(remainingTokens, 0L)),
+                                                                    REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()),
+                                                                    BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()))));
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+
+        private String budget;
+        private int replenishRate; // tokens per second
+        private int burstCapacity;
+    }
+}
@@ -0,0 +1,44 @@
+package com.iflash.gatewayservice.ratelimit;
+
+/**
+ * Holds up to {@code capacity} tokens and gains {@code tokensPerSecond} of them continuously, every request takes
+ * one token or is denied.
+ */
+class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long refilledAtNanos;
+
+    TokenBucket(long capacity, double tokensPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.refilledAtNanos = nowNanos;
+    }
+
+    /**
+     * @return tokens left after taking one, {@code -1} when the bucket is empty
+     */
+    synchronized long tryTake(long nowNanos) {
+        refill(nowNanos);
+        if (tokens < 1d) {
+            return -1L;
+        }
+        tokens -= 1d;
+        return (long) tokens;
+    }
+
+    synchronized boolean full(long nowNanos) {
+        refill(nowNanos);
+        return tokens >= capacity;
+    }
+
+    private void refill(long nowNanos) {
+        if (nowNanos - refilledAtNanos > 0L) {
+            tokens = Math.min(capacity, tokens + (nowNanos - refilledAtNanos) * tokensPerNano);
+            refilledAtNanos = nowNanos;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.iflash.gatewayservice.routing;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+
+/**
+ * Spreads reads of routes with a {@code replicas://} uri round robin over the order book replicas in sync with the
+ * ticker of the {@code ticker} path variable. Without such a replica the read goes to the engine node owning the
+ * ticker through the {@code ticker://} scheme of {@link TickerRoutingFilter}, which runs after this filter. A replica
+ * answering 503 or refusing the connection leaves the rotation of the ticker until its next status report, so a route
+ * retrying such reads reaches another replica or the owner.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class BookReplicaRoutingFilter implements GlobalFilter, Ordered {
+
+    static final String SCHEME = "replicas";
+
+    private final BookReplicas bookReplicas;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        URI url = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        if (url == null || !SCHEME.equals(url.getScheme())) {
+            return chain.filter(exchange);
+        }
+        String ticker = ServerWebExchangeUtils.getUriTemplateVariables(exchange).get("ticker");
+        if (ticker == null || ticker.isBlank()) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Request without ticker"));
+        }
+        String upperCaseTicker = ticker.toUpperCase();
+        List<URI> syncedReplicas = bookReplicas.syncedReplicas(upperCaseTicker);
+        if (syncedReplicas.isEmpty()) {
+            exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, UriComponentsBuilder.fromUri(url)
+                                                                                       .scheme(TickerRoutingFilter.SCHEME)
+                                                                                       .build(true)
+                                                                                       .toUri());
+            return chain.filter(exchange);
+        }
+        URI replicaUrl = syncedReplicas.get(Math.floorMod(nextReplica.getAndIncrement(), syncedReplicas.size()));
+        ServerWebExchangeUtils.addOriginalRequestUrl(exchange, url);
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, RoutingUris.withBase(url, replicaUrl));
+        return chain.filter(exchange)
+                    .doOnError(ConnectException.class, exception -> {
+                        log.warn("Book replica {} unavailable: {}", replicaUrl, exception.getMessage());
+                        bookReplicas.outOfSync(replicaUrl, upperCaseTicker);
+                    })
+                    .then(Mono.fromRunnable(() -> {
+                        if (HttpStatus.SERVICE_UNAVAILABLE.isSameCodeAs(exchange.getResponse().getStatusCode())) {
+                            bookReplicas.outOfSync(replicaUrl, upperCaseTicker);
+                        }
+                    }));
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 1;
+    }
+}
@@ -0,0 +1,96 @@
+package com.iflash.gatewayservice.routing;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Tickers each order book replica has in sync with the engine node owning them, as the replica reports them every
+ * {@code gateway.replica-status-interval}. A replica not answering within the interval has no ticker in sync until
+ * its next report.
+ */
+@Slf4j
+@Component
+class BookReplicas {
+
+    private final WebClient webClient;
+    private final List<URI> replicaUrls;
+    private final Duration statusInterval;
+    private final Map<URI, Set<String>> syncedTickersByReplica = new ConcurrentHashMap<>();
+    private Disposable statusPolling;
+
+    BookReplicas(WebClient.Builder webClientBuilder, @Value("${gateway.book-replica-urls}") List<URI> replicaUrls,
+                 @Value("${gateway.replica-status-interval}") Duration statusInterval) {
+        this.webClient = webClientBuilder.build();
+        this.replicaUrls = List.copyOf(replicaUrls);
+        this.statusInterval = statusInterval;
+    }
+
+    @PostConstruct
+    void start() {
+        statusPolling = Flux.interval(Duration.ZERO, statusInterval)
+                            .onBackpressureDrop()
+                            .concatMap(ignored -> Flux.fromIterable(replicaUrls)
+                                                      .flatMap(this::pollStatus))
+                            .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        statusPolling.dispose();
+    }
+
+    List<URI> syncedReplicas(String ticker) {
+        return replicaUrls.stream()
+                          .filter(replicaUrl -> syncedTickersByReplica.getOrDefault(replicaUrl, Set.of()).contains(ticker))
+                          .toList();
+    }
+
+    /**
+     * Takes the ticker out of the replica's rotation until its next report, after the replica turned a read away.
+     */
+    void outOfSync(URI replicaUrl, String ticker) {
+        syncedTickersByReplica.computeIfPresent(replicaUrl, (key, syncedTickers) -> {
+            Set<String> remainingTickers = new HashSet<>(syncedTickers);
+            remainingTickers.remove(ticker);
+            return Set.copyOf(remainingTickers);
+        });
+    }
+
+    private Mono<Void> pollStatus(URI replicaUrl) {
+        return webClient.get()
+                        .uri(replicaUrl.resolve("/api/v1/replica/status"))
+                        .retrieve()
+                        .bodyToFlux(ReplicaStatus.class)
+                        .filter(ReplicaStatus::synced)
+                        .map(ReplicaStatus::ticker)
+                        .collect(Collectors.toUnmodifiableSet())
+                        .timeout(statusInterval)
+                        .onErrorResume(exception -> {
+                            log.debug("Book replica {} did not report its status: {}", replicaUrl, exception.getMessage());
+                            return Mono.just(Set.of());
+                        })
+                        .doOnNext(syncedTickers -> syncedTickersByReplica.put(replicaUrl, syncedTickers))
+                        .then();
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private record ReplicaStatus(String ticker, boolean synced) {
+    }
+}
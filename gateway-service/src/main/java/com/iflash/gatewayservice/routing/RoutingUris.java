@@ -0,0 +1,23 @@
+package com.iflash.gatewayservice.routing;
+
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+
+class RoutingUris {
+
+    private RoutingUris() {
+    }
+
+    /**
+     * @return {@code url} with scheme, host and port of {@code base}, path and query stay encoded as they are
+     */
+    static URI withBase(URI url, URI base) {
+        return UriComponentsBuilder.fromUri(url)
+                                   .scheme(base.getScheme())
+                                   .host(base.getHost())
+                                   .port(base.getPort())
+                                   .build(true)
+                                   .toUri();
+    }
+}
@@ -0,0 +1,47 @@
+package com.iflash.gatewayservice.routing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Asks any engine node which node owns a ticker and keeps the answer until the owner turns the ticker away.
+ * Concurrent requests for a ticker share one lookup.
+ */
+@Component
+class TickerOwnerResolver {
+
+    private final WebClient webClient;
+    private final Map<String, Mono<URI>> ownersByTicker = new ConcurrentHashMap<>();
+
+    TickerOwnerResolver(WebClient.Builder webClientBuilder, @Value("${gateway.engine-url}") String engineUrl) {
+        this.webClient = webClientBuilder.baseUrl(engineUrl)
+                                         .build();
+    }
+
+    Mono<URI> owner(String ticker) {
+        return ownersByTicker.computeIfAbsent(ticker, this::lookUp);
+    }
+
+    void evict(String ticker) {
+        ownersByTicker.remove(ticker);
+    }
+
+    private Mono<URI> lookUp(String ticker) {
+        return webClient.get()
+                        .uri("/api/v1/partition/owner/{ticker}", ticker)
+                        .retrieve()
+                        .bodyToMono(PartitionNode.class)
+                        .map(partitionNode -> URI.create(partitionNode.url()))
+                        .doOnError(throwable -> evict(ticker))
+                        .cache();
+    }
+
+    private record PartitionNode(String nodeId, String url) {
+    }
+}
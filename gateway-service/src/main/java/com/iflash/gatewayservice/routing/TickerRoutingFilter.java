@@ -0,0 +1,95 @@
+package com.iflash.gatewayservice.routing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CACHED_REQUEST_BODY_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+
+/**
+ * Sends requests of routes with a {@code ticker://} uri to the engine node owning the ticker, taken from the
+ * {@code ticker} path variable or from the {@code ticker} field of the JSON body. A node answering 421 or refusing the
+ * connection has handed the ticker over, its ownership is looked up again when the route retries the request.
+ */
+@Component
+@RequiredArgsConstructor
+class TickerRoutingFilter implements GlobalFilter, Ordered {
+
+    static final String SCHEME = "ticker";
+
+    private final TickerOwnerResolver tickerOwnerResolver;
+    private final JsonMapper jsonMapper;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        URI url = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        if (url == null || !SCHEME.equals(url.getScheme())) {
+            return chain.filter(exchange);
+        }
+        String pathTicker = ServerWebExchangeUtils.getUriTemplateVariables(exchange).get("ticker");
+        if (pathTicker != null) {
+            return route(exchange, chain, url, pathTicker);
+        }
+        DataBuffer cachedBody = exchange.getAttribute(CACHED_REQUEST_BODY_ATTR);
+        if (cachedBody != null) {
+            return route(exchange, chain, url, bodyTicker(cachedBody));
+        }
+        return ServerWebExchangeUtils.cacheRequestBody(exchange, request -> {
+            DataBuffer body = exchange.getAttribute(CACHED_REQUEST_BODY_ATTR);
+            return route(exchange.mutate().request(request).build(), chain, url, body == null ? null : bodyTicker(body));
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER;
+    }
+
+    private Mono<Void> route(ServerWebExchange exchange, GatewayFilterChain chain, URI url, String ticker) {
+        if (ticker == null || ticker.isBlank()) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Request without ticker"));
+        }
+        String upperCaseTicker = ticker.toUpperCase();
+        return tickerOwnerResolver.owner(upperCaseTicker)
+                                  .onErrorMap(WebClientException.class,
+                                              exception -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "No engine node owns ticker " + upperCaseTicker, exception))
+                                  .flatMap(owner -> {
+                                      ServerWebExchangeUtils.addOriginalRequestUrl(exchange, url);
+                                      exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, RoutingUris.withBase(url, owner));
+                                      return chain.filter(exchange)
+                                                  .doOnError(ConnectException.class, exception -> tickerOwnerResolver.evict(upperCaseTicker))
+                                                  .then(Mono.fromRunnable(() -> {
+                                                      if (HttpStatus.MISDIRECTED_REQUEST.isSameCodeAs(exchange.getResponse().getStatusCode())) {
+                                                          tickerOwnerResolver.evict(upperCaseTicker);
+                                                      }
+                                                  }));
+                                  });
+    }
+
+    private String bodyTicker(DataBuffer body) {
+        try {
+            return jsonMapper.readTree(body.toString(body.readPosition(), body.readableByteCount(), StandardCharsets.UTF_8))
+                             .path("ticker")
+                             .stringValue(null);
+        }
+        catch (RuntimeException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Request body is not a JSON object", exception);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.iflash.gatewayservice.overload;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadSheddingFilterTest {
+
+    private final DownstreamLatency downstreamLatency = new DownstreamLatency();
+    private final LoadSheddingFilter loadSheddingFilter = new LoadSheddingFilter(downstreamLatency, Duration.ofMillis(100L), Duration.ofMillis(300L),
+                                                                                 Duration.ofMillis(600L), Duration.ofMinutes(1L));
+
+    @Test
+    @DisplayName("Should shed reads before cancels and cancels before new orders as downstream latency rises")
+    void shouldShedLowerPrioritiesFirst() {
+        downstreamLatency.record(Duration.ofMillis(50L).toNanos());
+        HttpStatusCode readAtLowLatency = status(MockServerHttpRequest.get("/api/v1/quotation/AAPL/price").build());
+        downstreamLatency.record(Duration.ofMillis(2_000L).toNanos()); // smoothed to about 290 ms
+        HttpStatusCode readAtMediumLatency = status(MockServerHttpRequest.get("/api/v1/quotation/AAPL/price").build());
+        HttpStatusCode cancelAtMediumLatency = status(MockServerHttpRequest.delete("/api/v1/trade/order").build());
+        HttpStatusCode newOrderAtMediumLatency = status(MockServerHttpRequest.post("/api/v1/trade/order").build());
+        for (int sample = 0; sample < 10; sample++) {
+            downstreamLatency.record(Duration.ofMillis(2_000L).toNanos());
+        }
+        HttpStatusCode newOrderAtHighLatency = status(MockServerHttpRequest.post("/api/v1/trade/order").build());
+
+        assertAll(() -> assertEquals(HttpStatus.OK, readAtLowLatency),
+                  () -> assertEquals(HttpStatus.SERVICE_UNAVAILABLE, readAtMediumLatency),
+                  () -> assertEquals(HttpStatus.OK, cancelAtMediumLatency),
+                  () -> assertEquals(HttpStatus.OK, newOrderAtMediumLatency),
+                  () -> assertEquals(HttpStatus.SERVICE_UNAVAILABLE, newOrderAtHighLatency));
+    }
+
+    @Test
+    @DisplayName("Should let a probe through when no request reached a backend for probe interval")
+    void shouldLetProbeThroughWhenEverythingIsShed() throws InterruptedException {
+        LoadSheddingFilter probingLoadSheddingFilter = new LoadSheddingFilter(downstreamLatency, Duration.ofMillis(100L), Duration.ofMillis(100L),
+                                                                              Duration.ofMillis(100L), Duration.ofMillis(50L));
+        downstreamLatency.record(Duration.ofSeconds(1L).toNanos());
+        HttpStatusCode shed = status(probingLoadSheddingFilter, MockServerHttpRequest.post("/api/v1/trade/order").build());
+        Thread.sleep(100L);
+
+        HttpStatusCode probe = status(probingLoadSheddingFilter, MockServerHttpRequest.post("/api/v1/trade/order").build());
+        HttpStatusCode afterProbe = status(probingLoadSheddingFilter, MockServerHttpRequest.post("/api/v1/trade/order").build());
+
+        assertAll(() -> assertEquals(HttpStatus.SERVICE_UNAVAILABLE, shed),
+                  () -> assertEquals(HttpStatus.OK, probe),
+                  () -> assertEquals(HttpStatus.SERVICE_UNAVAILABLE, afterProbe));
+    }
+
+    private HttpStatusCode status(MockServerHttpRequest request) {
+        return status(loadSheddingFilter, request);
+    }
+
+    private HttpStatusCode status(LoadSheddingFilter filter, MockServerHttpRequest request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        filter.filter(exchange, passedExchange -> {
+                  passedExchange.getResponse().setStatusCode(HttpStatus.OK);
+                  return Mono.empty();
+              })
+              .block();
+        return exchange.getResponse().getStatusCode();
+    }
+}
@@ -0,0 +1,305 @@
+package com.iflash.gatewayservice.routing;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+                properties = {"gateway.replica-status-interval=5s", "gateway.rate-limit.order-entry-per-second=1", "gateway.rate-limit.order-entry-burst=5", "gateway.load-shedding.read-latency=1m",
+                              "gateway.load-shedding.cancel-latency=1m", "gateway.load-shedding.new-order-latency=1m"})
+@AutoConfigureWebTestClient
+class GatewayRoutingTest {
+
+    private static final AtomicReference<String> AAPL_OWNER = new AtomicReference<>();
+    private static final Map<String, AtomicInteger> HITS = new ConcurrentHashMap<>();
+    private static final HttpServer ENGINE_NODE_1 = server("engine-node-1", GatewayRoutingTest::engineNode);
+    private static final HttpServer ENGINE_NODE_2 = server("engine-node-2", GatewayRoutingTest::engineNode);
+    private static final HttpServer BOOK_REPLICA_1 = server("book-replica-1", GatewayRoutingTest::bookReplica);
+    private static final HttpServer BOOK_REPLICA_2 = server("book-replica-2", GatewayRoutingTest::bookReplica);
+    private static final Map<String, String> REPLICA_STATUS = Map.of("book-replica-1", "[" + replicaStatus("AAPL", false) + "," + replicaStatus("MSFT", true) + ","
+                                                                                       + replicaStatus("NVDA", true) + "]",
+                                                                     "book-replica-2", "[" + replicaStatus("AAPL", false) + "," + replicaStatus("MSFT", true) + ","
+                                                                                       + replicaStatus("TSLA", true) + "]");
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private BookReplicas bookReplicas;
+
+    @DynamicPropertySource
+    static void backends(DynamicPropertyRegistry registry) {
+        registry.add("gateway.engine-url", () -> url(ENGINE_NODE_1));
+        registry.add("gateway.book-replica-urls", () -> url(BOOK_REPLICA_1) + "," + url(BOOK_REPLICA_2));
+    }
+
+    @AfterAll
+    static void stopBackends() {
+        List.of(ENGINE_NODE_1, ENGINE_NODE_2, BOOK_REPLICA_1, BOOK_REPLICA_2).forEach(server -> server.stop(0));
+    }
+
+    @BeforeEach
+    void setUp() {
+        HITS.clear();
+    }
+
+    @Test
+    @DisplayName("Should send orders to ticker owner, follow the ticker after hand-off and not retry failed orders")
+    void shouldRouteOrdersToTickerOwner() {
+        AAPL_OWNER.set(url(ENGINE_NODE_2));
+        String orderedOnNode2 = registerOrder("aapl");
+        AAPL_OWNER.set(url(ENGINE_NODE_1));
+        String orderedAfterHandOver = registerOrder("AAPL");
+        webTestClient.post()
+                     .uri("/api/v1/trade/order")
+                     .contentType(MediaType.APPLICATION_JSON)
+                     .bodyValue("{\"ticker\": \"FAIL\"}")
+                     .exchange()
+                     .expectStatus().is5xxServerError();
+
+        assertAll(() -> assertEquals("engine-node-2", orderedOnNode2),
+                  () -> assertEquals("engine-node-1", orderedAfterHandOver),
+                  () -> assertEquals(1, HITS.get("engine-node-2 /api/v1/trade/order AAPL misdirected").get()),
+                  () -> assertEquals(1, HITS.get("engine-node-1 /api/v1/trade/order FAIL").get()));
+    }
+
+    @Test
+    @DisplayName("Should limit order entry of each API key to its own budget")
+    void shouldLimitOrderEntryPerApiKey() {
+        AAPL_OWNER.set(url(ENGINE_NODE_1));
+        List<Integer> greedyClientStatuses = Flux.range(0, 6)
+                                                 .map(ignored -> registerOrderStatus("greedy"))
+                                                 .collectList()
+                                                 .block();
+
+        assertAll(() -> assertEquals(List.of(200, 200, 200, 200, 200, 429), greedyClientStatuses),
+                  () -> assertEquals(200, registerOrderStatus("patient")));
+    }
+
+    @Test
+    @DisplayName("Should spread reads of a ticker over the book replicas in sync with it")
+    void shouldSpreadReadsOverReplicasInSync() {
+        awaitSyncedReplicas("MSFT", 2);
+        List<String> msftReads = Flux.range(0, 4)
+                                     .map(ignored -> readTopOfBook("msft"))
+                                     .collectList()
+                                     .block();
+        List<String> nvdaReads = Flux.range(0, 2)
+                                     .map(ignored -> readTopOfBook("NVDA"))
+                                     .collectList()
+                                     .block();
+
+        assertAll(() -> assertEquals(2L, msftReads.stream().filter("book-replica-1"::equals).count(), msftReads::toString),
+                  () -> assertEquals(2L, msftReads.stream().filter("book-replica-2"::equals).count(), msftReads::toString),
+                  () -> assertEquals(List.of("book-replica-1", "book-replica-1"), nvdaReads));
+    }
+
+    @Test
+    @DisplayName("Should read from ticker owner once the only replica in sync turns the read away")
+    void shouldFallBackToTickerOwnerWhenReplicaTurnsReadAway() {
+        AAPL_OWNER.set(url(ENGINE_NODE_1));
+        awaitSyncedReplicas("TSLA", 1);
+
+        String read = readTopOfBook("TSLA");
+
+        assertAll(() -> assertEquals("engine-node-1", read),
+                  () -> assertEquals(1, HITS.get("book-replica-2 /api/v1/orderbook/TSLA/top").get()),
+                  () -> assertEquals(List.of(), bookReplicas.syncedReplicas("TSLA")));
+    }
+
+    @Test
+    @DisplayName("Should read order book from ticker owner while no replica is in sync and follow the ticker after hand-off")
+    void shouldReadOrderBookFromTickerOwner() {
+        awaitSyncedReplicas("MSFT", 2);
+        AAPL_OWNER.set(url(ENGINE_NODE_2));
+        String readOnNode2 = readTopOfBook("aapl");
+        AAPL_OWNER.set(url(ENGINE_NODE_1));
+        String readAfterHandOver = readTopOfBook("AAPL");
+
+        assertAll(() -> assertEquals("engine-node-2", readOnNode2),
+                  () -> assertEquals("engine-node-1", readAfterHandOver),
+                  () -> assertEquals(1, HITS.get("engine-node-2 /api/v1/orderbook/AAPL/top AAPL misdirected").get()));
+    }
+
+    @Test
+    @DisplayName("Should serve concurrent identical instrument reads from one backend call")
+    void shouldCoalesceConcurrentInstrumentReads() {
+        List<String> instruments = Flux.range(0, 20)
+                                       .parallel(20)
+                                       .runOn(Schedulers.boundedElastic())
+                                       .map(ignored -> webTestClient.get()
+                                                                    .uri("/api/v1/instrument")
+                                                                    .exchange()
+                                                                    .expectStatus().isOk()
+                                                                    .expectBody(String.class)
+                                                                    .returnResult()
+                                                                    .getResponseBody())
+                                       .sequential()
+                                       .collectList()
+                                       .block();
+
+        assertAll(() -> assertEquals(20, instruments.size()),
+                  () -> assertTrue(instruments.stream().allMatch("[{\"ticker\":\"AAPL\"}]"::equals), instruments::toString),
+                  () -> assertEquals(1, HITS.get("engine-node-1 /api/v1/instrument").get()));
+    }
+
+    private String registerOrder(String ticker) {
+        return webTestClient.post()
+                            .uri("/api/v1/trade/order")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue("{\"orderDirection\": \"BID\", \"ticker\": \"" + ticker + "\", \"volume\": 10}")
+                            .exchange()
+                            .expectStatus().isOk()
+                            .expectBody(String.class)
+                            .returnResult()
+                            .getResponseBody();
+    }
+
+    private String readTopOfBook(String ticker) {
+        return webTestClient.get()
+                            .uri("/api/v1/orderbook/{ticker}/top", ticker)
+                            .exchange()
+                            .expectStatus().isOk()
+                            .expectBody(String.class)
+                            .returnResult()
+                            .getResponseBody();
+    }
+
+    private void awaitSyncedReplicas(String ticker, int replicas) {
+        long deadline = System.currentTimeMillis() + 10_000L;
+        while (bookReplicas.syncedReplicas(ticker).size() < replicas) {
+            assertTrue(System.currentTimeMillis() < deadline, "Book replicas did not report " + ticker + " in sync");
+            try {
+                Thread.sleep(20L);
+            }
+            catch (InterruptedException interruptedException) {
+                throw new IllegalStateException(interruptedException);
+            }
+        }
+    }
+
+    private int registerOrderStatus(String apiKey) {
+        return webTestClient.post()
+                            .uri("/api/v1/trade/order")
+                            .header("X-API-Key", apiKey)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue("{\"orderDirection\": \"BID\", \"ticker\": \"AAPL\", \"volume\": 10}")
+                            .exchange()
+                            .returnResult(String.class)
+                            .getStatus()
+                            .value();
+    }
+
+    private static void engineNode(String name, HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String self = "http://localhost:" + exchange.getLocalAddress().getPort();
+        if (path.startsWith("/api/v1/partition/owner/")) {
+            String ticker = path.substring(path.lastIndexOf('/') + 1);
+            String owner = "AAPL".equals(ticker) ? AAPL_OWNER.get() : self;
+            respond(exchange, 200, "{\"nodeId\": \"node\", \"url\": \"" + owner + "\"}");
+            return;
+        }
+        if (path.equals("/api/v1/instrument")) {
+            hit(name + " " + path);
+            try {
+                Thread.sleep(300L); // keeps concurrent reads waiting for the first one
+            }
+            catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "[{\"ticker\":\"AAPL\"}]");
+            return;
+        }
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        if (body.contains("FAIL")) {
+            hit(name + " " + path + " FAIL");
+            respond(exchange, 500, "{}");
+        }
+        else if (!self.equals(AAPL_OWNER.get())) {
+            hit(name + " " + path + " AAPL misdirected");
+            respond(exchange, 421, "{}");
+        }
+        else {
+            respond(exchange, 200, name);
+        }
+    }
+
+    private static void bookReplica(String name, HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (path.equals("/api/v1/replica/status")) {
+            respond(exchange, 200, REPLICA_STATUS.get(name));
+            return;
+        }
+        hit(name + " " + path);
+        if (path.contains("TSLA")) { // fell out of sync since its last status report
+            respond(exchange, 503, "{}");
+            return;
+        }
+        respond(exchange, 200, name);
+    }
+
+    private static String replicaStatus(String ticker, boolean synced) {
+        return "{\"ticker\":\"" + ticker + "\",\"synced\":" + synced + ",\"sequence\":1}";
+    }
+
+    private static void hit(String key) {
+        HITS.computeIfAbsent(key, ignored -> new AtomicInteger()).incrementAndGet();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    private static HttpServer server(String name, Backend backend) {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/", exchange -> backend.handle(name, exchange));
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.start();
+            return server;
+        }
+        catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+
+    private static String url(HttpServer server) {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @FunctionalInterface
+    private interface Backend {
+
+        void handle(String name, HttpExchange exchange) throws IOException;
+    }
+}
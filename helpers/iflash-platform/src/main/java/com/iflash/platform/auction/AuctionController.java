@@ -0,0 +1,33 @@
+package com.iflash.platform.auction;
+
+import com.iflash.core.engine.AuctionOperations;
+import com.iflash.core.order.AuctionResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/auction")
+@RequiredArgsConstructor
+class AuctionController {
+
+    private final AuctionOperations auctionOperations;
+
+    @PostMapping("/{ticker}/start")
+    ResponseEntity<Void> startAuction(@PathVariable String ticker) {
+        auctionOperations.startAuction(ticker.toUpperCase());
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/{ticker}/uncross")
+    ResponseEntity<AuctionResult> uncross(@PathVariable String ticker) {
+        AuctionResult auctionResult = auctionOperations.uncross(ticker.toUpperCase());
+        log.info("Auction uncrossing result: {}", auctionResult);
+        return ResponseEntity.ok(auctionResult);
+    }
+}
@@ -1,24 +1,32 @@
 package com.iflash.platform.bootstrap;
 
+import com.iflash.core.engine.AuctionOperations;
 import com.iflash.core.engine.MatchingEngine;
 import com.iflash.core.engine.MatchingEngineFactory;
 import com.iflash.core.engine.MatchingEngineType;
 import com.iflash.core.engine.OrderBookOperations;
+import com.iflash.core.engine.OrderLatencyRecorder;
 import com.iflash.core.engine.TradingOperations;
+import com.iflash.core.marketdata.MarketDataListener;
 import com.iflash.core.quotation.QuotationProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 public class EngineBootstrapper {
 
     @Value("${engine.type}")
     private MatchingEngineType matchingEngineType;
 
-    @Bean(name = "matchingEngine")
-    public MatchingEngine bootstrapMatchingEngine() {
-        return MatchingEngineFactory.factorize(matchingEngineType);
+    @Value("${engine.batch-interval:50ms}")
+    private Duration batchInterval;
+
+    @Bean(name = "matchingEngine", destroyMethod = "close")
+    public MatchingEngine bootstrapMatchingEngine(OrderLatencyRecorder orderLatencyRecorder, MarketDataListener marketDataListener) {
+        return MatchingEngineFactory.factorize(matchingEngineType, orderLatencyRecorder, marketDataListener, batchInterval);
     }
 
     @Bean(name = "quotationProvider")
@@ -35,4 +43,9 @@ public class EngineBootstrapper {
     public OrderBookOperations orderBookOperations(MatchingEngine matchingEngine) {
         return matchingEngine.orderBookOperations();
     }
+
+    @Bean(name = "auctionOperations")
+    public AuctionOperations auctionOperations(MatchingEngine matchingEngine) {
+        return matchingEngine.auctionOperations();
+    }
 }
@@ -0,0 +1,147 @@
+package com.iflash.platform.gateway;
+
+import com.iflash.core.engine.OrderLatencyRecorder;
+import com.iflash.core.engine.TradingOperations;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+
+/**
+ * Binary order entry over plain TCP, see {@link BinaryProtocol} for the message layout. A single selector thread
+ * accepts connections, decodes orders and answers with execution reports on the same connection.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class BinaryOrderEntryGateway {
+
+    private final TradingOperations tradingOperations;
+    private final OrderLatencyRecorder orderLatencyRecorder;
+    private final TickerCodec tickerCodec = new TickerCodec();
+
+    @Value("${gateway.binary.enabled}")
+    private boolean enabled;
+
+    @Value("${gateway.binary.port}")
+    private int port;
+
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread selectorThread;
+    private volatile boolean running;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        if (!enabled) {
+            log.info("Binary order entry gateway disabled");
+            return;
+        }
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port));
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        running = true;
+        selectorThread = Thread.ofPlatform()
+                               .name("binary-order-entry")
+                               .start(this::selectLoop);
+        log.info("Binary order entry gateway listening on port {}", port);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        selectorThread.join();
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof GatewaySession gatewaySession) {
+                gatewaySession.close();
+            }
+        }
+        serverChannel.close();
+        selector.close();
+    }
+
+    private void selectLoop() {
+        while (running) {
+            try {
+                selector.select();
+            }
+            catch (IOException exception) {
+                log.error("Binary order entry selector failed", exception);
+                return;
+            }
+            Iterator<SelectionKey> selectedKeys = selector.selectedKeys()
+                                                          .iterator();
+            while (selectedKeys.hasNext()) {
+                SelectionKey key = selectedKeys.next();
+                selectedKeys.remove();
+                if (!key.isValid()) {
+                    continue;
+                }
+                if (key.isAcceptable()) {
+                    accept();
+                }
+                else {
+                    serve(key, (GatewaySession) key.attachment());
+                }
+            }
+        }
+    }
+
+    private void accept() {
+        try {
+            SocketChannel channel = serverChannel.accept();
+            if (channel == null) {
+                return;
+            }
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.register(selector, SelectionKey.OP_READ, new GatewaySession(channel, tradingOperations, orderLatencyRecorder, tickerCodec));
+            log.info("Binary order entry session opened: {}", channel.getRemoteAddress());
+        }
+        catch (IOException exception) {
+            log.warn("Could not accept binary order entry session", exception);
+        }
+    }
+
+    /**
+     * A session with unsent reports is only watched for writability, so a client which does not read its reports
+     * cannot push more orders until it catches up. Any failure only closes the session it happened in, the selector
+     * thread keeps serving the others.
+     */
+    private void serve(SelectionKey key, GatewaySession gatewaySession) {
+        try {
+            if (key.isReadable() && !gatewaySession.read()) {
+                gatewaySession.close();
+                return;
+            }
+            boolean flushed = gatewaySession.flush();
+            key.interestOps(flushed ? SelectionKey.OP_READ : SelectionKey.OP_WRITE);
+        }
+        catch (IOException exception) {
+            log.info("Binary order entry session closed: {}", exception.getMessage());
+            gatewaySession.close();
+        }
+        catch (RuntimeException exception) {
+            log.warn("Closing binary order entry session after unexpected failure", exception);
+            gatewaySession.close();
+        }
+    }
+}
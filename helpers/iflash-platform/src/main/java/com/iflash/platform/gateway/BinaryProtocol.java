@@ -0,0 +1,62 @@
+package com.iflash.platform.gateway;
+
+import com.iflash.core.order.OrderDirection;
+import com.iflash.core.order.OrderType;
+
+import java.nio.ByteOrder;
+
+/**
+ * Layout of the binary order entry protocol. All numbers are little-endian, every message starts with a
+ * {@code u16} length of the rest of the message followed by a {@code u8} message type.
+ *
+ * <pre>
+ * NEW_ORDER        (1)   clientOrderId: 2 x i64 (most, least significant bits), side: u8, orderType: u8,
+ *                        ticker: 8 x ASCII padded with 0, price: i64 scaled by 10^4, volume: i64
+ * NEW_ORDER_BATCH  (2)   count: u16, count x NEW_ORDER body
+ * ACK              (101) clientOrderId, transactionPhase: u8, volumeFilled: i64, volumePending: i64
+ * FILL             (102) clientOrderId, price: i64 scaled by 10^4, volume: i64
+ * REJECT           (103) clientOrderId, reason: u8
+ * </pre>
+ * <p>
+ * Side codes are {@code 0} for BID and {@code 1} for ASK, order type and transaction phase codes follow the
+ * declaration order of {@link OrderType} and {@link com.iflash.core.order.TransactionPhase}. Every order gets one ACK
+ * or REJECT, the ACK is followed by one FILL per executed counter-order.
+ */
+final class BinaryProtocol {
+
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+    static final int PRICE_SCALE = 4;
+
+    static final int LENGTH_FIELD_SIZE = 2;
+    static final int HEADER_SIZE = LENGTH_FIELD_SIZE + 1;
+    static final int MAX_MESSAGE_SIZE = LENGTH_FIELD_SIZE + 0xFFFF;
+
+    static final byte NEW_ORDER = 1;
+    static final byte NEW_ORDER_BATCH = 2;
+    static final byte ACK = 101;
+    static final byte FILL = 102;
+    static final byte REJECT = 103;
+
+    static final int NEW_ORDER_SIZE = 42;
+    static final int BATCH_COUNT_SIZE = 2;
+    static final int ACK_SIZE = HEADER_SIZE + 16 + 1 + 8 + 8;
+    static final int FILL_SIZE = HEADER_SIZE + 16 + 8 + 8;
+    static final int REJECT_SIZE = HEADER_SIZE + 16 + 1;
+
+    static final byte REJECT_ENGINE = 1;
+    static final byte REJECT_MALFORMED = 2;
+
+    private static final OrderDirection[] SIDES = {OrderDirection.BID, OrderDirection.ASK};
+    private static final OrderType[] ORDER_TYPES = OrderType.values();
+
+    private BinaryProtocol() {
+    }
+
+    static OrderDirection side(byte code) {
+        return code >= 0 && code < SIDES.length ? SIDES[code] : null;
+    }
+
+    static OrderType orderType(byte code) {
+        return code >= 0 && code < ORDER_TYPES.length ? ORDER_TYPES[code] : null;
+    }
+}
@@ -0,0 +1,201 @@
+package com.iflash.platform.gateway;
+
+import com.iflash.core.configuration.MatchingEngineException;
+import com.iflash.core.engine.OrderLatencyRecorder;
+import com.iflash.core.engine.OrderLatencyStage;
+import com.iflash.core.engine.TradingOperations;
+import com.iflash.core.order.FinishedTransactionInfo;
+import com.iflash.core.order.OrderRegistrationResult;
+import com.iflash.core.order.RegisterOrderCommand;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+import static com.iflash.platform.gateway.BinaryProtocol.*;
+
+/**
+ * Single client connection of the {@link BinaryOrderEntryGateway}. Orders are decoded straight from the direct
+ * receive buffer and registered in the engine on the selector thread, execution reports are collected in the send
+ * buffer and flushed once per read.
+ */
+@Slf4j
+class GatewaySession {
+
+    private static final int SEND_BUFFER_SIZE = 64 * 1024;
+
+    private final SocketChannel channel;
+    private final TradingOperations tradingOperations;
+    private final OrderLatencyRecorder orderLatencyRecorder;
+    private final NewOrderFlyweight newOrder;
+    private final ByteBuffer receiveBuffer = ByteBuffer.allocateDirect(2 * MAX_MESSAGE_SIZE)
+                                                       .order(BYTE_ORDER);
+    private ByteBuffer sendBuffer = ByteBuffer.allocateDirect(SEND_BUFFER_SIZE)
+                                              .order(BYTE_ORDER);
+
+    GatewaySession(SocketChannel channel, TradingOperations tradingOperations, OrderLatencyRecorder orderLatencyRecorder, TickerCodec tickerCodec) {
+        this.channel = channel;
+        this.tradingOperations = tradingOperations;
+        this.orderLatencyRecorder = orderLatencyRecorder;
+        this.newOrder = new NewOrderFlyweight(tickerCodec);
+    }
+
+    /**
+     * @return {@code false} when the client closed the connection or sent a message breaking the protocol
+     */
+    boolean read() throws IOException {
+        if (channel.read(receiveBuffer) < 0) {
+            return false;
+        }
+        long receivedNanos = System.nanoTime();
+        receiveBuffer.flip();
+        try {
+            while (receiveBuffer.remaining() >= HEADER_SIZE) {
+                int messageStart = receiveBuffer.position();
+                int length = Short.toUnsignedInt(receiveBuffer.getShort(messageStart));
+                if (receiveBuffer.remaining() < LENGTH_FIELD_SIZE + length) {
+                    break;
+                }
+                if (length == 0 || !dispatch(receiveBuffer.get(messageStart + LENGTH_FIELD_SIZE), messageStart + HEADER_SIZE, length - 1, receivedNanos)) {
+                    log.warn("Closing binary session {}, malformed message of length {}", channel.getRemoteAddress(), length);
+                    return false;
+                }
+                receiveBuffer.position(messageStart + LENGTH_FIELD_SIZE + length);
+            }
+        }
+        finally {
+            receiveBuffer.compact();
+        }
+        return true;
+    }
+
+    /**
+     * @return {@code true} when everything collected so far was handed to the socket
+     */
+    boolean flush() throws IOException {
+        sendBuffer.flip();
+        channel.write(sendBuffer);
+        sendBuffer.compact();
+        return sendBuffer.position() == 0;
+    }
+
+    void close() {
+        try {
+            channel.close();
+        }
+        catch (IOException exception) {
+            log.warn("Could not close binary session", exception);
+        }
+    }
+
+    /**
+     * Every body is validated against {@code bodyLength} before it is read, the receive buffer may already hold the
+     * start of the next message right behind it.
+     */
+    private boolean dispatch(byte messageType, int bodyOffset, int bodyLength, long receivedNanos) throws IOException {
+        switch (messageType) {
+            case NEW_ORDER -> {
+                if (bodyLength != NEW_ORDER_SIZE) {
+                    return false;
+                }
+                registerOrder(bodyOffset, receivedNanos);
+            }
+            case NEW_ORDER_BATCH -> {
+                if (bodyLength < BATCH_COUNT_SIZE) {
+                    return false;
+                }
+                int count = Short.toUnsignedInt(receiveBuffer.getShort(bodyOffset));
+                if (bodyLength != BATCH_COUNT_SIZE + count * NEW_ORDER_SIZE) {
+                    return false;
+                }
+                for (int index = 0; index < count; index++) {
+                    registerOrder(bodyOffset + BATCH_COUNT_SIZE + index * NEW_ORDER_SIZE, receivedNanos);
+                }
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void registerOrder(int bodyOffset, long receivedNanos) throws IOException {
+        newOrder.wrap(receiveBuffer, bodyOffset);
+        long orderIdMostSignificantBits = newOrder.orderIdMostSignificantBits();
+        long orderIdLeastSignificantBits = newOrder.orderIdLeastSignificantBits();
+        RegisterOrderCommand registerOrderCommand = newOrder.toCommand();
+        if (registerOrderCommand == null) {
+            writeReject(orderIdMostSignificantBits, orderIdLeastSignificantBits, REJECT_MALFORMED);
+            return;
+        }
+        long engineEntry = System.nanoTime();
+        OrderRegistrationResult orderRegistrationResult;
+        try {
+            orderRegistrationResult = tradingOperations.registerOrder(registerOrderCommand);
+        }
+        catch (MatchingEngineException matchingEngineException) {
+            log.debug("Binary order rejected: {}", matchingEngineException.getMessage());
+            writeReject(orderIdMostSignificantBits, orderIdLeastSignificantBits, REJECT_ENGINE);
+            return;
+        }
+        orderLatencyRecorder.record(OrderLatencyStage.INGRESS, registerOrderCommand.ticker(), registerOrderCommand.orderType(), engineEntry - receivedNanos);
+        writeExecutionReports(orderIdMostSignificantBits, orderIdLeastSignificantBits, registerOrderCommand, orderRegistrationResult);
+    }
+
+    private void writeExecutionReports(long orderIdMostSignificantBits, long orderIdLeastSignificantBits, RegisterOrderCommand registerOrderCommand,
+                                       OrderRegistrationResult orderRegistrationResult) throws IOException {
+        long volumeFilled = 0L;
+        for (FinishedTransactionInfo finishedTransactionInfo : orderRegistrationResult.finishedTransactionInfoList()) {
+            volumeFilled += finishedTransactionInfo.volume();
+        }
+        long volumePending = orderRegistrationResult.orderFillDetails() == null
+                             ? registerOrderCommand.volume() - volumeFilled
+                             : orderRegistrationResult.orderFillDetails().volumePending();
+
+        ensureWritable(ACK_SIZE);
+        sendBuffer.putShort((short) (ACK_SIZE - LENGTH_FIELD_SIZE))
+                  .put(ACK)
+                  .putLong(orderIdMostSignificantBits)
+                  .putLong(orderIdLeastSignificantBits)
+                  .put((byte) orderRegistrationResult.transactionPhase().ordinal())
+                  .putLong(volumeFilled)
+                  .putLong(volumePending);
+        for (FinishedTransactionInfo finishedTransactionInfo : orderRegistrationResult.finishedTransactionInfoList()) {
+            ensureWritable(FILL_SIZE);
+            sendBuffer.putShort((short) (FILL_SIZE - LENGTH_FIELD_SIZE))
+                      .put(FILL)
+                      .putLong(orderIdMostSignificantBits)
+                      .putLong(orderIdLeastSignificantBits)
+                      .putLong(finishedTransactionInfo.price().movePointRight(PRICE_SCALE).longValue())
+                      .putLong(finishedTransactionInfo.volume());
+        }
+    }
+
+    private void writeReject(long orderIdMostSignificantBits, long orderIdLeastSignificantBits, byte reason) throws IOException {
+        ensureWritable(REJECT_SIZE);
+        sendBuffer.putShort((short) (REJECT_SIZE - LENGTH_FIELD_SIZE))
+                  .put(REJECT)
+                  .putLong(orderIdMostSignificantBits)
+                  .putLong(orderIdLeastSignificantBits)
+                  .put(reason);
+    }
+
+    /**
+     * Makes room for the next report, first by flushing and, for a client not reading fast enough, by growing the
+     * send buffer. The gateway stops reading from such a client until the buffer is drained.
+     */
+    private void ensureWritable(int size) throws IOException {
+        if (sendBuffer.remaining() >= size) {
+            return;
+        }
+        flush();
+        if (sendBuffer.remaining() < size) {
+            ByteBuffer grownSendBuffer = ByteBuffer.allocateDirect(sendBuffer.capacity() * 2)
+                                                   .order(BYTE_ORDER);
+            sendBuffer.flip();
+            grownSendBuffer.put(sendBuffer);
+            sendBuffer = grownSendBuffer;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.iflash.platform.gateway;
+
+import com.iflash.core.order.OrderDirection;
+import com.iflash.core.order.OrderType;
+import com.iflash.core.order.RegisterOrderCommand;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Reads a NEW_ORDER body in place, without copying it out of the session's receive buffer. One instance is
+ * reused for every order of a session, {@link #wrap} only moves it to the next body.
+ */
+class NewOrderFlyweight {
+
+    private static final int ORDER_ID_MOST_SIGNIFICANT_OFFSET = 0;
+    private static final int ORDER_ID_LEAST_SIGNIFICANT_OFFSET = 8;
+    private static final int SIDE_OFFSET = 16;
+    private static final int ORDER_TYPE_OFFSET = 17;
+    private static final int TICKER_OFFSET = 18;
+    private static final int PRICE_OFFSET = 26;
+    private static final int VOLUME_OFFSET = 34;
+
+    private final TickerCodec tickerCodec;
+    private ByteBuffer buffer;
+    private int offset;
+
+    NewOrderFlyweight(TickerCodec tickerCodec) {
+        this.tickerCodec = tickerCodec;
+    }
+
+    NewOrderFlyweight wrap(ByteBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+        return this;
+    }
+
+    long orderIdMostSignificantBits() {
+        return buffer.getLong(offset + ORDER_ID_MOST_SIGNIFICANT_OFFSET);
+    }
+
+    long orderIdLeastSignificantBits() {
+        return buffer.getLong(offset + ORDER_ID_LEAST_SIGNIFICANT_OFFSET);
+    }
+
+    OrderDirection side() {
+        return BinaryProtocol.side(buffer.get(offset + SIDE_OFFSET));
+    }
+
+    OrderType orderType() {
+        return BinaryProtocol.orderType(buffer.get(offset + ORDER_TYPE_OFFSET));
+    }
+
+    String ticker() {
+        return tickerCodec.decode(buffer, offset + TICKER_OFFSET);
+    }
+
+    long scaledPrice() {
+        return buffer.getLong(offset + PRICE_OFFSET);
+    }
+
+    long volume() {
+        return buffer.getLong(offset + VOLUME_OFFSET);
+    }
+
+    /**
+     * @return engine command or {@code null} when the side or the order type code is unknown
+     */
+    RegisterOrderCommand toCommand() {
+        OrderDirection side = side();
+        OrderType orderType = orderType();
+        if (side == null || orderType == null) {
+            return null;
+        }
+        return new RegisterOrderCommand(new UUID(orderIdMostSignificantBits(), orderIdLeastSignificantBits()), side, orderType, ticker(),
+                                        BigDecimal.valueOf(scaledPrice(), BinaryProtocol.PRICE_SCALE), volume());
+    }
+}
@@ -0,0 +1,36 @@
+package com.iflash.platform.gateway;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tickers travel as 8 ASCII bytes, read as a single {@code long} and resolved to a cached {@link String}, so
+ * decoding a known ticker allocates nothing.
+ */
+class TickerCodec {
+
+    static final int TICKER_SIZE = 8;
+
+    private final Map<Long, String> tickersByCode = new ConcurrentHashMap<>();
+
+    String decode(ByteBuffer buffer, int index) {
+        long code = buffer.getLong(index);
+        String ticker = tickersByCode.get(code);
+        if (ticker == null) {
+            ticker = tickersByCode.computeIfAbsent(code, key -> readAscii(buffer, index));
+        }
+        return ticker;
+    }
+
+    private String readAscii(ByteBuffer buffer, int index) {
+        byte[] bytes = new byte[TICKER_SIZE];
+        int length = 0;
+        while (length < TICKER_SIZE && buffer.get(index + length) != 0) {
+            bytes[length] = buffer.get(index + length);
+            length++;
+        }
+        return new String(bytes, 0, length, StandardCharsets.US_ASCII);
+    }
+}
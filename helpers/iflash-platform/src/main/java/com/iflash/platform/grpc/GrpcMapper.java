@@ -0,0 +1,78 @@
+package com.iflash.platform.grpc;
+
+import com.iflash.commons.OrderBy;
+import com.iflash.core.order.ExecutionReportMode;
+import com.iflash.core.order.OrderDirection;
+import com.iflash.core.order.OrderType;
+import com.iflash.core.order.TransactionPhase;
+import com.iflash.platform.grpc.api.Decimal;
+import com.iflash.platform.grpc.api.OrderRequest;
+
+import java.math.BigDecimal;
+
+/**
+ * Conversions between the protobuf messages and the engine types. Protobuf enums reuse the engine names, so they map
+ * by name and an unspecified or unknown value maps to {@code null}.
+ */
+final class GrpcMapper {
+
+    private GrpcMapper() {
+    }
+
+    static Decimal decimal(BigDecimal value) {
+        return Decimal.newBuilder()
+                      .setUnscaledValue(value.unscaledValue().longValueExact())
+                      .setScale(value.scale())
+                      .build();
+    }
+
+    static BigDecimal bigDecimal(Decimal decimal) {
+        return BigDecimal.valueOf(decimal.getUnscaledValue(), decimal.getScale());
+    }
+
+    static OrderDirection orderDirection(com.iflash.platform.grpc.api.OrderDirection orderDirection) {
+        return switch (orderDirection) {
+            case ASK -> OrderDirection.ASK;
+            case BID -> OrderDirection.BID;
+            case ORDER_DIRECTION_UNSPECIFIED, UNRECOGNIZED -> null;
+        };
+    }
+
+    static com.iflash.platform.grpc.api.OrderDirection orderDirection(OrderDirection orderDirection) {
+        return com.iflash.platform.grpc.api.OrderDirection.valueOf(orderDirection.name());
+    }
+
+    static OrderType orderType(com.iflash.platform.grpc.api.OrderType orderType) {
+        return switch (orderType) {
+            case ORDER_TYPE_UNSPECIFIED, UNRECOGNIZED -> null;
+            default -> OrderType.valueOf(orderType.name());
+        };
+    }
+
+    static ExecutionReportMode executionReportMode(com.iflash.platform.grpc.api.ExecutionReportMode executionReportMode) {
+        return switch (executionReportMode) {
+            case EXECUTION_REPORT_MODE_UNSPECIFIED, UNRECOGNIZED -> null;
+            default -> ExecutionReportMode.valueOf(executionReportMode.name());
+        };
+    }
+
+    static Long displayVolume(long displayVolume) {
+        return displayVolume == 0L ? null : displayVolume;
+    }
+
+    static Long expireTimestamp(long expireTimestamp) {
+        return expireTimestamp == 0L ? null : expireTimestamp;
+    }
+
+    static BigDecimal limitPrice(OrderRequest orderRequest) {
+        return orderRequest.hasLimitPrice() ? bigDecimal(orderRequest.getLimitPrice()) : null;
+    }
+
+    static com.iflash.platform.grpc.api.TransactionPhase transactionPhase(TransactionPhase transactionPhase) {
+        return com.iflash.platform.grpc.api.TransactionPhase.valueOf(transactionPhase.name());
+    }
+
+    static OrderBy orderBy(com.iflash.platform.grpc.api.OrderBy orderBy) {
+        return orderBy == com.iflash.platform.grpc.api.OrderBy.DESC ? OrderBy.DESC : OrderBy.ASC;
+    }
+}
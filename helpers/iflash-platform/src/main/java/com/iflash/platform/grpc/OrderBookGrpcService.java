@@ -0,0 +1,92 @@
+package com.iflash.platform.grpc;
+
+import com.iflash.commons.Page;
+import com.iflash.commons.Pagination;
+import com.iflash.core.configuration.MatchingEngineException;
+import com.iflash.core.engine.OrderBookOperations;
+import com.iflash.core.marketdata.BookSnapshot;
+import com.iflash.core.order.OrderDirection;
+import com.iflash.core.order.OrderInformation;
+import com.iflash.platform.grpc.api.BookLevels;
+import com.iflash.platform.grpc.api.BookLevelsRequest;
+import com.iflash.platform.grpc.api.OrderBookServiceGrpc;
+import com.iflash.platform.grpc.api.OrdersPage;
+import com.iflash.platform.grpc.api.OrdersRequest;
+import com.iflash.platform.grpc.api.PriceLevel;
+import com.iflash.platform.grpc.api.RestingOrder;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.grpc.server.service.GrpcService;
+
+import java.util.List;
+
+@GrpcService
+@RequiredArgsConstructor
+class OrderBookGrpcService extends OrderBookServiceGrpc.OrderBookServiceImplBase {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    private final OrderBookOperations orderBookOperations;
+
+    @Override
+    public void getBookLevels(BookLevelsRequest bookLevelsRequest, StreamObserver<BookLevels> responseObserver) {
+        try {
+            BookSnapshot bookSnapshot = orderBookOperations.getBookSnapshot(bookLevelsRequest.getTicker()
+                                                                                             .toUpperCase());
+            responseObserver.onNext(BookLevels.newBuilder()
+                                              .setTicker(bookSnapshot.ticker())
+                                              .setSequence(bookSnapshot.sequence())
+                                              .addAllBids(priceLevels(bookSnapshot.bids()))
+                                              .addAllAsks(priceLevels(bookSnapshot.asks()))
+                                              .build());
+            responseObserver.onCompleted();
+        }
+        catch (MatchingEngineException matchingEngineException) {
+            responseObserver.onError(Status.NOT_FOUND.withDescription(matchingEngineException.getMessage())
+                                                     .asRuntimeException());
+        }
+    }
+
+    @Override
+    public void getOrders(OrdersRequest ordersRequest, StreamObserver<OrdersPage> responseObserver) {
+        OrderDirection orderDirection = GrpcMapper.orderDirection(ordersRequest.getOrderDirection());
+        if (orderDirection == null) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription("Order direction is required")
+                                                            .asRuntimeException());
+            return;
+        }
+        int size = ordersRequest.getSize() > 0 ? ordersRequest.getSize() : DEFAULT_PAGE_SIZE;
+        Pagination pagination = new Pagination(ordersRequest.getPage(), size, GrpcMapper.orderBy(ordersRequest.getOrderBy()));
+        try {
+            Page<OrderInformation> orderBookSnapshot = orderBookOperations.getOrderBookSnapshot(ordersRequest.getTicker()
+                                                                                                             .toUpperCase(), orderDirection, pagination);
+            OrdersPage.Builder ordersPage = OrdersPage.newBuilder()
+                                                      .setTicker(ordersRequest.getTicker())
+                                                      .setOrderDirection(ordersRequest.getOrderDirection())
+                                                      .setPage(pagination.page())
+                                                      .setSize(pagination.size());
+            for (OrderInformation orderInformation : orderBookSnapshot.getElements()) {
+                ordersPage.addOrders(RestingOrder.newBuilder()
+                                                 .setCreationTimestamp(orderInformation.orderCreationDate().toInstant().toEpochMilli())
+                                                 .setPrice(GrpcMapper.decimal(orderInformation.price()))
+                                                 .setVolume(orderInformation.volume()));
+            }
+            responseObserver.onNext(ordersPage.build());
+            responseObserver.onCompleted();
+        }
+        catch (MatchingEngineException matchingEngineException) {
+            responseObserver.onError(Status.NOT_FOUND.withDescription(matchingEngineException.getMessage())
+                                                     .asRuntimeException());
+        }
+    }
+
+    private static List<PriceLevel> priceLevels(List<com.iflash.core.marketdata.PriceLevel> priceLevels) {
+        return priceLevels.stream()
+                          .map(priceLevel -> PriceLevel.newBuilder()
+                                                       .setPrice(GrpcMapper.decimal(priceLevel.price()))
+                                                       .setVolume(priceLevel.volume())
+                                                       .build())
+                          .toList();
+    }
+}
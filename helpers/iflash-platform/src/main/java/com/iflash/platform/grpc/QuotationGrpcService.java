@@ -0,0 +1,60 @@
+package com.iflash.platform.grpc;
+
+import com.iflash.core.configuration.MatchingEngineException;
+import com.iflash.core.marketdata.LastTrade;
+import com.iflash.core.marketdata.QuotationUpdate;
+import com.iflash.core.quotation.QuotationProvider;
+import com.iflash.platform.grpc.api.Quotation;
+import com.iflash.platform.grpc.api.QuotationEvent;
+import com.iflash.platform.grpc.api.QuotationServiceGrpc;
+import com.iflash.platform.grpc.api.QuotationSubscription;
+import com.iflash.platform.grpc.api.Trade;
+import com.iflash.platform.marketdata.MarketDataStream;
+import com.iflash.platform.marketdata.MarketDataStreams;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.grpc.server.service.GrpcService;
+
+@GrpcService
+@RequiredArgsConstructor
+class QuotationGrpcService extends QuotationServiceGrpc.QuotationServiceImplBase {
+
+    private final QuotationProvider quotationProvider;
+    private final MarketDataStreams marketDataStreams;
+
+    @Override
+    public void subscribeQuotations(QuotationSubscription quotationSubscription, StreamObserver<QuotationEvent> responseObserver) {
+        String ticker = quotationSubscription.getTicker()
+                                             .toUpperCase();
+        try {
+            quotationProvider.getCurrentQuote(ticker);
+        }
+        catch (MatchingEngineException matchingEngineException) {
+            responseObserver.onError(Status.NOT_FOUND.withDescription(matchingEngineException.getMessage())
+                                                     .asRuntimeException());
+            return;
+        }
+        marketDataStreams.stream(ticker, MarketDataStream.QUOTES)
+                         .map(update -> quotationEvent(ticker, update))
+                         .subscribe(new StreamObserverSubscriber<>((ServerCallStreamObserver<QuotationEvent>) responseObserver));
+    }
+
+    private static QuotationEvent quotationEvent(String ticker, Object update) {
+        QuotationEvent.Builder quotationEvent = QuotationEvent.newBuilder()
+                                                              .setTicker(ticker);
+        switch (update) {
+            case QuotationUpdate quotationUpdate -> quotationEvent.setQuotation(Quotation.newBuilder()
+                                                                                        .setTimestamp(quotationUpdate.timestamp())
+                                                                                        .setPrice(GrpcMapper.decimal(quotationUpdate.price())));
+            case LastTrade lastTrade -> quotationEvent.setTrade(Trade.newBuilder()
+                                                                     .setSequence(lastTrade.sequence())
+                                                                     .setTimestamp(lastTrade.timestamp())
+                                                                     .setPrice(GrpcMapper.decimal(lastTrade.price()))
+                                                                     .setVolume(lastTrade.volume()));
+            default -> throw new IllegalStateException("Unknown quotation update: " + update);
+        }
+        return quotationEvent.build();
+    }
+}
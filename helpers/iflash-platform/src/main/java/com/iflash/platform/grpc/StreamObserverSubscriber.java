@@ -0,0 +1,50 @@
+package com.iflash.platform.grpc;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+
+/**
+ * Forwards a {@link reactor.core.publisher.Flux} to a gRPC server stream, requesting the next element only while the
+ * call is ready to send. A client not reading its stream therefore stops demand, and the conflating market data
+ * streams drop intermediate updates instead of queueing them in the transport.
+ */
+class StreamObserverSubscriber<T> extends BaseSubscriber<T> {
+
+    private final ServerCallStreamObserver<T> responseObserver;
+
+    StreamObserverSubscriber(ServerCallStreamObserver<T> responseObserver) {
+        this.responseObserver = responseObserver;
+    }
+
+    @Override
+    protected void hookOnSubscribe(Subscription subscription) {
+        responseObserver.setOnReadyHandler(this::requestIfReady);
+        responseObserver.setOnCancelHandler(this::dispose);
+        requestIfReady();
+    }
+
+    @Override
+    protected void hookOnNext(T value) {
+        responseObserver.onNext(value);
+        requestIfReady();
+    }
+
+    @Override
+    protected void hookOnComplete() {
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    protected void hookOnError(Throwable throwable) {
+        responseObserver.onError(Status.INTERNAL.withDescription(throwable.getMessage())
+                                                .asRuntimeException());
+    }
+
+    private void requestIfReady() {
+        if (responseObserver.isReady() && !isDisposed()) {
+            request(1);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.iflash.platform.grpc;
+
+import com.iflash.core.configuration.MatchingEngineException;
+import com.iflash.core.engine.TradingOperations;
+import com.iflash.core.order.FinishedTransactionInfo;
+import com.iflash.core.order.OrderDirection;
+import com.iflash.core.order.OrderRegistrationResult;
+import com.iflash.core.order.OrderType;
+import com.iflash.core.order.RegisterOrderCommand;
+import com.iflash.platform.grpc.api.Fill;
+import com.iflash.platform.grpc.api.OrderReport;
+import com.iflash.platform.grpc.api.OrderRequest;
+import com.iflash.platform.grpc.api.TradingServiceGrpc;
+import com.iflash.platform.grpc.api.TransactionPhase;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.grpc.server.service.GrpcService;
+
+import java.util.UUID;
+
+@Slf4j
+@GrpcService
+@RequiredArgsConstructor
+class TradingGrpcService extends TradingServiceGrpc.TradingServiceImplBase {
+
+    private final TradingOperations tradingOperations;
+
+    @Override
+    public StreamObserver<OrderRequest> registerOrders(StreamObserver<OrderReport> responseObserver) {
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(OrderRequest orderRequest) {
+                responseObserver.onNext(registerOrder(orderRequest));
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                log.info("Order entry stream closed by client: {}", throwable.getMessage());
+            }
+
+            @Override
+            public void onCompleted() {
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    private OrderReport registerOrder(OrderRequest orderRequest) {
+        OrderDirection orderDirection = GrpcMapper.orderDirection(orderRequest.getOrderDirection());
+        OrderType orderType = GrpcMapper.orderType(orderRequest.getOrderType());
+        if (orderDirection == null || orderType == null) {
+            return rejected(orderRequest, "Order direction and order type are required");
+        }
+        UUID orderId;
+        try {
+            orderId = UUID.fromString(orderRequest.getOrderId());
+        }
+        catch (IllegalArgumentException illegalArgumentException) {
+            return rejected(orderRequest, "Order id is not a valid UUID");
+        }
+        RegisterOrderCommand registerOrderCommand = new RegisterOrderCommand(orderId, orderDirection, orderType, orderRequest.getTicker(),
+                                                                             GrpcMapper.bigDecimal(orderRequest.getPrice()), orderRequest.getVolume(),
+                                                                             GrpcMapper.executionReportMode(orderRequest.getExecutionReportMode()),
+                                                                             GrpcMapper.displayVolume(orderRequest.getDisplayVolume()),
+                                                                             GrpcMapper.expireTimestamp(orderRequest.getExpireTimestamp()),
+                                                                             GrpcMapper.limitPrice(orderRequest));
+        try {
+            return report(orderRequest, registerOrderCommand, tradingOperations.registerOrder(registerOrderCommand));
+        }
+        catch (MatchingEngineException matchingEngineException) {
+            return rejected(orderRequest, matchingEngineException.getMessage());
+        }
+    }
+
+    private OrderReport report(OrderRequest orderRequest, RegisterOrderCommand registerOrderCommand, OrderRegistrationResult orderRegistrationResult) {
+        OrderReport.Builder orderReport = OrderReport.newBuilder()
+                                                     .setOrderId(orderRequest.getOrderId())
+                                                     .setTransactionPhase(GrpcMapper.transactionPhase(orderRegistrationResult.transactionPhase()));
+        long volumeFilled = 0L;
+        for (FinishedTransactionInfo finishedTransactionInfo : orderRegistrationResult.finishedTransactionInfoList()) {
+            volumeFilled += finishedTransactionInfo.volume();
+            orderReport.addFills(Fill.newBuilder()
+                                     .setPrice(GrpcMapper.decimal(finishedTransactionInfo.price()))
+                                     .setVolume(finishedTransactionInfo.volume())
+                                     .setFillCount(finishedTransactionInfo.fillCount()));
+        }
+        long volumePending = orderRegistrationResult.orderFillDetails() == null
+                             ? registerOrderCommand.volume() - volumeFilled
+                             : orderRegistrationResult.orderFillDetails().volumePending();
+        return orderReport.setVolumeFilled(volumeFilled)
+                          .setVolumePending(volumePending)
+                          .build();
+    }
+
+    private OrderReport rejected(OrderRequest orderRequest, String reason) {
+        return OrderReport.newBuilder()
+                          .setOrderId(orderRequest.getOrderId())
+                          .setTransactionPhase(TransactionPhase.REJECTED)
+                          .setVolumePending(orderRequest.getVolume())
+                          .setRejectReason(reason)
+                          .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.iflash.platform.maintenance;
 
+import com.iflash.core.configuration.GlobalSettings;
 import com.iflash.core.engine.MatchingEngine;
 import com.iflash.core.engine.TickerRegistrationCommand;
 import lombok.extern.slf4j.Slf4j;
@@ -9,6 +10,7 @@ import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.List;
 
 @Slf4j
@@ -21,13 +23,18 @@ public class CompanyDataLoader {
     @Value("${engine.initial-data-path}")
     private String initialDataPath;
 
+    @Value("${engine.default-order-time-to-live:#{null}}") // e.g. 8h, resting orders never expire when missing
+    private Duration defaultOrderTimeToLive;
+
     @EventListener(ApplicationReadyEvent.class)
     public void initializeCompanies() {
         log.info("Starting initialize companies information to order book from file: {}", initialDataPath);
         CsvCompanyReader csvCompanyReader = new CsvCompanyReader();
         List<Company> companies = csvCompanyReader.read(initialDataPath);
         List<TickerRegistrationCommand> tickerRegistrationCommands = companies.stream()
-                                                                              .map(company -> new TickerRegistrationCommand(company.ticker(), company.price()))
+                                                                              .map(company -> new TickerRegistrationCommand(company.ticker(), company.price(),
+                                                                                                                            GlobalSettings.QUOTATION_CALCULABLE,
+                                                                                                                            defaultOrderTimeToLive))
                                                                               .toList();
         matchingEngine.initialize(tickerRegistrationCommands);
         log.info("Companies initialization finished");
@@ -0,0 +1,77 @@
+package com.iflash.platform.marketdata;
+
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Per-subscriber FIFO buffer for consumers which must see every update, such as read replicas. Unlike
+ * {@link ConflatingSubscriber} nothing is skipped: a subscriber falling more than {@code capacity} updates behind
+ * is failed instead, so the publishing thread still never waits and the consumer resynchronizes after reconnecting.
+ */
+class BufferingSubscriber<V> {
+
+    private final FluxSink<V> sink;
+    private final Scheduler scheduler;
+    private final int capacity;
+    private final Deque<V> pending = new ArrayDeque<>();
+    private boolean drainScheduled;
+    private boolean overflowed;
+
+    BufferingSubscriber(FluxSink<V> sink, Scheduler scheduler, int capacity) {
+        this.sink = sink;
+        this.scheduler = scheduler;
+        this.capacity = capacity;
+    }
+
+    void offer(V value) {
+        synchronized (this) {
+            if (overflowed) {
+                return;
+            }
+            if (pending.size() == capacity) {
+                overflowed = true;
+                pending.clear();
+            }
+            else {
+                pending.addLast(value);
+            }
+            if (drainScheduled) {
+                return;
+            }
+            drainScheduled = true;
+        }
+        scheduler.schedule(this::drain);
+    }
+
+    void requested() {
+        synchronized (this) {
+            if (drainScheduled || pending.isEmpty()) {
+                return;
+            }
+            drainScheduled = true;
+        }
+        scheduler.schedule(this::drain);
+    }
+
+    private void drain() {
+        while (true) {
+            V next;
+            synchronized (this) {
+                if (overflowed) {
+                    drainScheduled = false;
+                    sink.error(new IllegalStateException("Subscriber fell behind by more than " + capacity + " updates"));
+                    return;
+                }
+                if (pending.isEmpty() || sink.requestedFromDownstream() <= 0 || sink.isCancelled()) {
+                    drainScheduled = false;
+                    return;
+                }
+                next = pending.pollFirst();
+            }
+            sink.next(next);
+        }
+    }
+}
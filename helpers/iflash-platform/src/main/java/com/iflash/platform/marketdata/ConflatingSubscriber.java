@@ -0,0 +1,62 @@
+package com.iflash.platform.marketdata;
+
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.LinkedHashMap;
+import java.util.SequencedMap;
+
+/**
+ * Per-subscriber buffer holding only the latest update per conflation key. Updates are emitted oldest first and
+ * only as far as the subscriber requested, so a slow subscriber skips intermediate values instead of building
+ * up a backlog, and the publishing thread never waits on it.
+ */
+class ConflatingSubscriber<K, V> {
+
+    private final FluxSink<V> sink;
+    private final Scheduler scheduler;
+    private final SequencedMap<K, V> pending = new LinkedHashMap<>();
+    private boolean drainScheduled;
+
+    ConflatingSubscriber(FluxSink<V> sink, Scheduler scheduler) {
+        this.sink = sink;
+        this.scheduler = scheduler;
+    }
+
+    void offer(K key, V value) {
+        synchronized (this) {
+            pending.remove(key);
+            pending.put(key, value);
+            if (drainScheduled) {
+                return;
+            }
+            drainScheduled = true;
+        }
+        scheduler.schedule(this::drain);
+    }
+
+    void requested() {
+        synchronized (this) {
+            if (drainScheduled || pending.isEmpty()) {
+                return;
+            }
+            drainScheduled = true;
+        }
+        scheduler.schedule(this::drain);
+    }
+
+    private void drain() {
+        while (true) {
+            V next;
+            synchronized (this) {
+                if (pending.isEmpty() || sink.requestedFromDownstream() <= 0 || sink.isCancelled()) {
+                    drainScheduled = false;
+                    return;
+                }
+                next = pending.pollFirstEntry()
+                              .getValue();
+            }
+            sink.next(next);
+        }
+    }
+}
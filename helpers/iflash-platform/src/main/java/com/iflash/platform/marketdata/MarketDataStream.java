@@ -0,0 +1,8 @@
+package com.iflash.platform.marketdata;
+
+public enum MarketDataStream {
+    QUOTES,         // quotation and last trade updates
+    TOP_OF_BOOK,    // best bid and ask changes
+    DEPTH,          // price level updates
+    BOOK_UPDATES    // sequenced add, reduce, fill and remove feed, applied on top of a level snapshot
+}
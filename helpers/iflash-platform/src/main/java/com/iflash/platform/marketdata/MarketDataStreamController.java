@@ -0,0 +1,101 @@
+package com.iflash.platform.marketdata;
+
+import com.iflash.core.marketdata.BookUpdate;
+import com.iflash.core.marketdata.DepthUpdate;
+import com.iflash.core.marketdata.LastTrade;
+import com.iflash.core.marketdata.QuotationUpdate;
+import com.iflash.core.marketdata.TopOfBook;
+import com.iflash.core.quotation.QuotationProvider;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * Server-sent event streams replacing the polling of quotation and order book endpoints. Event ids carry the
+ * per-ticker sequence number, a jump in the sequence means intermediate updates were conflated for a slow client.
+ * The replication stream is never conflated, it is completed with an error when the client falls too far behind.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/stream")
+@RequiredArgsConstructor
+class MarketDataStreamController {
+
+    private final MarketDataStreams marketDataStreams;
+    private final QuotationProvider quotationProvider;
+
+    @GetMapping(path = "/{ticker}/quotes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    Flux<ServerSentEvent<Object>> streamQuotes(@PathVariable String ticker) {
+        String upperCaseTicker = ticker.toUpperCase();
+        quotationProvider.getCurrentQuote(upperCaseTicker);
+        return stream(upperCaseTicker, MarketDataStream.QUOTES);
+    }
+
+    @GetMapping(path = "/{ticker}/top-of-book", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    Flux<ServerSentEvent<Object>> streamTopOfBook(@PathVariable String ticker) {
+        String upperCaseTicker = ticker.toUpperCase();
+        quotationProvider.getCurrentQuote(upperCaseTicker);
+        return stream(upperCaseTicker, MarketDataStream.TOP_OF_BOOK);
+    }
+
+    @GetMapping(path = "/{ticker}/depth", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    Flux<ServerSentEvent<Object>> streamDepth(@PathVariable String ticker) {
+        String upperCaseTicker = ticker.toUpperCase();
+        quotationProvider.getCurrentQuote(upperCaseTicker);
+        return stream(upperCaseTicker, MarketDataStream.DEPTH);
+    }
+
+    @GetMapping(path = "/{ticker}/book-updates", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    Flux<ServerSentEvent<Object>> streamBookUpdates(@PathVariable String ticker) {
+        String upperCaseTicker = ticker.toUpperCase();
+        quotationProvider.getCurrentQuote(upperCaseTicker);
+        return stream(upperCaseTicker, MarketDataStream.BOOK_UPDATES);
+    }
+
+    @GetMapping(path = "/replication", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    Flux<ServerSentEvent<Object>> streamReplication() {
+        log.info("New replication subscription");
+        return marketDataStreams.replicationStream()
+                                .map(MarketDataStreamController::toServerSentEvent);
+    }
+
+    private Flux<ServerSentEvent<Object>> stream(String ticker, MarketDataStream marketDataStream) {
+        log.info("New {} subscription for ticker: {}", marketDataStream, ticker);
+        return marketDataStreams.stream(ticker, marketDataStream)
+                                .map(MarketDataStreamController::toServerSentEvent);
+    }
+
+    private static ServerSentEvent<Object> toServerSentEvent(Object update) {
+        return switch (update) {
+            case QuotationUpdate quotationUpdate -> ServerSentEvent.builder((Object) quotationUpdate)
+                                                                   .event("quotation")
+                                                                   .build();
+            case LastTrade lastTrade -> ServerSentEvent.builder((Object) lastTrade)
+                                                       .event("trade")
+                                                       .id(String.valueOf(lastTrade.sequence()))
+                                                       .build();
+            case TopOfBook topOfBook -> ServerSentEvent.builder((Object) topOfBook)
+                                                       .event("top-of-book")
+                                                       .id(String.valueOf(topOfBook.sequence()))
+                                                       .build();
+            case DepthUpdate depthUpdate -> ServerSentEvent.builder((Object) depthUpdate)
+                                                           .event("depth")
+                                                           .id(String.valueOf(depthUpdate.sequence()))
+                                                           .build();
+            case BookUpdate bookUpdate -> ServerSentEvent.builder((Object) bookUpdate)
+                                                         .event("book-update")
+                                                         .id(String.valueOf(bookUpdate.sequence()))
+                                                         .build();
+            case ReplicationStarted replicationStarted -> ServerSentEvent.builder((Object) replicationStarted)
+                                                                         .event("replication-started")
+                                                                         .build();
+            default -> throw new IllegalStateException("Unknown market data update: " + update);
+        };
+    }
+}
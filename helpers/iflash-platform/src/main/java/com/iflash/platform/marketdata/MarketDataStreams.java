@@ -0,0 +1,91 @@
+package com.iflash.platform.marketdata;
+
+import com.iflash.core.marketdata.BookUpdate;
+import com.iflash.core.marketdata.DepthUpdate;
+import com.iflash.core.marketdata.LastTrade;
+import com.iflash.core.marketdata.MarketDataListener;
+import com.iflash.core.marketdata.QuotationUpdate;
+import com.iflash.core.marketdata.TopOfBook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Receives market data from the engine and fans it out to per-ticker subscribers. The engine thread only records
+ * the update in each subscriber's conflation buffer, delivery happens on the parallel scheduler. Book updates, trades
+ * and quotations of all tickers are also offered unconflated to replication subscribers.
+ */
+@Component
+public class MarketDataStreams implements MarketDataListener {
+
+    private final Map<String, TickerMarketData> marketDataByTicker = new ConcurrentHashMap<>();
+    private final Set<BufferingSubscriber<Object>> replicationSubscribers = ConcurrentHashMap.newKeySet();
+    private final Scheduler deliveryScheduler = Schedulers.parallel();
+
+    @Value("${market-data.replication.buffer-size}")
+    private int replicationBufferSize;
+
+    @Override
+    public void onLastTrade(LastTrade lastTrade) {
+        tickerMarketData(lastTrade.ticker()).onLastTrade(lastTrade);
+        replicate(lastTrade);
+    }
+
+    @Override
+    public void onQuotation(QuotationUpdate quotationUpdate) {
+        tickerMarketData(quotationUpdate.ticker()).onQuotation(quotationUpdate);
+        replicate(quotationUpdate);
+    }
+
+    @Override
+    public void onTopOfBook(TopOfBook topOfBook) {
+        tickerMarketData(topOfBook.ticker()).onTopOfBook(topOfBook);
+    }
+
+    @Override
+    public void onDepthUpdate(DepthUpdate depthUpdate) {
+        tickerMarketData(depthUpdate.ticker()).onDepthUpdate(depthUpdate);
+    }
+
+    @Override
+    public void onBookUpdate(BookUpdate bookUpdate) {
+        tickerMarketData(bookUpdate.ticker()).onBookUpdate(bookUpdate);
+        replicate(bookUpdate);
+    }
+
+    public Flux<Object> stream(String ticker, MarketDataStream marketDataStream) {
+        TickerMarketData tickerMarketData = tickerMarketData(ticker);
+        return Flux.create(sink -> {
+            ConflatingSubscriber<Object, Object> subscriber = new ConflatingSubscriber<>(sink, deliveryScheduler);
+            sink.onRequest(requested -> subscriber.requested());
+            sink.onDispose(() -> tickerMarketData.unsubscribe(marketDataStream, subscriber));
+            tickerMarketData.subscribe(marketDataStream, subscriber);
+        });
+    }
+
+    public Flux<Object> replicationStream() {
+        return Flux.create(sink -> {
+            BufferingSubscriber<Object> subscriber = new BufferingSubscriber<>(sink, deliveryScheduler, replicationBufferSize);
+            sink.onRequest(requested -> subscriber.requested());
+            sink.onDispose(() -> replicationSubscribers.remove(subscriber));
+            replicationSubscribers.add(subscriber);
+            subscriber.offer(new ReplicationStarted(System.currentTimeMillis()));
+        });
+    }
+
+    private void replicate(Object update) {
+        for (BufferingSubscriber<Object> replicationSubscriber : replicationSubscribers) {
+            replicationSubscriber.offer(update);
+        }
+    }
+
+    private TickerMarketData tickerMarketData(String ticker) {
+        return marketDataByTicker.computeIfAbsent(ticker, key -> new TickerMarketData());
+    }
+}
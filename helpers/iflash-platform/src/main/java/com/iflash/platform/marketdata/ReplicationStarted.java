@@ -0,0 +1,8 @@
+package com.iflash.platform.marketdata;
+
+/**
+ * First event of every replication stream, sent once the subscriber is registered. Snapshots taken after receiving
+ * it are continued by the updates of the same stream.
+ */
+record ReplicationStarted(long timestamp) {
+}
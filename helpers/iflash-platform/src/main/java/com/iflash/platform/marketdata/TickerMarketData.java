@@ -0,0 +1,115 @@
+package com.iflash.platform.marketdata;
+
+import com.iflash.core.marketdata.BookUpdate;
+import com.iflash.core.marketdata.DepthUpdate;
+import com.iflash.core.marketdata.LastTrade;
+import com.iflash.core.marketdata.QuotationUpdate;
+import com.iflash.core.marketdata.TopOfBook;
+import com.iflash.core.order.OrderDirection;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Latest market data of one ticker and its subscribers. A new subscriber first receives the current state, the
+ * whole depth for {@link MarketDataStream#DEPTH}, and then every following update.
+ */
+class TickerMarketData {
+
+    private static final String QUOTATION_KEY = "quotation";
+    private static final String LAST_TRADE_KEY = "lastTrade";
+    private static final String TOP_OF_BOOK_KEY = "topOfBook";
+
+    private final Map<MarketDataStream, Set<ConflatingSubscriber<Object, Object>>> subscribers = new EnumMap<>(MarketDataStream.class);
+    private final Map<LevelKey, DepthUpdate> levels = new HashMap<>();
+    private QuotationUpdate lastQuotation;
+    private LastTrade lastTrade;
+    private TopOfBook topOfBook;
+
+    TickerMarketData() {
+        for (MarketDataStream marketDataStream : MarketDataStream.values()) {
+            subscribers.put(marketDataStream, new HashSet<>());
+        }
+    }
+
+    synchronized void onQuotation(QuotationUpdate quotationUpdate) {
+        lastQuotation = quotationUpdate;
+        publish(MarketDataStream.QUOTES, QUOTATION_KEY, quotationUpdate);
+    }
+
+    synchronized void onLastTrade(LastTrade lastTrade) {
+        this.lastTrade = lastTrade;
+        publish(MarketDataStream.QUOTES, LAST_TRADE_KEY, lastTrade);
+    }
+
+    synchronized void onTopOfBook(TopOfBook topOfBook) {
+        this.topOfBook = topOfBook;
+        publish(MarketDataStream.TOP_OF_BOOK, TOP_OF_BOOK_KEY, topOfBook);
+    }
+
+    synchronized void onDepthUpdate(DepthUpdate depthUpdate) {
+        LevelKey levelKey = LevelKey.of(depthUpdate);
+        if (depthUpdate.volume() > 0) {
+            levels.put(levelKey, depthUpdate);
+        }
+        else {
+            levels.remove(levelKey);
+        }
+        publish(MarketDataStream.DEPTH, levelKey, depthUpdate);
+    }
+
+    /**
+     * Book updates are conflated per price level as well, a subscriber falling behind sees a sequence gap and has to
+     * reload the level snapshot.
+     */
+    synchronized void onBookUpdate(BookUpdate bookUpdate) {
+        publish(MarketDataStream.BOOK_UPDATES, new LevelKey(bookUpdate.side(), bookUpdate.price().stripTrailingZeros()), bookUpdate);
+    }
+
+    synchronized void subscribe(MarketDataStream marketDataStream, ConflatingSubscriber<Object, Object> subscriber) {
+        subscribers.get(marketDataStream)
+                   .add(subscriber);
+        switch (marketDataStream) {
+            case QUOTES -> {
+                offerIfPresent(subscriber, QUOTATION_KEY, lastQuotation);
+                offerIfPresent(subscriber, LAST_TRADE_KEY, lastTrade);
+            }
+            case TOP_OF_BOOK -> offerIfPresent(subscriber, TOP_OF_BOOK_KEY, topOfBook);
+            case DEPTH -> levels.values()
+                                .stream()
+                                .sorted(Comparator.comparingLong(DepthUpdate::sequence))
+                                .forEach(level -> subscriber.offer(LevelKey.of(level), level));
+            case BOOK_UPDATES -> {
+            }
+        }
+    }
+
+    synchronized void unsubscribe(MarketDataStream marketDataStream, ConflatingSubscriber<Object, Object> subscriber) {
+        subscribers.get(marketDataStream)
+                   .remove(subscriber);
+    }
+
+    private void publish(MarketDataStream marketDataStream, Object key, Object update) {
+        for (ConflatingSubscriber<Object, Object> subscriber : subscribers.get(marketDataStream)) {
+            subscriber.offer(key, update);
+        }
+    }
+
+    private void offerIfPresent(ConflatingSubscriber<Object, Object> subscriber, Object key, Object update) {
+        if (update != null) {
+            subscriber.offer(key, update);
+        }
+    }
+
+    private record LevelKey(OrderDirection side, BigDecimal price) {
+
+        static LevelKey of(DepthUpdate depthUpdate) {
+            return new LevelKey(depthUpdate.side(), depthUpdate.price().stripTrailingZeros());
+        }
+    }
+}
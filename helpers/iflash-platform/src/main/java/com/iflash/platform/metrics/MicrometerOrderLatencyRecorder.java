@@ -0,0 +1,57 @@
+package com.iflash.platform.metrics;
+
+import com.iflash.core.engine.OrderLatencyRecorder;
+import com.iflash.core.engine.OrderLatencyStage;
+import com.iflash.core.order.OrderType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Publishes per-stage order latencies as {@code iflash.order.stage.latency} timers tagged with stage, ticker
+ * and order type. Percentiles are computed client side, so tails stay visible under
+ * {@code /actuator/metrics/iflash.order.stage.latency.percentile}. Timers are kept per ticker in an array indexed by
+ * stage and order type, so recording allocates nothing once the timer exists.
+ */
+@Component
+@RequiredArgsConstructor
+public class MicrometerOrderLatencyRecorder implements OrderLatencyRecorder {
+
+    static final String ORDER_STAGE_LATENCY = "iflash.order.stage.latency";
+    private static final OrderLatencyStage[] STAGES = OrderLatencyStage.values();
+    private static final OrderType[] ORDER_TYPES = OrderType.values();
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicReferenceArray<Timer>> timersByTicker = new ConcurrentHashMap<>();
+
+    @Override
+    public void record(OrderLatencyStage stage, String ticker, OrderType orderType, long elapsedNanos) {
+        AtomicReferenceArray<Timer> tickerTimers = timersByTicker.get(ticker);
+        if (tickerTimers == null) {
+            tickerTimers = timersByTicker.computeIfAbsent(ticker, key -> new AtomicReferenceArray<>(STAGES.length * ORDER_TYPES.length));
+        }
+        int index = stage.ordinal() * ORDER_TYPES.length + orderType.ordinal();
+        Timer timer = tickerTimers.get(index);
+        if (timer == null) {
+            timer = register(stage, ticker, orderType); // registering twice returns the same timer
+            tickerTimers.set(index, timer);
+        }
+        timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer register(OrderLatencyStage stage, String ticker, OrderType orderType) {
+        return Timer.builder(ORDER_STAGE_LATENCY)
+                    .description("Time spent by an order in a single processing stage")
+                    .tag("stage", stage.name())
+                    .tag("ticker", ticker)
+                    .tag("orderType", orderType.name())
+                    .publishPercentiles(0.5, 0.9, 0.99, 0.999)
+                    .register(meterRegistry);
+    }
+}
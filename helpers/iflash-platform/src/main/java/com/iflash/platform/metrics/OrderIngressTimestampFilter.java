@@ -0,0 +1,24 @@
+package com.iflash.platform.metrics;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Stamps every exchange with the {@link System#nanoTime()} it entered the platform, so the ingress stage
+ * (decoding and dispatch) can be measured once the order reaches the controller.
+ */
+@Component
+public class OrderIngressTimestampFilter implements WebFilter {
+
+    public static final String INGRESS_NANOS_ATTRIBUTE = OrderIngressTimestampFilter.class.getName() + ".INGRESS_NANOS";
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        exchange.getAttributes()
+                .put(INGRESS_NANOS_ATTRIBUTE, System.nanoTime());
+        return chain.filter(exchange);
+    }
+}
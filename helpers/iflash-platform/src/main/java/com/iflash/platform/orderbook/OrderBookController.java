@@ -4,6 +4,9 @@ import com.iflash.commons.OrderBy;
 import com.iflash.commons.Page;
 import com.iflash.commons.Pagination;
 import com.iflash.core.engine.OrderBookOperations;
+import com.iflash.core.marketdata.BookSnapshot;
+import com.iflash.core.marketdata.MarketSnapshot;
+import com.iflash.core.marketdata.OrdersSnapshot;
 import com.iflash.core.order.OrderDirection;
 import com.iflash.core.order.OrderInformation;
 import lombok.RequiredArgsConstructor;
@@ -39,4 +42,19 @@ public class OrderBookController {
 
         return ResponseEntity.ok(orderBookSnapshotResponse);
     }
+
+    @GetMapping("/{ticker}/levels")
+    ResponseEntity<BookSnapshot> getBookSnapshot(@PathVariable String ticker) {
+        return ResponseEntity.ok(orderBookOperations.getBookSnapshot(ticker.toUpperCase()));
+    }
+
+    @GetMapping("/{ticker}/orders")
+    ResponseEntity<OrdersSnapshot> getOrdersSnapshot(@PathVariable String ticker) {
+        return ResponseEntity.ok(orderBookOperations.getOrdersSnapshot(ticker.toUpperCase()));
+    }
+
+    @GetMapping("/{ticker}/top")
+    ResponseEntity<MarketSnapshot> getMarketSnapshot(@PathVariable String ticker) {
+        return ResponseEntity.ok(orderBookOperations.getMarketSnapshot(ticker.toUpperCase()));
+    }
 }
@@ -1,5 +1,6 @@
 package com.iflash.platform.trade;
 
+import com.iflash.core.order.ExecutionReportMode;
 import com.iflash.core.order.OrderDirection;
 import com.iflash.core.order.OrderType;
 import com.iflash.core.order.RegisterOrderCommand;
@@ -19,8 +20,12 @@ class RegisterOrderRequest {
     private String ticker;
     private BigDecimal price;
     private Long volume;
+    private ExecutionReportMode executionReportMode; // optional, PER_ORDER when missing
+    private Long displayVolume; // only for ICEBERG orders
+    private Long expireTimestamp; // epoch millis, required for GTD orders
+    private BigDecimal limitPrice; // required for STOP_LIMIT orders
 
     RegisterOrderCommand command() {
-        return new RegisterOrderCommand(orderId, orderDirection, orderType, ticker, price, volume);
+        return new RegisterOrderCommand(orderId, orderDirection, orderType, ticker, price, volume, executionReportMode, displayVolume, expireTimestamp, limitPrice);
     }
 }
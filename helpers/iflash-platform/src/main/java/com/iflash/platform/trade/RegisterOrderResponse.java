@@ -22,7 +22,7 @@ class RegisterOrderResponse {
     private Long volume;
     private List<TransactionInfoResponse> transactions;
 
-    record TransactionInfoResponse(long volume, BigDecimal price) {
+    record TransactionInfoResponse(long volume, BigDecimal price, int fillCount) {
     }
 
     public static RegisterOrderResponse response(OrderRegistrationResult orderRegistrationResult, RegisterOrderRequest registerOrderRequest) {
@@ -30,7 +30,8 @@ class RegisterOrderResponse {
                                          registerOrderRequest.getPrice(), registerOrderRequest.getVolume(),
                                          orderRegistrationResult.finishedTransactionInfoList()
                                                                 .stream()
-                                                                .map(transactionInfo -> new TransactionInfoResponse(transactionInfo.volume(), transactionInfo.price()))
+                                                                .map(transactionInfo -> new TransactionInfoResponse(transactionInfo.volume(), transactionInfo.price(),
+                                                                                                               transactionInfo.fillCount()))
                                                                 .collect(Collectors.toList()));
     }
 }
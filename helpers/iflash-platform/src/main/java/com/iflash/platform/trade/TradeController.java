@@ -1,8 +1,11 @@
 package com.iflash.platform.trade;
 
+import com.iflash.core.engine.OrderLatencyRecorder;
+import com.iflash.core.engine.OrderLatencyStage;
 import com.iflash.core.engine.TradingOperations;
 import com.iflash.core.order.OrderRegistrationResult;
 import com.iflash.core.order.RegisterOrderCommand;
+import com.iflash.platform.metrics.OrderIngressTimestampFilter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -10,6 +13,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
 
 @Slf4j
 @RestController
@@ -18,16 +22,26 @@ import org.springframework.web.bind.annotation.RestController;
 class TradeController {
 
     private final TradingOperations tradingOperations;
+    private final OrderLatencyRecorder orderLatencyRecorder;
 
     @PostMapping("/order")
-    ResponseEntity<RegisterOrderResponse> registerOrder(@RequestBody RegisterOrderRequest registerOrderRequest) {
+    ResponseEntity<RegisterOrderResponse> registerOrder(@RequestBody RegisterOrderRequest registerOrderRequest, ServerWebExchange exchange) {
+        long engineEntry = System.nanoTime();
         log.info("Order registration request: {}", registerOrderRequest);
 
         RegisterOrderCommand registerOrderCommand = registerOrderRequest.command();
         OrderRegistrationResult orderRegistrationResult = tradingOperations.registerOrder(registerOrderCommand);
         RegisterOrderResponse registerOrderResponse = RegisterOrderResponse.response(orderRegistrationResult, registerOrderRequest);
+        recordIngress(exchange, registerOrderCommand, engineEntry);
 
         log.info("Order registration end with result: {}", orderRegistrationResult);
         return ResponseEntity.ok(registerOrderResponse);
     }
+
+    private void recordIngress(ServerWebExchange exchange, RegisterOrderCommand registerOrderCommand, long engineEntry) {
+        Long ingressNanos = exchange.getAttribute(OrderIngressTimestampFilter.INGRESS_NANOS_ATTRIBUTE);
+        if (ingressNanos != null) {
+            orderLatencyRecorder.record(OrderLatencyStage.INGRESS, registerOrderCommand.ticker(), registerOrderCommand.orderType(), engineEntry - ingressNanos);
+        }
+    }
 }
@@ -0,0 +1,175 @@
+package com.iflash.platform.gateway;
+
+import com.iflash.core.engine.OrderLatencyRecorder;
+import com.iflash.core.order.OrderDirection;
+import com.iflash.core.order.OrderRegistrationResult;
+import com.iflash.core.order.OrderType;
+import com.iflash.core.order.RegisterOrderCommand;
+import com.iflash.core.order.TransactionPhase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.iflash.platform.gateway.BinaryProtocol.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GatewaySessionTest {
+
+    private static final UUID ORDER_ID = UUID.fromString("7b0c8d2e-5f43-4a51-9a8e-1f2d3c4b5a69");
+
+    private final List<RegisterOrderCommand> registeredOrders = new ArrayList<>();
+    private ServerSocketChannel serverChannel;
+    private SocketChannel clientChannel;
+    private GatewaySession gatewaySession;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverChannel = ServerSocketChannel.open()
+                                           .bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        clientChannel = SocketChannel.open(serverChannel.getLocalAddress());
+        gatewaySession = new GatewaySession(serverChannel.accept(), registerOrderCommand -> {
+            registeredOrders.add(registerOrderCommand);
+            return OrderRegistrationResult.limitOrderPlacedSuccessfully(registerOrderCommand);
+        }, OrderLatencyRecorder.NO_OP, new TickerCodec());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        gatewaySession.close();
+        clientChannel.close();
+        serverChannel.close();
+    }
+
+    @Test
+    @DisplayName("Should decode new order fields and acknowledge it with the client order id")
+    void shouldDecodeNewOrderAndAcknowledgeIt() throws IOException {
+        ByteBuffer frame = frame(NEW_ORDER, NEW_ORDER_SIZE);
+        putNewOrder(frame, (byte) 1, (byte) OrderType.LIMIT.ordinal(), "AAPL", 2_452_700L, 15L);
+        send(frame);
+
+        boolean open = gatewaySession.read();
+        gatewaySession.flush();
+        ByteBuffer ack = receive(ACK_SIZE);
+
+        RegisterOrderCommand registerOrderCommand = registeredOrders.getFirst();
+        assertAll(() -> assertTrue(open),
+                  () -> assertEquals(ORDER_ID, registerOrderCommand.orderId()),
+                  () -> assertEquals(OrderDirection.ASK, registerOrderCommand.orderDirection()),
+                  () -> assertEquals(OrderType.LIMIT, registerOrderCommand.orderType()),
+                  () -> assertEquals("AAPL", registerOrderCommand.ticker()),
+                  () -> assertEquals(0, new BigDecimal("245.27").compareTo(registerOrderCommand.price())),
+                  () -> assertEquals(15L, registerOrderCommand.volume()),
+                  () -> assertEquals(ACK_SIZE - LENGTH_FIELD_SIZE, ack.getShort(0)),
+                  () -> assertEquals(ACK, ack.get(2)),
+                  () -> assertEquals(ORDER_ID, new UUID(ack.getLong(3), ack.getLong(11))),
+                  () -> assertEquals(TransactionPhase.IDLING_ON_QUEUE.ordinal(), ack.get(19)),
+                  () -> assertEquals(0L, ack.getLong(20)),
+                  () -> assertEquals(15L, ack.getLong(28)));
+    }
+
+    @Test
+    @DisplayName("Should reject order with unknown side code and keep the session open")
+    void shouldRejectOrderWithUnknownSideCode() throws IOException {
+        ByteBuffer frame = frame(NEW_ORDER, NEW_ORDER_SIZE);
+        putNewOrder(frame, (byte) 7, (byte) OrderType.LIMIT.ordinal(), "AAPL", 2_452_700L, 15L);
+        send(frame);
+
+        boolean open = gatewaySession.read();
+        gatewaySession.flush();
+        ByteBuffer reject = receive(REJECT_SIZE);
+
+        assertAll(() -> assertTrue(open),
+                  () -> assertTrue(registeredOrders.isEmpty()),
+                  () -> assertEquals(REJECT, reject.get(2)),
+                  () -> assertEquals(ORDER_ID, new UUID(reject.getLong(3), reject.getLong(11))),
+                  () -> assertEquals(REJECT_MALFORMED, reject.get(19)));
+    }
+
+    @Test
+    @DisplayName("Should close session on batch too short to hold its order count")
+    void shouldCloseSessionOnBatchWithoutCount() throws IOException {
+        send(frame(NEW_ORDER_BATCH, 0));
+
+        assertAll(() -> assertFalse(gatewaySession.read()),
+                  () -> assertTrue(registeredOrders.isEmpty()));
+    }
+
+    @Test
+    @DisplayName("Should close session on batch whose length does not match its order count")
+    void shouldCloseSessionOnBatchWithWrongCount() throws IOException {
+        ByteBuffer frame = frame(NEW_ORDER_BATCH, BATCH_COUNT_SIZE + NEW_ORDER_SIZE);
+        frame.putShort((short) 2);
+        putNewOrder(frame, (byte) 0, (byte) OrderType.LIMIT.ordinal(), "AAPL", 2_452_700L, 15L);
+        send(frame);
+
+        assertAll(() -> assertFalse(gatewaySession.read()),
+                  () -> assertTrue(registeredOrders.isEmpty()));
+    }
+
+    @Test
+    @DisplayName("Should close session on new order of wrong length")
+    void shouldCloseSessionOnNewOrderOfWrongLength() throws IOException {
+        ByteBuffer frame = frame(NEW_ORDER, NEW_ORDER_SIZE - 1);
+        send(frame.position(frame.limit()));
+
+        assertAll(() -> assertFalse(gatewaySession.read()),
+                  () -> assertTrue(registeredOrders.isEmpty()));
+    }
+
+    @Test
+    @DisplayName("Should close session on unknown message type")
+    void shouldCloseSessionOnUnknownMessageType() throws IOException {
+        ByteBuffer frame = frame((byte) 9, NEW_ORDER_SIZE);
+        send(frame.position(frame.limit()));
+
+        assertAll(() -> assertFalse(gatewaySession.read()),
+                  () -> assertTrue(registeredOrders.isEmpty()));
+    }
+
+    private static ByteBuffer frame(byte messageType, int bodyLength) {
+        return ByteBuffer.allocate(HEADER_SIZE + bodyLength)
+                         .order(BYTE_ORDER)
+                         .putShort((short) (bodyLength + 1))
+                         .put(messageType);
+    }
+
+    private static void putNewOrder(ByteBuffer frame, byte side, byte orderType, String ticker, long scaledPrice, long volume) {
+        frame.putLong(ORDER_ID.getMostSignificantBits())
+             .putLong(ORDER_ID.getLeastSignificantBits())
+             .put(side)
+             .put(orderType)
+             .put(ticker.getBytes(StandardCharsets.US_ASCII))
+             .put(new byte[TickerCodec.TICKER_SIZE - ticker.length()])
+             .putLong(scaledPrice)
+             .putLong(volume);
+    }
+
+    private void send(ByteBuffer frame) throws IOException {
+        frame.flip();
+        while (frame.hasRemaining()) {
+            clientChannel.write(frame);
+        }
+    }
+
+    private ByteBuffer receive(int size) throws IOException {
+        ByteBuffer response = ByteBuffer.allocate(size)
+                                        .order(BYTE_ORDER);
+        while (response.hasRemaining()) {
+            clientChannel.read(response);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,121 @@
+package com.iflash.platform.grpc;
+
+import com.iflash.core.order.FinishedTransactionInfo;
+import com.iflash.core.order.OrderBookException;
+import com.iflash.core.order.OrderRegistrationResult;
+import com.iflash.core.order.RegisterOrderCommand;
+import com.iflash.platform.grpc.api.Decimal;
+import com.iflash.platform.grpc.api.OrderDirection;
+import com.iflash.platform.grpc.api.OrderReport;
+import com.iflash.platform.grpc.api.OrderRequest;
+import com.iflash.platform.grpc.api.OrderType;
+import com.iflash.platform.grpc.api.TransactionPhase;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TradingGrpcServiceTest {
+
+    private static final String ORDER_ID = "0f5e8c1a-3b7d-4e29-8c61-5a4b3c2d1e0f";
+
+    private final List<RegisterOrderCommand> registeredOrders = new ArrayList<>();
+    private final List<OrderReport> orderReports = new ArrayList<>();
+
+    @Test
+    @DisplayName("Should map order request to engine command and fills back to the order report")
+    void shouldMapOrderRequestAndReport() {
+        TradingGrpcService tradingGrpcService = new TradingGrpcService(registerOrderCommand -> {
+            registeredOrders.add(registerOrderCommand);
+            return OrderRegistrationResult.limitOrderPartiallyCompleted(
+                    List.of(new FinishedTransactionInfo(UUID.randomUUID(), "AAPL", 4L, new BigDecimal("245.2700"))), registerOrderCommand);
+        });
+
+        register(tradingGrpcService, orderRequest(ORDER_ID));
+
+        RegisterOrderCommand registerOrderCommand = registeredOrders.getFirst();
+        OrderReport orderReport = orderReports.getFirst();
+        assertAll(() -> assertEquals(UUID.fromString(ORDER_ID), registerOrderCommand.orderId()),
+                  () -> assertEquals(com.iflash.core.order.OrderDirection.BID, registerOrderCommand.orderDirection()),
+                  () -> assertEquals(com.iflash.core.order.OrderType.LIMIT, registerOrderCommand.orderType()),
+                  () -> assertEquals(new BigDecimal("245.27"), registerOrderCommand.price()),
+                  () -> assertEquals(10L, registerOrderCommand.volume()),
+                  () -> assertNull(registerOrderCommand.limitPrice()),
+                  () -> assertEquals(ORDER_ID, orderReport.getOrderId()),
+                  () -> assertEquals(TransactionPhase.PARTIALLY_COMPLETED, orderReport.getTransactionPhase()),
+                  () -> assertEquals(4L, orderReport.getVolumeFilled()),
+                  () -> assertEquals(6L, orderReport.getVolumePending()),
+                  () -> assertEquals(new BigDecimal("245.2700"), GrpcMapper.bigDecimal(orderReport.getFills(0).getPrice())),
+                  () -> assertEquals(4L, orderReport.getFills(0).getVolume()));
+    }
+
+    @Test
+    @DisplayName("Should reject order with malformed order id without calling the engine")
+    void shouldRejectOrderWithMalformedOrderId() {
+        TradingGrpcService tradingGrpcService = new TradingGrpcService(registerOrderCommand -> {
+            registeredOrders.add(registerOrderCommand);
+            return OrderRegistrationResult.limitOrderPlacedSuccessfully(registerOrderCommand);
+        });
+
+        register(tradingGrpcService, orderRequest("not-a-uuid"));
+
+        OrderReport orderReport = orderReports.getFirst();
+        assertAll(() -> assertTrue(registeredOrders.isEmpty()),
+                  () -> assertEquals(TransactionPhase.REJECTED, orderReport.getTransactionPhase()),
+                  () -> assertEquals("Order id is not a valid UUID", orderReport.getRejectReason()),
+                  () -> assertEquals(10L, orderReport.getVolumePending()));
+    }
+
+    @Test
+    @DisplayName("Should reject order with the reason given by the engine")
+    void shouldRejectOrderWithEngineReason() {
+        TradingGrpcService tradingGrpcService = new TradingGrpcService(registerOrderCommand -> {
+            throw OrderBookException.noTicker(registerOrderCommand.ticker());
+        });
+
+        register(tradingGrpcService, orderRequest(ORDER_ID));
+
+        OrderReport orderReport = orderReports.getFirst();
+        assertAll(() -> assertEquals(TransactionPhase.REJECTED, orderReport.getTransactionPhase()),
+                  () -> assertEquals(OrderBookException.noTicker("AAPL").getMessage(), orderReport.getRejectReason()));
+    }
+
+    private void register(TradingGrpcService tradingGrpcService, OrderRequest orderRequest) {
+        StreamObserver<OrderRequest> requestObserver = tradingGrpcService.registerOrders(new StreamObserver<>() {
+            @Override
+            public void onNext(OrderReport orderReport) {
+                orderReports.add(orderReport);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                fail(throwable);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        });
+        requestObserver.onNext(orderRequest);
+        requestObserver.onCompleted();
+    }
+
+    private static OrderRequest orderRequest(String orderId) {
+        return OrderRequest.newBuilder()
+                           .setOrderId(orderId)
+                           .setOrderDirection(OrderDirection.BID)
+                           .setOrderType(OrderType.LIMIT)
+                           .setTicker("AAPL")
+                           .setPrice(Decimal.newBuilder()
+                                            .setUnscaledValue(24_527L)
+                                            .setScale(2))
+                           .setVolume(10L)
+                           .build();
+    }
+}
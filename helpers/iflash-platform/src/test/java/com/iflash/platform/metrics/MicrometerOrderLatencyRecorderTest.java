@@ -0,0 +1,42 @@
+package com.iflash.platform.metrics;
+
+import com.iflash.core.engine.OrderLatencyStage;
+import com.iflash.core.order.OrderType;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicrometerOrderLatencyRecorderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MicrometerOrderLatencyRecorder micrometerOrderLatencyRecorder = new MicrometerOrderLatencyRecorder(meterRegistry);
+
+    @Test
+    @DisplayName("Should record latencies in one timer per stage, ticker and order type")
+    void shouldRecordLatenciesPerStageTickerAndOrderType() {
+        micrometerOrderLatencyRecorder.record(OrderLatencyStage.MATCHING, "AAPL", OrderType.LIMIT, 1_000L);
+        micrometerOrderLatencyRecorder.record(OrderLatencyStage.MATCHING, "AAPL", OrderType.LIMIT, 3_000L);
+        micrometerOrderLatencyRecorder.record(OrderLatencyStage.MATCHING, "AAPL", OrderType.MARKET, 5_000L);
+        micrometerOrderLatencyRecorder.record(OrderLatencyStage.VALIDATION, "MSFT", OrderType.LIMIT, 7_000L);
+
+        Timer aaplLimitMatching = timer(OrderLatencyStage.MATCHING, "AAPL", OrderType.LIMIT);
+        assertAll(() -> assertEquals(2L, aaplLimitMatching.count()),
+                  () -> assertEquals(4_000d, aaplLimitMatching.totalTime(TimeUnit.NANOSECONDS)),
+                  () -> assertEquals(1L, timer(OrderLatencyStage.MATCHING, "AAPL", OrderType.MARKET).count()),
+                  () -> assertEquals(1L, timer(OrderLatencyStage.VALIDATION, "MSFT", OrderType.LIMIT).count()),
+                  () -> assertEquals(3, meterRegistry.find(MicrometerOrderLatencyRecorder.ORDER_STAGE_LATENCY).timers().size()));
+    }
+
+    private Timer timer(OrderLatencyStage stage, String ticker, OrderType orderType) {
+        return meterRegistry.get(MicrometerOrderLatencyRecorder.ORDER_STAGE_LATENCY)
+                            .tag("stage", stage.name())
+                            .tag("ticker", ticker)
+                            .tag("orderType", orderType.name())
+                            .timer();
+    }
+}
@@ -1,19 +1,52 @@
 package com.iflash;
 
+import com.iflash.core.engine.MatchingEngineType;
+import com.iflash.tick.FreeRunningTickManager;
 import com.iflash.tick.TickManager;
-import com.iflash.toolkit.ApiToolkit;
+import com.iflash.toolkit.CachingApiToolkit;
+import com.iflash.toolkit.EmbeddedApiToolkit;
+import com.iflash.toolkit.HttpApiToolkit;
 import com.iflash.trader.Trader;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
 
+import java.time.Duration;
 import java.util.Set;
 
+/**
+ * Usage: {@code IflashSimulator [HTTP|EMBEDDED] [durationSeconds]}. HTTP (default) trades against a running
+ * iflash-platform, EMBEDDED trades against an in-process engine for {@code durationSeconds} (default 60).
+ * Tick timing and trader population come from {@link SimulatorSettings}.
+ */
 public class IflashSimulator {
 
+    private static final long DEFAULT_EMBEDDED_DURATION_SECONDS = 60;
+
     public static void main( String[] args ) {
+        SimulatorMode simulatorMode = args.length > 0 ? SimulatorMode.valueOf(args[0].toUpperCase()) : SimulatorMode.HTTP;
+        SimulatorSettings simulatorSettings = SimulatorSettings.load();
+        switch (simulatorMode) {
+            case HTTP -> runOverHttp(simulatorSettings);
+            case EMBEDDED -> runEmbedded(simulatorSettings, Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_EMBEDDED_DURATION_SECONDS));
+        }
+    }
 
-        ApiToolkit apiToolkit = new ApiToolkit();
-        TradersBootstrapper tradersBootstrapper = new TradersBootstrapper(apiToolkit);
+    private static void runOverHttp(SimulatorSettings simulatorSettings) {
+        TradersBootstrapper tradersBootstrapper = new TradersBootstrapper(new CachingApiToolkit(new HttpApiToolkit(), simulatorSettings.getMarketDataTimeToLive()), simulatorSettings);
         Set<Trader> traders = tradersBootstrapper.bootstrap();
-        TickManager tickManager = new TickManager(traders);
+        TickManager tickManager = new TickManager(traders, simulatorSettings);
         tickManager.run();
     }
+
+    private static void runEmbedded(SimulatorSettings simulatorSettings, Duration duration) {
+        // Per-order logging of traders and engine would dominate the measurement.
+        Configurator.setLevel("com.iflash", Level.WARN);
+        Configurator.setLevel(FreeRunningTickManager.class.getName(), Level.INFO);
+
+        EmbeddedApiToolkit embeddedApiToolkit = EmbeddedApiToolkit.create(MatchingEngineType.SINGLE_THREAD_ENGINE);
+        TradersBootstrapper tradersBootstrapper = new TradersBootstrapper(new CachingApiToolkit(embeddedApiToolkit, simulatorSettings.getMarketDataTimeToLive()), simulatorSettings);
+        Set<Trader> traders = tradersBootstrapper.bootstrap();
+        new FreeRunningTickManager(traders, embeddedApiToolkit, duration).run();
+        System.exit(0);
+    }
 }
@@ -0,0 +1,6 @@
+package com.iflash;
+
+public enum SimulatorMode {
+    HTTP,       // traders call the iflash-platform REST API on a fixed tick
+    EMBEDDED    // traders call an in-process matching engine as fast as possible
+}
@@ -0,0 +1,66 @@
+package com.iflash;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Tick timing, market data caching and trader population, read from {@code simulator.properties} with system properties of the same
+ * name taking precedence.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class SimulatorSettings {
+
+    private static final String SETTINGS_PATH = "/simulator.properties";
+
+    private final Duration tickInterval;
+    private final Duration tickJitter;
+    private final Duration reportInterval;
+    private final Duration marketDataTimeToLive;
+    private final int longTermMonkeyTraders;
+    private final int marketMakerTraders;
+    private final int randomNoiseTraders;
+    private final int trendFollowingTraders;
+    private final int meanReversionTraders;
+    private final int breakoutTraders;
+    private final int worldDumbestTraders;
+
+    public static SimulatorSettings load() {
+        Properties properties = new Properties();
+        try (InputStream inputStream = SimulatorSettings.class.getResourceAsStream(SETTINGS_PATH)) {
+            if (inputStream != null) {
+                properties.load(inputStream);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot read simulator settings from " + SETTINGS_PATH, e);
+        }
+        properties.putAll(System.getProperties());
+
+        return new SimulatorSettings(Duration.ofMillis(longValue(properties, "simulator.tick.interval-ms", 10_000)),
+                                     Duration.ofMillis(longValue(properties, "simulator.tick.jitter-ms", 0)),
+                                     Duration.ofMillis(longValue(properties, "simulator.report.interval-ms", 10_000)),
+                                     Duration.ofMillis(longValue(properties, "simulator.market-data.ttl-ms", 1_000)),
+                                     intValue(properties, "simulator.population.long-term-monkey", 3),
+                                     intValue(properties, "simulator.population.market-maker", 5),
+                                     intValue(properties, "simulator.population.random-noise", 3),
+                                     intValue(properties, "simulator.population.trend-following", 3),
+                                     intValue(properties, "simulator.population.mean-reversion", 3),
+                                     intValue(properties, "simulator.population.breakout", 2),
+                                     intValue(properties, "simulator.population.world-dumbest", 1));
+    }
+
+    private static long longValue(Properties properties, String key, long defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    private static int intValue(Properties properties, String key, int defaultValue) {
+        return Math.toIntExact(longValue(properties, key, defaultValue));
+    }
+}
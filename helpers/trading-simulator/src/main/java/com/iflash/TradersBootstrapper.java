@@ -32,42 +32,50 @@ public class TradersBootstrapper {
     private static final BigDecimal SMART_MONEY_CASH = BigDecimal.valueOf(250_000.00);
     private static final Currency USD = Currency.getInstance("USD");
 
+    private static final String[][] LONG_TERM_INVESTORS = {{"John", "Doe"}, {"Kevin", "MacAllister"}, {"Amy", "Whittaker"}};
+
     private final ApiToolkit apiToolkit;
+    private final SimulatorSettings simulatorSettings;
 
-    public TradersBootstrapper(ApiToolkit apiToolkit) {
+    public TradersBootstrapper(ApiToolkit apiToolkit, SimulatorSettings simulatorSettings) {
         this.apiToolkit = apiToolkit;
+        this.simulatorSettings = simulatorSettings;
     }
 
     public Set<Trader> bootstrap() {
         Set<Trader> traderSet = new HashSet<>();
 
         // Buy-and-hold takers.
-        traderSet.add(new LongTermMonkeyTrader("Top Broker", "John", "Doe", apiToolkit, RETAIL_CASH, USD, new HashMap<>()));
-        traderSet.add(new LongTermMonkeyTrader("Top Broker", "Kevin", "MacAllister", apiToolkit, RETAIL_CASH, USD, new HashMap<>()));
-        traderSet.add(new LongTermMonkeyTrader("Top Broker", "Amy", "Whittaker", apiToolkit, RETAIL_CASH, USD, new HashMap<>()));
+        for (int i = 0; i < simulatorSettings.getLongTermMonkeyTraders(); i++) {
+            String firstName = LONG_TERM_INVESTORS[i % LONG_TERM_INVESTORS.length][0];
+            String lastName = LONG_TERM_INVESTORS[i % LONG_TERM_INVESTORS.length][1] + (i < LONG_TERM_INVESTORS.length ? "" : "-" + i);
+            traderSet.add(new LongTermMonkeyTrader("Top Broker", firstName, lastName, apiToolkit, RETAIL_CASH, USD, new HashMap<>()));
+        }
 
         // Market-noise layer: makers provide two-sided LIMIT liquidity and cross the spread,
         // noise takers add unpredictable MARKET pressure — together they keep the price moving.
-        for (int i = 1; i <= 5; i++) {
+        for (int i = 1; i <= simulatorSettings.getMarketMakerTraders(); i++) {
             traderSet.add(new MarketMakerNoiseTrader("MM-" + i, apiToolkit));
         }
-        for (int i = 1; i <= 3; i++) {
+        for (int i = 1; i <= simulatorSettings.getRandomNoiseTraders(); i++) {
             traderSet.add(new RandomNoiseTrader("Noise-" + i, apiToolkit));
         }
 
         // Smart-money layer: technical-analysis strategies reacting to the tape produced above.
-        for (int i = 1; i <= 3; i++) {
+        for (int i = 1; i <= simulatorSettings.getTrendFollowingTraders(); i++) {
             traderSet.add(new TrendFollowingTrader("Trend-" + i, apiToolkit, SMART_MONEY_CASH));
         }
-        for (int i = 1; i <= 3; i++) {
+        for (int i = 1; i <= simulatorSettings.getMeanReversionTraders(); i++) {
             traderSet.add(new MeanReversionTrader("MeanRev-" + i, apiToolkit, SMART_MONEY_CASH));
         }
-        for (int i = 1; i <= 2; i++) {
+        for (int i = 1; i <= simulatorSettings.getBreakoutTraders(); i++) {
             traderSet.add(new BreakoutTrader("Breakout-" + i, apiToolkit, SMART_MONEY_CASH));
         }
 
         // Every market needs someone on the losing side. :)
-        traderSet.add(new WorldDumbestTrader("Dumbest", apiToolkit, RETAIL_CASH));
+        for (int i = 1; i <= simulatorSettings.getWorldDumbestTraders(); i++) {
+            traderSet.add(new WorldDumbestTrader(i == 1 ? "Dumbest" : "Dumbest-" + i, apiToolkit, RETAIL_CASH));
+        }
 
         return traderSet;
     }
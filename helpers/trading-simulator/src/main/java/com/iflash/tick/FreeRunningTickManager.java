@@ -0,0 +1,72 @@
+package com.iflash.tick;
+
+import com.iflash.toolkit.EmbeddedApiToolkit;
+import com.iflash.trader.Trader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Runs trader rounds back to back on the calling thread for a fixed duration, instead of once per
+ * {@link TickManager} interval, and reports the orders/sec and fills/sec the embedded engine sustained.
+ */
+public class FreeRunningTickManager implements Runnable {
+
+    private static final Logger log = LogManager.getLogger(FreeRunningTickManager.class);
+
+    private static final long REPORT_INTERVAL_NANOS = Duration.ofSeconds(5).toNanos();
+
+    private final List<Trader> traders;
+    private final EmbeddedApiToolkit embeddedApiToolkit;
+    private final Duration duration;
+
+    public FreeRunningTickManager(Set<Trader> traders, EmbeddedApiToolkit embeddedApiToolkit, Duration duration) {
+        this.traders = new ArrayList<>(traders);
+        this.embeddedApiToolkit = embeddedApiToolkit;
+        this.duration = duration;
+    }
+
+    @Override
+    public void run() {
+        log.info("Free running simulation of {} traders for {}", traders.size(), duration);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long reportStart = start;
+        long reportOrders = 0L;
+        long reportFills = 0L;
+        long round = 0L;
+
+        long now = start;
+        while (now < end) {
+            round++;
+            for (Trader trader : traders) {
+                try {
+                    trader.decide();
+                } catch (RuntimeException e) {
+                    log.error("Trader failed during decide(), skipping this round: {}", e.getMessage(), e);
+                }
+            }
+            now = System.nanoTime();
+            if (now - reportStart >= REPORT_INTERVAL_NANOS) {
+                long orders = embeddedApiToolkit.ordersRegistered();
+                long fills = embeddedApiToolkit.fillsExecuted();
+                report("Round " + round, orders - reportOrders, fills - reportFills, now - reportStart);
+                reportStart = now;
+                reportOrders = orders;
+                reportFills = fills;
+            }
+        }
+        report("Total after " + round + " rounds", embeddedApiToolkit.ordersRegistered(), embeddedApiToolkit.fillsExecuted(), now - start);
+        log.info("Orders rejected by the engine: {}", embeddedApiToolkit.ordersRejected());
+    }
+
+    private void report(String label, long orders, long fills, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        log.info("{}: {} orders/sec, {} fills/sec ({} orders, {} fills in {} s)",
+                 label, Math.round(orders / seconds), Math.round(fills / seconds), orders, fills, String.format("%.1f", seconds));
+    }
+}
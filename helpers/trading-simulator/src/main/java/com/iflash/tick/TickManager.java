@@ -1,45 +1,104 @@
 package com.iflash.tick;
 
+import com.iflash.SimulatorSettings;
 import com.iflash.trader.Trader;
-import lombok.RequiredArgsConstructor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
-@RequiredArgsConstructor
+/**
+ * Runs every trader on its own virtual thread, deciding once per tick interval shifted by a random jitter, so a
+ * slow call of one trader never delays the others. A platform thread reports the decide() timings of each
+ * reporting round.
+ */
 public class TickManager implements Runnable {
 
     private static final Logger log = LogManager.getLogger(TickManager.class);
 
-    private final static int TICK_INTERVAL_IN_SECONDS = 10;
     private final Set<Trader> traders;
+    private final long tickIntervalMillis;
+    private final long tickJitterMillis;
+    private final Duration reportInterval;
 
-    private final ScheduledExecutorService scheduledExecutorService;
+    private final ScheduledExecutorService reportingExecutorService;
+
+    private final LongAdder decisions = new LongAdder();
+    private final LongAdder failedDecisions = new LongAdder();
+    private final LongAdder decisionNanos = new LongAdder();
+    private final LongAccumulator maxDecisionNanos = new LongAccumulator(Math::max, 0L);
 
     private long round = 0;
+    private long lastReportNanos;
 
-    public TickManager(Set<Trader> traders) {
+    public TickManager(Set<Trader> traders, SimulatorSettings simulatorSettings) {
         this.traders = new HashSet<>(traders);
-        this.scheduledExecutorService = Executors.newScheduledThreadPool(2);
+        this.tickIntervalMillis = simulatorSettings.getTickInterval().toMillis();
+        this.tickJitterMillis = Math.min(simulatorSettings.getTickJitter().toMillis(), tickIntervalMillis);
+        this.reportInterval = simulatorSettings.getReportInterval();
+        this.reportingExecutorService = Executors.newSingleThreadScheduledExecutor();
     }
 
     @Override
     public void run() {
-        scheduledExecutorService.scheduleAtFixedRate(() -> {
-            this.round++;
-            log.info("===== Round {} ({} traders) =====", round, traders.size());
-            for (Trader trader : traders) {
+        log.info("Starting {} traders, tick {} ms +/- {} ms", traders.size(), tickIntervalMillis, tickJitterMillis);
+        lastReportNanos = System.nanoTime();
+        Thread.Builder traderThreadBuilder = Thread.ofVirtual().name("trader-", 0); // counter advances per started thread
+        for (Trader trader : traders) {
+            traderThreadBuilder.start(() -> trade(trader));
+        }
+        reportingExecutorService.scheduleAtFixedRate(this::report, reportInterval.toMillis(), reportInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void trade(Trader trader) {
+        try {
+            // Spread the first decisions over a whole interval, so the swarm does not start as one burst.
+            Thread.sleep(ThreadLocalRandom.current().nextLong(tickIntervalMillis + 1));
+            while (!Thread.currentThread().isInterrupted()) {
+                long start = System.nanoTime();
                 try {
                     trader.decide();
                 } catch (RuntimeException e) {
+                    failedDecisions.increment();
                     log.error("Trader failed during decide(), skipping this tick: {}", e.getMessage(), e);
                 }
+                long elapsed = System.nanoTime() - start;
+                decisions.increment();
+                decisionNanos.add(elapsed);
+                maxDecisionNanos.accumulate(elapsed);
+                Thread.sleep(nextSleepMillis(elapsed));
             }
-        }, 0, TICK_INTERVAL_IN_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private long nextSleepMillis(long elapsedNanos) {
+        long jitter = tickJitterMillis == 0 ? 0 : ThreadLocalRandom.current().nextLong(-tickJitterMillis, tickJitterMillis + 1);
+        return Math.max(0L, tickIntervalMillis + jitter - TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+
+    private void report() {
+        this.round++;
+        long now = System.nanoTime();
+        double seconds = (now - lastReportNanos) / 1_000_000_000.0;
+        lastReportNanos = now;
+
+        long roundDecisions = decisions.sumThenReset();
+        long roundFailures = failedDecisions.sumThenReset();
+        long roundNanos = decisionNanos.sumThenReset();
+        long roundMaxNanos = maxDecisionNanos.getThenReset();
+        double meanMillis = roundDecisions == 0 ? 0.0 : roundNanos / (double) roundDecisions / 1_000_000.0;
+        log.info("===== Round {} ({} traders): {} decisions ({} failed), {} decisions/sec, decide() mean {} ms, max {} ms =====",
+                 round, traders.size(), roundDecisions, roundFailures, Math.round(roundDecisions / seconds),
+                 String.format("%.2f", meanMillis), String.format("%.2f", roundMaxNanos / 1_000_000.0));
     }
 }
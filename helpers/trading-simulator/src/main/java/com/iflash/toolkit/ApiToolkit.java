@@ -1,108 +1,37 @@
 package com.iflash.toolkit;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
-import java.util.Locale;
 
-public class ApiToolkit {
+/**
+ * Everything a {@link com.iflash.trader.Trader} can do against the exchange. {@link HttpApiToolkit} goes through
+ * the iflash-platform REST API, {@link EmbeddedApiToolkit} calls an in-process matching engine directly.
+ */
+public interface ApiToolkit {
 
-    private static final Logger log = LogManager.getLogger(ApiToolkit.class);
+    ApiResponse<List<FinancialInstrumentInfo>> getInstruments();
 
-    private final String baseUrl = "http://localhost:10023";
-    private final HttpClient httpClient = HttpClient.newHttpClient();
+    ApiResponse<OrderBookSnapshotResponse> getOrderBook(String ticker, int page, int size, String orderBy, String orderDirection);
 
+    ApiResponse<FinancialInstrumentInfo> getCurrentQuotation(String ticker);
 
-    public ApiToolkit() {
+    ApiResponse<QuotationHistoryResponse> getQuotationHistory(String ticker, int amount, String order);
 
-    }
-
-    public ApiResponse<List<FinancialInstrumentInfo>> getInstruments() {
-        return get("/api/v1/instrument", new TypeReference<>() {});
-    }
-
-    public ApiResponse<OrderBookSnapshotResponse> getOrderBook(String ticker, int page, int size, String orderBy, String orderDirection) {
-        String uri = String.format("/api/v1/orderbook/%s?page=%d&size=%d&orderBy=%s&orderDirection=%s", ticker, page, size, orderBy, orderDirection);
-        return get(uri, new TypeReference<>() {});
-    }
-
-    public ApiResponse<FinancialInstrumentInfo> getCurrentQuotation(String ticker) {
-        return get("/api/v1/quotation/" + ticker + "/price", new TypeReference<>() {});
-    }
-
-    public ApiResponse<QuotationHistoryResponse> getQuotationHistory(String ticker, int amount, String order) {
-        String uri = String.format("/api/v1/quotation/%s/quotes?page=0&size=%d&orderBy=%s", ticker, amount, order);
-        return get(uri, new TypeReference<>() {});
-    }
-
-    public ApiResponse<TransactionResponse> placeMarketOrder(String orderDirection, String ticker, long volume) {
-        String body = String.format("""
-                {
-                  "orderDirection": "%s",
-                  "orderType": "MARKET",
-                  "ticker": "%s",
-                  "volume": %d
-                }""", orderDirection, ticker, volume);
-        return post("/api/v1/trade/order", body, new TypeReference<>() {});
-    }
+    ApiResponse<TransactionResponse> placeMarketOrder(String orderDirection, String ticker, long volume);
 
-    public ApiResponse<TransactionResponse> placeLimitOrder(String orderDirection, String ticker, int volume, double price) {
-        String body = String.format(Locale.US, """
-                {
-                  "orderDirection": "%s",
-                  "orderType": "LIMIT",
-                  "ticker": "%s",
-                  "volume": %d,
-                  "price": %.2f
-                }""", orderDirection, ticker, volume, price);
-        return post("/api/v1/trade/order", body, new TypeReference<>() {});
-    }
-
-    private <T> ApiResponse<T> get(String path, TypeReference<T> bodyType) {
-        HttpRequest request = HttpRequest.newBuilder()
-                                         .uri(URI.create(baseUrl + path))
-                                         .GET()
-                                         .build();
-        return send(request, bodyType);
-    }
-
-    private <T> ApiResponse<T> post(String path, String body, TypeReference<T> bodyType) {
-        HttpRequest request = HttpRequest.newBuilder()
-                                         .uri(URI.create(baseUrl + path))
-                                         .header("Content-Type", "application/json")
-                                         .POST(HttpRequest.BodyPublishers.ofString(body))
-                                         .build();
-        return send(request, bodyType);
-    }
-
-    private <T> ApiResponse<T> send(HttpRequest request, TypeReference<T> bodyType) {
-        try {
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() != 200) {
-                log.warn("HTTP request failed with status code: {} and body: {}", response.statusCode(), response.body());
-                return ApiResponse.empty(response.statusCode());
-            }
-            return ApiResponse.readResponse(response.statusCode(), response.body(),bodyType);
-        } catch (IOException | InterruptedException e) {
-            throw new RuntimeException("HTTP request failed: " + e.getMessage(), e);
-        }
-    }
+    ApiResponse<TransactionResponse> placeLimitOrder(String orderDirection, String ticker, int volume, double price);
 
     @Getter
     @RequiredArgsConstructor
-    public static class ApiResponse<T> {
+    class ApiResponse<T> {
         private static final ObjectMapper objectMapper = new ObjectMapper();
         private final int httpStatus;
         private final T responseBody;
@@ -111,17 +40,20 @@ public class ApiToolkit {
             objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         }
 
-        public static <T> ApiResponse<T> readResponse(int httpStatus, String responseBodyAsString, TypeReference<T> responseType) {
+        public static <T> ApiResponse<T> readResponse(int httpStatus, InputStream responseBody, TypeReference<T> responseType) {
             try {
-                T responseBody = objectMapper.readValue(responseBodyAsString, responseType);
-                return new ApiResponse<>(httpStatus, responseBody);
-            } catch (JsonProcessingException e) {
-                throw new RuntimeException(e);
+                return new ApiResponse<>(httpStatus, objectMapper.readValue(responseBody, responseType));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
         }
 
+        public static <T> ApiResponse<T> ok(T responseBody) {
+            return new ApiResponse<>(200, responseBody);
+        }
+
         public static <T> ApiResponse<T> empty(int httpStatus) {
             return new ApiResponse<>(httpStatus, null);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,62 @@
+package com.iflash.toolkit;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Market data shared by the whole trader swarm: the instrument list and current quotations are fetched once per
+ * time-to-live no matter how many traders ask for them, and only successful responses are kept. Order placement,
+ * order book and quotation history calls go straight to the delegate.
+ */
+public class CachingApiToolkit implements ApiToolkit {
+
+    private final ApiToolkit delegate;
+    private final long timeToLiveNanos;
+    private final SingleFlightValue<ApiResponse<List<FinancialInstrumentInfo>>> instruments;
+    private final Map<String, SingleFlightValue<ApiResponse<FinancialInstrumentInfo>>> currentQuotations = new ConcurrentHashMap<>();
+
+    public CachingApiToolkit(ApiToolkit delegate, Duration timeToLive) {
+        this.delegate = delegate;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.instruments = new SingleFlightValue<>(delegate::getInstruments, CachingApiToolkit::isSuccessful, timeToLiveNanos);
+    }
+
+    @Override
+    public ApiResponse<List<FinancialInstrumentInfo>> getInstruments() {
+        return instruments.get();
+    }
+
+    @Override
+    public ApiResponse<OrderBookSnapshotResponse> getOrderBook(String ticker, int page, int size, String orderBy, String orderDirection) {
+        return delegate.getOrderBook(ticker, page, size, orderBy, orderDirection);
+    }
+
+    @Override
+    public ApiResponse<FinancialInstrumentInfo> getCurrentQuotation(String ticker) {
+        return currentQuotations.computeIfAbsent(ticker, key -> new SingleFlightValue<>(() -> delegate.getCurrentQuotation(key),
+                                                                                        CachingApiToolkit::isSuccessful,
+                                                                                        timeToLiveNanos))
+                                .get();
+    }
+
+    @Override
+    public ApiResponse<QuotationHistoryResponse> getQuotationHistory(String ticker, int amount, String order) {
+        return delegate.getQuotationHistory(ticker, amount, order);
+    }
+
+    @Override
+    public ApiResponse<TransactionResponse> placeMarketOrder(String orderDirection, String ticker, long volume) {
+        return delegate.placeMarketOrder(orderDirection, ticker, volume);
+    }
+
+    @Override
+    public ApiResponse<TransactionResponse> placeLimitOrder(String orderDirection, String ticker, int volume, double price) {
+        return delegate.placeLimitOrder(orderDirection, ticker, volume, price);
+    }
+
+    private static boolean isSuccessful(ApiResponse<?> apiResponse) {
+        return apiResponse.getHttpStatus() == 200;
+    }
+}
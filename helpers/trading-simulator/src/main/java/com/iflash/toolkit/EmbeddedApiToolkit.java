@@ -0,0 +1,169 @@
+package com.iflash.toolkit;
+
+import com.iflash.commons.OrderBy;
+import com.iflash.commons.Pagination;
+import com.iflash.core.configuration.MatchingEngineException;
+import com.iflash.core.engine.MatchingEngine;
+import com.iflash.core.engine.MatchingEngineFactory;
+import com.iflash.core.engine.MatchingEngineType;
+import com.iflash.core.engine.TickerRegistrationCommand;
+import com.iflash.core.order.OrderDirection;
+import com.iflash.core.order.OrderInformation;
+import com.iflash.core.order.OrderRegistrationResult;
+import com.iflash.core.order.OrderType;
+import com.iflash.core.order.RegisterOrderCommand;
+import com.iflash.core.quotation.CurrentQuotation;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives an in-process {@link MatchingEngine} without any transport, so a simulation measures the engine and not
+ * the JSON and HTTP stack. Engine rejections are mapped to the same {@code 406} the platform answers with.
+ */
+public class EmbeddedApiToolkit implements ApiToolkit {
+
+    private static final Logger log = LogManager.getLogger(EmbeddedApiToolkit.class);
+
+    private static final String COMPANIES_PATH = "/csv/initial-test-companies.csv";
+    private static final int NOT_ACCEPTABLE = 406;
+
+    private final MatchingEngine matchingEngine;
+    private final LongAdder ordersRegistered = new LongAdder();
+    private final LongAdder ordersRejected = new LongAdder();
+    private final LongAdder fillsExecuted = new LongAdder();
+
+    private EmbeddedApiToolkit(MatchingEngine matchingEngine) {
+        this.matchingEngine = matchingEngine;
+    }
+
+    public static EmbeddedApiToolkit create(MatchingEngineType matchingEngineType) {
+        MatchingEngine matchingEngine = MatchingEngineFactory.factorize(matchingEngineType);
+        List<TickerRegistrationCommand> tickers = readTickers();
+        matchingEngine.initialize(tickers);
+        log.info("Embedded {} initialized with {} tickers", matchingEngineType, tickers.size());
+        return new EmbeddedApiToolkit(matchingEngine);
+    }
+
+    @Override
+    public ApiResponse<List<FinancialInstrumentInfo>> getInstruments() {
+        List<FinancialInstrumentInfo> instruments = matchingEngine.orderBookOperations()
+                                                                  .getFinancialInstrumentInfo()
+                                                                  .stream()
+                                                                  .map(info -> new FinancialInstrumentInfo(info.ticker(), info.currentPrice()))
+                                                                  .toList();
+        return ApiResponse.ok(instruments);
+    }
+
+    @Override
+    public ApiResponse<OrderBookSnapshotResponse> getOrderBook(String ticker, int page, int size, String orderBy, String orderDirection) {
+        try {
+            Pagination pagination = new Pagination(page, size, OrderBy.valueOf(orderBy));
+            List<OrderInformation> orders = matchingEngine.orderBookOperations()
+                                                          .getOrderBookSnapshot(ticker, OrderDirection.valueOf(orderDirection), pagination)
+                                                          .getElements();
+            Page snapshotPage = new Page();
+            snapshotPage.elements = orders.stream()
+                                          .map(order -> new OrderBookSnapshotResponse.OrderBookEntry(order.price(), order.volume()))
+                                          .toList();
+            return ApiResponse.ok(new OrderBookSnapshotResponse(ticker, orderDirection, snapshotPage));
+        } catch (MatchingEngineException e) {
+            return ApiResponse.empty(NOT_ACCEPTABLE);
+        }
+    }
+
+    @Override
+    public ApiResponse<FinancialInstrumentInfo> getCurrentQuotation(String ticker) {
+        try {
+            CurrentQuotation currentQuote = matchingEngine.quotationProvider()
+                                                          .getCurrentQuote(ticker);
+            return ApiResponse.ok(new FinancialInstrumentInfo(ticker, currentQuote.price()));
+        } catch (MatchingEngineException e) {
+            return ApiResponse.empty(NOT_ACCEPTABLE);
+        }
+    }
+
+    @Override
+    public ApiResponse<QuotationHistoryResponse> getQuotationHistory(String ticker, int amount, String order) {
+        try {
+            Pagination pagination = new Pagination(0, amount, OrderBy.valueOf(order));
+            List<QuotationHistoryResponse.Quote> quotes = matchingEngine.quotationProvider()
+                                                                        .getLastQuotes(ticker, pagination)
+                                                                        .getElements()
+                                                                        .stream()
+                                                                        .map(quote -> new QuotationHistoryResponse.Quote(quote.timestamp(), quote.price()))
+                                                                        .toList();
+            return ApiResponse.ok(new QuotationHistoryResponse(ticker, new QuotationHistoryResponse.QuotesPage(quotes)));
+        } catch (MatchingEngineException e) {
+            return ApiResponse.empty(NOT_ACCEPTABLE);
+        }
+    }
+
+    @Override
+    public ApiResponse<TransactionResponse> placeMarketOrder(String orderDirection, String ticker, long volume) {
+        return register(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.valueOf(orderDirection), OrderType.MARKET, ticker, null, volume));
+    }
+
+    @Override
+    public ApiResponse<TransactionResponse> placeLimitOrder(String orderDirection, String ticker, int volume, double price) {
+        return register(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.valueOf(orderDirection), OrderType.LIMIT, ticker, BigDecimal.valueOf(price), (long) volume));
+    }
+
+    public long ordersRegistered() {
+        return ordersRegistered.sum();
+    }
+
+    public long ordersRejected() {
+        return ordersRejected.sum();
+    }
+
+    public long fillsExecuted() {
+        return fillsExecuted.sum();
+    }
+
+    private ApiResponse<TransactionResponse> register(RegisterOrderCommand registerOrderCommand) {
+        OrderRegistrationResult orderRegistrationResult;
+        try {
+            orderRegistrationResult = matchingEngine.tradingOperations()
+                                                    .registerOrder(registerOrderCommand);
+        } catch (MatchingEngineException e) {
+            ordersRejected.increment();
+            return ApiResponse.empty(NOT_ACCEPTABLE);
+        }
+        ordersRegistered.increment();
+        fillsExecuted.add(orderRegistrationResult.finishedTransactionInfoList().size());
+
+        TransactionResponse transactionResponse = new TransactionResponse();
+        transactionResponse.setTicker(registerOrderCommand.ticker());
+        transactionResponse.setVolume(registerOrderCommand.volume());
+        transactionResponse.setPrice(registerOrderCommand.price());
+        transactionResponse.setTransactions(orderRegistrationResult.finishedTransactionInfoList()
+                                                                   .stream()
+                                                                   .map(fill -> new TransactionResponse.TransactionInfoResponse(fill.volume(), fill.price()))
+                                                                   .toList());
+        return ApiResponse.ok(transactionResponse);
+    }
+
+    private static List<TickerRegistrationCommand> readTickers() {
+        List<TickerRegistrationCommand> tickers = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(EmbeddedApiToolkit.class.getResourceAsStream(COMPANIES_PATH)))) {
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(",");
+                tickers.add(new TickerRegistrationCommand(parts[1].trim(), new BigDecimal(parts[3].trim())));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot read companies from " + COMPANIES_PATH, e);
+        }
+        return tickers;
+    }
+}
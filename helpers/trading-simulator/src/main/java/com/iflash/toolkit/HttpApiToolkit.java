@@ -0,0 +1,125 @@
+package com.iflash.toolkit;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+
+/**
+ * REST client of iflash-platform. Requests go out over HTTP/2 (h2c, falling back to HTTP/1.1 when the server does not
+ * upgrade) and response bodies are decoded by Jackson straight from the response stream. Calls block the calling
+ * trader, traders run on virtual threads so a waiting trader parks without holding a platform thread.
+ */
+public class HttpApiToolkit implements ApiToolkit {
+
+    private static final Logger log = LogManager.getLogger(HttpApiToolkit.class);
+
+    private final String baseUrl = "http://localhost:10023";
+    private final HttpClient httpClient = HttpClient.newBuilder()
+                                                    .version(HttpClient.Version.HTTP_2)
+                                                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                                                    .build();
+
+
+    public HttpApiToolkit() {
+
+    }
+
+    @Override
+    public ApiResponse<List<FinancialInstrumentInfo>> getInstruments() {
+        return get("/api/v1/instrument", new TypeReference<>() {});
+    }
+
+    @Override
+    public ApiResponse<OrderBookSnapshotResponse> getOrderBook(String ticker, int page, int size, String orderBy, String orderDirection) {
+        String uri = String.format("/api/v1/orderbook/%s?page=%d&size=%d&orderBy=%s&orderDirection=%s", ticker, page, size, orderBy, orderDirection);
+        return get(uri, new TypeReference<>() {});
+    }
+
+    @Override
+    public ApiResponse<FinancialInstrumentInfo> getCurrentQuotation(String ticker) {
+        return get("/api/v1/quotation/" + ticker + "/price", new TypeReference<>() {});
+    }
+
+    @Override
+    public ApiResponse<QuotationHistoryResponse> getQuotationHistory(String ticker, int amount, String order) {
+        String uri = String.format("/api/v1/quotation/%s/quotes?page=0&size=%d&orderBy=%s", ticker, amount, order);
+        return get(uri, new TypeReference<>() {});
+    }
+
+    @Override
+    public ApiResponse<TransactionResponse> placeMarketOrder(String orderDirection, String ticker, long volume) {
+        String body = String.format("""
+                {
+                  "orderDirection": "%s",
+                  "orderType": "MARKET",
+                  "ticker": "%s",
+                  "volume": %d
+                }""", orderDirection, ticker, volume);
+        return post("/api/v1/trade/order", body, new TypeReference<>() {});
+    }
+
+    @Override
+    public ApiResponse<TransactionResponse> placeLimitOrder(String orderDirection, String ticker, int volume, double price) {
+        String body = String.format(Locale.US, """
+                {
+                  "orderDirection": "%s",
+                  "orderType": "LIMIT",
+                  "ticker": "%s",
+                  "volume": %d,
+                  "price": %.2f
+                }""", orderDirection, ticker, volume, price);
+        return post("/api/v1/trade/order", body, new TypeReference<>() {});
+    }
+
+    private <T> ApiResponse<T> get(String path, TypeReference<T> bodyType) {
+        HttpRequest request = HttpRequest.newBuilder()
+                                         .uri(URI.create(baseUrl + path))
+                                         .GET()
+                                         .build();
+        return send(request, bodyType);
+    }
+
+    private <T> ApiResponse<T> post(String path, String body, TypeReference<T> bodyType) {
+        HttpRequest request = HttpRequest.newBuilder()
+                                         .uri(URI.create(baseUrl + path))
+                                         .header("Content-Type", "application/json")
+                                         .POST(HttpRequest.BodyPublishers.ofString(body))
+                                         .build();
+        return send(request, bodyType);
+    }
+
+    private <T> ApiResponse<T> send(HttpRequest request, TypeReference<T> bodyType) {
+        try {
+            return read(httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream()), bodyType);
+        } catch (IOException e) {
+            throw new RuntimeException("HTTP request failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("HTTP request interrupted", e);
+        }
+    }
+
+    private <T> ApiResponse<T> read(HttpResponse<InputStream> response, TypeReference<T> bodyType) {
+        try (InputStream body = response.body()) {
+            if (response.statusCode() != 200) {
+                log.warn("HTTP request failed with status code: {} and body: {}", response.statusCode(), new String(body.readAllBytes(), StandardCharsets.UTF_8));
+                return ApiResponse.empty(response.statusCode());
+            }
+            return ApiResponse.readResponse(response.statusCode(), body, bodyType);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
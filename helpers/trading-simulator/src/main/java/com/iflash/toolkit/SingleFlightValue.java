@@ -0,0 +1,64 @@
+package com.iflash.toolkit;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Value loaded at most once per time-to-live: when it expires, the first caller loads it and every concurrent
+ * caller waits for that same load instead of issuing its own. Results rejected by {@code cacheable} are handed
+ * to the waiting callers but not kept.
+ */
+class SingleFlightValue<T> {
+
+    private final Supplier<T> loader;
+    private final Predicate<T> cacheable;
+    private final long timeToLiveNanos;
+    private final AtomicReference<Loaded<T>> current = new AtomicReference<>();
+
+    SingleFlightValue(Supplier<T> loader, Predicate<T> cacheable, long timeToLiveNanos) {
+        this.loader = loader;
+        this.cacheable = cacheable;
+        this.timeToLiveNanos = timeToLiveNanos;
+    }
+
+    T get() {
+        Loaded<T> loading;
+        while (true) {
+            Loaded<T> loaded = current.get();
+            if (loaded != null && System.nanoTime() - loaded.loadStartNanos() < timeToLiveNanos) {
+                return await(loaded);
+            }
+            loading = new Loaded<>(new CompletableFuture<>(), System.nanoTime());
+            if (current.compareAndSet(loaded, loading)) {
+                break;
+            }
+            // Lost the race: either another load is in flight now or it already finished and cleared the value.
+        }
+        try {
+            T value = loader.get();
+            if (!cacheable.test(value)) {
+                current.compareAndSet(loading, null);
+            }
+            loading.value().complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            current.compareAndSet(loading, null);
+            loading.value().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private T await(Loaded<T> loaded) {
+        try {
+            return loaded.value().join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+        }
+    }
+
+    private record Loaded<T>(CompletableFuture<T> value, long loadStartNanos) {
+    }
+}
@@ -14,14 +14,12 @@ import java.util.Currency;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class LongTermMonkeyTrader implements Trader {
 
     private static final Logger log = LogManager.getLogger(LongTermMonkeyTrader.class);
 
-    private static final Random random = new Random();
-
     private final String brokerName;
     private final String firstName;
     private final String lastName;
@@ -62,11 +60,11 @@ public class LongTermMonkeyTrader implements Trader {
             return;
         }
 
-        int selectedInstrumentIndex = random.nextInt(instruments.size());
+        int selectedInstrumentIndex = ThreadLocalRandom.current().nextInt(instruments.size());
         FinancialInstrumentInfo selectedInstrument = instruments.get(selectedInstrumentIndex);
         log.info("Selected instrument: {}", selectedInstrument);
 
-        int volumeToBuy = random.nextInt(10) + 1;
+        int volumeToBuy = ThreadLocalRandom.current().nextInt(10) + 1;
         BigDecimal estimatedBuyCost = selectedInstrument.currentPrice()
                                                         .multiply(BigDecimal.valueOf(volumeToBuy));
 
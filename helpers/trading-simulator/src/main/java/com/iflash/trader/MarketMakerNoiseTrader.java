@@ -7,7 +7,7 @@ import org.apache.logging.log4j.Logger;
 
 import java.math.BigDecimal;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * A noise market maker. Each tick it quotes a few random instruments on <b>both</b> sides with
@@ -22,8 +22,6 @@ public class MarketMakerNoiseTrader implements Trader {
 
     private static final Logger log = LogManager.getLogger(MarketMakerNoiseTrader.class);
 
-    private static final Random RANDOM = new Random();
-
     private static final int INSTRUMENTS_PER_TICK = 3;
     private static final int MAX_QUOTE_SIZE = 25;
     private static final double MIN_SPREAD = 0.004; // 0.4%
@@ -47,7 +45,7 @@ public class MarketMakerNoiseTrader implements Trader {
         }
         List<FinancialInstrumentInfo> instruments = response.getResponseBody();
         for (int i = 0; i < INSTRUMENTS_PER_TICK; i++) {
-            quote(instruments.get(RANDOM.nextInt(instruments.size())));
+            quote(instruments.get(ThreadLocalRandom.current().nextInt(instruments.size())));
         }
     }
 
@@ -57,19 +55,19 @@ public class MarketMakerNoiseTrader implements Trader {
             return;
         }
         double mid = price.doubleValue();
-        double spread = MIN_SPREAD + RANDOM.nextDouble() * (MAX_SPREAD - MIN_SPREAD);
+        double spread = MIN_SPREAD + ThreadLocalRandom.current().nextDouble() * (MAX_SPREAD - MIN_SPREAD);
         double bid = round2(mid * (1.0 - spread));
         double ask = round2(mid * (1.0 + spread));
         String ticker = instrument.ticker();
 
         // Rest passive liquidity on both sides.
-        apiToolkit.placeLimitOrder("BID", ticker, 1 + RANDOM.nextInt(MAX_QUOTE_SIZE), bid);
-        apiToolkit.placeLimitOrder("ASK", ticker, 1 + RANDOM.nextInt(MAX_QUOTE_SIZE), ask);
+        apiToolkit.placeLimitOrder("BID", ticker, 1 + ThreadLocalRandom.current().nextInt(MAX_QUOTE_SIZE), bid);
+        apiToolkit.placeLimitOrder("ASK", ticker, 1 + ThreadLocalRandom.current().nextInt(MAX_QUOTE_SIZE), ask);
 
         // Occasionally take liquidity to generate a real transaction -> the price moves.
-        if (RANDOM.nextDouble() < CROSS_PROBABILITY) {
-            String side = RANDOM.nextBoolean() ? "BID" : "ASK";
-            apiToolkit.placeMarketOrder(side, ticker, 1 + RANDOM.nextInt(MAX_CROSS_SIZE));
+        if (ThreadLocalRandom.current().nextDouble() < CROSS_PROBABILITY) {
+            String side = ThreadLocalRandom.current().nextBoolean() ? "BID" : "ASK";
+            apiToolkit.placeMarketOrder(side, ticker, 1 + ThreadLocalRandom.current().nextInt(MAX_CROSS_SIZE));
         }
         log.info("[{}] quoted {} bid={} ask={}", name, ticker, bid, ask);
     }
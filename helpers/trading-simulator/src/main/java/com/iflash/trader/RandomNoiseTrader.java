@@ -4,7 +4,7 @@ import com.iflash.toolkit.ApiToolkit;
 import com.iflash.toolkit.FinancialInstrumentInfo;
 
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Pure noise taker. Each tick it fires a handful of random MARKET orders (random side, size and
@@ -14,8 +14,6 @@ import java.util.Random;
  */
 public class RandomNoiseTrader implements Trader {
 
-    private static final Random RANDOM = new Random();
-
     private static final int ORDERS_PER_TICK = 4;
     private static final int MAX_SIZE = 8;
 
@@ -35,9 +33,9 @@ public class RandomNoiseTrader implements Trader {
         }
         List<FinancialInstrumentInfo> instruments = response.getResponseBody();
         for (int i = 0; i < ORDERS_PER_TICK; i++) {
-            FinancialInstrumentInfo instrument = instruments.get(RANDOM.nextInt(instruments.size()));
-            String side = RANDOM.nextBoolean() ? "BID" : "ASK";
-            apiToolkit.placeMarketOrder(side, instrument.ticker(), 1 + RANDOM.nextInt(MAX_SIZE));
+            FinancialInstrumentInfo instrument = instruments.get(ThreadLocalRandom.current().nextInt(instruments.size()));
+            String side = ThreadLocalRandom.current().nextBoolean() ? "BID" : "ASK";
+            apiToolkit.placeMarketOrder(side, instrument.ticker(), 1 + ThreadLocalRandom.current().nextInt(MAX_SIZE));
         }
     }
 }
@@ -14,7 +14,7 @@ import java.time.ZonedDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Base for "smart money" traders that act on technical-analysis signals computed from an
@@ -31,7 +31,6 @@ abstract class TechnicalTrader implements Trader {
 
     protected enum Signal {BUY, SELL, HOLD}
 
-    private static final Random RANDOM = new Random();
     private static final int HISTORY_SIZE = 120;
     private static final int INSTRUMENTS_PER_TICK = 2;
     private static final long TRADE_VOLUME = 5;
@@ -55,7 +54,7 @@ abstract class TechnicalTrader implements Trader {
         }
         List<FinancialInstrumentInfo> instruments = response.getResponseBody();
         for (int i = 0; i < INSTRUMENTS_PER_TICK; i++) {
-            evaluateAndTrade(instruments.get(RANDOM.nextInt(instruments.size())));
+            evaluateAndTrade(instruments.get(ThreadLocalRandom.current().nextInt(instruments.size())));
         }
     }
 
@@ -0,0 +1,92 @@
+package com.iflash.toolkit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightValueTest {
+
+    private static final long TIME_TO_LIVE_NANOS = Duration.ofMinutes(1L).toNanos();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("Should run one loader for concurrent callers and hand its value to all of them")
+    void shouldRunOneLoaderForConcurrentCallers() throws Exception {
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch loadReleased = new CountDownLatch(1);
+        SingleFlightValue<String> singleFlightValue = new SingleFlightValue<>(() -> {
+            loads.incrementAndGet();
+            loadStarted.countDown();
+            await(loadReleased);
+            return "AAPL";
+        }, value -> true, TIME_TO_LIVE_NANOS);
+
+        List<Future<String>> values = new ArrayList<>();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            values.add(callers.submit(singleFlightValue::get));
+            loadStarted.await();
+            for (int i = 0; i < 15; i++) {
+                values.add(callers.submit(singleFlightValue::get));
+            }
+            loadReleased.countDown();
+        }
+
+        List<String> loadedValues = new ArrayList<>();
+        for (Future<String> value : values) {
+            loadedValues.add(value.get());
+        }
+        assertAll(() -> assertEquals(1, loads.get()),
+                  () -> assertEquals(16, loadedValues.size()),
+                  () -> assertTrue(loadedValues.stream().allMatch("AAPL"::equals), loadedValues::toString));
+    }
+
+    @Test
+    @DisplayName("Should clear the slot after a failed load so the next call loads again")
+    void shouldLoadAgainAfterFailedLoad() {
+        SingleFlightValue<String> singleFlightValue = new SingleFlightValue<>(() -> {
+            if (loads.incrementAndGet() == 1) {
+                throw new IllegalStateException("Engine unavailable");
+            }
+            return "AAPL";
+        }, value -> true, TIME_TO_LIVE_NANOS);
+
+        IllegalStateException failedLoad = assertThrows(IllegalStateException.class, singleFlightValue::get);
+        String reloadedValue = singleFlightValue.get();
+        String cachedValue = singleFlightValue.get();
+
+        assertAll(() -> assertEquals("Engine unavailable", failedLoad.getMessage()),
+                  () -> assertEquals("AAPL", reloadedValue),
+                  () -> assertEquals("AAPL", cachedValue),
+                  () -> assertEquals(2, loads.get()));
+    }
+
+    @Test
+    @DisplayName("Should not keep a value rejected as not cacheable")
+    void shouldNotKeepRejectedValue() {
+        SingleFlightValue<Integer> singleFlightValue = new SingleFlightValue<>(loads::incrementAndGet, value -> value > 1, TIME_TO_LIVE_NANOS);
+
+        List<Integer> values = List.of(singleFlightValue.get(), singleFlightValue.get(), singleFlightValue.get());
+
+        assertEquals(List.of(1, 2, 2), values);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        }
+        catch (InterruptedException interruptedException) {
+            throw new IllegalStateException(interruptedException);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.iflash.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks uber-jar. Accepts the regular JMH command line
+ * ({@code java -jar target/benchmarks.jar OrderBookBenchmark -p depth=1000}) and always attaches
+ * the GC profiler, so every result carries {@code gc.alloc.rate} and {@code gc.alloc.rate.norm}
+ * next to throughput and average time.
+ */
+public class EngineBenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder().parent(new CommandLineOptions(args))
+                                              .addProfiler(GCProfiler.class)
+                                              .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,107 @@
+package com.iflash.core.order;
+
+import com.iflash.core.quotation.QuotationAggregator;
+import com.iflash.core.quotation.QuotationAggregatorFactory;
+import com.iflash.core.quotation.QuotationCalculationType;
+import com.iflash.core.quotation.QuotationProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OrderBook#registerOrder} on a book holding {@code depth} resting orders per side.
+ * Resting orders carry a practically unlimited volume, so every taker only partially fills the
+ * best counter-order and the depth stays constant for the whole iteration. The book is rebuilt
+ * per iteration because each partial fill appends to the maker's state history. The maker volume is
+ * bounded so that the cumulative volume of the whole side still fits the depth index.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderBookBenchmark {
+
+    private static final String TICKER = "NVDA";
+    private static final BigDecimal MID_PRICE = BigDecimal.valueOf(180.00);
+    private static final BigDecimal TICK = BigDecimal.valueOf(0.01);
+    private static final long MAKER_VOLUME = Long.MAX_VALUE / 4 / 100_000;
+
+    @Param({"10", "1000", "100000"})
+    private int depth;
+
+    private SimpleOrderBook orderBook;
+    private RegisterOrderCommand marketBid;
+    private RegisterOrderCommand marketAsk;
+    private RegisterOrderCommand crossingLimitBid;
+    private RegisterOrderCommand restingLimitAsk;
+    private RegisterOrderCommand crossingImmediateOrCancelBid;
+    private RegisterOrderCommand killedFillOrKillBid;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        QuotationAggregator quotationAggregator = QuotationAggregatorFactory.factorizeQuotationAggregator(QuotationCalculationType.WEIGHTED_AVERAGE);
+        quotationAggregator.initTicker(TICKER, MID_PRICE);
+        orderBook = (SimpleOrderBook) OrderBookFactory.factorizeOrderBook((QuotationProvider) quotationAggregator);
+        orderBook.registerTicker(TICKER);
+        for (int level = 1; level <= depth; level++) {
+            BigDecimal offset = TICK.multiply(BigDecimal.valueOf(level));
+            orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.ASK, OrderType.LIMIT, TICKER, MID_PRICE.add(offset), MAKER_VOLUME));
+            orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.BID, OrderType.LIMIT, TICKER, MID_PRICE.subtract(offset), MAKER_VOLUME));
+        }
+
+        marketBid = new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.BID, OrderType.MARKET, TICKER, MID_PRICE, 1L);
+        marketAsk = new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.ASK, OrderType.MARKET, TICKER, MID_PRICE, 1L);
+        crossingLimitBid = new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.BID, OrderType.LIMIT, TICKER, MID_PRICE.add(BigDecimal.ONE), 1L);
+        restingLimitAsk = new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.ASK, OrderType.LIMIT, TICKER, MID_PRICE, 1L);
+        crossingImmediateOrCancelBid = new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.BID, OrderType.IOC, TICKER, MID_PRICE.add(BigDecimal.ONE), 1L);
+        killedFillOrKillBid = new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.BID, OrderType.FOK, TICKER, MID_PRICE.add(BigDecimal.ONE),
+                                                       MAKER_VOLUME * depth);
+    }
+
+    @Benchmark
+    public OrderRegistrationResult marketBidOrder() {
+        return orderBook.registerOrder(marketBid);
+    }
+
+    @Benchmark
+    public OrderRegistrationResult marketAskOrder() {
+        return orderBook.registerOrder(marketAsk);
+    }
+
+    @Benchmark
+    public OrderRegistrationResult crossingLimitOrder() {
+        return orderBook.registerOrder(crossingLimitBid);
+    }
+
+    @Benchmark
+    public OrderRegistrationResult crossingImmediateOrCancelOrder() {
+        return orderBook.registerOrder(crossingImmediateOrCancelBid);
+    }
+
+    @Benchmark
+    public OrderRegistrationResult killedFillOrKillOrder() {
+        return orderBook.registerOrder(killedFillOrKillBid);
+    }
+
+    @Benchmark
+    public Order restingLimitOrder() {
+        orderBook.registerOrder(restingLimitAsk);
+        return orderBook.getAsksOrderQueue(TICKER)
+                        .poll();
+    }
+}
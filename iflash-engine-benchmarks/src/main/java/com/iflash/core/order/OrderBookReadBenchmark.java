@@ -0,0 +1,86 @@
+package com.iflash.core.order;
+
+import com.iflash.commons.OrderBy;
+import com.iflash.commons.Page;
+import com.iflash.commons.Pagination;
+import com.iflash.core.marketdata.MarketDataListener;
+import com.iflash.core.marketdata.MarketDataPublisher;
+import com.iflash.core.marketdata.MarketSnapshot;
+import com.iflash.core.marketdata.PriceLevel;
+import com.iflash.core.quotation.QuotationAggregator;
+import com.iflash.core.quotation.QuotationAggregatorFactory;
+import com.iflash.core.quotation.QuotationCalculationType;
+import com.iflash.core.quotation.QuotationProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.iflash.core.configuration.GlobalSettings.QUOTATION_CALCULATE_DEPTH;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderBookReadBenchmark {
+
+    private static final String TICKER = "NVDA";
+    private static final BigDecimal MID_PRICE = BigDecimal.valueOf(180.00);
+    private static final BigDecimal TICK = BigDecimal.valueOf(0.01);
+
+    @Param({"10", "1000", "100000"})
+    private int depth;
+
+    private OrderBook orderBook;
+    private MarketDataPublisher marketDataPublisher;
+    private final Pagination firstPage = new Pagination(0, 20, OrderBy.ASC);
+
+    @Setup
+    public void setUp() {
+        QuotationAggregator quotationAggregator = QuotationAggregatorFactory.factorizeQuotationAggregator(QuotationCalculationType.WEIGHTED_AVERAGE);
+        quotationAggregator.initTicker(TICKER, MID_PRICE);
+        marketDataPublisher = MarketDataPublisher.create(MarketDataListener.NO_OP);
+        orderBook = OrderBookFactory.factorizeOrderBook((QuotationProvider) quotationAggregator, marketDataPublisher);
+        orderBook.registerTicker(TICKER);
+        for (int level = 1; level <= depth; level++) {
+            BigDecimal offset = TICK.multiply(BigDecimal.valueOf(level));
+            orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.ASK, OrderType.LIMIT, TICKER, MID_PRICE.add(offset), 100L));
+            orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.BID, OrderType.LIMIT, TICKER, MID_PRICE.subtract(offset), 100L));
+        }
+    }
+
+    @Benchmark
+    public Page<OrderInformation> orderBookSnapshot() {
+        return orderBook.getOrderBookSnapshot(TICKER, OrderDirection.ASK, firstPage);
+    }
+
+    @Benchmark
+    public List<OrderInformation> topOrders() {
+        return orderBook.getTopOrders(TICKER, OrderDirection.BID, QUOTATION_CALCULATE_DEPTH);
+    }
+
+    @Benchmark
+    public List<PriceLevel> topLevels() {
+        return marketDataPublisher.marketSnapshot(TICKER)
+                                  .topBids(QUOTATION_CALCULATE_DEPTH);
+    }
+
+    @Benchmark
+    public MarketSnapshot marketSnapshot() {
+        return marketDataPublisher.marketSnapshot(TICKER);
+    }
+}
@@ -0,0 +1,76 @@
+package com.iflash.core.quotation;
+
+import com.iflash.commons.OrderBy;
+import com.iflash.commons.Page;
+import com.iflash.commons.Pagination;
+import com.iflash.core.engine.FinancialInstrumentInfo;
+import com.iflash.core.order.FinishedTransactionInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read side of {@link QuotationAggregatorDefault} for {@code tickers} instruments, the measured one
+ * holding a quotation history of {@code history} entries.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuotationAggregatorReadBenchmark {
+
+    private static final String TICKER = "TICK0";
+
+    @Param({"100"})
+    private int tickers;
+
+    @Param({"10", "10000", "1000000"})
+    private int history;
+
+    private QuotationProvider quotationProvider;
+    private final Pagination latestQuotes = new Pagination(0, 20, OrderBy.DESC);
+
+    @Setup
+    public void setUp() {
+        QuotationAggregator quotationAggregator = QuotationAggregatorFactory.factorizeQuotationAggregator(QuotationCalculationType.WEIGHTED_AVERAGE);
+        for (int tickerIndex = 0; tickerIndex < tickers; tickerIndex++) {
+            String ticker = "TICK" + tickerIndex;
+            quotationAggregator.initTicker(ticker, BigDecimal.valueOf(100.00));
+        }
+        for (int quotationIndex = 1; quotationIndex < history; quotationIndex++) {
+            FinishedTransactionInfo fill = new FinishedTransactionInfo(UUID.randomUUID(), TICKER, 1L, BigDecimal.valueOf(100.00 + quotationIndex % 100 / 100.0));
+            quotationAggregator.calculateQuotationPostTransaction(TICKER, List.of(fill));
+        }
+        quotationProvider = (QuotationProvider) quotationAggregator;
+    }
+
+    @Benchmark
+    public CurrentQuotation currentQuote() {
+        return quotationProvider.getCurrentQuote(TICKER);
+    }
+
+    @Benchmark
+    public Page<CurrentQuotation> lastQuotes() {
+        return quotationProvider.getLastQuotes(TICKER, latestQuotes);
+    }
+
+    @Benchmark
+    public List<FinancialInstrumentInfo> allTickersWithQuotation() {
+        return quotationProvider.getAllTickersWithQuotation();
+    }
+}
@@ -0,0 +1,65 @@
+package com.iflash.core.quotation;
+
+import com.iflash.core.marketdata.TopOfBook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of quoting a single fill with each {@link QuotationCalculationType}, windowed calculators run with their
+ * windows already filled.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuotationCalculableBenchmark {
+
+    private static final String TICKER = "NVDA";
+    private static final int FILLS = 1024;
+
+    @Param({"WEIGHTED_AVERAGE", "VWAP_TIME_WINDOW", "VWAP_VOLUME_WINDOW", "EXPONENTIAL_MOVING_AVERAGE", "LAST_TRADE", "MICRO_PRICE"})
+    private QuotationCalculationType quotationCalculationType;
+
+    private QuotationCalculable quotationCalculable;
+    private List<QuotableInformation>[] fills;
+    private int fillIndex;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        Random random = new Random(42);
+        fills = new List[FILLS];
+        for (int i = 0; i < FILLS; i++) {
+            fills[i] = List.of(new QuotableInformation(1 + random.nextInt(100), BigDecimal.valueOf(180.00 + random.nextInt(200) / 100.0)));
+        }
+        quotationCalculable = QuotationAggregatorFactory.factorizeQuotationCalculable(quotationCalculationType);
+        if (quotationCalculable instanceof TopOfBookQuotationCalculable topOfBookQuotationCalculable) {
+            topOfBookQuotationCalculable.updateTopOfBook(new TopOfBook(TICKER, 1L, BigDecimal.valueOf(179.99), 300L, BigDecimal.valueOf(180.01), 100L));
+        }
+        for (int i = 0; i < 100_000; i++) {
+            calculate();
+        }
+    }
+
+    @Benchmark
+    public Quotation calculate() {
+        fillIndex = (fillIndex + 1) & (FILLS - 1);
+        return quotationCalculable.calculate(TICKER, fills[fillIndex]);
+    }
+}
@@ -0,0 +1,48 @@
+package com.iflash.core.quotation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WeightedAverageQuotationBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    private int fills;
+
+    private final WeightedAverageQuotation weightedAverageQuotation = new WeightedAverageQuotation();
+    private List<QuotableInformation> quotableInformations;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        quotableInformations = IntStream.range(0, fills)
+                                        .mapToObj(i -> new QuotableInformation(1 + random.nextInt(100),
+                                                                               BigDecimal.valueOf(180.00 + random.nextInt(200) / 100.0)))
+                                        .toList();
+    }
+
+    @Benchmark
+    public Quotation calculate() {
+        return weightedAverageQuotation.calculate("NVDA", quotableInformations);
+    }
+}
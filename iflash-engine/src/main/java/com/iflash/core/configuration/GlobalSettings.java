@@ -4,11 +4,21 @@ import com.iflash.core.quotation.QuotationCalculationType;
 import org.joda.money.CurrencyUnit;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
 
 public class GlobalSettings {
 
     public final static CurrencyUnit GLOBAL_CURRENCY = CurrencyUnit.USD;
     public final static QuotationCalculationType QUOTATION_CALCULABLE = QuotationCalculationType.WEIGHTED_AVERAGE;
+    public final static long QUOTATION_VWAP_TIME_WINDOW_MILLIS = 60_000L;
+    public final static long QUOTATION_VWAP_VOLUME_WINDOW = 10_000L;
+    public final static BigDecimal QUOTATION_EMA_ALPHA = BigDecimal.valueOf(0.2D);
     public final static BigDecimal PRICE_TOLERANCE_PERCENTAGE = BigDecimal.valueOf(0.15D); // 1,5% max tolerance
+    public final static int PRICE_SCALE = 4;
+    public final static BigDecimal MARKET_PRICE_SPREAD = BigDecimal.valueOf(0.0100D).setScale(PRICE_SCALE, RoundingMode.HALF_UP);
     public final static Integer QUOTATION_CALCULATE_DEPTH = 10;
+    public final static int MARKET_SNAPSHOT_DEPTH = 10;
+    public final static long ORDER_EXPIRY_TICK_MILLIS = 100L;
+    public final static Duration BATCH_AUCTION_INTERVAL = Duration.ofMillis(50L);
 }
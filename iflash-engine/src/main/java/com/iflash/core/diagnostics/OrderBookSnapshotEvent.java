@@ -0,0 +1,43 @@
+package com.iflash.core.diagnostics;
+
+import com.iflash.commons.Pagination;
+import com.iflash.core.order.OrderDirection;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.iflash.OrderBookSnapshot")
+@Label("Order Book Snapshot")
+@Category({"iFlash", "Order Book"})
+@Description("Paged order book snapshot request")
+@Enabled(false)
+@StackTrace(false)
+public class OrderBookSnapshotEvent extends Event {
+
+    @Label("Ticker")
+    String ticker;
+
+    @Label("Side")
+    String side;
+
+    @Label("Page")
+    int page;
+
+    @Label("Page Size")
+    int pageSize;
+
+    public void complete(String ticker, OrderDirection orderDirection, Pagination pagination) {
+        end();
+        if (shouldCommit()) {
+            this.ticker = ticker;
+            this.side = orderDirection.name();
+            this.page = pagination.page();
+            this.pageSize = pagination.size();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.iflash.core.diagnostics;
+
+import com.iflash.core.order.FinishedTransactionInfo;
+import com.iflash.core.order.RegisterOrderCommand;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.Queue;
+
+@Name("com.iflash.OrderFill")
+@Label("Order Fill")
+@Category({"iFlash", "Matching"})
+@Description("Single fill of a resting order by an incoming order")
+@Enabled(false)
+@StackTrace(false)
+public class OrderFillEvent extends Event {
+
+    @Label("Ticker")
+    String ticker;
+
+    @Label("Side")
+    @Description("Side of the incoming order")
+    String side;
+
+    @Label("Order Type")
+    String orderType;
+
+    @Label("Resting Order Id")
+    String restingOrderId;
+
+    @Label("Volume")
+    long volume;
+
+    @Label("Price")
+    double price;
+
+    @Label("Book Depth")
+    @Description("Resting orders left on the opposite side after the fill")
+    int bookDepth;
+
+    public static void emit(RegisterOrderCommand registerOrderCommand, FinishedTransactionInfo finishedTransactionInfo, Queue<?> oppositeSide) {
+        OrderFillEvent event = new OrderFillEvent();
+        if (event.shouldCommit()) {
+            event.ticker = registerOrderCommand.ticker();
+            event.side = registerOrderCommand.orderDirection().name();
+            event.orderType = registerOrderCommand.orderType().name();
+            event.restingOrderId = finishedTransactionInfo.orderUuid().toString();
+            event.volume = finishedTransactionInfo.volume();
+            event.price = finishedTransactionInfo.price().doubleValue();
+            event.bookDepth = oppositeSide.size();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.iflash.core.diagnostics;
+
+import com.iflash.core.order.FinishedTransactionInfo;
+import com.iflash.core.order.OrderRegistrationResult;
+import com.iflash.core.order.RegisterOrderCommand;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Whole order registration in the matching engine, from price adjustment to the matching result.
+ * <p>
+ * All iFlash events are disabled by default, enable them for a recording with e.g.
+ * {@code -XX:StartFlightRecording:+com.iflash.OrderRegistration#enabled=true,+com.iflash.OrderFill#enabled=true}.
+ */
+@Name("com.iflash.OrderRegistration")
+@Label("Order Registration")
+@Category({"iFlash", "Matching"})
+@Description("Registration of a single order in the matching engine")
+@Enabled(false)
+@StackTrace(false)
+public class OrderRegistrationEvent extends Event {
+
+    @Label("Ticker")
+    String ticker;
+
+    @Label("Side")
+    String side;
+
+    @Label("Order Type")
+    String orderType;
+
+    @Label("Volume")
+    long volume;
+
+    @Label("Volume Filled")
+    long volumeFilled;
+
+    @Label("Fills")
+    @Description("Number of resting orders touched by this order")
+    int fills;
+
+    @Label("Book Depth")
+    @Description("Price levels of the opposite side touched by this order")
+    int bookDepth;
+
+    @Label("Transaction Phase")
+    String transactionPhase;
+
+    public void complete(RegisterOrderCommand registerOrderCommand, OrderRegistrationResult orderRegistrationResult) {
+        end();
+        if (shouldCommit()) {
+            ticker = registerOrderCommand.ticker();
+            side = registerOrderCommand.orderDirection().name();
+            orderType = registerOrderCommand.orderType().name();
+            volume = registerOrderCommand.volume();
+            fills = orderRegistrationResult.finishedTransactionInfoList().stream().mapToInt(FinishedTransactionInfo::fillCount).sum();
+            bookDepth = priceLevelsTouched(orderRegistrationResult.finishedTransactionInfoList());
+            volumeFilled = orderRegistrationResult.orderFillDetails() != null
+                           ? orderRegistrationResult.orderFillDetails().volumeFilled()
+                           : 0L;
+            transactionPhase = orderRegistrationResult.transactionPhase().name();
+            commit();
+        }
+    }
+
+    /**
+     * Fills come in matching order, so the opposite side is walked level by level and a new level starts wherever the
+     * price changes.
+     */
+    private static int priceLevelsTouched(List<FinishedTransactionInfo> finishedTransactionInfoList) {
+        int priceLevels = 0;
+        BigDecimal previousPrice = null;
+        for (FinishedTransactionInfo finishedTransactionInfo : finishedTransactionInfoList) {
+            if (previousPrice == null || previousPrice.compareTo(finishedTransactionInfo.price()) != 0) {
+                priceLevels++;
+                previousPrice = finishedTransactionInfo.price();
+            }
+        }
+        return priceLevels;
+    }
+}
@@ -0,0 +1,53 @@
+package com.iflash.core.diagnostics;
+
+import com.iflash.core.order.RegisterOrderCommand;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.Queue;
+
+@Name("com.iflash.OrderRest")
+@Label("Order Rest")
+@Category({"iFlash", "Matching"})
+@Description("Order, or its unfilled remainder, placed on the book")
+@Enabled(false)
+@StackTrace(false)
+public class OrderRestEvent extends Event {
+
+    @Label("Ticker")
+    String ticker;
+
+    @Label("Side")
+    String side;
+
+    @Label("Order Type")
+    String orderType;
+
+    @Label("Volume")
+    long volume;
+
+    @Label("Price")
+    double price;
+
+    @Label("Book Depth")
+    @Description("Resting orders on the same side including this one")
+    int bookDepth;
+
+    public static void emit(RegisterOrderCommand registerOrderCommand, Queue<?> sameSide) {
+        OrderRestEvent event = new OrderRestEvent();
+        if (event.shouldCommit()) {
+            event.ticker = registerOrderCommand.ticker();
+            event.side = registerOrderCommand.orderDirection().name();
+            event.orderType = registerOrderCommand.orderType().name();
+            event.volume = registerOrderCommand.volume();
+            event.price = registerOrderCommand.price().doubleValue();
+            event.bookDepth = sameSide.size();
+            event.commit();
+        }
+    }
+}
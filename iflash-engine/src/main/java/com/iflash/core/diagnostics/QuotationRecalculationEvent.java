@@ -0,0 +1,44 @@
+package com.iflash.core.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.math.BigDecimal;
+
+@Name("com.iflash.QuotationRecalculation")
+@Label("Quotation Recalculation")
+@Category({"iFlash", "Quotation"})
+@Description("Recalculation of the last price or theoretical quotation of a ticker")
+@Enabled(false)
+@StackTrace(false)
+public class QuotationRecalculationEvent extends Event {
+
+    @Label("Ticker")
+    String ticker;
+
+    @Label("Kind")
+    String kind;
+
+    @Label("Inputs")
+    @Description("Fills or book orders the quotation was calculated from")
+    int inputs;
+
+    @Label("Quotation")
+    double quotation;
+
+    public void complete(String ticker, String kind, int inputs, BigDecimal quotation) {
+        end();
+        if (shouldCommit()) {
+            this.ticker = ticker;
+            this.kind = kind;
+            this.inputs = inputs;
+            this.quotation = quotation.doubleValue();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.iflash.core.engine;
+
+import com.iflash.core.order.AuctionResult;
+
+public interface AuctionOperations {
+
+    /**
+     * Opening, closing or re-opening auction of the ticker, orders registered from now on are collected without
+     * matching. Starting an auction which is already in progress has no effect.
+     */
+    void startAuction(String ticker);
+
+    /**
+     * Executes the collected orders at a single uncrossing price, registers the unexecuted volume in the continuous
+     * book and returns the ticker to continuous trading. The result carries the execution report of every collected
+     * order, which got only its collection acknowledged when registered.
+     */
+    AuctionResult uncross(String ticker);
+}
@@ -0,0 +1,126 @@
+package com.iflash.core.engine;
+
+import com.iflash.core.configuration.MatchingEngineException;
+import com.iflash.core.order.AuctionResult;
+import com.iflash.core.quotation.QuotationProvider;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Discrete time matching on top of {@link SingleThreadMatchingEngine}. Every ticker is always in a call auction,
+ * orders collected during one batch interval are uncrossed together at a single price at the end of the interval
+ * while the next batch is already being collected. Tickers are cleared one after another on the batch thread, they
+ * all share one order book which matches a single order at a time anyway, a ticker without orders in the batch is
+ * skipped. Registering an order only collects it, the batch shows up in the quotation and in the published market
+ * data once it clears.
+ * <p>
+ * Unexecuted volume of a batch rests in the continuous book as in {@link AuctionOperations#uncross(String)}, so later
+ * batches meet it when their own residual orders are registered.
+ */
+@Slf4j
+public class FrequentBatchAuctionMatchingEngine implements MatchingEngine, AuctionOperations {
+
+    private final SingleThreadMatchingEngine singleThreadMatchingEngine;
+    private final Set<String> tickers = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService batchScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> Thread.ofPlatform()
+                                                                                                                        .name("batch-auction")
+                                                                                                                        .daemon(true)
+                                                                                                                        .unstarted(runnable));
+
+    private FrequentBatchAuctionMatchingEngine(SingleThreadMatchingEngine singleThreadMatchingEngine, Duration batchInterval) {
+        this.singleThreadMatchingEngine = singleThreadMatchingEngine;
+        long batchIntervalMillis = batchInterval.toMillis();
+        batchScheduler.scheduleAtFixedRate(this::clearBatches, batchIntervalMillis, batchIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public static FrequentBatchAuctionMatchingEngine create(SingleThreadMatchingEngine singleThreadMatchingEngine, Duration batchInterval) {
+        return new FrequentBatchAuctionMatchingEngine(singleThreadMatchingEngine, batchInterval);
+    }
+
+    @Override
+    public MatchingEngineState initialize(List<TickerRegistrationCommand> tickerRegistrationCommandList) {
+        MatchingEngineState matchingEngineState = singleThreadMatchingEngine.initialize(tickerRegistrationCommandList);
+        tickerRegistrationCommandList.forEach(tickerRegistrationCommand -> startAuction(tickerRegistrationCommand.ticker()));
+        return matchingEngineState;
+    }
+
+    @Override
+    public QuotationProvider quotationProvider() {
+        return singleThreadMatchingEngine.quotationProvider();
+    }
+
+    @Override
+    public TradingOperations tradingOperations() {
+        return singleThreadMatchingEngine.tradingOperations();
+    }
+
+    @Override
+    public OrderBookOperations orderBookOperations() {
+        return singleThreadMatchingEngine.orderBookOperations();
+    }
+
+    @Override
+    public AuctionOperations auctionOperations() {
+        return this;
+    }
+
+    @Override
+    public RecoveryOperations recoveryOperations() {
+        return singleThreadMatchingEngine.recoveryOperations();
+    }
+
+    @Override
+    public void startAuction(String ticker) {
+        singleThreadMatchingEngine.startAuction(ticker);
+        tickers.add(ticker);
+    }
+
+    /**
+     * Clears the current batch of the ticker ahead of the interval, the ticker stays in batch trading.
+     */
+    @Override
+    public AuctionResult uncross(String ticker) {
+        AuctionResult auctionResult = singleThreadMatchingEngine.uncrossBatch(ticker);
+        return auctionResult != null ? auctionResult : new AuctionResult(ticker, null, 0L, List.of(), List.of(), Map.of());
+    }
+
+    /**
+     * Stops the batch interval and waits for a clearing already running, orders collected since the last clearing
+     * stay uncleared.
+     */
+    @Override
+    public void close() {
+        batchScheduler.close();
+        log.info("Frequent Batch Auction Matching Engine stopped");
+    }
+
+    private void clearBatches() {
+        try {
+            tickers.forEach(this::clearBatch);
+        }
+        catch (RuntimeException runtimeException) {
+            log.error("Batch clearing failed", runtimeException);
+        }
+    }
+
+    private void clearBatch(String ticker) {
+        try {
+            AuctionResult auctionResult = singleThreadMatchingEngine.uncrossBatch(ticker);
+            if (auctionResult != null) {
+                log.debug("Batch of ticker: {} cleared {} at price {}, {} orders reported", ticker, auctionResult.executedVolume(), auctionResult.uncrossingPrice(),
+                          auctionResult.executionReports().size());
+            }
+        }
+        catch (MatchingEngineException matchingEngineException) {
+            log.warn("Batch of ticker: {} not cleared: {}", ticker, matchingEngineException.getMessage());
+        }
+    }
+}
@@ -4,7 +4,7 @@ import com.iflash.core.quotation.QuotationProvider;
 
 import java.util.List;
 
-public interface MatchingEngine {
+public interface MatchingEngine extends AutoCloseable {
 
     MatchingEngineState initialize(List<TickerRegistrationCommand> companies);
 
@@ -13,4 +13,15 @@ public interface MatchingEngine {
     TradingOperations tradingOperations();
 
     OrderBookOperations orderBookOperations();
+
+    AuctionOperations auctionOperations();
+
+    RecoveryOperations recoveryOperations();
+
+    /**
+     * Stops the threads the engine owns, the engine takes no part in trading afterwards.
+     */
+    @Override
+    default void close() {
+    }
 }
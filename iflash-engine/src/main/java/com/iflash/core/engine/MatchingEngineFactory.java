@@ -1,6 +1,8 @@
 package com.iflash.core.engine;
 
 import com.iflash.core.configuration.GlobalSettings;
+import com.iflash.core.marketdata.MarketDataListener;
+import com.iflash.core.marketdata.MarketDataPublisher;
 import com.iflash.core.order.OrderBook;
 import com.iflash.core.order.OrderBookFactory;
 import com.iflash.core.quotation.QuotationAggregator;
@@ -8,21 +10,50 @@ import com.iflash.core.quotation.QuotationAggregatorFactory;
 import com.iflash.core.quotation.QuotationProvider;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
+
 @Slf4j
 public class MatchingEngineFactory {
 
     public static MatchingEngine factorize(MatchingEngineType matchingEngineType) {
+        return factorize(matchingEngineType, OrderLatencyRecorder.NO_OP);
+    }
+
+    public static MatchingEngine factorize(MatchingEngineType matchingEngineType, OrderLatencyRecorder orderLatencyRecorder) {
+        return factorize(matchingEngineType, orderLatencyRecorder, MarketDataListener.NO_OP);
+    }
+
+    public static MatchingEngine factorize(MatchingEngineType matchingEngineType, OrderLatencyRecorder orderLatencyRecorder, MarketDataListener marketDataListener) {
+        return factorize(matchingEngineType, orderLatencyRecorder, marketDataListener, GlobalSettings.BATCH_AUCTION_INTERVAL);
+    }
+
+    /**
+     * @param batchInterval interval between two uniform price clearings, used by {@link MatchingEngineType#FREQUENT_BATCH_AUCTION_ENGINE} only
+     */
+    public static MatchingEngine factorize(MatchingEngineType matchingEngineType, OrderLatencyRecorder orderLatencyRecorder, MarketDataListener marketDataListener,
+                                           Duration batchInterval) {
         return switch (matchingEngineType) {
-            case SINGLE_THREAD_ENGINE -> buildSingleThreadEngine();
+            case SINGLE_THREAD_ENGINE -> buildSingleThreadEngine(orderLatencyRecorder, marketDataListener);
+            case FREQUENT_BATCH_AUCTION_ENGINE -> buildFrequentBatchAuctionEngine(orderLatencyRecorder, marketDataListener, batchInterval);
         };
     }
 
-    private static MatchingEngine buildSingleThreadEngine() {
+    private static MatchingEngine buildFrequentBatchAuctionEngine(OrderLatencyRecorder orderLatencyRecorder, MarketDataListener marketDataListener,
+                                                                  Duration batchInterval) {
+        log.info("Frequent Batch Auction Matching Engine starting with batch interval {}", batchInterval);
+        FrequentBatchAuctionMatchingEngine frequentBatchAuctionMatchingEngine = FrequentBatchAuctionMatchingEngine.create(
+                buildSingleThreadEngine(orderLatencyRecorder, marketDataListener), batchInterval);
+        log.info("Frequent Batch Auction Matching Engine successfully initialized and ready for trading");
+        return frequentBatchAuctionMatchingEngine;
+    }
+
+    private static SingleThreadMatchingEngine buildSingleThreadEngine(OrderLatencyRecorder orderLatencyRecorder, MarketDataListener marketDataListener) {
         log.info("Single Thread Matching Engine starting");
 
         QuotationAggregator quotationAggregator = QuotationAggregatorFactory.factorizeQuotationAggregator(GlobalSettings.QUOTATION_CALCULABLE);
-        OrderBook orderBook = OrderBookFactory.factorizeOrderBook((QuotationProvider) quotationAggregator);
-        SingleThreadMatchingEngine singleThreadMatchingEngine = SingleThreadMatchingEngine.create(orderBook, quotationAggregator);
+        MarketDataPublisher marketDataPublisher = MarketDataPublisher.create(marketDataListener);
+        OrderBook orderBook = OrderBookFactory.factorizeOrderBook((QuotationProvider) quotationAggregator, marketDataPublisher);
+        SingleThreadMatchingEngine singleThreadMatchingEngine = SingleThreadMatchingEngine.create(orderBook, quotationAggregator, orderLatencyRecorder, marketDataPublisher);
 
         log.info("Single Thread Matching Engine successfully initialized and ready for trading");
         return singleThreadMatchingEngine;
@@ -1,5 +1,6 @@
 package com.iflash.core.engine;
 
 public enum MatchingEngineType {
-    SINGLE_THREAD_ENGINE
+    SINGLE_THREAD_ENGINE,
+    FREQUENT_BATCH_AUCTION_ENGINE
 }
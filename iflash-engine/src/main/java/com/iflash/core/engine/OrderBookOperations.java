@@ -2,6 +2,9 @@ package com.iflash.core.engine;
 
 import com.iflash.commons.Page;
 import com.iflash.commons.Pagination;
+import com.iflash.core.marketdata.BookSnapshot;
+import com.iflash.core.marketdata.MarketSnapshot;
+import com.iflash.core.marketdata.OrdersSnapshot;
 import com.iflash.core.order.OrderDirection;
 import com.iflash.core.order.OrderInformation;
 
@@ -12,4 +15,22 @@ public interface OrderBookOperations {
     List<FinancialInstrumentInfo> getFinancialInstrumentInfo();
 
     Page<OrderInformation> getOrderBookSnapshot(String ticker, OrderDirection orderDirection, Pagination pagination);
+
+    /**
+     * Price levels of both sides at the sequence of the last {@link com.iflash.core.marketdata.BookUpdate} of the
+     * ticker. Consumers mirroring the book load it once, apply only updates with a higher sequence and load it again
+     * when they detect a sequence gap.
+     */
+    BookSnapshot getBookSnapshot(String ticker);
+
+    /**
+     * Resting orders of both sides with the same sequence guarantee as {@link #getBookSnapshot(String)}, used by read
+     * replicas to bootstrap and resynchronize their order level books.
+     */
+    OrdersSnapshot getOrdersSnapshot(String ticker);
+
+    /**
+     * Latest immutable snapshot published by the matching thread, reading it neither locks nor copies the book.
+     */
+    MarketSnapshot getMarketSnapshot(String ticker);
 }
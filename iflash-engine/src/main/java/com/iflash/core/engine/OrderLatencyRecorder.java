@@ -0,0 +1,11 @@
+package com.iflash.core.engine;
+
+import com.iflash.core.order.OrderType;
+
+public interface OrderLatencyRecorder {
+
+    OrderLatencyRecorder NO_OP = (stage, ticker, orderType, elapsedNanos) -> {
+    };
+
+    void record(OrderLatencyStage stage, String ticker, OrderType orderType, long elapsedNanos);
+}
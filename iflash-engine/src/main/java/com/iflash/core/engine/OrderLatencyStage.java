@@ -0,0 +1,8 @@
+package com.iflash.core.engine;
+
+public enum OrderLatencyStage {
+    INGRESS,       // transport ingress until the order reaches the engine (decoding, dispatch)
+    VALIDATION,    // price adjustment and corridor validation
+    MATCHING,      // order book matching, from match start to match end
+    QUOTATION      // match end until the quotation is updated
+}
@@ -0,0 +1,17 @@
+package com.iflash.core.engine;
+
+import com.iflash.core.order.RegisterOrderCommand;
+import com.iflash.core.order.RestingOrder;
+
+import java.util.List;
+
+/**
+ * Every order of a ticker still waiting in an engine, for the engine taking the ticker over.
+ *
+ * @param bids       resting bids in price and then time priority
+ * @param asks       resting asks in price and then time priority
+ * @param stopOrders pending {@link com.iflash.core.order.OrderType#STOP} and
+ *                   {@link com.iflash.core.order.OrderType#STOP_LIMIT} orders as registered
+ */
+public record PendingOrders(String ticker, List<RestingOrder> bids, List<RestingOrder> asks, List<RegisterOrderCommand> stopOrders) {
+}
@@ -0,0 +1,25 @@
+package com.iflash.core.engine;
+
+import com.iflash.core.marketdata.OrdersSnapshot;
+
+public interface RecoveryOperations {
+
+    /**
+     * Replays the resting orders of a snapshot taken from another engine into the book of an already initialized
+     * ticker, keeping their prices and the order of the snapshot. Orders come back as limit orders with the volume
+     * visible in the snapshot, hidden iceberg volume and expiry timestamps are not part of a snapshot, a ticker handed
+     * over between engines goes through {@link #restorePendingOrders(PendingOrders)} instead.
+     */
+    void restoreOrders(OrdersSnapshot ordersSnapshot);
+
+    /**
+     * @return resting orders with their hidden iceberg volume and expiry, together with the pending stop orders
+     */
+    PendingOrders getPendingOrders(String ticker);
+
+    /**
+     * Restores the orders taken from another engine by {@link #getPendingOrders(String)} as they were, into an already
+     * initialized ticker.
+     */
+    void restorePendingOrders(PendingOrders pendingOrders);
+}
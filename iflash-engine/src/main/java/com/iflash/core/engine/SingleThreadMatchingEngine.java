@@ -2,6 +2,20 @@ package com.iflash.core.engine;
 
 import com.iflash.commons.Page;
 import com.iflash.commons.Pagination;
+import com.iflash.core.configuration.MatchingEngineException;
+import com.iflash.core.diagnostics.OrderBookSnapshotEvent;
+import com.iflash.core.diagnostics.OrderRegistrationEvent;
+import com.iflash.core.marketdata.BookOrder;
+import com.iflash.core.marketdata.BookSnapshot;
+import com.iflash.core.marketdata.MarketDataListener;
+import com.iflash.core.marketdata.MarketDataPublisher;
+import com.iflash.core.marketdata.MarketSnapshot;
+import com.iflash.core.marketdata.OrdersSnapshot;
+import com.iflash.core.marketdata.PriceLevel;
+import com.iflash.core.marketdata.QuotationUpdate;
+import com.iflash.core.marketdata.TopOfBook;
+import com.iflash.core.order.AuctionResult;
+import com.iflash.core.order.CallAuction;
 import com.iflash.core.order.FinishedTransactionInfo;
 import com.iflash.core.order.OrderBook;
 import com.iflash.core.order.OrderBookException;
@@ -9,45 +23,69 @@ import com.iflash.core.order.OrderDirection;
 import com.iflash.core.order.OrderInformation;
 import com.iflash.core.order.OrderRegistrationResult;
 import com.iflash.core.order.OrderRegistrationValidator;
+import com.iflash.core.order.OrderRegistrationValidator.ReferencePrice;
+import com.iflash.core.order.OrderType;
 import com.iflash.core.order.RegisterOrderCommand;
+import com.iflash.core.order.StopOrderBook;
+import com.iflash.core.quotation.CurrentQuotation;
 import com.iflash.core.quotation.QuotationAggregator;
 import com.iflash.core.quotation.QuotationProvider;
 import lombok.extern.slf4j.Slf4j;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.iflash.core.configuration.GlobalSettings.QUOTATION_CALCULATE_DEPTH;
-import static com.iflash.core.order.OrderDirection.ASK;
-import static com.iflash.core.order.OrderDirection.BID;
 
 @Slf4j
-public class SingleThreadMatchingEngine implements MatchingEngine, TradingOperations, OrderBookOperations {
+public class SingleThreadMatchingEngine implements MatchingEngine, TradingOperations, OrderBookOperations, AuctionOperations, RecoveryOperations {
 
     private final OrderBook orderBook;
     private final QuotationAggregator quotationAggregator;
     private final QuotationProvider quotationProvider;
     private final OrderRegistrationValidator orderRegistrationValidator;
+    private final StopOrderBook stopOrderBook;
+    private final Map<String, CallAuction> auctionsByTicker = new ConcurrentHashMap<>();
+    private final OrderLatencyRecorder orderLatencyRecorder;
+    private final MarketDataPublisher marketDataPublisher;
 
-    private SingleThreadMatchingEngine(OrderBook orderBook, QuotationAggregator quotationAggregator) {
+    private SingleThreadMatchingEngine(OrderBook orderBook, QuotationAggregator quotationAggregator, OrderLatencyRecorder orderLatencyRecorder,
+                                       MarketDataPublisher marketDataPublisher) {
         this.orderBook = orderBook;
         this.quotationAggregator = quotationAggregator;
         this.quotationProvider = (QuotationProvider) quotationAggregator;
         this.orderRegistrationValidator = new OrderRegistrationValidator(quotationProvider);
+        this.stopOrderBook = new StopOrderBook();
+        this.orderLatencyRecorder = orderLatencyRecorder;
+        this.marketDataPublisher = marketDataPublisher;
     }
 
     public static SingleThreadMatchingEngine create(OrderBook orderBook, QuotationAggregator quotationAggregator) {
-        return new SingleThreadMatchingEngine(orderBook, quotationAggregator);
+        return new SingleThreadMatchingEngine(orderBook, quotationAggregator, OrderLatencyRecorder.NO_OP, MarketDataPublisher.create(MarketDataListener.NO_OP));
+    }
+
+    public static SingleThreadMatchingEngine create(OrderBook orderBook, QuotationAggregator quotationAggregator, OrderLatencyRecorder orderLatencyRecorder,
+                                                    MarketDataPublisher marketDataPublisher) {
+        return new SingleThreadMatchingEngine(orderBook, quotationAggregator, orderLatencyRecorder, marketDataPublisher);
     }
 
     @Override
     public MatchingEngineState initialize(List<TickerRegistrationCommand> tickerRegistrationCommandList) {
         tickerRegistrationCommandList.forEach(tickerRegistrationCommand -> {
-            orderBook.registerTicker(tickerRegistrationCommand.ticker());
-            quotationAggregator.initTicker(tickerRegistrationCommand.ticker(), tickerRegistrationCommand.initialPrice());
+            orderBook.registerTicker(tickerRegistrationCommand.ticker(), tickerRegistrationCommand.defaultTimeToLive());
+            marketDataPublisher.registerTicker(tickerRegistrationCommand.ticker());
+            stopOrderBook.registerTicker(tickerRegistrationCommand.ticker());
+            quotationAggregator.initTicker(tickerRegistrationCommand.ticker(), tickerRegistrationCommand.initialPrice(),
+                                           tickerRegistrationCommand.quotationCalculationType());
+            CurrentQuotation initialQuote = quotationProvider.getCurrentQuote(tickerRegistrationCommand.ticker());
+            marketDataPublisher.publishQuotation(new QuotationUpdate(tickerRegistrationCommand.ticker(), initialQuote.timestamp(), initialQuote.price()));
         });
         return MatchingEngineState.RUNNING;
     }
@@ -67,25 +105,93 @@ public class SingleThreadMatchingEngine implements MatchingEngine, TradingOperat
         return this;
     }
 
+    @Override
+    public AuctionOperations auctionOperations() {
+        return this;
+    }
+
+    @Override
+    public RecoveryOperations recoveryOperations() {
+        return this;
+    }
+
     @Override
     public OrderRegistrationResult registerOrder(RegisterOrderCommand incomingRegisterOrderCommand) {
-        RegisterOrderCommand registerOrderCommand = incomingRegisterOrderCommand.withMarketPricePlusSpread(quotationProvider().getCurrentQuote(incomingRegisterOrderCommand.ticker()),
-                                                                                                           BigDecimal.valueOf(0.0100).setScale(4, RoundingMode.HALF_UP));
-        boolean orderRegistrationPriceValid = orderRegistrationValidator.isOrderRegistrationPriceValid(registerOrderCommand.ticker(), registerOrderCommand.price());
+        return registerOrder(incomingRegisterOrderCommand, false);
+    }
+
+    /**
+     * {@link OrderType#IOC}, {@link OrderType#FOK} and {@link OrderType#AON} orders keep their own limit price, checked
+     * against the price corridor only, the other orders are priced at the market price plus spread.
+     *
+     * @param ownLimitPrice {@code true} for the limit order of a triggered {@link OrderType#STOP_LIMIT}, which keeps
+     *                      its limit price checked against the price corridor only
+     */
+    private OrderRegistrationResult registerOrder(RegisterOrderCommand incomingRegisterOrderCommand, boolean ownLimitPrice) {
+        orderBook.expireOrders(System.currentTimeMillis());
+        if (StopOrderBook.isStopOrder(incomingRegisterOrderCommand.orderType())) {
+            return registerStopOrder(incomingRegisterOrderCommand);
+        }
+        CallAuction callAuction;
+        while ((callAuction = auctionsByTicker.get(incomingRegisterOrderCommand.ticker())) != null) {
+            OrderRegistrationResult auctionRegistrationResult = collectAuctionOrder(callAuction, incomingRegisterOrderCommand);
+            if (auctionRegistrationResult != null) {
+                return auctionRegistrationResult;
+            }
+        }
+        OrderRegistrationEvent orderRegistrationEvent = new OrderRegistrationEvent();
+        orderRegistrationEvent.begin();
+        long validationStart = System.nanoTime();
+        RegisterOrderCommand registerOrderCommand;
+        boolean orderRegistrationPriceValid;
+        if (ownLimitPrice || isImmediateOrder(incomingRegisterOrderCommand.orderType())) {
+            registerOrderCommand = incomingRegisterOrderCommand;
+            orderRegistrationPriceValid = orderRegistrationValidator.isOrderRegistrationPriceValid(registerOrderCommand.ticker(), registerOrderCommand.price());
+        }
+        else {
+            ReferencePrice referencePrice = orderRegistrationValidator.referencePrice(incomingRegisterOrderCommand.ticker());
+            registerOrderCommand = incomingRegisterOrderCommand.withPrice(referencePrice.marketPricePlusSpread());
+            orderRegistrationPriceValid = referencePrice.isMarketPricePlusSpreadValid();
+        }
         if (orderRegistrationPriceValid) {
+            String ticker = registerOrderCommand.ticker();
+            OrderType orderType = registerOrderCommand.orderType();
+            long matchStart = System.nanoTime();
+            orderLatencyRecorder.record(OrderLatencyStage.VALIDATION, ticker, orderType, matchStart - validationStart);
+
             OrderRegistrationResult orderRegistrationResult = orderBook.registerOrder(registerOrderCommand);
+            long matchEnd = System.nanoTime();
+            orderLatencyRecorder.record(OrderLatencyStage.MATCHING, ticker, orderType, matchEnd - matchStart);
+            MarketSnapshot marketSnapshot = marketDataPublisher.marketSnapshot(ticker);
+            TopOfBook topOfBook = topOfBook(marketSnapshot);
+
             switch (orderRegistrationResult.transactionPhase()) {
                 case FULLY_COMPLETED, PARTIALLY_COMPLETED -> {
                     List<FinishedTransactionInfo> finishedTransactionInfos = orderRegistrationResult.finishedTransactionInfoList();
-                    CompletableFuture.runAsync(() -> quotationAggregator.calculateQuotationPostTransaction(registerOrderCommand.ticker(), finishedTransactionInfos));
+                    CompletableFuture.runAsync(() -> {
+                        quotationAggregator.updateTopOfBook(ticker, topOfBook);
+                        quotationAggregator.calculateQuotationPostTransaction(ticker, finishedTransactionInfos);
+                        CurrentQuotation currentQuote = quotationProvider.getCurrentQuote(ticker);
+                        marketDataPublisher.publishQuotation(new QuotationUpdate(ticker, currentQuote.timestamp(), currentQuote.price()));
+                        orderLatencyRecorder.record(OrderLatencyStage.QUOTATION, ticker, orderType, System.nanoTime() - matchEnd);
+                    });
+                    orderRegistrationEvent.complete(registerOrderCommand, orderRegistrationResult);
+                    triggerStopOrders(ticker, finishedTransactionInfos.getLast().price());
+                    return orderRegistrationResult;
                 }
                 case IDLING_ON_QUEUE -> {
-                    Set<OrderInformation> topBids = orderBook.getTopOrders(registerOrderCommand.ticker(), BID, QUOTATION_CALCULATE_DEPTH);
-                    Set<OrderInformation> topAsks = orderBook.getTopOrders(registerOrderCommand.ticker(), ASK, QUOTATION_CALCULATE_DEPTH);
-                    CompletableFuture.runAsync(() -> quotationAggregator.calculateTheoreticalQuotation(registerOrderCommand.ticker(), topBids, topAsks));
+                    List<PriceLevel> topBids = marketSnapshot.topBids(QUOTATION_CALCULATE_DEPTH);
+                    List<PriceLevel> topAsks = marketSnapshot.topAsks(QUOTATION_CALCULATE_DEPTH);
+                    CompletableFuture.runAsync(() -> {
+                        quotationAggregator.updateTopOfBook(ticker, topOfBook);
+                        quotationAggregator.calculateTheoreticalQuotation(ticker, topBids, topAsks);
+                        orderLatencyRecorder.record(OrderLatencyStage.QUOTATION, ticker, orderType, System.nanoTime() - matchEnd);
+                    });
                 }
                 case REJECTED -> log.warn("Order is rejected");
+                case CANCELLED -> log.debug("Order is cancelled: {}", orderRegistrationResult.orderFillDetails().message());
             }
+            orderRegistrationEvent.complete(registerOrderCommand, orderRegistrationResult);
             return orderRegistrationResult;
         }
         else {
@@ -93,6 +199,186 @@ public class SingleThreadMatchingEngine implements MatchingEngine, TradingOperat
         }
     }
 
+    /**
+     * Stop order already crossed by the current quotation is registered right away in place of its triggered order,
+     * otherwise it waits in the {@link StopOrderBook} until a trade price triggers it.
+     */
+    private OrderRegistrationResult registerStopOrder(RegisterOrderCommand stopOrderCommand) {
+        CurrentQuotation currentQuote = quotationProvider.getCurrentQuote(stopOrderCommand.ticker());
+        if (stopOrderCommand.price() != null && StopOrderBook.isTriggered(stopOrderCommand, currentQuote.price())) {
+            if (OrderType.STOP_LIMIT == stopOrderCommand.orderType() && stopOrderCommand.limitPrice() == null) {
+                throw OrderBookException.limitPriceNull();
+            }
+            return registerTriggeredOrder(StopOrderBook.triggeredOrder(stopOrderCommand));
+        }
+        return stopOrderBook.registerStopOrder(stopOrderCommand);
+    }
+
+    private static boolean isImmediateOrder(OrderType orderType) {
+        return OrderType.IOC == orderType || OrderType.FOK == orderType || OrderType.AON == orderType;
+    }
+
+    private OrderRegistrationResult registerTriggeredOrder(RegisterOrderCommand triggeredOrder) {
+        return registerOrder(triggeredOrder, OrderType.LIMIT == triggeredOrder.orderType());
+    }
+
+    /**
+     * Auction orders keep their own limit price, the uncrossing is exactly what decides between them, so only the
+     * price corridor is checked.
+     *
+     * @return {@code null} when the auction has just been uncrossed and the order belongs to continuous trading
+     */
+    private OrderRegistrationResult collectAuctionOrder(CallAuction callAuction, RegisterOrderCommand registerOrderCommand) {
+        if (!orderRegistrationValidator.isOrderRegistrationPriceValid(registerOrderCommand.ticker(), registerOrderCommand.price())) {
+            throw OrderBookException.cannotCreateOrder(registerOrderCommand.price());
+        }
+        return callAuction.collect(registerOrderCommand);
+    }
+
+    @Override
+    public void startAuction(String ticker) {
+        quotationProvider.getCurrentQuote(ticker); // fails for unknown ticker
+        auctionsByTicker.putIfAbsent(ticker, new CallAuction(ticker));
+        log.info("Auction for ticker: {} started", ticker);
+    }
+
+    /**
+     * The single uncrossing trade is published as the last trade, the trades of residual orders meeting the continuous
+     * book are published by the book like any other fill. Both update the quotation synchronously, stop orders are
+     * triggered from the resulting quotation. A residual order the book rejects is rejected alone, the remaining
+     * residual orders are still registered. Every collected order gets its execution report in the result.
+     */
+    @Override
+    public AuctionResult uncross(String ticker) {
+        CallAuction callAuction = auctionsByTicker.remove(ticker);
+        if (callAuction == null) {
+            throw OrderBookException.noAuction(ticker);
+        }
+        AuctionResult auctionResult = uncross(ticker, callAuction);
+        log.info("Auction for ticker: {} uncrossed {} at price {}, {} residual orders", ticker, auctionResult.executedVolume(), auctionResult.uncrossingPrice(),
+                 auctionResult.residualOrders().size());
+        return auctionResult;
+    }
+
+    /**
+     * Uncrosses the orders collected so far while the next batch is already collected by a new auction, orders
+     * racing with the swap are retried against the new auction by {@link #registerOrder(RegisterOrderCommand)}.
+     *
+     * @return {@code null} when there was nothing to uncross
+     */
+    AuctionResult uncrossBatch(String ticker) {
+        CallAuction callAuction = auctionsByTicker.get(ticker);
+        if (callAuction == null) {
+            throw OrderBookException.noAuction(ticker);
+        }
+        if (callAuction.size() == 0 || !auctionsByTicker.replace(ticker, callAuction, new CallAuction(ticker))) {
+            return null;
+        }
+        return uncross(ticker, callAuction);
+    }
+
+    private AuctionResult uncross(String ticker, CallAuction callAuction) {
+        AuctionResult auctionResult = callAuction.uncross(quotationProvider.getCurrentQuote(ticker).price());
+        List<FinishedTransactionInfo> trades = new ArrayList<>();
+        if (auctionResult.uncrossingTrade() != null) {
+            trades.add(auctionResult.uncrossingTrade());
+            marketDataPublisher.publishAuctionTrade(ticker, auctionResult.uncrossingPrice(), auctionResult.executedVolume());
+        }
+        Map<UUID, OrderRegistrationResult> residualResults = new HashMap<>();
+        for (RegisterOrderCommand residualOrder : auctionResult.residualOrders()) {
+            OrderRegistrationResult residualResult;
+            try {
+                residualResult = orderBook.registerOrder(residualOrder);
+                trades.addAll(residualResult.finishedTransactionInfoList());
+            }
+            catch (MatchingEngineException matchingEngineException) {
+                log.warn("Residual order {} of ticker: {} rejected: {}", residualOrder.orderId(), ticker, matchingEngineException.getMessage());
+                residualResult = OrderRegistrationResult.failure(List.of(), matchingEngineException.getMessage());
+            }
+            residualResults.put(residualOrder.orderId(), residualResult);
+        }
+        MarketSnapshot marketSnapshot = marketDataPublisher.marketSnapshot(ticker);
+        quotationAggregator.updateTopOfBook(ticker, topOfBook(marketSnapshot));
+        if (trades.isEmpty()) {
+            quotationAggregator.calculateTheoreticalQuotation(ticker, marketSnapshot.topBids(QUOTATION_CALCULATE_DEPTH), marketSnapshot.topAsks(QUOTATION_CALCULATE_DEPTH));
+        }
+        else {
+            quotationAggregator.calculateQuotationPostTransaction(ticker, trades);
+        }
+        CurrentQuotation currentQuote = quotationProvider.getCurrentQuote(ticker);
+        marketDataPublisher.publishQuotation(new QuotationUpdate(ticker, currentQuote.timestamp(), currentQuote.price()));
+        triggerStopOrders(ticker, currentQuote.price());
+        return auctionResult.withExecutionReports(executionReports(auctionResult, residualResults));
+    }
+
+    /**
+     * @return report of every collected order, executed orders in execution priority first, followed by the orders
+     * which did not execute in the uncrossing at all
+     */
+    private static Map<UUID, OrderRegistrationResult> executionReports(AuctionResult auctionResult, Map<UUID, OrderRegistrationResult> residualResults) {
+        Map<UUID, Long> residualVolumes = new LinkedHashMap<>();
+        auctionResult.residualOrders().forEach(residualOrder -> residualVolumes.put(residualOrder.orderId(), residualOrder.volume()));
+        Map<UUID, OrderRegistrationResult> executionReports = new LinkedHashMap<>();
+        for (FinishedTransactionInfo auctionFill : auctionResult.fills()) {
+            long volumeRequested = auctionFill.volume() + residualVolumes.getOrDefault(auctionFill.orderUuid(), 0L);
+            executionReports.put(auctionFill.orderUuid(), OrderRegistrationResult.auctionOrderUncrossed(auctionFill, volumeRequested,
+                                                                                                       residualResults.get(auctionFill.orderUuid())));
+        }
+        residualVolumes.forEach((orderId, volume) -> executionReports.putIfAbsent(orderId, OrderRegistrationResult.auctionOrderUncrossed(null, volume,
+                                                                                                                                    residualResults.get(orderId))));
+        return executionReports;
+    }
+
+    @Override
+    public void restoreOrders(OrdersSnapshot ordersSnapshot) {
+        String ticker = ordersSnapshot.ticker();
+        ordersSnapshot.bids().forEach(bookOrder -> restoreOrder(ticker, OrderDirection.BID, bookOrder));
+        ordersSnapshot.asks().forEach(bookOrder -> restoreOrder(ticker, OrderDirection.ASK, bookOrder));
+        quotationAggregator.updateTopOfBook(ticker, topOfBook(marketDataPublisher.marketSnapshot(ticker)));
+        log.info("Restored {} bids and {} asks of ticker: {}", ordersSnapshot.bids().size(), ordersSnapshot.asks().size(), ticker);
+    }
+
+    @Override
+    public PendingOrders getPendingOrders(String ticker) {
+        return new PendingOrders(ticker, orderBook.getRestingOrders(ticker, OrderDirection.BID), orderBook.getRestingOrders(ticker, OrderDirection.ASK),
+                                 stopOrderBook.getStopOrders(ticker));
+    }
+
+    @Override
+    public void restorePendingOrders(PendingOrders pendingOrders) {
+        String ticker = pendingOrders.ticker();
+        pendingOrders.bids().forEach(restingOrder -> orderBook.restoreOrder(ticker, OrderDirection.BID, restingOrder));
+        pendingOrders.asks().forEach(restingOrder -> orderBook.restoreOrder(ticker, OrderDirection.ASK, restingOrder));
+        pendingOrders.stopOrders().forEach(stopOrderBook::registerStopOrder);
+        quotationAggregator.updateTopOfBook(ticker, topOfBook(marketDataPublisher.marketSnapshot(ticker)));
+        log.info("Restored {} bids, {} asks and {} stop orders of ticker: {}", pendingOrders.bids().size(), pendingOrders.asks().size(),
+                 pendingOrders.stopOrders().size(), ticker);
+    }
+
+    private void restoreOrder(String ticker, OrderDirection orderDirection, BookOrder bookOrder) {
+        orderBook.registerOrder(new RegisterOrderCommand(bookOrder.orderUuid(), orderDirection, OrderType.LIMIT, ticker, bookOrder.price(), bookOrder.volume()));
+    }
+
+    /**
+     * Runs on the thread that matched the trade at {@code price}, before its registration returns, so triggered
+     * stops enter the book in order with the orders that moved the price.
+     */
+    private void triggerStopOrders(String ticker, BigDecimal price) {
+        for (RegisterOrderCommand triggeredOrder : stopOrderBook.triggerStopOrders(ticker, price)) {
+            try {
+                registerTriggeredOrder(triggeredOrder);
+            }
+            catch (MatchingEngineException matchingEngineException) {
+                log.warn("Triggered stop order {} not registered: {}", triggeredOrder.orderId(), matchingEngineException.getMessage());
+            }
+        }
+    }
+
+    private TopOfBook topOfBook(MarketSnapshot marketSnapshot) {
+        return new TopOfBook(marketSnapshot.ticker(), marketSnapshot.sequence(), marketSnapshot.bestBidPrice(), marketSnapshot.bestBidVolume(), marketSnapshot.bestAskPrice(),
+                             marketSnapshot.bestAskVolume());
+    }
+
     @Override
     public List<FinancialInstrumentInfo> getFinancialInstrumentInfo() {
         return quotationProvider.getAllTickersWithQuotation();
@@ -100,6 +386,25 @@ public class SingleThreadMatchingEngine implements MatchingEngine, TradingOperat
 
     @Override
     public Page<OrderInformation> getOrderBookSnapshot(String ticker, OrderDirection orderDirection, Pagination pagination) {
-        return orderBook.getOrderBookSnapshot(ticker, orderDirection, pagination);
+        OrderBookSnapshotEvent orderBookSnapshotEvent = new OrderBookSnapshotEvent();
+        orderBookSnapshotEvent.begin();
+        Page<OrderInformation> orderBookSnapshot = orderBook.getOrderBookSnapshot(ticker, orderDirection, pagination);
+        orderBookSnapshotEvent.complete(ticker, orderDirection, pagination);
+        return orderBookSnapshot;
+    }
+
+    @Override
+    public BookSnapshot getBookSnapshot(String ticker) {
+        return marketDataPublisher.snapshot(ticker);
+    }
+
+    @Override
+    public OrdersSnapshot getOrdersSnapshot(String ticker) {
+        return marketDataPublisher.ordersSnapshot(ticker);
+    }
+
+    @Override
+    public MarketSnapshot getMarketSnapshot(String ticker) {
+        return marketDataPublisher.marketSnapshot(ticker);
     }
 }
@@ -1,6 +1,22 @@
 package com.iflash.core.engine;
 
+import com.iflash.core.configuration.GlobalSettings;
+import com.iflash.core.quotation.QuotationCalculationType;
+
 import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * @param defaultTimeToLive time after which resting orders of the ticker expire unless they are GTC or GTD, {@code null} for orders resting until
+ *                          filled
+ */
+public record TickerRegistrationCommand(String ticker, BigDecimal initialPrice, QuotationCalculationType quotationCalculationType, Duration defaultTimeToLive) {
+
+    public TickerRegistrationCommand(String ticker, BigDecimal initialPrice) {
+        this(ticker, initialPrice, GlobalSettings.QUOTATION_CALCULABLE);
+    }
 
-public record TickerRegistrationCommand(String ticker, BigDecimal initialPrice) {
+    public TickerRegistrationCommand(String ticker, BigDecimal initialPrice, QuotationCalculationType quotationCalculationType) {
+        this(ticker, initialPrice, quotationCalculationType, null);
+    }
 }
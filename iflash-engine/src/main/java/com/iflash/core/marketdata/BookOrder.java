@@ -0,0 +1,7 @@
+package com.iflash.core.marketdata;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record BookOrder(UUID orderUuid, BigDecimal price, long volume) {
+}
@@ -0,0 +1,10 @@
+package com.iflash.core.marketdata;
+
+import java.util.List;
+
+/**
+ * Price levels of a ticker after applying every {@link BookUpdate} up to and including {@code sequence}, best
+ * price first on both sides.
+ */
+public record BookSnapshot(String ticker, long sequence, List<PriceLevel> bids, List<PriceLevel> asks) {
+}
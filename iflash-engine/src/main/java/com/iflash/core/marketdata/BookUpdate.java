@@ -0,0 +1,15 @@
+package com.iflash.core.marketdata;
+
+import com.iflash.core.order.OrderDirection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Single change of resting liquidity. {@code volume} is the volume the order added to or took from its level,
+ * {@code levelVolume} the total volume of the level after the change, {@code 0} when the level is gone.
+ * Sequences of one ticker have no gaps, a missing sequence means the consumer lost an update.
+ */
+public record BookUpdate(String ticker, long sequence, BookUpdateType type, OrderDirection side, UUID orderUuid, BigDecimal price, long volume,
+                         long levelVolume) {
+}
@@ -0,0 +1,9 @@
+package com.iflash.core.marketdata;
+
+public enum BookUpdateType {
+    ADD,        // order rested on the level with its whole volume
+    REDUCE,     // resting order lost volume without a trade and stays on the level
+    FILL,       // resting order traded, partially or in full
+    REMOVE,     // order left the book, after a complete fill it carries no volume
+    EXPIRE      // order left the book with its remaining volume when its time in force ran out
+}
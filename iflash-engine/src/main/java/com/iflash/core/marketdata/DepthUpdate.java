@@ -0,0 +1,11 @@
+package com.iflash.core.marketdata;
+
+import com.iflash.core.order.OrderDirection;
+
+import java.math.BigDecimal;
+
+/**
+ * New total volume of a single price level, {@code 0} when the level disappeared from the book.
+ */
+public record DepthUpdate(String ticker, long sequence, OrderDirection side, BigDecimal price, long volume) {
+}
@@ -0,0 +1,6 @@
+package com.iflash.core.marketdata;
+
+import java.math.BigDecimal;
+
+public record LastTrade(String ticker, long sequence, long timestamp, BigDecimal price, long volume) {
+}
@@ -0,0 +1,28 @@
+package com.iflash.core.marketdata;
+
+/**
+ * Market data pushed by the engine as it changes, so implementations must hand the update off without blocking.
+ * Trade, top of book, depth and book update callbacks run on matching threads, in sequence order per ticker.
+ * {@link #onQuotation} runs once at ticker registration and then on the thread recalculating the quotation after a
+ * trade, which is not a matching thread; quotations carry no sequence and may interleave with the other callbacks.
+ */
+public interface MarketDataListener {
+
+    MarketDataListener NO_OP = new MarketDataListener() {
+    };
+
+    default void onLastTrade(LastTrade lastTrade) {
+    }
+
+    default void onQuotation(QuotationUpdate quotationUpdate) {
+    }
+
+    default void onTopOfBook(TopOfBook topOfBook) {
+    }
+
+    default void onDepthUpdate(DepthUpdate depthUpdate) {
+    }
+
+    default void onBookUpdate(BookUpdate bookUpdate) {
+    }
+}
@@ -0,0 +1,230 @@
+package com.iflash.core.marketdata;
+
+import com.iflash.core.order.OrderBookException;
+import com.iflash.core.order.OrderBookListener;
+import com.iflash.core.order.OrderDirection;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.iflash.core.configuration.GlobalSettings.MARKET_SNAPSHOT_DEPTH;
+
+/**
+ * Aggregates order book changes into price levels per ticker and publishes them as sequenced {@link BookUpdate}s
+ * together with the derived {@link DepthUpdate}s, {@link TopOfBook} changes and {@link LastTrade}s. Every
+ * {@link BookUpdate} takes the next sequence number of its ticker, derived updates share the sequence of the book
+ * update which caused them. {@link #snapshot(String)} is taken under the same lock, so a consumer can apply every
+ * update with a higher sequence on top of it. Levels keep their resting orders in time priority as well, so
+ * {@link #ordersSnapshot(String)} gives replicas the same guarantee for the order level view of the book.
+ * <p>
+ * After every change the matching thread also publishes an immutable {@link MarketSnapshot} through a volatile
+ * reference, so {@link #marketSnapshot(String)} never locks or copies the levels.
+ */
+public class MarketDataPublisher implements OrderBookListener {
+
+    private final MarketDataListener marketDataListener;
+    private final Map<String, TickerLevels> levelsByTicker = new ConcurrentHashMap<>();
+
+    private MarketDataPublisher(MarketDataListener marketDataListener) {
+        this.marketDataListener = marketDataListener;
+    }
+
+    public static MarketDataPublisher create(MarketDataListener marketDataListener) {
+        return new MarketDataPublisher(marketDataListener);
+    }
+
+    @Override
+    public void onOrderRested(String ticker, OrderDirection side, UUID orderUuid, BigDecimal price, long volume) {
+        levels(ticker).change(BookUpdateType.ADD, side, orderUuid, price, volume, false);
+    }
+
+    @Override
+    public void onOrderFilled(String ticker, OrderDirection restingSide, UUID orderUuid, BigDecimal price, long filledVolume, long remainingVolume) {
+        TickerLevels tickerLevels = levels(ticker);
+        synchronized (tickerLevels) {
+            tickerLevels.change(BookUpdateType.FILL, restingSide, orderUuid, price, -filledVolume, true);
+            if (remainingVolume == 0L) {
+                tickerLevels.change(BookUpdateType.REMOVE, restingSide, orderUuid, price, 0L, false);
+            }
+        }
+    }
+
+    @Override
+    public void onOrderReduced(String ticker, OrderDirection side, UUID orderUuid, BigDecimal price, long reducedVolume, long remainingVolume) {
+        BookUpdateType bookUpdateType = remainingVolume == 0L ? BookUpdateType.REMOVE : BookUpdateType.REDUCE;
+        levels(ticker).change(bookUpdateType, side, orderUuid, price, -reducedVolume, false);
+    }
+
+    @Override
+    public void onOrderExpired(String ticker, OrderDirection side, UUID orderUuid, BigDecimal price, long volume) {
+        levels(ticker).change(BookUpdateType.EXPIRE, side, orderUuid, price, -volume, false);
+    }
+
+    /**
+     * Trade of an auction uncrossing, its orders never rested in the book, so the trade changes no level and takes
+     * no sequence of its own. It carries the sequence of the book it was uncrossed against.
+     */
+    public void publishAuctionTrade(String ticker, BigDecimal price, long volume) {
+        registeredLevels(ticker).trade(price, volume);
+    }
+
+    public void publishQuotation(QuotationUpdate quotationUpdate) {
+        marketDataListener.onQuotation(quotationUpdate);
+    }
+
+    public void registerTicker(String ticker) {
+        levels(ticker);
+    }
+
+    public BookSnapshot snapshot(String ticker) {
+        return registeredLevels(ticker).snapshot();
+    }
+
+    public OrdersSnapshot ordersSnapshot(String ticker) {
+        return registeredLevels(ticker).ordersSnapshot();
+    }
+
+    public MarketSnapshot marketSnapshot(String ticker) {
+        return registeredLevels(ticker).marketSnapshot;
+    }
+
+    private TickerLevels registeredLevels(String ticker) {
+        TickerLevels tickerLevels = levelsByTicker.get(ticker);
+        if (tickerLevels == null) {
+            throw OrderBookException.noTicker(ticker);
+        }
+        return tickerLevels;
+    }
+
+    private TickerLevels levels(String ticker) {
+        return levelsByTicker.computeIfAbsent(ticker, TickerLevels::new);
+    }
+
+    private class TickerLevels {
+
+        private final String ticker;
+        private final NavigableMap<BigDecimal, OrderLevel> bids = new TreeMap<>(Collections.reverseOrder());
+        private final NavigableMap<BigDecimal, OrderLevel> asks = new TreeMap<>();
+        private long sequence;
+        private TopOfBook topOfBook;
+        private LastTrade lastTrade;
+        private volatile MarketSnapshot marketSnapshot;
+
+        private TickerLevels(String ticker) {
+            this.ticker = ticker;
+            this.topOfBook = new TopOfBook(ticker, 0L, null, 0L, null, 0L);
+            this.marketSnapshot = MarketSnapshot.empty(ticker);
+        }
+
+        private synchronized void change(BookUpdateType bookUpdateType, OrderDirection side, UUID orderUuid, BigDecimal price, long volumeDelta,
+                                         boolean trade) {
+            NavigableMap<BigDecimal, OrderLevel> levels = side == OrderDirection.BID ? bids : asks;
+            OrderLevel level = levels.computeIfAbsent(price, key -> new OrderLevel());
+            level.change(bookUpdateType, orderUuid, volumeDelta);
+            long levelVolume = level.volume();
+            if (levelVolume <= 0) {
+                levels.remove(price);
+                levelVolume = 0L;
+            }
+            sequence++;
+            marketDataListener.onBookUpdate(new BookUpdate(ticker, sequence, bookUpdateType, side, orderUuid, price, Math.abs(volumeDelta), levelVolume));
+            if (volumeDelta != 0L) {
+                marketDataListener.onDepthUpdate(new DepthUpdate(ticker, sequence, side, price, levelVolume));
+                if (trade) {
+                    lastTrade = new LastTrade(ticker, sequence, System.currentTimeMillis(), price, -volumeDelta);
+                    marketDataListener.onLastTrade(lastTrade);
+                }
+                publishTopOfBookIfChanged();
+            }
+            publishMarketSnapshot(side, price, volumeDelta != 0L);
+        }
+
+        private synchronized void trade(BigDecimal price, long volume) {
+            lastTrade = new LastTrade(ticker, sequence, System.currentTimeMillis(), price, volume);
+            marketDataListener.onLastTrade(lastTrade);
+            publishMarketSnapshot(OrderDirection.BID, price, false);
+        }
+
+        /**
+         * Rebuilds only the depth view of the changed side and only when the change is within the published levels,
+         * everything else is shared with the previous snapshot.
+         */
+        private void publishMarketSnapshot(OrderDirection side, BigDecimal price, boolean levelChanged) {
+            MarketSnapshot previous = marketSnapshot;
+            List<PriceLevel> bidLevels = levelChanged && side == OrderDirection.BID && withinDepth(side, previous.bids(), price)
+                                         ? topLevels(bids)
+                                         : previous.bids();
+            List<PriceLevel> askLevels = levelChanged && side == OrderDirection.ASK && withinDepth(side, previous.asks(), price)
+                                         ? topLevels(asks)
+                                         : previous.asks();
+            marketSnapshot = new MarketSnapshot(ticker, sequence, topOfBook.bidPrice(), topOfBook.bidVolume(), topOfBook.askPrice(), topOfBook.askVolume(),
+                                                lastTrade, bidLevels, askLevels);
+        }
+
+        private boolean withinDepth(OrderDirection side, List<PriceLevel> publishedLevels, BigDecimal price) {
+            if (publishedLevels.size() < MARKET_SNAPSHOT_DEPTH) {
+                return true;
+            }
+            int comparedToDeepest = price.compareTo(publishedLevels.getLast().price());
+            return side == OrderDirection.BID ? comparedToDeepest >= 0 : comparedToDeepest <= 0;
+        }
+
+        private List<PriceLevel> topLevels(NavigableMap<BigDecimal, OrderLevel> levels) {
+            List<PriceLevel> topLevels = new ArrayList<>(Math.min(levels.size(), MARKET_SNAPSHOT_DEPTH));
+            for (Map.Entry<BigDecimal, OrderLevel> level : levels.entrySet()) {
+                if (topLevels.size() == MARKET_SNAPSHOT_DEPTH) {
+                    break;
+                }
+                topLevels.add(new PriceLevel(level.getKey(), level.getValue().volume()));
+            }
+            return Collections.unmodifiableList(topLevels);
+        }
+
+        private synchronized BookSnapshot snapshot() {
+            return new BookSnapshot(ticker, sequence, priceLevels(bids), priceLevels(asks));
+        }
+
+        private List<PriceLevel> priceLevels(NavigableMap<BigDecimal, OrderLevel> levels) {
+            return levels.entrySet()
+                         .stream()
+                         .map(level -> new PriceLevel(level.getKey(), level.getValue().volume()))
+                         .toList();
+        }
+
+        private synchronized OrdersSnapshot ordersSnapshot() {
+            return new OrdersSnapshot(ticker, sequence, bookOrders(bids), bookOrders(asks));
+        }
+
+        private List<BookOrder> bookOrders(NavigableMap<BigDecimal, OrderLevel> levels) {
+            List<BookOrder> bookOrders = new ArrayList<>();
+            levels.forEach((price, level) -> level.addBookOrders(price, bookOrders));
+            return bookOrders;
+        }
+
+        private void publishTopOfBookIfChanged() {
+            Map.Entry<BigDecimal, OrderLevel> bestBid = bids.firstEntry();
+            Map.Entry<BigDecimal, OrderLevel> bestAsk = asks.firstEntry();
+            BigDecimal bidPrice = bestBid == null ? null : bestBid.getKey();
+            long bidVolume = bestBid == null ? 0L : bestBid.getValue().volume();
+            BigDecimal askPrice = bestAsk == null ? null : bestAsk.getKey();
+            long askVolume = bestAsk == null ? 0L : bestAsk.getValue().volume();
+            if (samePrice(bidPrice, topOfBook.bidPrice()) && bidVolume == topOfBook.bidVolume()
+                && samePrice(askPrice, topOfBook.askPrice()) && askVolume == topOfBook.askVolume()) {
+                return;
+            }
+            topOfBook = new TopOfBook(ticker, sequence, bidPrice, bidVolume, askPrice, askVolume);
+            marketDataListener.onTopOfBook(topOfBook);
+        }
+
+        private boolean samePrice(BigDecimal price, BigDecimal anotherPrice) {
+            return price == null ? anotherPrice == null : anotherPrice != null && price.compareTo(anotherPrice) == 0;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.iflash.core.marketdata;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Immutable view of a ticker published after every book change. Best prices are {@code null} for an empty side,
+ * {@code lastTrade} is {@code null} until the first trade, {@code bids} and {@code asks} hold up to
+ * {@link com.iflash.core.configuration.GlobalSettings#MARKET_SNAPSHOT_DEPTH} levels, best price first.
+ */
+public record MarketSnapshot(String ticker, long sequence, BigDecimal bestBidPrice, long bestBidVolume, BigDecimal bestAskPrice, long bestAskVolume,
+                             LastTrade lastTrade, List<PriceLevel> bids, List<PriceLevel> asks) {
+
+    /**
+     * Best {@code depth} bid levels as a view of {@link #bids()}, capped at the published depth.
+     */
+    public List<PriceLevel> topBids(int depth) {
+        return bids.subList(0, Math.min(depth, bids.size()));
+    }
+
+    /**
+     * Best {@code depth} ask levels as a view of {@link #asks()}, capped at the published depth.
+     */
+    public List<PriceLevel> topAsks(int depth) {
+        return asks.subList(0, Math.min(depth, asks.size()));
+    }
+
+    static MarketSnapshot empty(String ticker) {
+        return new MarketSnapshot(ticker, 0L, null, 0L, null, 0L, null, List.of(), List.of());
+    }
+}
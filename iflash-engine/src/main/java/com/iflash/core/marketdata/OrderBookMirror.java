@@ -0,0 +1,89 @@
+package com.iflash.core.marketdata;
+
+import com.iflash.core.order.OrderDirection;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Local copy of the price levels of one ticker, kept up to date from the {@link BookUpdate} feed. The mirror
+ * starts from a {@link BookSnapshot}, skips updates already contained in it and loads a fresh snapshot as soon as
+ * a sequence gap shows that an update was lost. Not thread safe, meant to be fed by a single consumer.
+ */
+public class OrderBookMirror {
+
+    private final String ticker;
+    private final Function<String, BookSnapshot> snapshotSource;
+    private final NavigableMap<BigDecimal, Long> bids = new TreeMap<>(Collections.reverseOrder());
+    private final NavigableMap<BigDecimal, Long> asks = new TreeMap<>();
+    private long sequence = -1L;
+    private long snapshotsLoaded;
+
+    private OrderBookMirror(String ticker, Function<String, BookSnapshot> snapshotSource) {
+        this.ticker = ticker;
+        this.snapshotSource = snapshotSource;
+    }
+
+    public static OrderBookMirror create(String ticker, Function<String, BookSnapshot> snapshotSource) {
+        return new OrderBookMirror(ticker, snapshotSource);
+    }
+
+    public void apply(BookUpdate bookUpdate) {
+        if (sequence < 0L || bookUpdate.sequence() > sequence + 1) {
+            loadSnapshot();
+        }
+        if (bookUpdate.sequence() <= sequence) {
+            return;
+        }
+        if (bookUpdate.sequence() > sequence + 1) {
+            throw new IllegalStateException("Snapshot of " + ticker + " at sequence " + sequence + " is older than update " + bookUpdate.sequence());
+        }
+        NavigableMap<BigDecimal, Long> levels = bookUpdate.side() == OrderDirection.BID ? bids : asks;
+        if (bookUpdate.levelVolume() > 0) {
+            levels.put(bookUpdate.price(), bookUpdate.levelVolume());
+        }
+        else {
+            levels.remove(bookUpdate.price());
+        }
+        sequence = bookUpdate.sequence();
+    }
+
+    public long sequence() {
+        return sequence;
+    }
+
+    public long snapshotsLoaded() {
+        return snapshotsLoaded;
+    }
+
+    public List<PriceLevel> bids() {
+        return priceLevels(bids);
+    }
+
+    public List<PriceLevel> asks() {
+        return priceLevels(asks);
+    }
+
+    private void loadSnapshot() {
+        BookSnapshot bookSnapshot = snapshotSource.apply(ticker);
+        bids.clear();
+        asks.clear();
+        bookSnapshot.bids()
+                    .forEach(level -> bids.put(level.price(), level.volume()));
+        bookSnapshot.asks()
+                    .forEach(level -> asks.put(level.price(), level.volume()));
+        sequence = bookSnapshot.sequence();
+        snapshotsLoaded++;
+    }
+
+    private List<PriceLevel> priceLevels(NavigableMap<BigDecimal, Long> levels) {
+        return levels.entrySet()
+                     .stream()
+                     .map(level -> new PriceLevel(level.getKey(), level.getValue()))
+                     .toList();
+    }
+}
@@ -0,0 +1,164 @@
+package com.iflash.core.marketdata;
+
+import com.iflash.core.order.OrderDirection;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Order level copy of the book of one ticker for read replicas running outside the engine. Unlike
+ * {@link OrderBookMirror} it never loads snapshots itself: while out of sync it buffers incoming updates and
+ * {@link #apply(BookUpdate)} returns {@code false} so the owner can fetch an {@link OrdersSnapshot} asynchronously,
+ * {@link #load(OrdersSnapshot)} then replays the buffered updates newer than the snapshot. Updates come from a single
+ * consumer, reads may come from any thread.
+ */
+public class OrderBookReplica {
+
+    private static final int MAX_PENDING_UPDATES = 100_000;
+
+    private final String ticker;
+    private final NavigableMap<BigDecimal, OrderLevel> bids = new TreeMap<>(Collections.reverseOrder());
+    private final NavigableMap<BigDecimal, OrderLevel> asks = new TreeMap<>();
+    private final Deque<BookUpdate> pendingUpdates = new ArrayDeque<>();
+    private long sequence = -1L;
+    private boolean synced;
+
+    private OrderBookReplica(String ticker) {
+        this.ticker = ticker;
+    }
+
+    public static OrderBookReplica create(String ticker) {
+        return new OrderBookReplica(ticker);
+    }
+
+    /**
+     * @return {@code false} when the replica is out of sync and needs a snapshot
+     */
+    public synchronized boolean apply(BookUpdate bookUpdate) {
+        if (synced && bookUpdate.sequence() <= sequence) {
+            return true;
+        }
+        if (synced && bookUpdate.sequence() == sequence + 1) {
+            change(bookUpdate);
+            return true;
+        }
+        synced = false;
+        if (pendingUpdates.size() == MAX_PENDING_UPDATES) {
+            pendingUpdates.removeFirst();
+        }
+        pendingUpdates.addLast(bookUpdate);
+        return false;
+    }
+
+    /**
+     * @return {@code false} when the buffered updates do not continue the snapshot and a newer one is needed
+     */
+    public synchronized boolean load(OrdersSnapshot ordersSnapshot) {
+        bids.clear();
+        asks.clear();
+        ordersSnapshot.bids()
+                      .forEach(bookOrder -> level(OrderDirection.BID, bookOrder.price()).change(BookUpdateType.ADD, bookOrder.orderUuid(), bookOrder.volume()));
+        ordersSnapshot.asks()
+                      .forEach(bookOrder -> level(OrderDirection.ASK, bookOrder.price()).change(BookUpdateType.ADD, bookOrder.orderUuid(), bookOrder.volume()));
+        sequence = ordersSnapshot.sequence();
+        while (!pendingUpdates.isEmpty()) {
+            BookUpdate bookUpdate = pendingUpdates.peekFirst();
+            if (bookUpdate.sequence() > sequence + 1) {
+                return false;
+            }
+            pendingUpdates.removeFirst();
+            if (bookUpdate.sequence() == sequence + 1) {
+                change(bookUpdate);
+            }
+        }
+        synced = true;
+        return true;
+    }
+
+    /**
+     * Marks the replica out of sync, for example when the feed was reconnected and sequences may have restarted.
+     */
+    public synchronized void invalidate() {
+        synced = false;
+        pendingUpdates.clear();
+    }
+
+    public synchronized boolean synced() {
+        return synced;
+    }
+
+    public synchronized long sequence() {
+        return sequence;
+    }
+
+    public synchronized BookSnapshot bookSnapshot() {
+        return bookSnapshot(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Snapshot of at most {@code depth} best price levels of each side.
+     */
+    public synchronized BookSnapshot bookSnapshot(int depth) {
+        return new BookSnapshot(ticker, sequence, priceLevels(bids, depth), priceLevels(asks, depth));
+    }
+
+    public synchronized OrdersSnapshot ordersSnapshot() {
+        return new OrdersSnapshot(ticker, sequence, bookOrders(bids), bookOrders(asks));
+    }
+
+    /**
+     * Resting orders of one side in priority order, skipping the first {@code offset} ones.
+     */
+    public synchronized List<BookOrder> bookOrders(OrderDirection side, int offset, int limit) {
+        List<BookOrder> bookOrders = new ArrayList<>(Math.min(limit, 1024));
+        int toSkip = offset;
+        for (Map.Entry<BigDecimal, OrderLevel> level : (side == OrderDirection.BID ? bids : asks).entrySet()) {
+            if (bookOrders.size() == limit) {
+                break;
+            }
+            int levelOrders = level.getValue().orderCount();
+            if (levelOrders <= toSkip) {
+                toSkip -= levelOrders;
+                continue;
+            }
+            level.getValue().addBookOrders(level.getKey(), bookOrders, toSkip, limit);
+            toSkip = 0;
+        }
+        return bookOrders;
+    }
+
+    private void change(BookUpdate bookUpdate) {
+        long volumeDelta = bookUpdate.type() == BookUpdateType.ADD ? bookUpdate.volume() : -bookUpdate.volume();
+        OrderLevel level = level(bookUpdate.side(), bookUpdate.price());
+        level.change(bookUpdate.type(), bookUpdate.orderUuid(), volumeDelta);
+        if (level.volume() <= 0) {
+            (bookUpdate.side() == OrderDirection.BID ? bids : asks).remove(bookUpdate.price());
+        }
+        sequence = bookUpdate.sequence();
+    }
+
+    private OrderLevel level(OrderDirection side, BigDecimal price) {
+        return (side == OrderDirection.BID ? bids : asks).computeIfAbsent(price, key -> new OrderLevel());
+    }
+
+    private List<PriceLevel> priceLevels(NavigableMap<BigDecimal, OrderLevel> levels, int depth) {
+        return levels.entrySet()
+                     .stream()
+                     .limit(depth)
+                     .map(level -> new PriceLevel(level.getKey(), level.getValue().volume()))
+                     .toList();
+    }
+
+    private List<BookOrder> bookOrders(NavigableMap<BigDecimal, OrderLevel> levels) {
+        List<BookOrder> bookOrders = new ArrayList<>();
+        levels.forEach((price, level) -> level.addBookOrders(price, bookOrders));
+        return bookOrders;
+    }
+}
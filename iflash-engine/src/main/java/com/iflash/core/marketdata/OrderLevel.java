@@ -0,0 +1,55 @@
+package com.iflash.core.marketdata;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SequencedMap;
+import java.util.UUID;
+
+/**
+ * Total volume of a price level and the volume of its resting orders in time priority. Not thread safe.
+ */
+class OrderLevel {
+
+    private final SequencedMap<UUID, Long> orders = new LinkedHashMap<>();
+    private long volume;
+
+    void change(BookUpdateType bookUpdateType, UUID orderUuid, long volumeDelta) {
+        volume += volumeDelta;
+        switch (bookUpdateType) {
+            case ADD -> orders.put(orderUuid, volumeDelta);
+            case FILL, REDUCE -> orders.computeIfPresent(orderUuid, (key, orderVolume) -> orderVolume + volumeDelta);
+            case REMOVE, EXPIRE -> orders.remove(orderUuid);
+        }
+    }
+
+    long volume() {
+        return volume;
+    }
+
+    int orderCount() {
+        return orders.size();
+    }
+
+    void addBookOrders(BigDecimal price, List<BookOrder> bookOrders) {
+        orders.forEach((orderUuid, orderVolume) -> bookOrders.add(new BookOrder(orderUuid, price, orderVolume)));
+    }
+
+    /**
+     * Adds the orders of the level after the first {@code skip} ones until {@code bookOrders} holds {@code limit} orders.
+     */
+    void addBookOrders(BigDecimal price, List<BookOrder> bookOrders, int skip, int limit) {
+        int skipped = 0;
+        for (Map.Entry<UUID, Long> order : orders.entrySet()) {
+            if (bookOrders.size() == limit) {
+                return;
+            }
+            if (skipped < skip) {
+                skipped++;
+                continue;
+            }
+            bookOrders.add(new BookOrder(order.getKey(), price, order.getValue()));
+        }
+    }
+}
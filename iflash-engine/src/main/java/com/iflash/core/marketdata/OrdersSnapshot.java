@@ -0,0 +1,10 @@
+package com.iflash.core.marketdata;
+
+import java.util.List;
+
+/**
+ * Resting orders of a ticker after applying every {@link BookUpdate} up to and including {@code sequence}, best
+ * price first on both sides and in time priority within a price level.
+ */
+public record OrdersSnapshot(String ticker, long sequence, List<BookOrder> bids, List<BookOrder> asks) {
+}
@@ -0,0 +1,6 @@
+package com.iflash.core.marketdata;
+
+import java.math.BigDecimal;
+
+public record QuotationUpdate(String ticker, long timestamp, BigDecimal price) {
+}
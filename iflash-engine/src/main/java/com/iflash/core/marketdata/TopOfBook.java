@@ -0,0 +1,9 @@
+package com.iflash.core.marketdata;
+
+import java.math.BigDecimal;
+
+/**
+ * Best bid and ask with the total volume resting on them, prices are {@code null} for an empty side.
+ */
+public record TopOfBook(String ticker, long sequence, BigDecimal bidPrice, long bidVolume, BigDecimal askPrice, long askVolume) {
+}
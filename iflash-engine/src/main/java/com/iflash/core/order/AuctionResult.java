@@ -0,0 +1,35 @@
+package com.iflash.core.order;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * @param uncrossingPrice  price every fill executed at, {@code null} when the collected orders did not cross
+ * @param fills            one fill per executed order of both sides
+ * @param residualOrders   unexecuted volume to be registered in the continuous book
+ * @param executionReports report of every collected order by its order id, added by the matching engine once the
+ *                         residual orders are registered
+ */
+public record AuctionResult(String ticker,
+                            BigDecimal uncrossingPrice,
+                            long executedVolume,
+                            List<FinishedTransactionInfo> fills,
+                            List<RegisterOrderCommand> residualOrders,
+                            Map<UUID, OrderRegistrationResult> executionReports) {
+
+    public AuctionResult withExecutionReports(Map<UUID, OrderRegistrationResult> executionReports) {
+        return new AuctionResult(ticker, uncrossingPrice, executedVolume, fills, residualOrders, executionReports);
+    }
+
+    /**
+     * @return the whole uncrossing as one trade for the quotation, {@code null} when nothing executed
+     */
+    public FinishedTransactionInfo uncrossingTrade() {
+        if (executedVolume == 0L) {
+            return null;
+        }
+        return FinishedTransactionInfo.level(ticker, executedVolume, uncrossingPrice, fills.size());
+    }
+}
@@ -0,0 +1,203 @@
+package com.iflash.core.order;
+
+import com.iflash.core.quotation.CurrentQuotation;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static com.iflash.core.order.OrderType.AON;
+import static com.iflash.core.order.OrderType.FOK;
+import static com.iflash.core.order.OrderType.IOC;
+import static com.iflash.core.order.OrderType.MARKET;
+
+/**
+ * Orders of one ticker collected without matching until {@link #uncross(BigDecimal)} executes them all at a single
+ * price. The uncrossing price maximizes the volume executable between the cumulative bid curve, volume bid at or
+ * above a price, and the cumulative ask curve, volume offered at or below it. Ties go to the smaller imbalance
+ * between both curves and then to the price closest to the reference price. Orders without a price take any
+ * uncrossing price, within a side orders execute in price and then arrival priority.
+ */
+public class CallAuction {
+
+    private static final Comparator<AuctionOrder> BID_PRIORITY = Comparator.comparing(AuctionOrder::limitPrice, Comparator.nullsFirst(Comparator.reverseOrder()));
+    private static final Comparator<AuctionOrder> ASK_PRIORITY = Comparator.comparing(AuctionOrder::limitPrice, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final String ticker;
+    private final List<AuctionOrder> bids = new ArrayList<>();
+    private final List<AuctionOrder> asks = new ArrayList<>();
+    private boolean uncrossed;
+
+    public CallAuction(String ticker) {
+        this.ticker = ticker;
+    }
+
+    /**
+     * @return result of the collected order or {@code null} when the auction is already uncrossed
+     */
+    public synchronized OrderRegistrationResult collect(RegisterOrderCommand registerOrderCommand) {
+        if (uncrossed) {
+            return null;
+        }
+        OrderType orderType = registerOrderCommand.orderType();
+        if (IOC == orderType || FOK == orderType || AON == orderType) {
+            throw OrderBookException.orderTypeNotAvailableInAuction(orderType);
+        }
+        OrderRegistrationValidator.validateOrderFields(registerOrderCommand);
+        AuctionOrder auctionOrder = new AuctionOrder(registerOrderCommand);
+        (OrderDirection.BID == registerOrderCommand.orderDirection() ? bids : asks).add(auctionOrder);
+        return OrderRegistrationResult.auctionOrderCollected(registerOrderCommand);
+    }
+
+    public synchronized int size() {
+        return bids.size() + asks.size();
+    }
+
+    /**
+     * Executes the collected orders at the uncrossing price, the auction takes no more orders afterwards. Unexecuted
+     * volume comes back as {@link AuctionResult#residualOrders()}. Market orders stay market orders which sweep the
+     * continuous book and rest at the uncrossing price or, when nothing executed, at {@code referencePrice}, limit
+     * orders without a price become limit orders at that price.
+     */
+    public synchronized AuctionResult uncross(BigDecimal referencePrice) {
+        uncrossed = true;
+        BigDecimal uncrossingPrice = uncrossingPrice(referencePrice);
+        List<FinishedTransactionInfo> fills = new ArrayList<>();
+        long executedVolume = 0L;
+        if (uncrossingPrice != null) {
+            executedVolume = Math.min(executableVolume(bids, uncrossingPrice, OrderDirection.BID), executableVolume(asks, uncrossingPrice, OrderDirection.ASK));
+            execute(bids, BID_PRIORITY, executedVolume, uncrossingPrice, fills);
+            execute(asks, ASK_PRIORITY, executedVolume, uncrossingPrice, fills);
+        }
+        BigDecimal residualMarketPrice = uncrossingPrice != null ? uncrossingPrice : referencePrice;
+        List<RegisterOrderCommand> residualOrders = new ArrayList<>();
+        residualOrders(bids, residualMarketPrice, residualOrders);
+        residualOrders(asks, residualMarketPrice, residualOrders);
+        bids.clear();
+        asks.clear();
+        return new AuctionResult(ticker, executedVolume > 0L ? uncrossingPrice : null, executedVolume, fills, residualOrders, Map.of());
+    }
+
+    private BigDecimal uncrossingPrice(BigDecimal referencePrice) {
+        NavigableMap<BigDecimal, long[]> volumesByPrice = new TreeMap<>(); // [bid volume, ask volume] limited at the price
+        long marketBidVolume = addLimitedVolumes(bids, volumesByPrice, 0);
+        long marketAskVolume = addLimitedVolumes(asks, volumesByPrice, 1);
+        if (volumesByPrice.isEmpty()) {
+            return marketBidVolume > 0L && marketAskVolume > 0L ? referencePrice : null;
+        }
+        BigDecimal[] prices = volumesByPrice.keySet().toArray(BigDecimal[]::new);
+        long[] bidVolumeAtOrAbove = new long[prices.length];
+        long cumulativeBidVolume = marketBidVolume;
+        for (int level = prices.length - 1; level >= 0; level--) {
+            cumulativeBidVolume += volumesByPrice.get(prices[level])[0];
+            bidVolumeAtOrAbove[level] = cumulativeBidVolume;
+        }
+        BigDecimal bestPrice = null;
+        long bestExecutableVolume = 0L;
+        long bestImbalance = Long.MAX_VALUE;
+        long cumulativeAskVolume = marketAskVolume;
+        for (int level = 0; level < prices.length; level++) {
+            cumulativeAskVolume += volumesByPrice.get(prices[level])[1];
+            long executableVolume = Math.min(bidVolumeAtOrAbove[level], cumulativeAskVolume);
+            long imbalance = Math.abs(bidVolumeAtOrAbove[level] - cumulativeAskVolume);
+            if (executableVolume > bestExecutableVolume
+                || executableVolume == bestExecutableVolume && executableVolume > 0L
+                   && (imbalance < bestImbalance || imbalance == bestImbalance && closer(prices[level], bestPrice, referencePrice))) {
+                bestPrice = prices[level];
+                bestExecutableVolume = executableVolume;
+                bestImbalance = imbalance;
+            }
+        }
+        return bestPrice;
+    }
+
+    private long addLimitedVolumes(List<AuctionOrder> orders, Map<BigDecimal, long[]> volumesByPrice, int side) {
+        long marketVolume = 0L;
+        for (AuctionOrder order : orders) {
+            if (order.limitPrice() == null) {
+                marketVolume += order.remainingVolume;
+            }
+            else {
+                volumesByPrice.computeIfAbsent(order.limitPrice(), price -> new long[2])[side] += order.remainingVolume;
+            }
+        }
+        return marketVolume;
+    }
+
+    private boolean closer(BigDecimal price, BigDecimal anotherPrice, BigDecimal referencePrice) {
+        return referencePrice != null && price.subtract(referencePrice).abs().compareTo(anotherPrice.subtract(referencePrice).abs()) < 0;
+    }
+
+    private long executableVolume(List<AuctionOrder> orders, BigDecimal uncrossingPrice, OrderDirection side) {
+        long volume = 0L;
+        for (AuctionOrder order : orders) {
+            if (order.executableAt(uncrossingPrice, side)) {
+                volume += order.remainingVolume;
+            }
+        }
+        return volume;
+    }
+
+    private void execute(List<AuctionOrder> orders, Comparator<AuctionOrder> priority, long executedVolume, BigDecimal uncrossingPrice,
+                         List<FinishedTransactionInfo> fills) {
+        List<AuctionOrder> ordersInPriority = new ArrayList<>(orders);
+        ordersInPriority.sort(priority); // stable, keeps arrival order within a price
+        long volumeLeft = executedVolume;
+        for (AuctionOrder order : ordersInPriority) {
+            if (volumeLeft == 0L) {
+                return;
+            }
+            long fillVolume = Math.min(order.remainingVolume, volumeLeft);
+            order.remainingVolume -= fillVolume;
+            volumeLeft -= fillVolume;
+            fills.add(new FinishedTransactionInfo(order.registerOrderCommand.orderId(), ticker, fillVolume, uncrossingPrice));
+        }
+    }
+
+    private void residualOrders(List<AuctionOrder> orders, BigDecimal residualMarketPrice, List<RegisterOrderCommand> residualOrders) {
+        for (AuctionOrder order : orders) {
+            if (order.remainingVolume == 0L) {
+                continue;
+            }
+            RegisterOrderCommand registerOrderCommand = order.registerOrderCommand;
+            if (MARKET == registerOrderCommand.orderType()) {
+                residualOrders.add(registerOrderCommand.withPrice(residualMarketPrice).withVolume(order.remainingVolume));
+            }
+            else if (registerOrderCommand.price() == null) {
+                residualOrders.add(registerOrderCommand.createAfterPartialFillment(new CurrentQuotation(System.currentTimeMillis(), residualMarketPrice),
+                                                                                   order.remainingVolume));
+            }
+            else {
+                residualOrders.add(registerOrderCommand.withVolume(order.remainingVolume));
+            }
+        }
+    }
+
+    private static class AuctionOrder {
+
+        private final RegisterOrderCommand registerOrderCommand;
+        private long remainingVolume;
+
+        private AuctionOrder(RegisterOrderCommand registerOrderCommand) {
+            this.registerOrderCommand = registerOrderCommand;
+            this.remainingVolume = registerOrderCommand.volume();
+        }
+
+        private BigDecimal limitPrice() {
+            return MARKET == registerOrderCommand.orderType() ? null : registerOrderCommand.price();
+        }
+
+        private boolean executableAt(BigDecimal uncrossingPrice, OrderDirection side) {
+            BigDecimal limitPrice = limitPrice();
+            if (limitPrice == null) {
+                return true;
+            }
+            int comparedToUncrossingPrice = limitPrice.compareTo(uncrossingPrice);
+            return OrderDirection.BID == side ? comparedToUncrossingPrice >= 0 : comparedToUncrossingPrice <= 0;
+        }
+    }
+}
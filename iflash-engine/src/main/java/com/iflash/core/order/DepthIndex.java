@@ -0,0 +1,152 @@
+package com.iflash.core.order;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+/**
+ * Resting volume of one side of a ticker by price. Every node of the tree also keeps the volume of its whole subtree,
+ * so the volume priced below or above any price is summed along a single root to leaf path, in O(log n) expected
+ * for a treap keyed by price. Not thread safe, read and changed only while holding the monitor of the owning
+ * {@link SimpleOrderBook}.
+ */
+class DepthIndex {
+
+    private final SplittableRandom random = new SplittableRandom(42L);
+    private Node root;
+    private long unpricedVolume; // market orders resting without a price, never executable against a limit
+
+    void change(BigDecimal price, long volumeDelta) {
+        if (price == null) {
+            unpricedVolume += volumeDelta;
+            return;
+        }
+        root = change(root, price, volumeDelta);
+    }
+
+    long totalVolume() {
+        return subtreeVolume(root) + unpricedVolume;
+    }
+
+    /**
+     * @return volume resting at prices strictly lower than {@code price}
+     */
+    long volumeBelow(BigDecimal price) {
+        long volume = 0L;
+        Node node = root;
+        while (node != null) {
+            if (node.price.compareTo(price) < 0) {
+                volume += subtreeVolume(node.left) + node.volume;
+                node = node.right;
+            }
+            else {
+                node = node.left;
+            }
+        }
+        return volume;
+    }
+
+    /**
+     * @return volume resting at prices strictly higher than {@code price}
+     */
+    long volumeAbove(BigDecimal price) {
+        long volume = 0L;
+        Node node = root;
+        while (node != null) {
+            if (node.price.compareTo(price) > 0) {
+                volume += subtreeVolume(node.right) + node.volume;
+                node = node.left;
+            }
+            else {
+                node = node.right;
+            }
+        }
+        return volume;
+    }
+
+    private Node change(Node node, BigDecimal price, long volumeDelta) {
+        if (node == null) {
+            return volumeDelta > 0L ? new Node(price, volumeDelta, random.nextInt()) : null;
+        }
+        int compared = price.compareTo(node.price);
+        if (compared == 0) {
+            node.volume += volumeDelta;
+            if (node.volume <= 0L) {
+                return merge(node.left, node.right);
+            }
+        }
+        else if (compared < 0) {
+            node.left = change(node.left, price, volumeDelta);
+            if (node.left != null && node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        }
+        else {
+            node.right = change(node.right, price, volumeDelta);
+            if (node.right != null && node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.updateSubtreeVolume();
+        return node;
+    }
+
+    private static Node merge(Node lower, Node higher) {
+        if (lower == null) {
+            return higher;
+        }
+        if (higher == null) {
+            return lower;
+        }
+        if (lower.priority > higher.priority) {
+            lower.right = merge(lower.right, higher);
+            lower.updateSubtreeVolume();
+            return lower;
+        }
+        higher.left = merge(lower, higher.left);
+        higher.updateSubtreeVolume();
+        return higher;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        node.updateSubtreeVolume();
+        left.right = node;
+        left.updateSubtreeVolume();
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        node.updateSubtreeVolume();
+        right.left = node;
+        right.updateSubtreeVolume();
+        return right;
+    }
+
+    private static long subtreeVolume(Node node) {
+        return node == null ? 0L : node.subtreeVolume;
+    }
+
+    private static final class Node {
+
+        private final BigDecimal price;
+        private final int priority;
+        private long volume;
+        private long subtreeVolume;
+        private Node left;
+        private Node right;
+
+        private Node(BigDecimal price, long volume, int priority) {
+            this.price = price;
+            this.volume = volume;
+            this.subtreeVolume = volume;
+            this.priority = priority;
+        }
+
+        private void updateSubtreeVolume() {
+            subtreeVolume = subtreeVolume(left) + volume + subtreeVolume(right);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.iflash.core.order;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps a {@link DepthIndex} per ticker and side in step with the book, every change is forwarded to the next
+ * listener afterwards. Guarded by the monitor of the owning {@link SimpleOrderBook} like the indexes themselves.
+ */
+class DepthIndexes implements OrderBookListener {
+
+    private final Map<String, DepthIndex> asksDepthByTicker = new HashMap<>();
+    private final Map<String, DepthIndex> bidsDepthByTicker = new HashMap<>();
+    private final OrderBookListener orderBookListener;
+
+    DepthIndexes(OrderBookListener orderBookListener) {
+        this.orderBookListener = orderBookListener;
+    }
+
+    void registerTicker(String ticker) {
+        asksDepthByTicker.putIfAbsent(ticker, new DepthIndex());
+        bidsDepthByTicker.putIfAbsent(ticker, new DepthIndex());
+    }
+
+    /**
+     * @return index of the side or {@code null} when the ticker is not registered
+     */
+    DepthIndex depthIndex(String ticker, OrderDirection side) {
+        return switch (side) {
+            case BID -> bidsDepthByTicker.get(ticker);
+            case ASK -> asksDepthByTicker.get(ticker);
+        };
+    }
+
+    @Override
+    public void onOrderRested(String ticker, OrderDirection side, UUID orderUuid, BigDecimal price, long volume) {
+        change(ticker, side, price, volume);
+        orderBookListener.onOrderRested(ticker, side, orderUuid, price, volume);
+    }
+
+    @Override
+    public void onOrderFilled(String ticker, OrderDirection restingSide, UUID orderUuid, BigDecimal price, long filledVolume, long remainingVolume) {
+        change(ticker, restingSide, price, -filledVolume);
+        orderBookListener.onOrderFilled(ticker, restingSide, orderUuid, price, filledVolume, remainingVolume);
+    }
+
+    @Override
+    public void onOrderReduced(String ticker, OrderDirection side, UUID orderUuid, BigDecimal price, long reducedVolume, long remainingVolume) {
+        change(ticker, side, price, -reducedVolume);
+        orderBookListener.onOrderReduced(ticker, side, orderUuid, price, reducedVolume, remainingVolume);
+    }
+
+    @Override
+    public void onOrderExpired(String ticker, OrderDirection side, UUID orderUuid, BigDecimal price, long volume) {
+        change(ticker, side, price, -volume);
+        orderBookListener.onOrderExpired(ticker, side, orderUuid, price, volume);
+    }
+
+    private void change(String ticker, OrderDirection side, BigDecimal price, long volumeDelta) {
+        DepthIndex depthIndex = depthIndex(ticker, side);
+        if (depthIndex != null) {
+            depthIndex.change(price, volumeDelta);
+        }
+    }
+}
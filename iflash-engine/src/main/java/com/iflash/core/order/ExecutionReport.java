@@ -0,0 +1,56 @@
+package com.iflash.core.order;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the fills of one incoming order. In {@link ExecutionReportMode#PER_LEVEL} consecutive fills at the same
+ * price only add up into the open level, which becomes a single entry once the price changes or the fills are read.
+ * Not thread safe.
+ */
+class ExecutionReport {
+
+    private final ExecutionReportMode executionReportMode;
+    private final List<FinishedTransactionInfo> fills = new ArrayList<>(0);
+    private String levelTicker;
+    private BigDecimal levelPrice;
+    private long levelVolume;
+    private int levelFillCount;
+
+    ExecutionReport(ExecutionReportMode executionReportMode) {
+        this.executionReportMode = executionReportMode;
+    }
+
+    void add(FinishedTransactionInfo fill) {
+        if (executionReportMode == ExecutionReportMode.PER_ORDER) {
+            fills.add(fill);
+            return;
+        }
+        if (levelPrice != null && levelPrice.compareTo(fill.price()) != 0) {
+            closeLevel();
+        }
+        if (levelPrice == null) {
+            levelTicker = fill.ticker();
+            levelPrice = fill.price();
+        }
+        levelVolume += fill.volume();
+        levelFillCount += fill.fillCount();
+    }
+
+    List<FinishedTransactionInfo> fills() {
+        closeLevel();
+        return fills;
+    }
+
+    private void closeLevel() {
+        if (levelPrice == null) {
+            return;
+        }
+        fills.add(FinishedTransactionInfo.level(levelTicker, levelVolume, levelPrice, levelFillCount));
+        levelTicker = null;
+        levelPrice = null;
+        levelVolume = 0L;
+        levelFillCount = 0;
+    }
+}
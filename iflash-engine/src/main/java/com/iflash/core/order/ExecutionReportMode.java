@@ -0,0 +1,11 @@
+package com.iflash.core.order;
+
+/**
+ * Granularity of the fills returned for an incoming order. {@link #PER_LEVEL} merges the fills of every price level
+ * the order swept into one {@link FinishedTransactionInfo} with summed volume and the number of counter-orders, per
+ * order detail is still published to {@link OrderBookListener}s.
+ */
+public enum ExecutionReportMode {
+    PER_ORDER,
+    PER_LEVEL
+}
@@ -3,5 +3,17 @@ package com.iflash.core.order;
 import java.math.BigDecimal;
 import java.util.UUID;
 
-public record FinishedTransactionInfo(UUID orderUuid, String ticker, long volume, BigDecimal price) {
+/**
+ * @param orderUuid resting order which was filled, {@code null} for a price level aggregated by {@link ExecutionReportMode#PER_LEVEL}
+ * @param fillCount number of counter-orders filled at the price
+ */
+public record FinishedTransactionInfo(UUID orderUuid, String ticker, long volume, BigDecimal price, int fillCount) {
+
+    public FinishedTransactionInfo(UUID orderUuid, String ticker, long volume, BigDecimal price) {
+        this(orderUuid, ticker, volume, price, 1);
+    }
+
+    static FinishedTransactionInfo level(String ticker, long volume, BigDecimal price, int fillCount) {
+        return new FinishedTransactionInfo(null, ticker, volume, price, fillCount);
+    }
 }
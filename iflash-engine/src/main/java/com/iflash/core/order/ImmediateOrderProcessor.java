@@ -0,0 +1,99 @@
+package com.iflash.core.order;
+
+import com.iflash.core.diagnostics.OrderFillEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Executes orders which never rest on the book: {@link OrderType#IOC} fills what is available and cancels the rest,
+ * {@link OrderType#FOK} and {@link OrderType#AON} are filled in full or not at all. The executable volume is read
+ * from the {@link DepthIndex} of the opposite side before the first fill, so a killed order never touches the book.
+ * Prices are executable under the same rule as for limit orders, strictly better than the limit, an order without
+ * a price takes any price.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class ImmediateOrderProcessor {
+
+    private final Map<String, Queue<Order>> asksOrdersByTicker;
+    private final Map<String, Queue<Order>> bidsOrdersByTicker;
+    private final DepthIndexes depthIndexes;
+    private final OrderExpiryScheduler orderExpiryScheduler;
+
+    OrderRegistrationResult processImmediateOrder(RegisterOrderCommand registerOrderCommand) {
+        OrderDirection restingSide = registerOrderCommand.orderDirection().opposite();
+        Queue<Order> ordersQueue = OrderDirection.BID == registerOrderCommand.orderDirection()
+                                   ? asksOrdersByTicker.get(registerOrderCommand.ticker())
+                                   : bidsOrdersByTicker.get(registerOrderCommand.ticker());
+        DepthIndex depthIndex = depthIndexes.depthIndex(registerOrderCommand.ticker(), restingSide);
+        if (ordersQueue == null || depthIndex == null) {
+            throw OrderBookException.noTicker(registerOrderCommand.ticker());
+        }
+        long volumeRequested = registerOrderCommand.volume();
+        long volumeExecutable = Math.min(executableVolume(registerOrderCommand, depthIndex), volumeRequested);
+        boolean allOrNone = registerOrderCommand.orderType() == OrderType.FOK || registerOrderCommand.orderType() == OrderType.AON;
+        if (volumeExecutable == 0L || allOrNone && volumeExecutable < volumeRequested) {
+            return OrderRegistrationResult.immediateOrderCancelled(registerOrderCommand);
+        }
+
+        ExecutionReport executionReport = new ExecutionReport(registerOrderCommand.executionReportMode());
+        long volumeFilled = 0L;
+        while (volumeFilled < volumeExecutable) {
+            Order restingOrder = ordersQueue.poll();
+            if (restingOrder == null) {
+                log.warn("Depth index of {} {} promised {} more volume than the queue holds", registerOrderCommand.ticker(), restingSide,
+                         volumeExecutable - volumeFilled);
+                break;
+            }
+            long volumeToFill = Math.min(restingOrder.getVolume(), volumeExecutable - volumeFilled);
+            FinishedTransactionInfo finishedTransactionInfo;
+            long remainingVolume;
+            if (volumeToFill == restingOrder.getVolume()) {
+                finishedTransactionInfo = restingOrder.bought();
+                remainingVolume = 0L;
+            }
+            else {
+                finishedTransactionInfo = restingOrder.boughtPartially(volumeToFill);
+                remainingVolume = restingOrder.getVolume();
+                ordersQueue.offer(restingOrder);
+            }
+            volumeFilled += volumeToFill;
+            executionReport.add(finishedTransactionInfo);
+            depthIndexes.onOrderFilled(registerOrderCommand.ticker(), restingSide, restingOrder.getOrderUuid(), restingOrder.getPrice(), volumeToFill,
+                                       remainingVolume);
+            if (remainingVolume == 0L) {
+                restNextSlice(restingSide, restingOrder, ordersQueue);
+            }
+            OrderFillEvent.emit(registerOrderCommand, finishedTransactionInfo, ordersQueue);
+        }
+        if (volumeFilled == 0L) {
+            return OrderRegistrationResult.immediateOrderCancelled(registerOrderCommand);
+        }
+        return volumeFilled == volumeRequested
+               ? OrderRegistrationResult.immediateOrderFullyCompleted(executionReport.fills(), registerOrderCommand)
+               : OrderRegistrationResult.immediateOrderPartiallyCompleted(executionReport.fills(), registerOrderCommand);
+    }
+
+    private void restNextSlice(OrderDirection restingSide, Order filledOrder, Queue<Order> ordersQueue) {
+        Order nextSlice = filledOrder.replenished();
+        if (nextSlice != null) {
+            ordersQueue.offer(nextSlice);
+            depthIndexes.onOrderRested(nextSlice.getTicker(), restingSide, nextSlice.getOrderUuid(), nextSlice.getPrice(), nextSlice.getVolume());
+            orderExpiryScheduler.schedule(restingSide, nextSlice);
+        }
+    }
+
+    private long executableVolume(RegisterOrderCommand registerOrderCommand, DepthIndex depthIndex) {
+        BigDecimal priceLimit = registerOrderCommand.price();
+        if (priceLimit == null) {
+            return depthIndex.totalVolume();
+        }
+        return OrderDirection.BID == registerOrderCommand.orderDirection()
+               ? depthIndex.volumeBelow(priceLimit)
+               : depthIndex.volumeAbove(priceLimit);
+    }
+}
@@ -1,13 +1,13 @@
 package com.iflash.core.order;
 
+import com.iflash.core.diagnostics.OrderFillEvent;
+import com.iflash.core.diagnostics.OrderRestEvent;
 import com.iflash.core.quotation.CurrentQuotation;
 import com.iflash.core.quotation.QuotationProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 
@@ -18,6 +18,12 @@ class LimitOrderProcessor {
     private final Map<String, Queue<Order>> asksOrdersByTicker;
     private final Map<String, Queue<Order>> bidsOrdersByTicker;
     private final QuotationProvider quotationProvider;
+    private final OrderBookListener orderBookListener;
+    private final OrderExpiryScheduler orderExpiryScheduler;
+
+    LimitOrderProcessor(Map<String, Queue<Order>> asksOrdersByTicker, Map<String, Queue<Order>> bidsOrdersByTicker, QuotationProvider quotationProvider) {
+        this(asksOrdersByTicker, bidsOrdersByTicker, quotationProvider, OrderBookListener.NO_OP, new OrderExpiryScheduler());
+    }
 
     OrderRegistrationResult processLimitOrder(RegisterOrderCommand registerOrderCommand) {
         if (OrderDirection.BID == registerOrderCommand.orderDirection()) {
@@ -35,12 +41,16 @@ class LimitOrderProcessor {
         }
         long volumeRequested = registerOrderCommand.volume();
         long volumeBoughtInSession = 0L;
-        List<FinishedTransactionInfo> ordersSoldOut = new ArrayList<>(0);
+        ExecutionReport executionReport = new ExecutionReport(registerOrderCommand.executionReportMode());
         Order askOrder = findMatchingAskOrder(registerOrderCommand.ticker(), registerOrderCommand.price());
         if (askOrder == null) {
             Order notCompletedOrder = Order.factorize(registerOrderCommand);
-            bidsOrdersByTicker.get(registerOrderCommand.ticker())
-                              .offer(notCompletedOrder);
+            Queue<Order> sameSideQueue = bidsOrdersByTicker.get(registerOrderCommand.ticker());
+            sameSideQueue.offer(notCompletedOrder);
+            orderBookListener.onOrderRested(registerOrderCommand.ticker(), registerOrderCommand.orderDirection(), notCompletedOrder.getOrderUuid(),
+                                            notCompletedOrder.getPrice(), notCompletedOrder.getVolume());
+            orderExpiryScheduler.schedule(registerOrderCommand.orderDirection(), notCompletedOrder);
+            OrderRestEvent.emit(registerOrderCommand, sameSideQueue);
             return OrderRegistrationResult.limitOrderPlacedSuccessfully(registerOrderCommand);
         }
         else {
@@ -50,26 +60,32 @@ class LimitOrderProcessor {
                 if (howMoreVolumeToFillYet >= askVolume) {
                     FinishedTransactionInfo finishedTransactionInfo = askOrder.bought();
                     volumeBoughtInSession = volumeBoughtInSession + finishedTransactionInfo.volume();
-                    ordersSoldOut.add(finishedTransactionInfo);
+                    executionReport.add(finishedTransactionInfo);
+                    notifyFilled(registerOrderCommand, askOrder, finishedTransactionInfo);
+                    restNextSlice(registerOrderCommand, askOrder, ordersQueue);
+                    OrderFillEvent.emit(registerOrderCommand, finishedTransactionInfo, ordersQueue);
                 }
                 else {
                     FinishedTransactionInfo finishedTransactionInfo = askOrder.boughtPartially(howMoreVolumeToFillYet);
-                    ordersSoldOut.add(finishedTransactionInfo);
+                    executionReport.add(finishedTransactionInfo);
                     volumeBoughtInSession = volumeBoughtInSession + howMoreVolumeToFillYet;
                     ordersQueue.offer(askOrder);
+                    notifyFilled(registerOrderCommand, askOrder, finishedTransactionInfo);
+                    OrderFillEvent.emit(registerOrderCommand, finishedTransactionInfo, ordersQueue);
                     break;
                 }
-                askOrder = findMatchingAskOrder(registerOrderCommand.ticker(), registerOrderCommand.price());
+                askOrder = volumeBoughtInSession < volumeRequested ? findMatchingAskOrder(registerOrderCommand.ticker(), registerOrderCommand.price())
+                                                                   : null;
             }
             if (volumeBoughtInSession < volumeRequested) {
-                OrderRegistrationResult partiallyCompleted = OrderRegistrationResult.limitOrderPartiallyCompleted(ordersSoldOut, registerOrderCommand);
+                OrderRegistrationResult partiallyCompleted = OrderRegistrationResult.limitOrderPartiallyCompleted(executionReport.fills(), registerOrderCommand);
                 CurrentQuotation currentQuote = quotationProvider.getCurrentQuote(registerOrderCommand.ticker());
                 RegisterOrderCommand afterPartialFill = registerOrderCommand.createAfterPartialFillment(currentQuote, partiallyCompleted.orderFillDetails().volumePending());
                 processBidLimitOrder(afterPartialFill);
                 return partiallyCompleted;
             }
             else {
-                return OrderRegistrationResult.limitOrderFullyCompleted(ordersSoldOut, registerOrderCommand);
+                return OrderRegistrationResult.limitOrderFullyCompleted(executionReport.fills(), registerOrderCommand);
             }
         }
     }
@@ -96,12 +112,16 @@ class LimitOrderProcessor {
         }
         long volumeRequested = registerOrderCommand.volume();
         long volumeBoughtInSession = 0L;
-        List<FinishedTransactionInfo> ordersSoldOut = new ArrayList<>(0);
+        ExecutionReport executionReport = new ExecutionReport(registerOrderCommand.executionReportMode());
         Order askOrder = findMatchingBidOrder(registerOrderCommand.ticker(), registerOrderCommand.price());
         if (askOrder == null) {
             Order notCompletedOrder = Order.factorize(registerOrderCommand);
-            asksOrdersByTicker.get(registerOrderCommand.ticker())
-                              .offer(notCompletedOrder);
+            Queue<Order> sameSideQueue = asksOrdersByTicker.get(registerOrderCommand.ticker());
+            sameSideQueue.offer(notCompletedOrder);
+            orderBookListener.onOrderRested(registerOrderCommand.ticker(), registerOrderCommand.orderDirection(), notCompletedOrder.getOrderUuid(),
+                                            notCompletedOrder.getPrice(), notCompletedOrder.getVolume());
+            orderExpiryScheduler.schedule(registerOrderCommand.orderDirection(), notCompletedOrder);
+            OrderRestEvent.emit(registerOrderCommand, sameSideQueue);
             return OrderRegistrationResult.limitOrderPlacedSuccessfully(registerOrderCommand);
         }
         else {
@@ -111,19 +131,25 @@ class LimitOrderProcessor {
                 if (howMoreVolumeToFillYet >= askVolume) {
                     FinishedTransactionInfo finishedTransactionInfo = askOrder.bought();
                     volumeBoughtInSession = volumeBoughtInSession + finishedTransactionInfo.volume();
-                    ordersSoldOut.add(finishedTransactionInfo);
+                    executionReport.add(finishedTransactionInfo);
+                    notifyFilled(registerOrderCommand, askOrder, finishedTransactionInfo);
+                    restNextSlice(registerOrderCommand, askOrder, ordersQueue);
+                    OrderFillEvent.emit(registerOrderCommand, finishedTransactionInfo, ordersQueue);
                 }
                 else {
                     FinishedTransactionInfo finishedTransactionInfo = askOrder.boughtPartially(howMoreVolumeToFillYet);
-                    ordersSoldOut.add(finishedTransactionInfo);
+                    executionReport.add(finishedTransactionInfo);
                     volumeBoughtInSession = volumeBoughtInSession + howMoreVolumeToFillYet;
                     ordersQueue.offer(askOrder);
+                    notifyFilled(registerOrderCommand, askOrder, finishedTransactionInfo);
+                    OrderFillEvent.emit(registerOrderCommand, finishedTransactionInfo, ordersQueue);
                     break;
                 }
-                askOrder = findMatchingBidOrder(registerOrderCommand.ticker(), registerOrderCommand.price());
+                askOrder = volumeBoughtInSession < volumeRequested ? findMatchingBidOrder(registerOrderCommand.ticker(), registerOrderCommand.price())
+                                                                   : null;
             }
             if (volumeBoughtInSession < volumeRequested) {
-                OrderRegistrationResult partiallyCompleted = OrderRegistrationResult.limitOrderPartiallyCompleted(ordersSoldOut, registerOrderCommand);
+                OrderRegistrationResult partiallyCompleted = OrderRegistrationResult.limitOrderPartiallyCompleted(executionReport.fills(), registerOrderCommand);
                 CurrentQuotation currentQuote = quotationProvider.getCurrentQuote(registerOrderCommand.ticker());
                 RegisterOrderCommand afterPartialFill = registerOrderCommand.createAfterPartialFillment(currentQuote, partiallyCompleted.orderFillDetails()
                                                                                                                                         .volumePending());
@@ -131,7 +157,7 @@ class LimitOrderProcessor {
                 return partiallyCompleted;
             }
             else {
-                return OrderRegistrationResult.limitOrderFullyCompleted(ordersSoldOut, registerOrderCommand);
+                return OrderRegistrationResult.limitOrderFullyCompleted(executionReport.fills(), registerOrderCommand);
             }
         }
     }
@@ -150,4 +176,20 @@ class LimitOrderProcessor {
         }
         return null;
     }
+
+    private void notifyFilled(RegisterOrderCommand registerOrderCommand, Order restingOrder, FinishedTransactionInfo finishedTransactionInfo) {
+        long remainingVolume = restingOrder.getCurrentOrderState() == OrderState.CLOSED ? 0L : restingOrder.getVolume();
+        orderBookListener.onOrderFilled(registerOrderCommand.ticker(), registerOrderCommand.orderDirection().opposite(), restingOrder.getOrderUuid(),
+                                        restingOrder.getPrice(), finishedTransactionInfo.volume(), remainingVolume);
+    }
+
+    private void restNextSlice(RegisterOrderCommand registerOrderCommand, Order filledOrder, Queue<Order> ordersQueue) {
+        Order nextSlice = filledOrder.replenished();
+        if (nextSlice != null) {
+            ordersQueue.offer(nextSlice);
+            orderBookListener.onOrderRested(registerOrderCommand.ticker(), registerOrderCommand.orderDirection().opposite(), nextSlice.getOrderUuid(),
+                                            nextSlice.getPrice(), nextSlice.getVolume());
+            orderExpiryScheduler.schedule(registerOrderCommand.orderDirection().opposite(), nextSlice);
+        }
+    }
 }
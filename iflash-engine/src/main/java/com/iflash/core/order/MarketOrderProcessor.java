@@ -1,11 +1,11 @@
 package com.iflash.core.order;
 
+import com.iflash.core.diagnostics.OrderFillEvent;
+import com.iflash.core.diagnostics.OrderRestEvent;
 import com.iflash.core.quotation.CurrentQuotation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 
@@ -16,6 +16,12 @@ class MarketOrderProcessor {
     private final Map<String, Queue<Order>> asksOrdersByTicker;
     private final Map<String, Queue<Order>> bidsOrdersByTicker;
     private final LimitOrderProcessor limitOrderProcessor; // <- not good solution to have this here, better to switch to even driven arch
+    private final OrderBookListener orderBookListener;
+    private final OrderExpiryScheduler orderExpiryScheduler;
+
+    MarketOrderProcessor(Map<String, Queue<Order>> asksOrdersByTicker, Map<String, Queue<Order>> bidsOrdersByTicker, LimitOrderProcessor limitOrderProcessor) {
+        this(asksOrdersByTicker, bidsOrdersByTicker, limitOrderProcessor, OrderBookListener.NO_OP, new OrderExpiryScheduler());
+    }
 
     OrderRegistrationResult processMarketOrder(RegisterOrderCommand registerOrderCommand) {
         Queue<Order> ordersQueue = OrderDirection.BID == registerOrderCommand.orderDirection()
@@ -24,24 +30,31 @@ class MarketOrderProcessor {
         if (ordersQueue == null) {
             throw OrderBookException.noTicker(registerOrderCommand.ticker());
         }
-        List<FinishedTransactionInfo> ordersSoldOut = new ArrayList<>(0);
+        ExecutionReport executionReport = new ExecutionReport(registerOrderCommand.executionReportMode());
         long volumeRequested = registerOrderCommand.volume();
         long volumeBoughtInSession = 0L;
 
         while (volumeBoughtInSession < volumeRequested) {
             Order order = ordersQueue.poll();
             if (order != null) {
-                if (order.getVolume() <= volumeRequested) {
+                if (order.getVolume() <= volumeRequested - volumeBoughtInSession) {
                     FinishedTransactionInfo boughtFinishedTransactionInfo = order.bought();
-                    ordersSoldOut.add(boughtFinishedTransactionInfo);
+                    executionReport.add(boughtFinishedTransactionInfo);
                     volumeBoughtInSession = volumeBoughtInSession + boughtFinishedTransactionInfo.volume();
+                    orderBookListener.onOrderFilled(registerOrderCommand.ticker(), registerOrderCommand.orderDirection().opposite(), order.getOrderUuid(),
+                                                    order.getPrice(), boughtFinishedTransactionInfo.volume(), 0L);
+                    restNextSlice(registerOrderCommand, order, ordersQueue);
+                    OrderFillEvent.emit(registerOrderCommand, boughtFinishedTransactionInfo, ordersQueue);
                 }
                 else {
                     long howMoreVolumeYet = volumeRequested - volumeBoughtInSession;
                     FinishedTransactionInfo boughtPartiallyFinishedTransactionInfo = order.boughtPartially(howMoreVolumeYet);
-                    ordersSoldOut.add(boughtPartiallyFinishedTransactionInfo);
+                    executionReport.add(boughtPartiallyFinishedTransactionInfo);
                     volumeBoughtInSession = volumeBoughtInSession + howMoreVolumeYet;
                     ordersQueue.offer(order);
+                    orderBookListener.onOrderFilled(registerOrderCommand.ticker(), registerOrderCommand.orderDirection().opposite(), order.getOrderUuid(),
+                                                    order.getPrice(), boughtPartiallyFinishedTransactionInfo.volume(), order.getVolume());
+                    OrderFillEvent.emit(registerOrderCommand, boughtPartiallyFinishedTransactionInfo, ordersQueue);
                 }
             }
             else {
@@ -51,11 +64,15 @@ class MarketOrderProcessor {
                                               : asksOrdersByTicker.get(registerOrderCommand.ticker());
                     Order idlingOrder = Order.factorize(registerOrderCommand);
                     orderQueue.add(idlingOrder);
+                    orderBookListener.onOrderRested(registerOrderCommand.ticker(), registerOrderCommand.orderDirection(), idlingOrder.getOrderUuid(),
+                                                    idlingOrder.getPrice(), idlingOrder.getVolume());
+                    orderExpiryScheduler.schedule(registerOrderCommand.orderDirection(), idlingOrder);
+                    OrderRestEvent.emit(registerOrderCommand, orderQueue);
                     log.info("Volume bought in session equals zero, so order have to be placed in queue");
                     return OrderRegistrationResult.limitOrderPlacedSuccessfully(registerOrderCommand);
                 }
                 log.info("Partially Fill occured, requested volume: {}, filled volume: {}", volumeRequested, volumeBoughtInSession);
-                OrderRegistrationResult partiallyCompleted = OrderRegistrationResult.transactionPartiallyCompleted(ordersSoldOut, registerOrderCommand);
+                OrderRegistrationResult partiallyCompleted = OrderRegistrationResult.transactionPartiallyCompleted(executionReport.fills(), registerOrderCommand);
                 CurrentQuotation currentQuote = new CurrentQuotation(System.currentTimeMillis(), registerOrderCommand.price());
                 RegisterOrderCommand afterPartialFill = registerOrderCommand.createAfterPartialFillment(currentQuote, partiallyCompleted.orderFillDetails()
                                                                                                                                         .volumePending());
@@ -63,6 +80,16 @@ class MarketOrderProcessor {
                 return partiallyCompleted;
             }
         }
-        return OrderRegistrationResult.transactionPartiallyCompleted(ordersSoldOut); // todo???? jak tu się nic nie zadziało to jak completed, dziwne
+        return OrderRegistrationResult.transactionPartiallyCompleted(executionReport.fills()); // todo???? jak tu się nic nie zadziało to jak completed, dziwne
+    }
+
+    private void restNextSlice(RegisterOrderCommand registerOrderCommand, Order filledOrder, Queue<Order> ordersQueue) {
+        Order nextSlice = filledOrder.replenished();
+        if (nextSlice != null) {
+            ordersQueue.offer(nextSlice);
+            orderBookListener.onOrderRested(registerOrderCommand.ticker(), registerOrderCommand.orderDirection().opposite(), nextSlice.getOrderUuid(),
+                                            nextSlice.getPrice(), nextSlice.getVolume());
+            orderExpiryScheduler.schedule(registerOrderCommand.orderDirection().opposite(), nextSlice);
+        }
     }
 }
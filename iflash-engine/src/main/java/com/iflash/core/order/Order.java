@@ -35,16 +35,41 @@ class Order implements Comparable<Order> {
     private OrderState currentOrderState;
     private List<OrderStateChange> orderStateHistory;
 
+    private final Long displayVolume; // only for iceberg orders, volume is then the visible slice
+    private long hiddenVolume;
+    private final Long expireTimestamp; // null for orders resting until filled
+
     static Order factorize(RegisterOrderCommand registerOrderCommand) {
         var newOrderRegistrationState = OrderRegistrationState.PENDING;
         var newCurrentOrderState = OrderState.PENDING;
         List<OrderStateChange> orderStateChanges = new ArrayList<>(0);
-        Order order = new Order(UUID.randomUUID(), ZonedDateTime.now(), registerOrderCommand.ticker(), registerOrderCommand.price(), GLOBAL_CURRENCY, registerOrderCommand.volume(),
-                                OrderRegistrationState.PENDING, OrderState.PENDING, orderStateChanges);
+        Long displayVolume = OrderType.ICEBERG == registerOrderCommand.orderType() ? registerOrderCommand.displayVolume() : null;
+        long visibleVolume = displayVolume == null ? registerOrderCommand.volume() : Math.min(displayVolume, registerOrderCommand.volume());
+        Order order = new Order(UUID.randomUUID(), ZonedDateTime.now(), registerOrderCommand.ticker(), registerOrderCommand.price(), GLOBAL_CURRENCY, visibleVolume,
+                                OrderRegistrationState.PENDING, OrderState.PENDING, orderStateChanges, displayVolume, registerOrderCommand.volume() - visibleVolume,
+                                registerOrderCommand.expireTimestamp());
         orderStateChanges.add(new OrderStateChange(ZonedDateTime.now(), OrderRegistrationState.UNKNOWN, newOrderRegistrationState, OrderState.UNKNOWN, newCurrentOrderState, registerOrderCommand.volume(), registerOrderCommand.volume()));
         return order;
     }
 
+    /**
+     * Rebuilds an order taken from another book with its visible slice, hidden reserve and expiry, it queues behind
+     * the orders already resting at its price.
+     */
+    static Order restored(String ticker, RestingOrder restingOrder) {
+        List<OrderStateChange> orderStateChanges = new ArrayList<>(0);
+        long totalVolume = restingOrder.volume() + restingOrder.hiddenVolume();
+        orderStateChanges.add(new OrderStateChange(ZonedDateTime.now(), OrderRegistrationState.UNKNOWN, OrderRegistrationState.PENDING, OrderState.UNKNOWN,
+                                                   OrderState.PENDING, totalVolume, totalVolume));
+        return new Order(restingOrder.orderUuid(), ZonedDateTime.now(), ticker, restingOrder.price(), GLOBAL_CURRENCY, restingOrder.volume(),
+                         OrderRegistrationState.PENDING, OrderState.PENDING, orderStateChanges, restingOrder.displayVolume(), restingOrder.hiddenVolume(),
+                         restingOrder.expireTimestamp());
+    }
+
+    RestingOrder restingOrder() {
+        return new RestingOrder(orderUuid, price, volume, displayVolume, hiddenVolume, expireTimestamp);
+    }
+
     Order offerRegistrationFailed() {
         var newOrderRegistrationState = OrderRegistrationState.FAILURE;
         var newCurrentOrderState = OrderState.CLOSED;
@@ -85,6 +110,26 @@ class Order implements Comparable<Order> {
         return new FinishedTransactionInfo(orderUuid, ticker, volumePartiallyBought, price);
     }
 
+    /**
+     * Takes the next display slice of an iceberg order out of its hidden reserve once the visible slice is filled.
+     * The slice is a new entry of the book, so it queues behind orders already resting at the same price.
+     *
+     * @return next visible slice or {@code null} when the order has no hidden volume left
+     */
+    Order replenished() {
+        if (displayVolume == null || hiddenVolume == 0L) {
+            return null;
+        }
+        var newCurrentOrderState = OrderState.OPEN;
+        long sliceVolume = Math.min(displayVolume, hiddenVolume);
+        long hiddenVolumeLeft = hiddenVolume - sliceVolume;
+
+        this.orderStateHistory.add(new OrderStateChange(ZonedDateTime.now(), orderRegistrationState, orderRegistrationState, currentOrderState, newCurrentOrderState, hiddenVolume, hiddenVolumeLeft));
+        this.hiddenVolume = 0L;
+        return new Order(orderUuid, ZonedDateTime.now(), ticker, price, currency, sliceVolume, orderRegistrationState, newCurrentOrderState, orderStateHistory,
+                         displayVolume, hiddenVolumeLeft, expireTimestamp);
+    }
+
     public void printHistory() {
         log.info("=== ORDER'S {} HISTORY BEGIN ===", orderUuid);
         this.orderStateHistory.forEach(orderStateChange -> log.info(orderStateChange.toString()));
@@ -3,18 +3,47 @@ package com.iflash.core.order;
 import com.iflash.commons.Page;
 import com.iflash.commons.Pagination;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.Set;
 
 public interface OrderBook {
 
     OrderRegistrationResult registerOrder(RegisterOrderCommand registerOrderCommand);
 
-    void registerTicker(String ticker);
+    default void registerTicker(String ticker) {
+        registerTicker(ticker, null);
+    }
+
+    /**
+     * @param defaultTimeToLive time after which resting orders of the ticker expire unless they are GTC or GTD,
+     *                          {@code null} for orders resting until filled
+     */
+    void registerTicker(String ticker, Duration defaultTimeToLive);
+
+    /**
+     * Removes every resting order whose time in force ran out by {@code timestamp}, meant to be called on the
+     * matching thread.
+     */
+    void expireOrders(long timestamp);
+
+    /**
+     * @return resting orders of the side in price and then time priority, with the hidden volume of iceberg orders
+     * and the expiry of every order
+     */
+    List<RestingOrder> getRestingOrders(String ticker, OrderDirection orderDirection);
+
+    /**
+     * Puts an order taken from another book back to rest without matching it, behind the orders already resting at
+     * its price. Its expiry is scheduled again.
+     */
+    void restoreOrder(String ticker, OrderDirection orderDirection, RestingOrder restingOrder);
 
     List<String> getAllTickers();
 
     Page<OrderInformation> getOrderBookSnapshot(String ticker, OrderDirection orderDirection, Pagination pagination);
 
-    Set<OrderInformation> getTopOrders(String ticker, OrderDirection orderDirection, Integer depth);
+    /**
+     * @return up to {@code depth} best orders of the side, in price and then time priority
+     */
+    List<OrderInformation> getTopOrders(String ticker, OrderDirection orderDirection, Integer depth);
 }
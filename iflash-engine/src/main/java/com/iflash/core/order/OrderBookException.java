@@ -18,6 +18,30 @@ public class OrderBookException extends MatchingEngineException {
         return new OrderBookException(String.format("Any Order for ticker: %s not exists", ticker));
     }
 
+    public static OrderBookException orderTypeNotAvailableInAuction(OrderType orderType) {
+        return new OrderBookException(String.format("OrderType %s not available during auction", orderType));
+    }
+
+    public static OrderBookException noAuction(String ticker) {
+        return new OrderBookException(String.format("No auction for ticker: %s in progress", ticker));
+    }
+
+    public static OrderBookException triggerPriceNull(OrderType orderType) {
+        return new OrderBookException(String.format("OrderType %s requires trigger price", orderType));
+    }
+
+    public static OrderBookException limitPriceNull() {
+        return new OrderBookException("Stop limit order requires limit price");
+    }
+
+    public static OrderBookException displayVolumeNull() {
+        return new OrderBookException("Iceberg order requires display volume");
+    }
+
+    public static OrderBookException expireTimestampNull() {
+        return new OrderBookException("GTD order requires expire timestamp");
+    }
+
     public static OrderBookException tickerNull() {
         return new OrderBookException("Ticker must not be null value");
     }
@@ -9,8 +9,12 @@ import java.util.Queue;
 public class OrderBookFactory {
 
     public static OrderBook factorizeOrderBook(QuotationProvider quotationProvider) {
+        return factorizeOrderBook(quotationProvider, OrderBookListener.NO_OP);
+    }
+
+    public static OrderBook factorizeOrderBook(QuotationProvider quotationProvider, OrderBookListener orderBookListener) {
         Map<String, Queue<Order>> sellOrdersByTicker = new HashMap<>();
         Map<String, Queue<Order>> bidsOrdersByTicker = new HashMap<>();
-        return new SimpleOrderBook(sellOrdersByTicker, bidsOrdersByTicker, quotationProvider);
+        return new SimpleOrderBook(sellOrdersByTicker, bidsOrdersByTicker, quotationProvider, orderBookListener);
     }
 }
@@ -0,0 +1,26 @@
+package com.iflash.core.order;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Callbacks of every change of resting liquidity, invoked by the order processors on the matching thread right
+ * after the change is applied to the book. Implementations must not block.
+ */
+public interface OrderBookListener {
+
+    OrderBookListener NO_OP = new OrderBookListener() {
+    };
+
+    default void onOrderRested(String ticker, OrderDirection side, UUID orderUuid, BigDecimal price, long volume) {
+    }
+
+    default void onOrderFilled(String ticker, OrderDirection restingSide, UUID orderUuid, BigDecimal price, long filledVolume, long remainingVolume) {
+    }
+
+    default void onOrderReduced(String ticker, OrderDirection side, UUID orderUuid, BigDecimal price, long reducedVolume, long remainingVolume) {
+    }
+
+    default void onOrderExpired(String ticker, OrderDirection side, UUID orderUuid, BigDecimal price, long volume) {
+    }
+}
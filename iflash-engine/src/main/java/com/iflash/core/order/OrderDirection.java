@@ -2,5 +2,9 @@ package com.iflash.core.order;
 
 public enum OrderDirection {
     ASK,
-    BID
+    BID;
+
+    public OrderDirection opposite() {
+        return this == ASK ? BID : ASK;
+    }
 }
@@ -0,0 +1,66 @@
+package com.iflash.core.order;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.iflash.core.configuration.GlobalSettings.ORDER_EXPIRY_TICK_MILLIS;
+import static com.iflash.core.order.OrderType.GTC;
+import static com.iflash.core.order.OrderType.GTD;
+
+/**
+ * Time in force of resting orders. {@link OrderType#GTD} orders expire at their own timestamp, {@link OrderType#GTC}
+ * orders never, every other order which rests gets the default time to live of its ticker if there is one. Resting
+ * orders and each replenished iceberg slice with an expiry wait in a {@link TimingWheel}, an order filled in the
+ * meantime is already closed when its slot comes up.
+ */
+class OrderExpiryScheduler {
+
+    private final Map<String, Duration> defaultTimeToLiveByTicker = new ConcurrentHashMap<>();
+    private final TimingWheel<ExpiringOrder> timingWheel = new TimingWheel<>(ORDER_EXPIRY_TICK_MILLIS, System.currentTimeMillis());
+
+    void registerTicker(String ticker, Duration defaultTimeToLive) {
+        if (defaultTimeToLive != null) {
+            defaultTimeToLiveByTicker.put(ticker, defaultTimeToLive);
+        }
+    }
+
+    RegisterOrderCommand withExpiry(RegisterOrderCommand registerOrderCommand, long timestamp) {
+        if (GTD == registerOrderCommand.orderType()) {
+            return registerOrderCommand;
+        }
+        if (GTC == registerOrderCommand.orderType()) {
+            return registerOrderCommand.withExpireTimestamp(null);
+        }
+        Duration defaultTimeToLive = defaultTimeToLiveByTicker.get(registerOrderCommand.ticker());
+        if (registerOrderCommand.expireTimestamp() != null || defaultTimeToLive == null) {
+            return registerOrderCommand;
+        }
+        return registerOrderCommand.withExpireTimestamp(timestamp + defaultTimeToLive.toMillis());
+    }
+
+    void schedule(OrderDirection side, Order restingOrder) {
+        if (restingOrder.getExpireTimestamp() == null) {
+            return;
+        }
+        synchronized (timingWheel) {
+            timingWheel.schedule(restingOrder.getExpireTimestamp(), new ExpiringOrder(side, restingOrder));
+        }
+    }
+
+    /**
+     * @return orders due at {@code timestamp}, some of them may have left the book already
+     */
+    List<ExpiringOrder> expire(long timestamp) {
+        List<ExpiringOrder> expiringOrders = new ArrayList<>();
+        synchronized (timingWheel) {
+            timingWheel.advance(timestamp, expiringOrders::add);
+        }
+        return expiringOrders;
+    }
+
+    record ExpiringOrder(OrderDirection side, Order order) {
+    }
+}
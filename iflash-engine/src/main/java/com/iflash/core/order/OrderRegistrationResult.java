@@ -1,5 +1,6 @@
 package com.iflash.core.order;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -30,6 +31,44 @@ public record OrderRegistrationResult(OrderRegistrationState orderRegistrationSt
         return new OrderRegistrationResult(OrderRegistrationState.SUCCESS, TransactionPhase.IDLING_ON_QUEUE, Collections.emptyList(), null, orderFillDetails);
     }
 
+    public static OrderRegistrationResult stopOrderPlacedSuccessfully(RegisterOrderCommand registerOrderCommand) {
+        OrderFillDetails orderFillDetails = new OrderFillDetails(registerOrderCommand.volume(), 0L, registerOrderCommand.volume(),
+                                                                 registerOrderCommand.orderType() + " order waiting for trigger price " + registerOrderCommand.price());
+        return new OrderRegistrationResult(OrderRegistrationState.SUCCESS, TransactionPhase.IDLING_ON_QUEUE, Collections.emptyList(), null, orderFillDetails);
+    }
+
+    public static OrderRegistrationResult auctionOrderCollected(RegisterOrderCommand registerOrderCommand) {
+        OrderFillDetails orderFillDetails = new OrderFillDetails(registerOrderCommand.volume(), 0L, registerOrderCommand.volume(), "Order collected for auction uncrossing");
+        return new OrderRegistrationResult(OrderRegistrationState.SUCCESS, TransactionPhase.IDLING_ON_QUEUE, Collections.emptyList(), null, orderFillDetails);
+    }
+
+    /**
+     * Report of a collected order once its auction is uncrossed, the fill at the uncrossing price followed by the
+     * fills of the residual volume registered in the continuous book.
+     *
+     * @param auctionFill    {@code null} when the order did not execute in the uncrossing
+     * @param residualResult {@code null} when the order executed in full in the uncrossing
+     */
+    public static OrderRegistrationResult auctionOrderUncrossed(FinishedTransactionInfo auctionFill, long volumeRequested, OrderRegistrationResult residualResult) {
+        List<FinishedTransactionInfo> fills = new ArrayList<>();
+        if (auctionFill != null) {
+            fills.add(auctionFill);
+        }
+        if (residualResult == null) {
+            OrderFillDetails orderFillDetails = new OrderFillDetails(volumeRequested, volumeRequested, 0L, "Order executed in auction uncrossing");
+            return new OrderRegistrationResult(OrderRegistrationState.SUCCESS, TransactionPhase.FULLY_COMPLETED, fills, null, orderFillDetails);
+        }
+        fills.addAll(residualResult.finishedTransactionInfoList());
+        Long volumeFilled = sumFilledVolume(fills);
+        long volumePending = volumeRequested - volumeFilled;
+        TransactionPhase transactionPhase = volumePending == 0L ? TransactionPhase.FULLY_COMPLETED
+                                            : volumeFilled > 0L ? TransactionPhase.PARTIALLY_COMPLETED
+                                            : residualResult.transactionPhase();
+        String message = residualResult.orderFillDetails() != null ? residualResult.orderFillDetails().message() : residualResult.errorMessage();
+        OrderFillDetails orderFillDetails = new OrderFillDetails(volumeRequested, volumeFilled, volumePending, message);
+        return new OrderRegistrationResult(residualResult.orderRegistrationState(), transactionPhase, fills, residualResult.errorMessage(), orderFillDetails);
+    }
+
     public static OrderRegistrationResult limitOrderFullyCompleted(List<FinishedTransactionInfo> finishedTransactionInfo, RegisterOrderCommand registerOrderCommand) {
         Long volumeFilled = sumFilledVolume(finishedTransactionInfo);
         OrderFillDetails orderFillDetails = new OrderFillDetails(registerOrderCommand.volume(), volumeFilled, 0L, "Limit order completed successfully");
@@ -44,6 +83,25 @@ public record OrderRegistrationResult(OrderRegistrationState orderRegistrationSt
         return new OrderRegistrationResult(OrderRegistrationState.SUCCESS, TransactionPhase.PARTIALLY_COMPLETED, finishedTransactionInfo, null, orderFillDetails);
     }
 
+    public static OrderRegistrationResult immediateOrderFullyCompleted(List<FinishedTransactionInfo> finishedTransactionInfo, RegisterOrderCommand registerOrderCommand) {
+        OrderFillDetails orderFillDetails = new OrderFillDetails(registerOrderCommand.volume(), registerOrderCommand.volume(), 0L,
+                                                                 registerOrderCommand.orderType() + " order completed successfully");
+        return new OrderRegistrationResult(OrderRegistrationState.SUCCESS, TransactionPhase.FULLY_COMPLETED, finishedTransactionInfo, null, orderFillDetails);
+    }
+
+    public static OrderRegistrationResult immediateOrderPartiallyCompleted(List<FinishedTransactionInfo> finishedTransactionInfo, RegisterOrderCommand registerOrderCommand) {
+        String message = "Could not filled complete full requested volume, partially filled transaction and another part of requested volume cancelled";
+        Long volumeFilled = sumFilledVolume(finishedTransactionInfo);
+        OrderFillDetails orderFillDetails = new OrderFillDetails(registerOrderCommand.volume(), volumeFilled, registerOrderCommand.volume() - volumeFilled, message);
+        return new OrderRegistrationResult(OrderRegistrationState.SUCCESS, TransactionPhase.PARTIALLY_COMPLETED, finishedTransactionInfo, null, orderFillDetails);
+    }
+
+    public static OrderRegistrationResult immediateOrderCancelled(RegisterOrderCommand registerOrderCommand) {
+        String message = registerOrderCommand.orderType() + " order cancelled, requested volume is not available at acceptable price";
+        OrderFillDetails orderFillDetails = new OrderFillDetails(registerOrderCommand.volume(), 0L, registerOrderCommand.volume(), message);
+        return new OrderRegistrationResult(OrderRegistrationState.SUCCESS, TransactionPhase.CANCELLED, Collections.emptyList(), null, orderFillDetails);
+    }
+
     public record OrderFillDetails(Long volumeRequested, Long volumeFilled, Long volumePending, String message) {
     }
 
@@ -1,38 +1,109 @@
 package com.iflash.core.order;
 
+import com.iflash.commons.ValidateUtils;
 import com.iflash.core.quotation.CurrentQuotation;
 import com.iflash.core.quotation.QuotationProvider;
 import lombok.RequiredArgsConstructor;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import static com.iflash.core.configuration.GlobalSettings.MARKET_PRICE_SPREAD;
+import static com.iflash.core.configuration.GlobalSettings.PRICE_SCALE;
 import static com.iflash.core.configuration.GlobalSettings.PRICE_TOLERANCE_PERCENTAGE;
+import static com.iflash.core.order.OrderType.GTD;
+import static com.iflash.core.order.OrderType.ICEBERG;
 
+/**
+ * Keeps one {@link ReferencePrice} per ticker, recalculated only when the quotation provider publishes a new
+ * {@link CurrentQuotation}, so validating an order compares two longs.
+ */
 @RequiredArgsConstructor
 public class OrderRegistrationValidator {
 
     private final QuotationProvider quotationProvider;
+    private final Map<String, ReferencePrice> referencePrices = new ConcurrentHashMap<>();
+
+    /**
+     * Checks the fields an order type requires before the order takes part in continuous trading or in an auction.
+     */
+    static void validateOrderFields(RegisterOrderCommand registerOrderCommand) {
+        if (ICEBERG == registerOrderCommand.orderType()) {
+            ValidateUtils.requireNonNullOrThrow(registerOrderCommand.displayVolume(), OrderBookException.displayVolumeNull());
+            ValidateUtils.mustBePositive(registerOrderCommand.displayVolume(), OrderBookException.negativeNumber(registerOrderCommand.displayVolume()));
+        }
+        if (GTD == registerOrderCommand.orderType()) {
+            ValidateUtils.requireNonNullOrThrow(registerOrderCommand.expireTimestamp(), OrderBookException.expireTimestampNull());
+        }
+    }
 
     public boolean isOrderRegistrationPriceValid(String ticker, BigDecimal proposedPrice) {
         if (proposedPrice == null) {
             return true;
         }
-        CurrentQuotation currentQuotation = quotationProvider.getCurrentQuote(ticker);
-        PriceCorridor priceCorridor = calculatePriceCorridor(PRICE_TOLERANCE_PERCENTAGE, currentQuotation);
-
-        int floorPriceComparing = proposedPrice.compareTo(priceCorridor.floorPrice);
-        int ceilingPriceComparing = proposedPrice.compareTo(priceCorridor.ceilingPrice);
+        PriceCorridor priceCorridor = referencePrice(ticker).priceCorridor();
+        BigDecimal proposedPriceUnits = proposedPrice.movePointRight(PRICE_SCALE);
+        return priceCorridor.contains(proposedPriceUnits.setScale(0, RoundingMode.CEILING).longValue(),
+                                      proposedPriceUnits.setScale(0, RoundingMode.FLOOR).longValue());
+    }
 
-        return floorPriceComparing >= 0 && ceilingPriceComparing <= 0;
+    public ReferencePrice referencePrice(String ticker) {
+        CurrentQuotation currentQuotation = quotationProvider.getCurrentQuote(ticker);
+        ReferencePrice referencePrice = referencePrices.get(ticker);
+        if (referencePrice == null || referencePrice.currentQuotation() != currentQuotation) {
+            referencePrice = ReferencePrice.of(currentQuotation, calculatePriceCorridor(PRICE_TOLERANCE_PERCENTAGE, currentQuotation));
+            referencePrices.put(ticker, referencePrice);
+        }
+        return referencePrice;
     }
 
     public PriceCorridor calculatePriceCorridor(BigDecimal tolerancePercentage, CurrentQuotation currentQuotation) {
-        BigDecimal floorPrice = currentQuotation.price().subtract(currentQuotation.price().multiply(tolerancePercentage)).setScale(4, RoundingMode.HALF_UP);
-        BigDecimal ceilingPrice = currentQuotation.price().add(currentQuotation.price().multiply(tolerancePercentage)).setScale(4, RoundingMode.HALF_UP);
+        BigDecimal floorPrice = currentQuotation.price().subtract(currentQuotation.price().multiply(tolerancePercentage)).setScale(PRICE_SCALE, RoundingMode.HALF_UP);
+        BigDecimal ceilingPrice = currentQuotation.price().add(currentQuotation.price().multiply(tolerancePercentage)).setScale(PRICE_SCALE, RoundingMode.HALF_UP);
         return new PriceCorridor(floorPrice, ceilingPrice);
     }
 
-    public record PriceCorridor(BigDecimal floorPrice, BigDecimal ceilingPrice) {
+    static long priceUnits(BigDecimal price) {
+        return price.setScale(PRICE_SCALE, RoundingMode.HALF_UP)
+                    .unscaledValue()
+                    .longValueExact();
+    }
+
+    /**
+     * Corridor bounds also kept as longs in units of {@code 10^-PRICE_SCALE}.
+     */
+    public record PriceCorridor(BigDecimal floorPrice, BigDecimal ceilingPrice, long floorUnits, long ceilingUnits) {
+
+        public PriceCorridor(BigDecimal floorPrice, BigDecimal ceilingPrice) {
+            this(floorPrice, ceilingPrice, priceUnits(floorPrice), priceUnits(ceilingPrice));
+        }
+
+        public boolean contains(long priceUnits) {
+            return contains(priceUnits, priceUnits);
+        }
+
+        private boolean contains(long priceUnitsRoundedUp, long priceUnitsRoundedDown) {
+            return priceUnitsRoundedUp >= floorUnits && priceUnitsRoundedDown <= ceilingUnits;
+        }
+    }
+
+    /**
+     * Everything derived from one quotation of a ticker: the price corridor and the market price plus spread which
+     * incoming orders are registered with.
+     */
+    public record ReferencePrice(CurrentQuotation currentQuotation, PriceCorridor priceCorridor, BigDecimal marketPricePlusSpread,
+                                 long marketPricePlusSpreadUnits) {
+
+        static ReferencePrice of(CurrentQuotation currentQuotation, PriceCorridor priceCorridor) {
+            BigDecimal marketPricePlusSpread = currentQuotation.price()
+                                                               .add(MARKET_PRICE_SPREAD);
+            return new ReferencePrice(currentQuotation, priceCorridor, marketPricePlusSpread, priceUnits(marketPricePlusSpread));
+        }
+
+        public boolean isMarketPricePlusSpreadValid() {
+            return priceCorridor.contains(marketPricePlusSpreadUnits);
+        }
     }
 }
@@ -5,20 +5,68 @@ import com.iflash.core.quotation.CurrentQuotation;
 import java.math.BigDecimal;
 import java.util.UUID;
 
+import static com.iflash.core.order.OrderType.ICEBERG;
 import static com.iflash.core.order.OrderType.LIMIT;
 
+/**
+ * @param displayVolume   visible part of an {@link OrderType#ICEBERG} order, ignored for other order types
+ * @param expireTimestamp epoch millis after which the resting order leaves the book, required for {@link OrderType#GTD}
+ * @param limitPrice      price of the limit order entered once a {@link OrderType#STOP_LIMIT} order triggers, ignored for other order types
+ */
 public record RegisterOrderCommand(UUID orderId,
                                    OrderDirection orderDirection,
                                    OrderType orderType,
                                    String ticker,
                                    BigDecimal price,
-                                   Long volume) {
+                                   Long volume,
+                                   ExecutionReportMode executionReportMode,
+                                   Long displayVolume,
+                                   Long expireTimestamp,
+                                   BigDecimal limitPrice) {
 
-    public RegisterOrderCommand withMarketPricePlusSpread(CurrentQuotation currentQuotation, BigDecimal spread) {
-        return new RegisterOrderCommand(orderId, orderDirection, orderType, ticker, currentQuotation.price().add(spread), volume);
+    public RegisterOrderCommand {
+        if (executionReportMode == null) {
+            executionReportMode = ExecutionReportMode.PER_ORDER;
+        }
+    }
+
+    public RegisterOrderCommand(UUID orderId, OrderDirection orderDirection, OrderType orderType, String ticker, BigDecimal price, Long volume) {
+        this(orderId, orderDirection, orderType, ticker, price, volume, ExecutionReportMode.PER_ORDER);
+    }
+
+    public RegisterOrderCommand(UUID orderId, OrderDirection orderDirection, OrderType orderType, String ticker, BigDecimal price, Long volume,
+                                ExecutionReportMode executionReportMode) {
+        this(orderId, orderDirection, orderType, ticker, price, volume, executionReportMode, null, null);
+    }
+
+    public RegisterOrderCommand(UUID orderId, OrderDirection orderDirection, OrderType orderType, String ticker, BigDecimal price, Long volume,
+                                ExecutionReportMode executionReportMode, Long displayVolume) {
+        this(orderId, orderDirection, orderType, ticker, price, volume, executionReportMode, displayVolume, null);
+    }
+
+    public RegisterOrderCommand(UUID orderId, OrderDirection orderDirection, OrderType orderType, String ticker, BigDecimal price, Long volume,
+                                ExecutionReportMode executionReportMode, Long displayVolume, Long expireTimestamp) {
+        this(orderId, orderDirection, orderType, ticker, price, volume, executionReportMode, displayVolume, expireTimestamp, null);
+    }
+
+    public RegisterOrderCommand withPrice(BigDecimal price) {
+        return new RegisterOrderCommand(orderId, orderDirection, orderType, ticker, price, volume, executionReportMode, displayVolume, expireTimestamp, limitPrice);
+    }
+
+    public RegisterOrderCommand withVolume(Long volume) {
+        return new RegisterOrderCommand(orderId, orderDirection, orderType, ticker, price, volume, executionReportMode, displayVolume, expireTimestamp, limitPrice);
+    }
+
+    public RegisterOrderCommand withOrderType(OrderType orderType) {
+        return new RegisterOrderCommand(orderId, orderDirection, orderType, ticker, price, volume, executionReportMode, displayVolume, expireTimestamp, limitPrice);
+    }
+
+    public RegisterOrderCommand withExpireTimestamp(Long expireTimestamp) {
+        return new RegisterOrderCommand(orderId, orderDirection, orderType, ticker, price, volume, executionReportMode, displayVolume, expireTimestamp, limitPrice);
     }
 
     public RegisterOrderCommand createAfterPartialFillment(CurrentQuotation currentQuotation, Long volume) {
-        return new RegisterOrderCommand(orderId, orderDirection, LIMIT, ticker, currentQuotation.price(), volume);
+        OrderType restingOrderType = ICEBERG == orderType ? ICEBERG : LIMIT;
+        return new RegisterOrderCommand(orderId, orderDirection, restingOrderType, ticker, currentQuotation.price(), volume, executionReportMode, displayVolume, expireTimestamp, limitPrice);
     }
 }
@@ -0,0 +1,15 @@
+package com.iflash.core.order;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Order resting in the book as it is handed to another engine, unlike a
+ * {@link com.iflash.core.marketdata.BookOrder} it keeps the hidden reserve of an iceberg order and the expiry.
+ *
+ * @param volume          visible volume, the current slice of an iceberg order
+ * @param displayVolume   slice size of an iceberg order, {@code null} for other orders
+ * @param expireTimestamp {@code null} for orders resting until filled
+ */
+public record RestingOrder(UUID orderUuid, BigDecimal price, long volume, Long displayVolume, long hiddenVolume, Long expireTimestamp) {
+}
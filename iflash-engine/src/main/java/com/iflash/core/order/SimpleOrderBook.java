@@ -1,9 +1,16 @@
 package com.iflash.core.order;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.PriorityBlockingQueue;
@@ -16,52 +23,138 @@ import com.iflash.core.quotation.QuotationProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static com.iflash.core.order.OrderType.AON;
+import static com.iflash.core.order.OrderType.FOK;
+import static com.iflash.core.order.OrderType.GTC;
+import static com.iflash.core.order.OrderType.GTD;
+import static com.iflash.core.order.OrderType.ICEBERG;
+import static com.iflash.core.order.OrderType.IOC;
 import static com.iflash.core.order.OrderType.LIMIT;
 import static com.iflash.core.order.OrderType.MARKET;
 import static java.util.Objects.*;
 
+/**
+ * Order book of every registered ticker. Matching, registration and expiry hold the book's monitor, so the queues
+ * and the {@link DepthIndexes} they keep in step are changed by one thread at a time; snapshot reads only iterate the
+ * concurrent queues and take no lock.
+ */
 class SimpleOrderBook implements OrderBook {
 
     private static final Logger log = LoggerFactory.getLogger(SimpleOrderBook.class);
+    private static final Comparator<Order> BID_PRIORITY = Comparator.comparing(Order::getPrice, Comparator.reverseOrder())
+                                                                    .thenComparing(Order::getOrderCreationDate);
+    private static final Comparator<Order> ASK_PRIORITY = Comparator.comparing(Order::getPrice)
+                                                                    .thenComparing(Order::getOrderCreationDate);
 
     private final Map<String, Queue<Order>> asksOrdersByTicker;
     private final Map<String, Queue<Order>> bidsOrdersByTicker;
 
+    private final DepthIndexes depthIndexes;
+    private final OrderExpiryScheduler orderExpiryScheduler;
     private final MarketOrderProcessor marketOrderProcessor;
     private final LimitOrderProcessor limitOrderProcessor;
+    private final ImmediateOrderProcessor immediateOrderProcessor;
 
     private SimpleOrderBook() {
         throw OrderBookException.cannotCreate();
     }
 
     SimpleOrderBook(Map<String, Queue<Order>> asksOrdersByTicker, Map<String, Queue<Order>> bidsOrdersByTicker, QuotationProvider quotationProvider) {
+        this(asksOrdersByTicker, bidsOrdersByTicker, quotationProvider, OrderBookListener.NO_OP);
+    }
+
+    SimpleOrderBook(Map<String, Queue<Order>> asksOrdersByTicker, Map<String, Queue<Order>> bidsOrdersByTicker, QuotationProvider quotationProvider,
+                    OrderBookListener orderBookListener) {
         this.asksOrdersByTicker = asksOrdersByTicker;
         this.bidsOrdersByTicker = bidsOrdersByTicker;
 
-        this.limitOrderProcessor = new LimitOrderProcessor(asksOrdersByTicker, bidsOrdersByTicker, quotationProvider);
-        this.marketOrderProcessor = new MarketOrderProcessor(asksOrdersByTicker, bidsOrdersByTicker, this.limitOrderProcessor);
+        this.depthIndexes = new DepthIndexes(orderBookListener);
+        this.orderExpiryScheduler = new OrderExpiryScheduler();
+        this.limitOrderProcessor = new LimitOrderProcessor(asksOrdersByTicker, bidsOrdersByTicker, quotationProvider, depthIndexes, orderExpiryScheduler);
+        this.marketOrderProcessor = new MarketOrderProcessor(asksOrdersByTicker, bidsOrdersByTicker, this.limitOrderProcessor, depthIndexes, orderExpiryScheduler);
+        this.immediateOrderProcessor = new ImmediateOrderProcessor(asksOrdersByTicker, bidsOrdersByTicker, depthIndexes, orderExpiryScheduler);
     }
 
     @Override
-    public OrderRegistrationResult registerOrder(RegisterOrderCommand registerOrderCommand) {
+    public synchronized OrderRegistrationResult registerOrder(RegisterOrderCommand incomingRegisterOrderCommand) {
+        OrderRegistrationValidator.validateOrderFields(incomingRegisterOrderCommand);
+        RegisterOrderCommand registerOrderCommand = orderExpiryScheduler.withExpiry(incomingRegisterOrderCommand, System.currentTimeMillis());
         if (MARKET == registerOrderCommand.orderType()) {
             return marketOrderProcessor.processMarketOrder(registerOrderCommand);
         }
-        if (LIMIT == registerOrderCommand.orderType()) {
+        if (LIMIT == registerOrderCommand.orderType() || GTC == registerOrderCommand.orderType() || GTD == registerOrderCommand.orderType()
+            || ICEBERG == registerOrderCommand.orderType()) {
             return limitOrderProcessor.processLimitOrder(registerOrderCommand);
         }
+        if (IOC == registerOrderCommand.orderType() || FOK == registerOrderCommand.orderType() || AON == registerOrderCommand.orderType()) {
+            return immediateOrderProcessor.processImmediateOrder(registerOrderCommand);
+        }
         throw OrderBookException.orderTypeNotAvailable(registerOrderCommand.orderType());
     }
 
     @Override
-    public void registerTicker(String ticker) {
-        Queue<Order> askOrdersQueue = new PriorityBlockingQueue<>();
-        Queue<Order> bidsOrdersQueue = new PriorityBlockingQueue<>();
+    public synchronized void registerTicker(String ticker, Duration defaultTimeToLive) {
+        Queue<Order> askOrdersQueue = new PriorityBlockingQueue<>(11, ASK_PRIORITY);
+        Queue<Order> bidsOrdersQueue = new PriorityBlockingQueue<>(11, BID_PRIORITY); // highest bid first, then oldest
         this.asksOrdersByTicker.putIfAbsent(ticker, askOrdersQueue);
         this.bidsOrdersByTicker.putIfAbsent(ticker, bidsOrdersQueue);
+        this.depthIndexes.registerTicker(ticker);
+        this.orderExpiryScheduler.registerTicker(ticker, defaultTimeToLive);
         log.info("Company with ticker: {} registered", ticker);
     }
 
+    /**
+     * Removes only the orders reported due by the timing wheel. An order filled in the meantime is closed and skipped
+     * without touching its queue, an iceberg order is expired through the slice resting in the book. Due orders are
+     * grouped by ticker and side, so every queue is scanned once per tick instead of once per expiring order.
+     */
+    @Override
+    public synchronized void expireOrders(long timestamp) {
+        List<OrderExpiryScheduler.ExpiringOrder> expiringOrders = orderExpiryScheduler.expire(timestamp);
+        if (expiringOrders.isEmpty()) {
+            return;
+        }
+        Map<OrderDirection, Map<String, Set<Order>>> dueOrders = new EnumMap<>(OrderDirection.class);
+        for (OrderExpiryScheduler.ExpiringOrder expiringOrder : expiringOrders) {
+            Order order = expiringOrder.order();
+            if (OrderState.CLOSED != order.getCurrentOrderState()) {
+                dueOrders.computeIfAbsent(expiringOrder.side(), side -> new HashMap<>())
+                         .computeIfAbsent(order.getTicker(), ticker -> Collections.newSetFromMap(new IdentityHashMap<>()))
+                         .add(order);
+            }
+        }
+        dueOrders.forEach((side, dueOrdersByTicker) -> dueOrdersByTicker.forEach((ticker, orders) -> {
+            List<Order> expiredOrders = new ArrayList<>(orders.size());
+            select(side).get(ticker).removeIf(order -> orders.contains(order) && expiredOrders.add(order));
+            expiredOrders.forEach(order -> depthIndexes.onOrderExpired(ticker, side, order.getOrderUuid(), order.getPrice(), order.getVolume()));
+        }));
+        log.debug("{} orders due to expire", expiringOrders.size());
+    }
+
+    @Override
+    public synchronized List<RestingOrder> getRestingOrders(String ticker, OrderDirection orderDirection) {
+        Queue<Order> orders = select(orderDirection).get(ticker);
+        if (orders == null) {
+            throw OrderBookException.noTicker(ticker);
+        }
+        return orders.stream()
+                     .sorted(OrderDirection.BID == orderDirection ? BID_PRIORITY : ASK_PRIORITY)
+                     .map(Order::restingOrder)
+                     .toList();
+    }
+
+    @Override
+    public synchronized void restoreOrder(String ticker, OrderDirection orderDirection, RestingOrder restingOrder) {
+        Queue<Order> orders = select(orderDirection).get(ticker);
+        if (orders == null) {
+            throw OrderBookException.noTicker(ticker);
+        }
+        Order order = Order.restored(ticker, restingOrder);
+        orders.offer(order);
+        depthIndexes.onOrderRested(ticker, orderDirection, order.getOrderUuid(), order.getPrice(), order.getVolume());
+        orderExpiryScheduler.schedule(orderDirection, order);
+    }
+
     @Override
     public Page<OrderInformation> getOrderBookSnapshot(String ticker, OrderDirection orderDirection, Pagination pagination) {
         Queue<Order> orders = select(orderDirection).get(ticker);
@@ -114,19 +207,36 @@ class SimpleOrderBook implements OrderBook {
                                  .toList();
     }
 
+    /**
+     * Selects the best orders in one pass over the queue keeping only {@code depth} candidates, the queue itself is
+     * neither copied nor sorted.
+     */
     @Override
-    public Set<OrderInformation> getTopOrders(String ticker, OrderDirection orderDirection, Integer depth) {
+    public List<OrderInformation> getTopOrders(String ticker, OrderDirection orderDirection, Integer depth) {
         Queue<Order> orders = select(orderDirection).get(ticker);
-        List<Order> ordersDump = List.copyOf(orders);
-        if (ordersDump.size() <= depth) {
-            return ordersDump.stream()
-                             .map(Order::orderInformation)
-                             .collect(Collectors.toSet());
+        if (orders == null) {
+            throw OrderBookException.noTicker(ticker);
+        }
+        if (depth <= 0) {
+            return List.of();
+        }
+        Comparator<Order> priority = orderDirection == OrderDirection.BID ? BID_PRIORITY : ASK_PRIORITY;
+        PriorityQueue<Order> worstFirst = new PriorityQueue<>(depth + 1, priority.reversed());
+        for (Order order : orders) {
+            if (worstFirst.size() < depth) {
+                worstFirst.offer(order);
+            }
+            else if (priority.compare(order, worstFirst.peek()) < 0) {
+                worstFirst.poll();
+                worstFirst.offer(order);
+            }
+        }
+        OrderInformation[] topOrders = new OrderInformation[worstFirst.size()];
+        for (int i = topOrders.length - 1; i >= 0; i--) {
+            topOrders[i] = worstFirst.poll()
+                                     .orderInformation();
         }
-        return ordersDump.subList(depth, ordersDump.size())
-                         .stream()
-                         .map(Order::orderInformation)
-                         .collect(Collectors.toSet());
+        return Arrays.asList(topOrders);
     }
 
     public Queue<Order> getAsksOrderQueue(String ticker) {
@@ -148,15 +258,11 @@ class SimpleOrderBook implements OrderBook {
         return volumeAvailable >= volumeRequested;
     }
 
-    public Long getAsksVolume(String ticker) {
-        Queue<Order> orders = asksOrdersByTicker.get(ticker);
-        if (orders == null) {
+    public synchronized Long getAsksVolume(String ticker) {
+        DepthIndex depthIndex = depthIndexes.depthIndex(ticker, OrderDirection.ASK);
+        if (depthIndex == null) {
             return 0L;
         }
-        return asksOrdersByTicker.get(ticker)
-                                 .stream()
-                                 .map(Order::getVolume)
-                                 .reduce(Long::sum)
-                                 .orElse(0L);
+        return depthIndex.totalVolume();
     }
 }
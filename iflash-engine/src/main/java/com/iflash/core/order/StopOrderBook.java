@@ -0,0 +1,130 @@
+package com.iflash.core.order;
+
+import com.iflash.commons.ValidateUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.iflash.core.order.OrderType.LIMIT;
+import static com.iflash.core.order.OrderType.MARKET;
+import static com.iflash.core.order.OrderType.STOP;
+import static com.iflash.core.order.OrderType.STOP_LIMIT;
+
+/**
+ * Pending {@link OrderType#STOP} and {@link OrderType#STOP_LIMIT} orders per ticker, sorted by trigger price which
+ * is the price of the registering command. A buy stop triggers once the quotation reaches its trigger price from
+ * below, a sell stop once it reaches it from above, so a price move only visits the stops it crossed. Triggered
+ * stops are handed back as {@link OrderType#MARKET} orders or as {@link OrderType#LIMIT} orders at their
+ * {@link RegisterOrderCommand#limitPrice()}, in trigger price order, stops with the same trigger price in arrival order.
+ */
+public class StopOrderBook {
+
+    private final Map<String, TickerStops> stopsByTicker = new ConcurrentHashMap<>();
+
+    public static boolean isStopOrder(OrderType orderType) {
+        return STOP == orderType || STOP_LIMIT == orderType;
+    }
+
+    public static boolean isTriggered(RegisterOrderCommand stopOrderCommand, BigDecimal price) {
+        int comparedToTrigger = price.compareTo(stopOrderCommand.price());
+        return OrderDirection.BID == stopOrderCommand.orderDirection() ? comparedToTrigger >= 0 : comparedToTrigger <= 0;
+    }
+
+    public static RegisterOrderCommand triggeredOrder(RegisterOrderCommand stopOrderCommand) {
+        if (STOP == stopOrderCommand.orderType()) {
+            return stopOrderCommand.withOrderType(MARKET);
+        }
+        return stopOrderCommand.withOrderType(LIMIT)
+                               .withPrice(stopOrderCommand.limitPrice());
+    }
+
+    public void registerTicker(String ticker) {
+        stopsByTicker.putIfAbsent(ticker, new TickerStops());
+    }
+
+    public OrderRegistrationResult registerStopOrder(RegisterOrderCommand stopOrderCommand) {
+        ValidateUtils.requireNonNullOrThrow(stopOrderCommand.price(), OrderBookException.triggerPriceNull(stopOrderCommand.orderType()));
+        if (STOP_LIMIT == stopOrderCommand.orderType()) {
+            ValidateUtils.requireNonNullOrThrow(stopOrderCommand.limitPrice(), OrderBookException.limitPriceNull());
+        }
+        registeredStops(stopOrderCommand.ticker()).add(stopOrderCommand);
+        return OrderRegistrationResult.stopOrderPlacedSuccessfully(stopOrderCommand);
+    }
+
+    /**
+     * Removes the stops crossed by the move of the quotation to {@code price}.
+     *
+     * @return orders to register in place of the triggered stops, empty when no stop was crossed
+     */
+    public List<RegisterOrderCommand> triggerStopOrders(String ticker, BigDecimal price) {
+        return registeredStops(ticker).trigger(price);
+    }
+
+    /**
+     * @return pending stops of the ticker as registered, buy stops and then sell stops, each in trigger order
+     */
+    public List<RegisterOrderCommand> getStopOrders(String ticker) {
+        return registeredStops(ticker).stopOrders();
+    }
+
+    public int pendingStopOrders(String ticker) {
+        return registeredStops(ticker).size();
+    }
+
+    private TickerStops registeredStops(String ticker) {
+        TickerStops tickerStops = stopsByTicker.get(ticker);
+        if (tickerStops == null) {
+            throw OrderBookException.noTicker(ticker);
+        }
+        return tickerStops;
+    }
+
+    private static class TickerStops {
+
+        private final NavigableMap<BigDecimal, Queue<RegisterOrderCommand>> buyStops = new TreeMap<>();
+        private final NavigableMap<BigDecimal, Queue<RegisterOrderCommand>> sellStops = new TreeMap<>(Collections.reverseOrder());
+        private int size;
+
+        private synchronized void add(RegisterOrderCommand stopOrderCommand) {
+            NavigableMap<BigDecimal, Queue<RegisterOrderCommand>> stops = OrderDirection.BID == stopOrderCommand.orderDirection() ? buyStops : sellStops;
+            stops.computeIfAbsent(stopOrderCommand.price(), key -> new ArrayDeque<>())
+                 .add(stopOrderCommand);
+            size++;
+        }
+
+        private synchronized List<RegisterOrderCommand> trigger(BigDecimal price) {
+            List<RegisterOrderCommand> triggeredOrders = new ArrayList<>();
+            poll(buyStops.headMap(price, true), triggeredOrders);
+            poll(sellStops.headMap(price, true), triggeredOrders);
+            size -= triggeredOrders.size();
+            return triggeredOrders;
+        }
+
+        private void poll(NavigableMap<BigDecimal, Queue<RegisterOrderCommand>> crossedStops, List<RegisterOrderCommand> triggeredOrders) {
+            Map.Entry<BigDecimal, Queue<RegisterOrderCommand>> level;
+            while ((level = crossedStops.pollFirstEntry()) != null) {
+                level.getValue()
+                     .forEach(stopOrderCommand -> triggeredOrders.add(triggeredOrder(stopOrderCommand)));
+            }
+        }
+
+        private synchronized List<RegisterOrderCommand> stopOrders() {
+            List<RegisterOrderCommand> stopOrders = new ArrayList<>(size);
+            buyStops.values().forEach(stopOrders::addAll);
+            sellStops.values().forEach(stopOrders::addAll);
+            return stopOrders;
+        }
+
+        private synchronized int size() {
+            return size;
+        }
+    }
+}
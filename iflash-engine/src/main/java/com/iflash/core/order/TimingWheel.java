@@ -0,0 +1,131 @@
+package com.iflash.core.order;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel of {@link #LEVELS} wheels with {@link #SLOTS} slots each, a slot of level {@code n}
+ * spans {@code SLOTS^n} ticks. An entry is kept on the lowest level whose slot range still separates its deadline
+ * from the current tick and moves one level down each time the wheel reaches its slot, so both scheduling and
+ * expiry cost O(1) per entry. Deadlines are rounded up to whole ticks, an entry never fires before its deadline and
+ * at most one tick after it. Deadlines beyond the range of the top level wait in an overflow list. Not thread safe.
+ */
+class TimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 5;
+
+    private final long tickMillis;
+    private final List<Queue<Entry<T>>> slots = new ArrayList<>(LEVELS * SLOTS);
+    private final List<Entry<T>> overflow = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    TimingWheel(long tickMillis, long startTimestamp) {
+        this.tickMillis = tickMillis;
+        this.currentTick = startTimestamp / tickMillis;
+        for (int slot = 0; slot < LEVELS * SLOTS; slot++) {
+            slots.add(new ArrayDeque<>());
+        }
+    }
+
+    void schedule(long deadlineTimestamp, T value) {
+        place(new Entry<>(Math.ceilDiv(deadlineTimestamp, tickMillis), value));
+        size++;
+    }
+
+    /**
+     * Moves the wheel to {@code timestamp} and hands every entry whose deadline has passed to {@code expired}. The
+     * wheel jumps straight to the next occupied slot, so an idle gap costs at most one revolution of each level
+     * instead of one step per elapsed tick.
+     */
+    void advance(long timestamp, Consumer<T> expired) {
+        long targetTick = timestamp / tickMillis;
+        if (size == 0) {
+            currentTick = Math.max(currentTick, targetTick);
+            return;
+        }
+        drain(slot(0, currentTick), expired);
+        long nextTick;
+        while (size > 0 && (nextTick = nextOccupiedTick(targetTick)) <= targetTick) {
+            currentTick = nextTick;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << SLOT_BITS * level) - 1)) == 0L) {
+                    cascade(level);
+                }
+            }
+            drain(slot(0, currentTick), expired);
+        }
+        currentTick = Math.max(currentTick, targetTick);
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void place(Entry<T> entry) {
+        if (entry.deadlineTick() <= currentTick) {
+            slot(0, currentTick).add(entry);
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            int levelShift = SLOT_BITS * (level + 1);
+            if (entry.deadlineTick() >>> levelShift == currentTick >>> levelShift) {
+                slot(level, entry.deadlineTick()).add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    /**
+     * Entries of a level always sit in the remaining slots of its current revolution, and every slot of a level comes
+     * up before any slot of the level above, so the first occupied slot found level by level is the next one due.
+     *
+     * @return tick of the next occupied slot, or a tick past {@code targetTick} when no slot is due until then
+     */
+    private long nextOccupiedTick(long targetTick) {
+        for (int level = 0; level < LEVELS; level++) {
+            int levelShift = SLOT_BITS * level;
+            long revolutionEnd = ((currentTick >>> levelShift) | SLOT_MASK) + 1;
+            for (long slotIndex = (currentTick >>> levelShift) + 1; slotIndex < revolutionEnd; slotIndex++) {
+                long slotTick = slotIndex << levelShift;
+                if (slotTick > targetTick || !slots.get(level * SLOTS + (int) (slotIndex & SLOT_MASK)).isEmpty()) {
+                    return slotTick;
+                }
+            }
+        }
+        return ((currentTick >>> SLOT_BITS * LEVELS) + 1) << SLOT_BITS * LEVELS;
+    }
+
+    private void cascade(int level) {
+        Queue<Entry<T>> slot = slot(level, currentTick);
+        List<Entry<T>> entries = new ArrayList<>(slot);
+        slot.clear();
+        if (level == LEVELS - 1) {
+            entries.addAll(overflow);
+            overflow.clear();
+        }
+        entries.forEach(this::place);
+    }
+
+    private void drain(Queue<Entry<T>> slot, Consumer<T> expired) {
+        Entry<T> entry;
+        while ((entry = slot.poll()) != null) {
+            size--;
+            expired.accept(entry.value());
+        }
+    }
+
+    private Queue<Entry<T>> slot(int level, long tick) {
+        return slots.get(level * SLOTS + (int) (tick >>> SLOT_BITS * level & SLOT_MASK));
+    }
+
+    private record Entry<T>(long deadlineTick, T value) {
+    }
+}
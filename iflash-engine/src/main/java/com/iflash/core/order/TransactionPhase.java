@@ -4,5 +4,6 @@ public enum TransactionPhase {
     FULLY_COMPLETED,
     PARTIALLY_COMPLETED,
     IDLING_ON_QUEUE,
-    REJECTED
+    REJECTED,
+    CANCELLED
 }
@@ -0,0 +1,38 @@
+package com.iflash.core.quotation;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+import static com.iflash.core.configuration.GlobalSettings.PRICE_SCALE;
+
+/**
+ * Exponential moving average of fill prices, every fill moves the average by {@code alpha} of its distance to the
+ * fill price. The first fill seeds the average.
+ */
+public class ExponentialMovingAverageQuotation implements QuotationCalculable {
+
+    private static final int AVERAGE_SCALE = 8;
+
+    private final BigDecimal alpha;
+    private BigDecimal average;
+
+    public ExponentialMovingAverageQuotation(BigDecimal alpha) {
+        this.alpha = alpha;
+    }
+
+    @Override
+    public Quotation calculate(String ticker, List<QuotableInformation> quotableInformations) {
+        long transactionVolume = 0L;
+        for (QuotableInformation quotableInformation : quotableInformations) {
+            average = average == null
+                      ? quotableInformation.price()
+                                           .setScale(AVERAGE_SCALE, RoundingMode.HALF_UP)
+                      : average.add(alpha.multiply(quotableInformation.price()
+                                                                      .subtract(average)))
+                               .setScale(AVERAGE_SCALE, RoundingMode.HALF_UP);
+            transactionVolume += quotableInformation.volume();
+        }
+        return new Quotation(ticker, System.currentTimeMillis(), transactionVolume, average.setScale(PRICE_SCALE, RoundingMode.HALF_UP));
+    }
+}
@@ -0,0 +1,15 @@
+package com.iflash.core.quotation;
+
+import java.util.List;
+
+public class LastTradeQuotation implements QuotationCalculable {
+
+    @Override
+    public Quotation calculate(String ticker, List<QuotableInformation> quotableInformations) {
+        long transactionVolume = 0L;
+        for (QuotableInformation quotableInformation : quotableInformations) {
+            transactionVolume += quotableInformation.volume();
+        }
+        return new Quotation(ticker, System.currentTimeMillis(), transactionVolume, quotableInformations.getLast().price());
+    }
+}
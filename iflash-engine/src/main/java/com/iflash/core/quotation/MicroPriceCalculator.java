@@ -0,0 +1,74 @@
+package com.iflash.core.quotation;
+
+import com.iflash.core.marketdata.PriceLevel;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+import static com.iflash.core.configuration.GlobalSettings.PRICE_SCALE;
+
+/**
+ * Prices derived from the best levels of a book. Micro-price weights each side by the volume resting on the opposite
+ * side, {@code (bidPrice * askVolume + askPrice * bidVolume) / (bidVolume + askVolume)}, so it leans towards the side
+ * more likely to be taken out, mid price is the plain average of both sides.
+ */
+public final class MicroPriceCalculator {
+
+    private MicroPriceCalculator() {
+    }
+
+    public static BigDecimal mid(BigDecimal bidPrice, BigDecimal askPrice) {
+        return bidPrice.add(askPrice)
+                       .divide(BigDecimal.TWO, PRICE_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * @return micro-price of both sides, {@code null} when any of them has no price or both have no volume
+     */
+    public static BigDecimal microPrice(BigDecimal bidPrice, long bidVolume, BigDecimal askPrice, long askVolume) {
+        if (bidPrice == null || askPrice == null || bidVolume + askVolume <= 0L) {
+            return null;
+        }
+        BigDecimal weightedBid = bidPrice.multiply(BigDecimal.valueOf(askVolume));
+        BigDecimal weightedAsk = askPrice.multiply(BigDecimal.valueOf(bidVolume));
+        return weightedBid.add(weightedAsk)
+                          .divide(BigDecimal.valueOf(bidVolume + askVolume), PRICE_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Micro-price of the given levels, each side first collapsed into its volume weighted price. When one side is
+     * empty the other one is quoted alone.
+     *
+     * @return quotation of the levels, {@code null} when both sides are empty
+     */
+    public static BigDecimal microPrice(List<PriceLevel> bids, List<PriceLevel> asks) {
+        long bidVolume = volume(bids);
+        long askVolume = volume(asks);
+        if (bidVolume == 0L) {
+            return askVolume == 0L ? null : weightedPrice(asks, askVolume);
+        }
+        if (askVolume == 0L) {
+            return weightedPrice(bids, bidVolume);
+        }
+        return microPrice(weightedPrice(bids, bidVolume), bidVolume, weightedPrice(asks, askVolume), askVolume);
+    }
+
+    private static long volume(List<PriceLevel> levels) {
+        long volume = 0L;
+        for (int i = 0; i < levels.size(); i++) {
+            volume += levels.get(i).volume();
+        }
+        return volume;
+    }
+
+    private static BigDecimal weightedPrice(List<PriceLevel> levels, long volume) {
+        BigDecimal notional = BigDecimal.ZERO;
+        for (int i = 0; i < levels.size(); i++) {
+            PriceLevel level = levels.get(i);
+            notional = notional.add(level.price()
+                                         .multiply(BigDecimal.valueOf(level.volume())));
+        }
+        return notional.divide(BigDecimal.valueOf(volume), PRICE_SCALE, RoundingMode.HALF_UP);
+    }
+}
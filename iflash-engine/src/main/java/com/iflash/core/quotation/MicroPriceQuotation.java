@@ -0,0 +1,35 @@
+package com.iflash.core.quotation;
+
+import com.iflash.core.marketdata.TopOfBook;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * {@link MicroPriceCalculator#microPrice(BigDecimal, long, BigDecimal, long) Micro-price} of the best levels. Falls
+ * back to the last fill price while one side of the book is empty.
+ */
+public class MicroPriceQuotation implements TopOfBookQuotationCalculable {
+
+    private TopOfBook topOfBook;
+
+    @Override
+    public void updateTopOfBook(TopOfBook topOfBook) {
+        if (this.topOfBook == null || topOfBook.sequence() >= this.topOfBook.sequence()) {
+            this.topOfBook = topOfBook;
+        }
+    }
+
+    @Override
+    public Quotation calculate(String ticker, List<QuotableInformation> quotableInformations) {
+        long transactionVolume = 0L;
+        for (QuotableInformation quotableInformation : quotableInformations) {
+            transactionVolume += quotableInformation.volume();
+        }
+        BigDecimal microPrice = topOfBook == null
+                                ? null
+                                : MicroPriceCalculator.microPrice(topOfBook.bidPrice(), topOfBook.bidVolume(), topOfBook.askPrice(), topOfBook.askVolume());
+        return new Quotation(ticker, System.currentTimeMillis(), transactionVolume,
+                             microPrice == null ? quotableInformations.getLast().price() : microPrice);
+    }
+}
@@ -1,17 +1,28 @@
 package com.iflash.core.quotation;
 
+import com.iflash.core.marketdata.PriceLevel;
+import com.iflash.core.marketdata.TopOfBook;
 import com.iflash.core.order.FinishedTransactionInfo;
-import com.iflash.core.order.OrderInformation;
 
 import java.math.BigDecimal;
 import java.util.List;
-import java.util.Set;
 
 public interface QuotationAggregator {
 
     void calculateQuotationPostTransaction(String ticker, List<FinishedTransactionInfo> boughtFinishedTransactionInfos);
 
-    void calculateTheoreticalQuotation(String ticker, Set<OrderInformation> topBids, Set<OrderInformation> topAsks);
+    /**
+     * @param topBids best bid levels, best price first
+     * @param topAsks best ask levels, best price first
+     */
+    void calculateTheoreticalQuotation(String ticker, List<PriceLevel> topBids, List<PriceLevel> topAsks);
 
     void initTicker(String ticker, BigDecimal initialPrice);
+
+    void initTicker(String ticker, BigDecimal initialPrice, QuotationCalculationType quotationCalculationType);
+
+    /**
+     * Latest best levels of the ticker, used only by calculators quoting from the book.
+     */
+    void updateTopOfBook(String ticker, TopOfBook topOfBook);
 }
@@ -2,31 +2,50 @@ package com.iflash.core.quotation;
 
 import com.iflash.commons.Page;
 import com.iflash.commons.Pagination;
+import com.iflash.core.diagnostics.QuotationRecalculationEvent;
 import com.iflash.core.engine.FinancialInstrumentInfo;
+import com.iflash.core.marketdata.PriceLevel;
+import com.iflash.core.marketdata.TopOfBook;
 import com.iflash.core.order.OrderBookException;
-import com.iflash.core.order.OrderInformation;
 import com.iflash.core.order.FinishedTransactionInfo;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class QuotationAggregatorDefault implements QuotationAggregator, QuotationProvider {
 
     private final QuotationCalculable quotationCalculable;
+    private final QuotationCalculationType defaultQuotationCalculationType;
+    private final Map<String, QuotationCalculable> quotationCalculables = new ConcurrentHashMap<>(); // per ticker, stateful ones keep running state
     private final Map<String, List<Quotation>> lastPriceQuotation;
     private final Map<String, List<Quotation>> theoreticalQuotation;
+    private final Map<String, CurrentQuotation> currentQuotations = new ConcurrentHashMap<>(); // read side, never touches the history lists
 
     public QuotationAggregatorDefault(QuotationCalculable quotationCalculable, Map<String, List<Quotation>> lastPriceQuotation, Map<String, List<Quotation>> theoreticalQuotation) {
+        this(quotationCalculable, QuotationCalculationType.WEIGHTED_AVERAGE, lastPriceQuotation, theoreticalQuotation);
+    }
+
+    /**
+     * @param quotationCalculable calculates last price quotations of tickers not registered by {@link #initTicker}
+     * @param defaultQuotationCalculationType last price calculation of tickers registered without their own calculation type
+     */
+    public QuotationAggregatorDefault(QuotationCalculable quotationCalculable, QuotationCalculationType defaultQuotationCalculationType,
+                                      Map<String, List<Quotation>> lastPriceQuotation, Map<String, List<Quotation>> theoreticalQuotation) {
         this.quotationCalculable = quotationCalculable;
+        this.defaultQuotationCalculationType = defaultQuotationCalculationType;
         this.lastPriceQuotation = lastPriceQuotation;
         this.theoreticalQuotation = theoreticalQuotation;
+        lastPriceQuotation.forEach((ticker, quotations) -> {
+            if (!quotations.isEmpty()) {
+                currentQuotations.put(ticker, quotations.getLast().map());
+            }
+        });
     }
 
     @Override
@@ -34,11 +53,17 @@ public class QuotationAggregatorDefault implements QuotationAggregator, Quotatio
         if (finishedTransactionInfos.isEmpty()) {
             return;
         }
+        QuotationRecalculationEvent quotationRecalculationEvent = new QuotationRecalculationEvent();
+        quotationRecalculationEvent.begin();
         List<QuotableInformation> quotableInformationList = finishedTransactionInfos.stream()
                                                                                     .map(transactionInfo -> new QuotableInformation(transactionInfo.volume(),
                                                                                                                                     transactionInfo.price()))
                                                                                     .toList();
-        Quotation quotation = quotationCalculable.calculate(ticker, quotableInformationList);
+        QuotationCalculable tickerQuotationCalculable = quotationCalculables.getOrDefault(ticker, quotationCalculable);
+        Quotation quotation;
+        synchronized (tickerQuotationCalculable) {
+            quotation = tickerQuotationCalculable.calculate(ticker, quotableInformationList);
+        }
         List<Quotation> quotationList = lastPriceQuotation.get(ticker);
         if (quotationList != null) {
             quotationList.add(quotation);
@@ -48,27 +73,27 @@ public class QuotationAggregatorDefault implements QuotationAggregator, Quotatio
             quotationsNotPresent.add(quotation);
             lastPriceQuotation.putIfAbsent(ticker, quotationsNotPresent);
         }
+        currentQuotations.put(ticker, quotation.map());
+        quotationRecalculationEvent.complete(ticker, "LAST_PRICE", finishedTransactionInfos.size(), quotation.quotation());
+    }
+
+    @Override
+    public void updateTopOfBook(String ticker, TopOfBook topOfBook) {
+        if (quotationCalculables.get(ticker) instanceof TopOfBookQuotationCalculable topOfBookQuotationCalculable) {
+            synchronized (topOfBookQuotationCalculable) {
+                topOfBookQuotationCalculable.updateTopOfBook(topOfBook);
+            }
+        }
     }
 
     @Override
-    public void calculateTheoreticalQuotation(String ticker, Set<OrderInformation> topBids, Set<OrderInformation> topAsks) {
-        List<QuotableInformation> topBidsQuotable = topBids.stream()
-                                                           .map(transactionInfo -> new QuotableInformation(transactionInfo.volume(),
-                                                                                                           transactionInfo.price()))
-                                                           .toList();
-        List<QuotableInformation> topAsksQuotable = topAsks.stream()
-                                                           .map(transactionInfo -> new QuotableInformation(transactionInfo.volume(),
-                                                                                                           transactionInfo.price()))
-                                                           .toList();
-
-        Quotation topBidsQuotation = quotationCalculable.calculate(ticker, topBidsQuotable);
-        Quotation topAsksQuotation = quotationCalculable.calculate(ticker, topAsksQuotable);
-
-        BigDecimal quotation = topBidsQuotation.quotation()
-                                               .setScale(4, RoundingMode.HALF_UP)
-                                               .add(topAsksQuotation.quotation()
-                                                                    .setScale(4, RoundingMode.HALF_UP))
-                                               .divide(BigDecimal.TWO, RoundingMode.HALF_UP);
+    public void calculateTheoreticalQuotation(String ticker, List<PriceLevel> topBids, List<PriceLevel> topAsks) {
+        QuotationRecalculationEvent quotationRecalculationEvent = new QuotationRecalculationEvent();
+        quotationRecalculationEvent.begin();
+        BigDecimal quotation = MicroPriceCalculator.microPrice(topBids, topAsks);
+        if (quotation == null) {
+            return;
+        }
         Quotation finalQuotation = new Quotation(ticker, System.currentTimeMillis(), 0, quotation);
 
         List<Quotation> quotationList = theoreticalQuotation.get(ticker);
@@ -80,19 +105,16 @@ public class QuotationAggregatorDefault implements QuotationAggregator, Quotatio
             quotationsNotPresent.add(finalQuotation);
             theoreticalQuotation.putIfAbsent(ticker, quotationsNotPresent);
         }
+        quotationRecalculationEvent.complete(ticker, "THEORETICAL", topBids.size() + topAsks.size(), quotation);
     }
 
     @Override
     public CurrentQuotation getCurrentQuote(String ticker) {
-        List<Quotation> quotationList = lastPriceQuotation.get(ticker);
-        if (quotationList == null) {
+        CurrentQuotation currentQuotation = currentQuotations.get(ticker);
+        if (currentQuotation == null) {
             throw OrderBookException.noTicker(ticker);
         }
-        else {
-            return lastPriceQuotation.get(ticker)
-                                     .getLast()
-                                     .map();
-        }
+        return currentQuotation;
     }
 
     @Override
@@ -130,6 +152,12 @@ public class QuotationAggregatorDefault implements QuotationAggregator, Quotatio
 
     @Override
     public void initTicker(String ticker, BigDecimal initialPrice) {
+        initTicker(ticker, initialPrice, defaultQuotationCalculationType);
+    }
+
+    @Override
+    public void initTicker(String ticker, BigDecimal initialPrice, QuotationCalculationType quotationCalculationType) {
+        quotationCalculables.putIfAbsent(ticker, QuotationAggregatorFactory.factorizeQuotationCalculable(quotationCalculationType));
         List<Quotation> lastPriceQuotationList = new ArrayList<>();
         List<Quotation> theoreticalQuotationList = new ArrayList<>();
 
@@ -141,17 +169,16 @@ public class QuotationAggregatorDefault implements QuotationAggregator, Quotatio
 
         this.lastPriceQuotation.putIfAbsent(ticker, lastPriceQuotationList);
         this.theoreticalQuotation.putIfAbsent(ticker, theoreticalQuotationList);
+        currentQuotations.putIfAbsent(ticker, lastPriceQuotation.map());
     }
 
     @Override
     public List<FinancialInstrumentInfo> getAllTickersWithQuotation() {
-        return lastPriceQuotation.entrySet()
-                                 .stream()
-                                 .map(entry -> new FinancialInstrumentInfo(entry.getKey(),
-                                                                   entry.getValue()
-                                                                        .getLast()
-                                                                        .quotation()))
-                                 .sorted(Comparator.comparing(FinancialInstrumentInfo::ticker))
-                                 .collect(Collectors.toList());
+        return currentQuotations.entrySet()
+                                .stream()
+                                .map(entry -> new FinancialInstrumentInfo(entry.getKey(), entry.getValue()
+                                                                                              .price()))
+                                .sorted(Comparator.comparing(FinancialInstrumentInfo::ticker))
+                                .collect(Collectors.toList());
     }
 }
@@ -2,13 +2,27 @@ package com.iflash.core.quotation;
 
 import java.util.HashMap;
 
+import static com.iflash.core.configuration.GlobalSettings.QUOTATION_EMA_ALPHA;
+import static com.iflash.core.configuration.GlobalSettings.QUOTATION_VWAP_TIME_WINDOW_MILLIS;
+import static com.iflash.core.configuration.GlobalSettings.QUOTATION_VWAP_VOLUME_WINDOW;
+
 public class QuotationAggregatorFactory {
 
     public static QuotationAggregator factorizeQuotationAggregator(QuotationCalculationType quotationCalculationType) {
-        QuotationCalculable quotationCalculable = switch (quotationCalculationType) {
-            case WEIGHTED_AVERAGE ->  new WeightedAverageQuotation();
-        };
+        return new QuotationAggregatorDefault(new WeightedAverageQuotation(), quotationCalculationType, new HashMap<>(), new HashMap<>());
+    }
 
-        return new QuotationAggregatorDefault(quotationCalculable, new HashMap<>(), new HashMap<>());
+    /**
+     * Creates a new calculator for a single ticker, stateful calculators must not be shared between tickers.
+     */
+    public static QuotationCalculable factorizeQuotationCalculable(QuotationCalculationType quotationCalculationType) {
+        return switch (quotationCalculationType) {
+            case WEIGHTED_AVERAGE -> new WeightedAverageQuotation();
+            case VWAP_TIME_WINDOW -> new TimeWindowVwapQuotation(QUOTATION_VWAP_TIME_WINDOW_MILLIS);
+            case VWAP_VOLUME_WINDOW -> new VolumeWindowVwapQuotation(QUOTATION_VWAP_VOLUME_WINDOW);
+            case EXPONENTIAL_MOVING_AVERAGE -> new ExponentialMovingAverageQuotation(QUOTATION_EMA_ALPHA);
+            case LAST_TRADE -> new LastTradeQuotation();
+            case MICRO_PRICE -> new MicroPriceQuotation();
+        };
     }
 }
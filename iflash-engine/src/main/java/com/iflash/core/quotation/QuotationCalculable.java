@@ -2,6 +2,11 @@ package com.iflash.core.quotation;
 
 import java.util.List;
 
+/**
+ * Calculates the quotation of a ticker from the fills of one transaction. Implementations keeping running state
+ * between calls are created per ticker by {@link QuotationAggregatorFactory#factorizeQuotationCalculable} and
+ * update that state in constant time per fill.
+ */
 public interface QuotationCalculable {
 
     Quotation calculate(String ticker, List<QuotableInformation> quotableInformations);
@@ -1,5 +1,10 @@
 package com.iflash.core.quotation;
 
 public enum QuotationCalculationType {
-    WEIGHTED_AVERAGE
+    WEIGHTED_AVERAGE,
+    VWAP_TIME_WINDOW,
+    VWAP_VOLUME_WINDOW,
+    EXPONENTIAL_MOVING_AVERAGE,
+    LAST_TRADE,
+    MICRO_PRICE
 }
@@ -0,0 +1,59 @@
+package com.iflash.core.quotation;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import static com.iflash.core.configuration.GlobalSettings.PRICE_SCALE;
+
+/**
+ * Volume weighted average price of the fills of the last {@code windowMillis}. Running sums are updated when a fill
+ * enters or leaves the window, so each fill is added and expired once. An empty window keeps the last traded price.
+ */
+public class TimeWindowVwapQuotation implements QuotationCalculable {
+
+    private final long windowMillis;
+    private final LongSupplier clock;
+    private final Deque<WindowFill> windowFills = new ArrayDeque<>();
+    private BigDecimal windowNotional = BigDecimal.ZERO;
+    private long windowVolume;
+    private BigDecimal lastPrice;
+
+    public TimeWindowVwapQuotation(long windowMillis) {
+        this(windowMillis, System::currentTimeMillis);
+    }
+
+    TimeWindowVwapQuotation(long windowMillis, LongSupplier clock) {
+        this.windowMillis = windowMillis;
+        this.clock = clock;
+    }
+
+    @Override
+    public Quotation calculate(String ticker, List<QuotableInformation> quotableInformations) {
+        long now = clock.getAsLong();
+        long transactionVolume = 0L;
+        for (QuotableInformation quotableInformation : quotableInformations) {
+            WindowFill windowFill = new WindowFill(now, quotableInformation.volume(), quotableInformation.price()
+                                                                                               .multiply(BigDecimal.valueOf(quotableInformation.volume())));
+            windowFills.addLast(windowFill);
+            windowNotional = windowNotional.add(windowFill.notional());
+            windowVolume += windowFill.volume();
+            transactionVolume += windowFill.volume();
+            lastPrice = quotableInformation.price();
+        }
+        while (!windowFills.isEmpty() && windowFills.peekFirst().timestamp() <= now - windowMillis) {
+            WindowFill expiredFill = windowFills.removeFirst();
+            windowNotional = windowNotional.subtract(expiredFill.notional());
+            windowVolume -= expiredFill.volume();
+        }
+        if (windowVolume == 0L) {
+            return new Quotation(ticker, now, transactionVolume, lastPrice);
+        }
+        return new Quotation(ticker, now, transactionVolume, windowNotional.divide(BigDecimal.valueOf(windowVolume), PRICE_SCALE, RoundingMode.HALF_UP));
+    }
+
+    private record WindowFill(long timestamp, long volume, BigDecimal notional) {}
+}
@@ -0,0 +1,11 @@
+package com.iflash.core.quotation;
+
+import com.iflash.core.marketdata.TopOfBook;
+
+/**
+ * Quotation calculated from the best levels of the book rather than only from fills.
+ */
+public interface TopOfBookQuotationCalculable extends QuotationCalculable {
+
+    void updateTopOfBook(TopOfBook topOfBook);
+}
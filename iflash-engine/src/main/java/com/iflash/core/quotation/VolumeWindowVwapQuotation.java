@@ -0,0 +1,65 @@
+package com.iflash.core.quotation;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import static com.iflash.core.configuration.GlobalSettings.PRICE_SCALE;
+
+/**
+ * Volume weighted average price of the last {@code windowVolume} traded units. The oldest fill is cut partially when
+ * only a part of it still fits into the window. Before any volume traded, the last traded price is kept.
+ */
+public class VolumeWindowVwapQuotation implements QuotationCalculable {
+
+    private final long windowVolume;
+    private final Deque<WindowFill> windowFills = new ArrayDeque<>();
+    private BigDecimal windowNotional = BigDecimal.ZERO;
+    private long filledVolume;
+    private BigDecimal lastPrice;
+
+    public VolumeWindowVwapQuotation(long windowVolume) {
+        this.windowVolume = windowVolume;
+    }
+
+    @Override
+    public Quotation calculate(String ticker, List<QuotableInformation> quotableInformations) {
+        long transactionVolume = 0L;
+        for (QuotableInformation quotableInformation : quotableInformations) {
+            windowFills.addLast(new WindowFill(quotableInformation.volume(), quotableInformation.price()));
+            windowNotional = windowNotional.add(quotableInformation.price()
+                                                                   .multiply(BigDecimal.valueOf(quotableInformation.volume())));
+            filledVolume += quotableInformation.volume();
+            transactionVolume += quotableInformation.volume();
+            lastPrice = quotableInformation.price();
+        }
+        while (filledVolume > windowVolume) {
+            WindowFill oldestFill = windowFills.peekFirst();
+            long excessVolume = Math.min(filledVolume - windowVolume, oldestFill.volume);
+            windowNotional = windowNotional.subtract(oldestFill.price.multiply(BigDecimal.valueOf(excessVolume)));
+            filledVolume -= excessVolume;
+            oldestFill.volume -= excessVolume;
+            if (oldestFill.volume == 0L) {
+                windowFills.removeFirst();
+            }
+        }
+        if (filledVolume == 0L) {
+            return new Quotation(ticker, System.currentTimeMillis(), transactionVolume, lastPrice);
+        }
+        return new Quotation(ticker, System.currentTimeMillis(), transactionVolume,
+                             windowNotional.divide(BigDecimal.valueOf(filledVolume), PRICE_SCALE, RoundingMode.HALF_UP));
+    }
+
+    private static class WindowFill {
+
+        private final BigDecimal price;
+        private long volume;
+
+        private WindowFill(long volume, BigDecimal price) {
+            this.volume = volume;
+            this.price = price;
+        }
+    }
+}
@@ -8,13 +8,13 @@ public class WeightedAverageQuotation implements QuotationCalculable {
 
     @Override
     public Quotation calculate(String ticker, List<QuotableInformation> quotableInformation) {
-        long weightSum = quotableInformation.stream()
-                                            .mapToLong(QuotableInformation::volume)
-                                            .sum();
-        BigDecimal multipliedValuesSum = quotableInformation.stream()
-                                                            .map(info -> info.price()
-                                                                             .multiply(BigDecimal.valueOf(info.volume())))
-                                                            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long weightSum = 0L;
+        BigDecimal multipliedValuesSum = BigDecimal.ZERO;
+        for (QuotableInformation info : quotableInformation) {
+            weightSum += info.volume();
+            multipliedValuesSum = multipliedValuesSum.add(info.price()
+                                                              .multiply(BigDecimal.valueOf(info.volume())));
+        }
 
         BigDecimal quotationResult = multipliedValuesSum.divide(BigDecimal.valueOf(weightSum), RoundingMode.HALF_UP);
 
@@ -0,0 +1,126 @@
+package com.iflash.core.engine;
+
+import com.iflash.core.marketdata.BookUpdate;
+import com.iflash.core.marketdata.LastTrade;
+import com.iflash.core.marketdata.MarketDataListener;
+import com.iflash.core.order.AuctionResult;
+import com.iflash.core.order.OrderDirection;
+import com.iflash.core.order.OrderType;
+import com.iflash.core.order.RegisterOrderCommand;
+import com.iflash.core.order.TransactionPhase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrequentBatchAuctionMatchingEngineTest {
+
+    private static final String TICKER = "NVDA.US";
+    private static final BigDecimal INITIAL_PRICE = BigDecimal.valueOf(10.00);
+
+    private final List<MatchingEngine> matchingEngines = new ArrayList<>();
+
+    @AfterEach
+    void closeEngines() {
+        matchingEngines.forEach(MatchingEngine::close);
+    }
+
+    @Test
+    @DisplayName("Should collect orders into batch and leave residual orders in continuous book after clearing")
+    void shouldCollectOrdersIntoBatchAndLeaveResidualsInBook() {
+        MatchingEngine matchingEngine = batchAuctionEngine(Duration.ofHours(1));
+
+        TransactionPhase bidPhase = matchingEngine.tradingOperations().registerOrder(order(OrderDirection.BID, 10.50, 10L)).transactionPhase();
+        matchingEngine.tradingOperations().registerOrder(order(OrderDirection.ASK, 10.40, 10L));
+        AuctionResult firstBatch = matchingEngine.auctionOperations().uncross(TICKER);
+        TransactionPhase nextBatchBidPhase = matchingEngine.tradingOperations().registerOrder(order(OrderDirection.BID, 10.20, 5L)).transactionPhase();
+        AuctionResult secondBatch = matchingEngine.auctionOperations().uncross(TICKER);
+        AuctionResult emptyBatch = matchingEngine.auctionOperations().uncross(TICKER);
+
+        assertAll(() -> assertEquals(TransactionPhase.IDLING_ON_QUEUE, bidPhase),
+                  () -> assertEquals(10L, firstBatch.executedVolume()),
+                  () -> assertEquals(0, BigDecimal.valueOf(10.40).compareTo(firstBatch.uncrossingPrice())),
+                  () -> assertEquals(TransactionPhase.IDLING_ON_QUEUE, nextBatchBidPhase),
+                  () -> assertEquals(0L, secondBatch.executedVolume()),
+                  () -> assertEquals(0, BigDecimal.valueOf(10.20).compareTo(matchingEngine.orderBookOperations().getMarketSnapshot(TICKER).bestBidPrice())),
+                  () -> assertTrue(emptyBatch.residualOrders().isEmpty()));
+    }
+
+    @Test
+    @DisplayName("Should clear collected batch at the end of batch interval")
+    void shouldClearCollectedBatchAtEndOfInterval() throws InterruptedException {
+        MatchingEngine matchingEngine = batchAuctionEngine(Duration.ofMillis(10));
+
+        matchingEngine.tradingOperations().registerOrder(order(OrderDirection.BID, 10.50, 10L));
+        matchingEngine.tradingOperations().registerOrder(order(OrderDirection.ASK, 10.40, 10L));
+        long deadline = System.currentTimeMillis() + 5_000L;
+        while (INITIAL_PRICE.compareTo(matchingEngine.quotationProvider().getCurrentQuote(TICKER).price()) == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+
+        assertTrue(matchingEngine.quotationProvider().getCurrentQuote(TICKER).price().compareTo(INITIAL_PRICE) > 0);
+    }
+
+    @Test
+    @DisplayName("Should publish batch trade and residual order from the batch thread when the interval clears it")
+    void shouldPublishClearedBatchFromBatchThread() throws InterruptedException {
+        BlockingQueue<String> publications = new LinkedBlockingQueue<>();
+        MarketDataListener recordingListener = new MarketDataListener() {
+            @Override
+            public void onLastTrade(LastTrade lastTrade) {
+                publications.add("TRADE " + lastTrade.volume() + " " + Thread.currentThread().getName());
+            }
+
+            @Override
+            public void onBookUpdate(BookUpdate bookUpdate) {
+                publications.add(bookUpdate.type() + " " + bookUpdate.volume() + " " + Thread.currentThread().getName());
+            }
+        };
+        MatchingEngine matchingEngine = batchAuctionEngine(Duration.ofMillis(10), recordingListener);
+
+        matchingEngine.tradingOperations().registerOrder(order(OrderDirection.BID, 10.50, 10L));
+        matchingEngine.tradingOperations().registerOrder(order(OrderDirection.ASK, 10.40, 4L));
+
+        assertAll(() -> assertEquals("TRADE 4 batch-auction", publications.poll(5, TimeUnit.SECONDS)),
+                  () -> assertEquals("ADD 6 batch-auction", publications.poll(5, TimeUnit.SECONDS)));
+    }
+
+    @Test
+    @DisplayName("Should stop batch clearing thread on close")
+    void shouldStopBatchClearingThreadOnClose() {
+        batchAuctionEngine(Duration.ofMillis(10));
+
+        closeEngines();
+
+        assertTrue(Thread.getAllStackTraces()
+                         .keySet()
+                         .stream()
+                         .noneMatch(thread -> "batch-auction".equals(thread.getName())));
+    }
+
+    private MatchingEngine batchAuctionEngine(Duration batchInterval) {
+        return batchAuctionEngine(batchInterval, MarketDataListener.NO_OP);
+    }
+
+    private MatchingEngine batchAuctionEngine(Duration batchInterval, MarketDataListener marketDataListener) {
+        MatchingEngine matchingEngine = MatchingEngineFactory.factorize(MatchingEngineType.FREQUENT_BATCH_AUCTION_ENGINE, OrderLatencyRecorder.NO_OP,
+                                                                        marketDataListener, batchInterval);
+        matchingEngine.initialize(List.of(new TickerRegistrationCommand(TICKER, INITIAL_PRICE)));
+        matchingEngines.add(matchingEngine);
+        return matchingEngine;
+    }
+
+    private RegisterOrderCommand order(OrderDirection orderDirection, double price, long volume) {
+        return new RegisterOrderCommand(UUID.randomUUID(), orderDirection, OrderType.LIMIT, TICKER, BigDecimal.valueOf(price), volume);
+    }
+}
@@ -0,0 +1,255 @@
+package com.iflash.core.engine;
+
+import com.iflash.commons.Page;
+import com.iflash.commons.Pagination;
+import com.iflash.core.configuration.GlobalSettings;
+import com.iflash.core.marketdata.BookOrder;
+import com.iflash.core.marketdata.BookUpdate;
+import com.iflash.core.marketdata.BookUpdateType;
+import com.iflash.core.marketdata.LastTrade;
+import com.iflash.core.marketdata.MarketDataListener;
+import com.iflash.core.marketdata.MarketDataPublisher;
+import com.iflash.core.marketdata.OrdersSnapshot;
+import com.iflash.core.order.AuctionResult;
+import com.iflash.core.order.OrderBook;
+import com.iflash.core.order.OrderBookException;
+import com.iflash.core.order.OrderBookFactory;
+import com.iflash.core.order.OrderDirection;
+import com.iflash.core.order.OrderInformation;
+import com.iflash.core.order.OrderRegistrationResult;
+import com.iflash.core.order.OrderType;
+import com.iflash.core.order.RegisterOrderCommand;
+import com.iflash.core.order.RestingOrder;
+import com.iflash.core.order.TransactionPhase;
+import com.iflash.core.quotation.QuotationAggregator;
+import com.iflash.core.quotation.QuotationAggregatorFactory;
+import com.iflash.core.quotation.QuotationProvider;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleThreadMatchingEngineTest {
+
+    private static final String TICKER = "NVDA.US";
+    private static final BigDecimal INITIAL_PRICE = BigDecimal.valueOf(10.00);
+
+    @Test
+    @DisplayName("Should restore resting orders of snapshot taken from another engine")
+    void shouldRestoreRestingOrdersOfSnapshot() {
+        MatchingEngine sourceEngine = initializedEngine();
+        sourceEngine.tradingOperations().registerOrder(order(OrderDirection.BID, 7L));
+        sourceEngine.tradingOperations().registerOrder(order(OrderDirection.BID, 3L));
+        OrdersSnapshot sourceSnapshot = sourceEngine.orderBookOperations().getOrdersSnapshot(TICKER);
+        MatchingEngine targetEngine = initializedEngine();
+
+        targetEngine.recoveryOperations().restoreOrders(sourceSnapshot);
+        OrdersSnapshot restoredSnapshot = targetEngine.orderBookOperations().getOrdersSnapshot(TICKER);
+
+        assertAll(() -> assertEquals(List.of(7L, 3L), restoredSnapshot.bids().stream().map(BookOrder::volume).toList()),
+                  () -> assertEquals(sourceSnapshot.bids().stream().map(BookOrder::price).toList(), restoredSnapshot.bids().stream().map(BookOrder::price).toList()),
+                  () -> assertTrue(restoredSnapshot.asks().isEmpty()),
+                  () -> assertEquals(10L, targetEngine.orderBookOperations().getMarketSnapshot(TICKER).bestBidVolume()));
+    }
+
+    @Test
+    @DisplayName("Should record fills and book depth touched by the order in the registration event")
+    void shouldRecordBookDepthTouchedInRegistrationEvent() throws IOException {
+        MatchingEngine matchingEngine = initializedEngine();
+        matchingEngine.recoveryOperations().restoreOrders(new OrdersSnapshot(TICKER, 0L, List.of(),
+                                                                             List.of(new BookOrder(UUID.randomUUID(), BigDecimal.valueOf(9.90), 2L),
+                                                                                     new BookOrder(UUID.randomUUID(), BigDecimal.valueOf(9.90), 3L),
+                                                                                     new BookOrder(UUID.randomUUID(), BigDecimal.valueOf(9.95), 4L))));
+        Path recordingFile = Files.createTempFile("order-registration", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("com.iflash.OrderRegistration");
+            recording.start();
+            matchingEngine.tradingOperations().registerOrder(order(OrderDirection.BID, 9L));
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+        List<RecordedEvent> recordedEvents = RecordingFile.readAllEvents(recordingFile);
+        Files.delete(recordingFile);
+
+        assertEquals(1, recordedEvents.size());
+        RecordedEvent recordedEvent = recordedEvents.getFirst();
+        assertAll(() -> assertEquals(TICKER, recordedEvent.getString("ticker")),
+                  () -> assertEquals(9L, recordedEvent.getLong("volumeFilled")),
+                  () -> assertEquals(3, recordedEvent.getInt("fills")),
+                  () -> assertEquals(2, recordedEvent.getInt("bookDepth")));
+    }
+
+    @Test
+    @DisplayName("Should trigger stop limit order at its limit price before the order that traded through the trigger returns")
+    void shouldTriggerStopLimitOrderSynchronouslyAtItsLimitPrice() {
+        MatchingEngine matchingEngine = initializedEngine();
+        matchingEngine.recoveryOperations().restoreOrders(new OrdersSnapshot(TICKER, 0L, List.of(new BookOrder(UUID.randomUUID(), BigDecimal.valueOf(9.90), 5L)),
+                                                                             List.of(new BookOrder(UUID.randomUUID(), BigDecimal.valueOf(9.95), 3L))));
+        matchingEngine.tradingOperations().registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.ASK, OrderType.STOP_LIMIT, TICKER,
+                                                                                  BigDecimal.valueOf(9.95), 2L, null, null, null, BigDecimal.valueOf(9.85)));
+
+        matchingEngine.tradingOperations().registerOrder(order(OrderDirection.BID, 3L));
+        OrdersSnapshot ordersSnapshot = matchingEngine.orderBookOperations().getOrdersSnapshot(TICKER);
+
+        assertAll(() -> assertEquals(List.of(3L), ordersSnapshot.bids().stream().map(BookOrder::volume).toList()),
+                  () -> assertEquals(0, BigDecimal.valueOf(9.90).compareTo(ordersSnapshot.bids().getFirst().price())),
+                  () -> assertTrue(ordersSnapshot.asks().isEmpty()));
+    }
+
+    @Test
+    @DisplayName("Should execute immediate or cancel order up to its own limit price rather than the market price plus spread")
+    void shouldExecuteImmediateOrCancelOrderUpToItsOwnLimitPrice() {
+        MatchingEngine matchingEngine = initializedEngine();
+        matchingEngine.recoveryOperations().restoreOrders(new OrdersSnapshot(TICKER, 0L, List.of(),
+                                                                             List.of(new BookOrder(UUID.randomUUID(), BigDecimal.valueOf(9.95), 3L),
+                                                                                     new BookOrder(UUID.randomUUID(), BigDecimal.valueOf(10.05), 4L),
+                                                                                     new BookOrder(UUID.randomUUID(), BigDecimal.valueOf(10.10), 2L))));
+
+        OrderRegistrationResult orderRegistrationResult = matchingEngine.tradingOperations()
+                                                                        .registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.BID, OrderType.IOC, TICKER,
+                                                                                                                BigDecimal.valueOf(10.08), 9L));
+        OrdersSnapshot ordersSnapshot = matchingEngine.orderBookOperations().getOrdersSnapshot(TICKER);
+
+        assertAll(() -> assertEquals(7L, orderRegistrationResult.orderFillDetails().volumeFilled()),
+                  () -> assertEquals(2L, orderRegistrationResult.orderFillDetails().volumePending()),
+                  () -> assertEquals(List.of(2L), ordersSnapshot.asks().stream().map(BookOrder::volume).toList()),
+                  () -> assertTrue(ordersSnapshot.bids().isEmpty()));
+    }
+
+    @Test
+    @DisplayName("Should reject residual order refused by the book alone and still register the other residual orders")
+    void shouldRejectRefusedResidualOrderAlone() {
+        QuotationAggregator quotationAggregator = QuotationAggregatorFactory.factorizeQuotationAggregator(GlobalSettings.QUOTATION_CALCULABLE);
+        MarketDataPublisher marketDataPublisher = MarketDataPublisher.create(MarketDataListener.NO_OP);
+        OrderBook orderBook = OrderBookFactory.factorizeOrderBook((QuotationProvider) quotationAggregator, marketDataPublisher);
+        RegisterOrderCommand refusedBid = order(OrderDirection.BID, 4L);
+        SingleThreadMatchingEngine matchingEngine = SingleThreadMatchingEngine.create(refusing(orderBook, refusedBid), quotationAggregator, OrderLatencyRecorder.NO_OP,
+                                                                                      marketDataPublisher);
+        matchingEngine.initialize(List.of(new TickerRegistrationCommand(TICKER, INITIAL_PRICE)));
+        matchingEngine.startAuction(TICKER);
+        matchingEngine.registerOrder(refusedBid);
+        matchingEngine.registerOrder(order(OrderDirection.BID, 6L));
+
+        AuctionResult auctionResult = matchingEngine.uncross(TICKER);
+
+        assertAll(() -> assertEquals(2, auctionResult.residualOrders().size()),
+                  () -> assertEquals(6L, matchingEngine.getMarketSnapshot(TICKER).bestBidVolume()));
+    }
+
+    @Test
+    @DisplayName("Should publish uncrossing trade and residual fills and report every auction order")
+    void shouldPublishUncrossingAndReportAuctionOrders() {
+        List<LastTrade> lastTrades = new ArrayList<>();
+        List<BookUpdate> bookUpdates = new ArrayList<>();
+        MarketDataListener recordingListener = new MarketDataListener() {
+            @Override
+            public void onLastTrade(LastTrade lastTrade) {
+                lastTrades.add(lastTrade);
+            }
+
+            @Override
+            public void onBookUpdate(BookUpdate bookUpdate) {
+                bookUpdates.add(bookUpdate);
+            }
+        };
+        MatchingEngine matchingEngine = MatchingEngineFactory.factorize(MatchingEngineType.SINGLE_THREAD_ENGINE, OrderLatencyRecorder.NO_OP, recordingListener);
+        matchingEngine.initialize(List.of(new TickerRegistrationCommand(TICKER, INITIAL_PRICE)));
+        matchingEngine.recoveryOperations().restoreOrders(new OrdersSnapshot(TICKER, 0L, List.of(),
+                                                                             List.of(new BookOrder(UUID.randomUUID(), BigDecimal.valueOf(10.05), 3L))));
+        RegisterOrderCommand auctionBid = new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.BID, OrderType.LIMIT, TICKER, BigDecimal.valueOf(10.10), 10L);
+        RegisterOrderCommand auctionAsk = new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.ASK, OrderType.LIMIT, TICKER, BigDecimal.valueOf(10.00), 6L);
+        matchingEngine.auctionOperations().startAuction(TICKER);
+        matchingEngine.tradingOperations().registerOrder(auctionBid);
+        matchingEngine.tradingOperations().registerOrder(auctionAsk);
+        bookUpdates.clear();
+
+        AuctionResult auctionResult = matchingEngine.auctionOperations().uncross(TICKER);
+        OrderRegistrationResult bidReport = auctionResult.executionReports().get(auctionBid.orderId());
+        OrderRegistrationResult askReport = auctionResult.executionReports().get(auctionAsk.orderId());
+
+        assertAll(() -> assertEquals(List.of(6L, 3L), lastTrades.stream().map(LastTrade::volume).toList()),
+                  () -> assertEquals(0, BigDecimal.valueOf(10.00).compareTo(lastTrades.getFirst().price())),
+                  () -> assertEquals(0, BigDecimal.valueOf(10.05).compareTo(lastTrades.getLast().price())),
+                  () -> assertEquals(List.of(BookUpdateType.FILL, BookUpdateType.REMOVE, BookUpdateType.ADD),
+                                     bookUpdates.stream().map(BookUpdate::type).toList()),
+                  () -> assertEquals(OrderDirection.ASK, bookUpdates.getFirst().side()),
+                  () -> assertEquals(2, auctionResult.executionReports().size()),
+                  () -> assertEquals(TransactionPhase.PARTIALLY_COMPLETED, bidReport.transactionPhase()),
+                  () -> assertEquals(9L, bidReport.orderFillDetails().volumeFilled()),
+                  () -> assertEquals(1L, bidReport.orderFillDetails().volumePending()),
+                  () -> assertEquals(2, bidReport.finishedTransactionInfoList().size()),
+                  () -> assertEquals(TransactionPhase.FULLY_COMPLETED, askReport.transactionPhase()),
+                  () -> assertEquals(6L, askReport.orderFillDetails().volumeFilled()),
+                  () -> assertEquals(lastTrades.getLast(), matchingEngine.orderBookOperations().getMarketSnapshot(TICKER).lastTrade()));
+    }
+
+    private static OrderBook refusing(OrderBook orderBook, RegisterOrderCommand refusedOrder) {
+        return new OrderBook() {
+            @Override
+            public OrderRegistrationResult registerOrder(RegisterOrderCommand registerOrderCommand) {
+                if (refusedOrder.orderId().equals(registerOrderCommand.orderId())) {
+                    throw OrderBookException.orderTypeNotAvailable(registerOrderCommand.orderType());
+                }
+                return orderBook.registerOrder(registerOrderCommand);
+            }
+
+            @Override
+            public void registerTicker(String ticker, Duration defaultTimeToLive) {
+                orderBook.registerTicker(ticker, defaultTimeToLive);
+            }
+
+            @Override
+            public void expireOrders(long timestamp) {
+                orderBook.expireOrders(timestamp);
+            }
+
+            @Override
+            public List<RestingOrder> getRestingOrders(String ticker, OrderDirection orderDirection) {
+                return orderBook.getRestingOrders(ticker, orderDirection);
+            }
+
+            @Override
+            public void restoreOrder(String ticker, OrderDirection orderDirection, RestingOrder restingOrder) {
+                orderBook.restoreOrder(ticker, orderDirection, restingOrder);
+            }
+
+            @Override
+            public List<String> getAllTickers() {
+                return orderBook.getAllTickers();
+            }
+
+            @Override
+            public Page<OrderInformation> getOrderBookSnapshot(String ticker, OrderDirection orderDirection, Pagination pagination) {
+                return orderBook.getOrderBookSnapshot(ticker, orderDirection, pagination);
+            }
+
+            @Override
+            public List<OrderInformation> getTopOrders(String ticker, OrderDirection orderDirection, Integer depth) {
+                return orderBook.getTopOrders(ticker, orderDirection, depth);
+            }
+        };
+    }
+
+    private MatchingEngine initializedEngine() {
+        MatchingEngine matchingEngine = MatchingEngineFactory.factorize(MatchingEngineType.SINGLE_THREAD_ENGINE);
+        matchingEngine.initialize(List.of(new TickerRegistrationCommand(TICKER, INITIAL_PRICE)));
+        return matchingEngine;
+    }
+
+    private RegisterOrderCommand order(OrderDirection orderDirection, long volume) {
+        return new RegisterOrderCommand(UUID.randomUUID(), orderDirection, OrderType.LIMIT, TICKER, INITIAL_PRICE, volume);
+    }
+}
@@ -0,0 +1,176 @@
+package com.iflash.core.marketdata;
+
+import com.iflash.core.order.OrderBookException;
+import com.iflash.core.order.OrderDirection;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MarketDataPublisherTest {
+
+    private static final String TICKER = "NVDA.US";
+
+    private final List<DepthUpdate> depthUpdates = new ArrayList<>();
+    private final List<TopOfBook> topOfBooks = new ArrayList<>();
+    private final List<LastTrade> lastTrades = new ArrayList<>();
+    private final List<BookUpdate> bookUpdates = new ArrayList<>();
+
+    private final MarketDataPublisher marketDataPublisher = MarketDataPublisher.create(new MarketDataListener() {
+        @Override
+        public void onLastTrade(LastTrade lastTrade) {
+            lastTrades.add(lastTrade);
+        }
+
+        @Override
+        public void onTopOfBook(TopOfBook topOfBook) {
+            topOfBooks.add(topOfBook);
+        }
+
+        @Override
+        public void onDepthUpdate(DepthUpdate depthUpdate) {
+            depthUpdates.add(depthUpdate);
+        }
+
+        @Override
+        public void onBookUpdate(BookUpdate bookUpdate) {
+            bookUpdates.add(bookUpdate);
+        }
+    });
+
+    @Test
+    @DisplayName("Should aggregate resting orders of the same price into one level with absolute volume")
+    void shouldAggregateRestingOrdersIntoPriceLevels() {
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.BID, UUID.randomUUID(), BigDecimal.valueOf(170.10), 10L);
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.BID, UUID.randomUUID(), new BigDecimal("170.100"), 5L);
+
+        assertAll(() -> assertEquals(2, depthUpdates.size()),
+                  () -> assertEquals(15L, depthUpdates.get(1).volume()),
+                  () -> assertEquals(1L, depthUpdates.get(0).sequence()),
+                  () -> assertEquals(2L, depthUpdates.get(1).sequence()),
+                  () -> assertEquals(15L, topOfBooks.getLast().bidVolume()),
+                  () -> assertNull(topOfBooks.getLast().askPrice()));
+    }
+
+    @Test
+    @DisplayName("Should keep the highest bid and the lowest ask on top of book")
+    void shouldPublishBestPricesOnTopOfBook() {
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.BID, UUID.randomUUID(), BigDecimal.valueOf(170.10), 10L);
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.BID, UUID.randomUUID(), BigDecimal.valueOf(170.50), 3L);
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.ASK, UUID.randomUUID(), BigDecimal.valueOf(171.20), 7L);
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.ASK, UUID.randomUUID(), BigDecimal.valueOf(171.00), 2L);
+        int topOfBookChanges = topOfBooks.size();
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.ASK, UUID.randomUUID(), BigDecimal.valueOf(175.00), 2L);
+
+        TopOfBook topOfBook = topOfBooks.getLast();
+        assertAll(() -> assertEquals(0, BigDecimal.valueOf(170.50).compareTo(topOfBook.bidPrice())),
+                  () -> assertEquals(3L, topOfBook.bidVolume()),
+                  () -> assertEquals(0, BigDecimal.valueOf(171.00).compareTo(topOfBook.askPrice())),
+                  () -> assertEquals(2L, topOfBook.askVolume()),
+                  () -> assertEquals(topOfBookChanges, topOfBooks.size(), "A level away from the top must not publish top of book"));
+    }
+
+    @Test
+    @DisplayName("Should remove a fully filled level and publish the trade with the same sequence")
+    void shouldRemoveFilledLevelAndPublishTrade() {
+        UUID restingOrder = UUID.randomUUID();
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.ASK, restingOrder, BigDecimal.valueOf(171.00), 4L);
+        marketDataPublisher.onOrderFilled(TICKER, OrderDirection.ASK, restingOrder, BigDecimal.valueOf(171.00), 4L, 0L);
+
+        DepthUpdate levelRemoved = depthUpdates.getLast();
+        assertAll(() -> assertEquals(0L, levelRemoved.volume()),
+                  () -> assertEquals(1, lastTrades.size()),
+                  () -> assertEquals(4L, lastTrades.getFirst().volume()),
+                  () -> assertEquals(levelRemoved.sequence(), lastTrades.getFirst().sequence()),
+                  () -> assertNull(topOfBooks.getLast().askPrice()),
+                  () -> assertEquals(0L, topOfBooks.getLast().askVolume()));
+    }
+
+    @Test
+    @DisplayName("Should publish add, fill and remove book updates with consecutive sequences")
+    void shouldPublishSequencedBookUpdates() {
+        UUID restingOrder = UUID.randomUUID();
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.ASK, restingOrder, BigDecimal.valueOf(171.00), 4L);
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.ASK, UUID.randomUUID(), BigDecimal.valueOf(171.00), 6L);
+        marketDataPublisher.onOrderFilled(TICKER, OrderDirection.ASK, restingOrder, BigDecimal.valueOf(171.00), 4L, 0L);
+
+        assertAll(() -> assertEquals(List.of(BookUpdateType.ADD, BookUpdateType.ADD, BookUpdateType.FILL, BookUpdateType.REMOVE),
+                                     bookUpdates.stream().map(BookUpdate::type).toList()),
+                  () -> assertEquals(List.of(1L, 2L, 3L, 4L), bookUpdates.stream().map(BookUpdate::sequence).toList()),
+                  () -> assertEquals(6L, bookUpdates.get(2).levelVolume()),
+                  () -> assertEquals(restingOrder, bookUpdates.get(3).orderUuid()),
+                  () -> assertEquals(0L, bookUpdates.get(3).volume()),
+                  () -> assertEquals(3, depthUpdates.size(), "Removing a filled order does not change its level"));
+    }
+
+    @Test
+    @DisplayName("Should take the snapshot at the sequence of the last book update")
+    void shouldSnapshotAtLastSequence() {
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.BID, UUID.randomUUID(), BigDecimal.valueOf(170.10), 10L);
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.BID, UUID.randomUUID(), BigDecimal.valueOf(170.50), 3L);
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.ASK, UUID.randomUUID(), BigDecimal.valueOf(171.00), 2L);
+
+        BookSnapshot bookSnapshot = marketDataPublisher.snapshot(TICKER);
+
+        assertAll(() -> assertEquals(bookUpdates.getLast().sequence(), bookSnapshot.sequence()),
+                  () -> assertEquals(List.of(new PriceLevel(BigDecimal.valueOf(170.50), 3L), new PriceLevel(BigDecimal.valueOf(170.10), 10L)), bookSnapshot.bids()),
+                  () -> assertEquals(List.of(new PriceLevel(BigDecimal.valueOf(171.00), 2L)), bookSnapshot.asks()));
+    }
+
+    @Test
+    @DisplayName("Should publish market snapshot limited to the configured depth with the last trade")
+    void shouldPublishMarketSnapshot() {
+        for (int level = 0; level < 12; level++) {
+            marketDataPublisher.onOrderRested(TICKER, OrderDirection.ASK, UUID.randomUUID(), BigDecimal.valueOf(171.00 + level), 1L);
+        }
+        MarketSnapshot beforeDeepLevel = marketDataPublisher.marketSnapshot(TICKER);
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.ASK, UUID.randomUUID(), BigDecimal.valueOf(190.00), 1L);
+        MarketSnapshot afterDeepLevel = marketDataPublisher.marketSnapshot(TICKER);
+        UUID bestAsk = UUID.randomUUID();
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.ASK, bestAsk, BigDecimal.valueOf(170.50), 3L);
+        marketDataPublisher.onOrderFilled(TICKER, OrderDirection.ASK, bestAsk, BigDecimal.valueOf(170.50), 3L, 0L);
+
+        MarketSnapshot marketSnapshot = marketDataPublisher.marketSnapshot(TICKER);
+        assertAll(() -> assertEquals(10, marketSnapshot.asks().size()),
+                  () -> assertSame(beforeDeepLevel.asks(), afterDeepLevel.asks(), "A level below the published depth must not rebuild it"),
+                  () -> assertEquals(0, BigDecimal.valueOf(171.00).compareTo(marketSnapshot.bestAskPrice())),
+                  () -> assertEquals(0, BigDecimal.valueOf(171.00).compareTo(marketSnapshot.asks().getFirst().price())),
+                  () -> assertNull(marketSnapshot.bestBidPrice()),
+                  () -> assertEquals(3L, marketSnapshot.lastTrade().volume()),
+                  () -> assertEquals(bookUpdates.getLast().sequence(), marketSnapshot.sequence()));
+    }
+
+    @Test
+    @DisplayName("Should reject snapshots of a ticker never seen by the publisher")
+    void shouldRejectSnapshotOfUnknownTicker() {
+        marketDataPublisher.registerTicker(TICKER);
+
+        assertAll(() -> assertEquals(0L, marketDataPublisher.marketSnapshot(TICKER).sequence()),
+                  () -> assertThrows(OrderBookException.class, () -> marketDataPublisher.marketSnapshot("UNKNOWN")));
+    }
+
+    @Test
+    @DisplayName("Should keep resting orders of a level in time priority in the orders snapshot")
+    void shouldKeepOrdersInTimePriority() {
+        UUID firstOrder = UUID.randomUUID();
+        UUID secondOrder = UUID.randomUUID();
+        UUID cancelledOrder = UUID.randomUUID();
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.ASK, firstOrder, BigDecimal.valueOf(171.00), 10L);
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.ASK, secondOrder, BigDecimal.valueOf(171.00), 5L);
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.ASK, cancelledOrder, BigDecimal.valueOf(170.50), 3L);
+        marketDataPublisher.onOrderFilled(TICKER, OrderDirection.ASK, firstOrder, BigDecimal.valueOf(171.00), 4L, 6L);
+        marketDataPublisher.onOrderReduced(TICKER, OrderDirection.ASK, cancelledOrder, BigDecimal.valueOf(170.50), 3L, 0L);
+
+        OrdersSnapshot ordersSnapshot = marketDataPublisher.ordersSnapshot(TICKER);
+
+        assertAll(() -> assertEquals(5L, ordersSnapshot.sequence()),
+                  () -> assertEquals(List.of(), ordersSnapshot.bids()),
+                  () -> assertEquals(List.of(new BookOrder(firstOrder, BigDecimal.valueOf(171.00), 6L),
+                                             new BookOrder(secondOrder, BigDecimal.valueOf(171.00), 5L)), ordersSnapshot.asks()));
+    }
+}
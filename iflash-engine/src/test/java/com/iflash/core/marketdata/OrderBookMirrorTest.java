@@ -0,0 +1,59 @@
+package com.iflash.core.marketdata;
+
+import com.iflash.core.order.OrderDirection;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderBookMirrorTest {
+
+    private static final String TICKER = "NVDA.US";
+
+    private final List<BookUpdate> bookUpdates = new ArrayList<>();
+    private final MarketDataPublisher marketDataPublisher = MarketDataPublisher.create(new MarketDataListener() {
+        @Override
+        public void onBookUpdate(BookUpdate bookUpdate) {
+            bookUpdates.add(bookUpdate);
+        }
+    });
+    private final OrderBookMirror orderBookMirror = OrderBookMirror.create(TICKER, marketDataPublisher::snapshot);
+
+    @Test
+    @DisplayName("Should skip updates already contained in the initial snapshot")
+    void shouldSkipUpdatesContainedInSnapshot() {
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.BID, UUID.randomUUID(), BigDecimal.valueOf(170.10), 10L);
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.BID, UUID.randomUUID(), BigDecimal.valueOf(170.10), 5L);
+
+        bookUpdates.forEach(orderBookMirror::apply);
+
+        assertAll(() -> assertEquals(2L, orderBookMirror.sequence()),
+                  () -> assertEquals(1L, orderBookMirror.snapshotsLoaded()),
+                  () -> assertEquals(List.of(new PriceLevel(BigDecimal.valueOf(170.10), 15L)), orderBookMirror.bids()));
+    }
+
+    @Test
+    @DisplayName("Should apply consecutive updates and reload the snapshot after a gap")
+    void shouldReloadSnapshotAfterGap() {
+        UUID restingOrder = UUID.randomUUID();
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.ASK, restingOrder, BigDecimal.valueOf(171.00), 4L);
+        orderBookMirror.apply(bookUpdates.getFirst());
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.ASK, UUID.randomUUID(), BigDecimal.valueOf(171.50), 2L);
+        orderBookMirror.apply(bookUpdates.getLast());
+        long snapshotsBeforeGap = orderBookMirror.snapshotsLoaded();
+
+        marketDataPublisher.onOrderFilled(TICKER, OrderDirection.ASK, restingOrder, BigDecimal.valueOf(171.00), 4L, 0L);
+        orderBookMirror.apply(bookUpdates.getLast());
+
+        assertAll(() -> assertEquals(1L, snapshotsBeforeGap),
+                  () -> assertEquals(2L, orderBookMirror.snapshotsLoaded()),
+                  () -> assertEquals(4L, orderBookMirror.sequence()),
+                  () -> assertEquals(List.of(new PriceLevel(BigDecimal.valueOf(171.50), 2L)), orderBookMirror.asks()),
+                  () -> assertEquals(marketDataPublisher.snapshot(TICKER).asks(), orderBookMirror.asks()));
+    }
+}
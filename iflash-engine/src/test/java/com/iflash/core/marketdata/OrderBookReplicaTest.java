@@ -0,0 +1,87 @@
+package com.iflash.core.marketdata;
+
+import com.iflash.core.order.OrderDirection;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderBookReplicaTest {
+
+    private static final String TICKER = "NVDA.US";
+
+    private final List<BookUpdate> bookUpdates = new ArrayList<>();
+    private final MarketDataPublisher marketDataPublisher = MarketDataPublisher.create(new MarketDataListener() {
+        @Override
+        public void onBookUpdate(BookUpdate bookUpdate) {
+            bookUpdates.add(bookUpdate);
+        }
+    });
+    private final OrderBookReplica orderBookReplica = OrderBookReplica.create(TICKER);
+
+    @Test
+    @DisplayName("Should buffer updates until a snapshot is loaded and replay only the newer ones")
+    void shouldReplayBufferedUpdatesNewerThanSnapshot() {
+        marketDataPublisher.registerTicker(TICKER);
+        UUID restingOrder = UUID.randomUUID();
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.BID, restingOrder, BigDecimal.valueOf(170.10), 10L);
+        boolean appliedBeforeSnapshot = orderBookReplica.apply(bookUpdates.getLast());
+        OrdersSnapshot ordersSnapshot = marketDataPublisher.ordersSnapshot(TICKER);
+        marketDataPublisher.onOrderFilled(TICKER, OrderDirection.BID, restingOrder, BigDecimal.valueOf(170.10), 4L, 6L);
+        orderBookReplica.apply(bookUpdates.getLast());
+
+        boolean loaded = orderBookReplica.load(ordersSnapshot);
+
+        assertAll(() -> assertFalse(appliedBeforeSnapshot),
+                  () -> assertTrue(loaded),
+                  () -> assertTrue(orderBookReplica.synced()),
+                  () -> assertEquals(2L, orderBookReplica.sequence()),
+                  () -> assertEquals(marketDataPublisher.ordersSnapshot(TICKER), orderBookReplica.ordersSnapshot()),
+                  () -> assertEquals(marketDataPublisher.snapshot(TICKER), orderBookReplica.bookSnapshot()));
+    }
+
+    @Test
+    @DisplayName("Should fall out of sync on a sequence gap and recover from a newer snapshot")
+    void shouldRecoverFromGap() {
+        marketDataPublisher.registerTicker(TICKER);
+        orderBookReplica.load(marketDataPublisher.ordersSnapshot(TICKER));
+        UUID restingOrder = UUID.randomUUID();
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.ASK, restingOrder, BigDecimal.valueOf(171.00), 4L);
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.ASK, UUID.randomUUID(), BigDecimal.valueOf(171.50), 2L);
+        marketDataPublisher.onOrderFilled(TICKER, OrderDirection.ASK, restingOrder, BigDecimal.valueOf(171.00), 4L, 0L);
+
+        boolean appliedAfterGap = orderBookReplica.apply(bookUpdates.getLast());
+        boolean loaded = orderBookReplica.load(marketDataPublisher.ordersSnapshot(TICKER));
+
+        assertAll(() -> assertFalse(appliedAfterGap),
+                  () -> assertTrue(loaded),
+                  () -> assertEquals(4L, orderBookReplica.sequence()),
+                  () -> assertEquals(List.of(new PriceLevel(BigDecimal.valueOf(171.50), 2L)), orderBookReplica.bookSnapshot().asks()));
+    }
+
+    @Test
+    @DisplayName("Should page resting orders of one side in priority order")
+    void shouldPageOrdersInPriorityOrder() {
+        marketDataPublisher.registerTicker(TICKER);
+        List<UUID> orderUuids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.BID, orderUuids.get(2), BigDecimal.valueOf(169.90), 1L);
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.BID, orderUuids.get(0), BigDecimal.valueOf(170.00), 1L);
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.BID, orderUuids.get(1), BigDecimal.valueOf(170.00), 1L);
+        marketDataPublisher.onOrderRested(TICKER, OrderDirection.BID, orderUuids.get(3), BigDecimal.valueOf(169.80), 1L);
+        orderBookReplica.load(marketDataPublisher.ordersSnapshot(TICKER));
+
+        List<UUID> secondPage = orderBookReplica.bookOrders(OrderDirection.BID, 1, 2)
+                                                .stream()
+                                                .map(BookOrder::orderUuid)
+                                                .toList();
+
+        assertAll(() -> assertEquals(orderUuids.subList(1, 3), secondPage),
+                  () -> assertEquals(1, orderBookReplica.bookSnapshot(1).bids().size()),
+                  () -> assertEquals(List.of(), orderBookReplica.bookOrders(OrderDirection.ASK, 0, 2)));
+    }
+}
@@ -0,0 +1,110 @@
+package com.iflash.core.order;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CallAuctionTest {
+
+    private static final String TICKER = "NVDA.US";
+
+    @Test
+    @DisplayName("Should uncross at price maximizing executed volume and return unexecuted volume as residual orders")
+    void shouldUncrossAtPriceMaximizingExecutedVolume() {
+        CallAuction callAuction = new CallAuction(TICKER);
+        RegisterOrderCommand marketBid = order(OrderDirection.BID, OrderType.MARKET, null, 30L);
+        RegisterOrderCommand bidAt10_2 = order(OrderDirection.BID, OrderType.LIMIT, 10.20, 50L);
+        RegisterOrderCommand bidAt10 = order(OrderDirection.BID, OrderType.LIMIT, 10.00, 40L);
+        RegisterOrderCommand askAt9_9 = order(OrderDirection.ASK, OrderType.LIMIT, 9.90, 30L);
+        RegisterOrderCommand askAt10 = order(OrderDirection.ASK, OrderType.GTC, 10.00, 50L);
+        RegisterOrderCommand askAt10_3 = order(OrderDirection.ASK, OrderType.LIMIT, 10.30, 20L);
+        List.of(marketBid, bidAt10_2, bidAt10, askAt9_9, askAt10, askAt10_3)
+            .forEach(callAuction::collect);
+
+        AuctionResult auctionResult = callAuction.uncross(BigDecimal.valueOf(10.00));
+
+        assertAll(() -> assertPriceEquals(BigDecimal.valueOf(10.20), auctionResult.uncrossingPrice()),
+                  () -> assertEquals(80L, auctionResult.executedVolume()),
+                  () -> assertEquals(List.of(marketBid.orderId(), bidAt10_2.orderId(), askAt9_9.orderId(), askAt10.orderId()),
+                                     auctionResult.fills().stream().map(FinishedTransactionInfo::orderUuid).toList()),
+                  () -> assertEquals(List.of(30L, 50L, 30L, 50L), auctionResult.fills().stream().map(FinishedTransactionInfo::volume).toList()),
+                  () -> assertTrue(auctionResult.fills().stream().allMatch(fill -> fill.price().compareTo(BigDecimal.valueOf(10.20)) == 0)),
+                  () -> assertEquals(List.of(bidAt10, askAt10_3), auctionResult.residualOrders()),
+                  () -> assertEquals(80L, auctionResult.uncrossingTrade().volume()),
+                  () -> assertEquals(0, callAuction.size()));
+    }
+
+    @Test
+    @DisplayName("Should break ties by imbalance and then by distance to reference price and split partially executed order")
+    void shouldBreakTiesByDistanceToReferencePrice() {
+        CallAuction nearHigherPrice = auctionOf(order(OrderDirection.BID, OrderType.LIMIT, 10.20, 10L), order(OrderDirection.ASK, OrderType.LIMIT, 10.00, 10L));
+        CallAuction nearLowerPrice = auctionOf(order(OrderDirection.BID, OrderType.LIMIT, 10.20, 10L), order(OrderDirection.ASK, OrderType.LIMIT, 10.00, 10L));
+        RegisterOrderCommand largeBid = order(OrderDirection.BID, OrderType.LIMIT, 10.20, 25L);
+        CallAuction partialExecution = auctionOf(largeBid, order(OrderDirection.ASK, OrderType.LIMIT, 10.00, 10L));
+
+        AuctionResult higherPriceResult = nearHigherPrice.uncross(BigDecimal.valueOf(10.15));
+        AuctionResult lowerPriceResult = nearLowerPrice.uncross(BigDecimal.valueOf(10.05));
+        AuctionResult partialExecutionResult = partialExecution.uncross(BigDecimal.valueOf(10.00));
+
+        assertAll(() -> assertPriceEquals(BigDecimal.valueOf(10.20), higherPriceResult.uncrossingPrice()),
+                  () -> assertPriceEquals(BigDecimal.valueOf(10.00), lowerPriceResult.uncrossingPrice()),
+                  () -> assertPriceEquals(BigDecimal.valueOf(10.00), partialExecutionResult.uncrossingPrice()),
+                  () -> assertEquals(10L, partialExecutionResult.executedVolume()),
+                  () -> assertEquals(List.of(largeBid.withVolume(15L)), partialExecutionResult.residualOrders()));
+    }
+
+    @Test
+    @DisplayName("Should return all orders as residuals when not crossed and stop collecting after uncrossing")
+    void shouldReturnAllOrdersAsResidualsWhenNotCrossed() {
+        RegisterOrderCommand bidAt9 = order(OrderDirection.BID, OrderType.LIMIT, 9.00, 10L);
+        RegisterOrderCommand askAt10 = order(OrderDirection.ASK, OrderType.LIMIT, 10.00, 10L);
+        CallAuction callAuction = auctionOf(bidAt9, askAt10);
+        CallAuction marketOrdersOnly = auctionOf(order(OrderDirection.BID, OrderType.MARKET, null, 5L));
+
+        assertThrows(OrderBookException.class, () -> callAuction.collect(order(OrderDirection.BID, OrderType.IOC, 10.00, 10L)));
+        AuctionResult auctionResult = callAuction.uncross(BigDecimal.valueOf(9.50));
+        AuctionResult marketOrdersOnlyResult = marketOrdersOnly.uncross(BigDecimal.valueOf(9.50));
+
+        assertAll(() -> assertNull(auctionResult.uncrossingPrice()),
+                  () -> assertEquals(0L, auctionResult.executedVolume()),
+                  () -> assertNull(auctionResult.uncrossingTrade()),
+                  () -> assertEquals(List.of(bidAt9, askAt10), auctionResult.residualOrders()),
+                  () -> assertEquals(OrderType.MARKET, marketOrdersOnlyResult.residualOrders().getFirst().orderType()),
+                  () -> assertPriceEquals(BigDecimal.valueOf(9.50), marketOrdersOnlyResult.residualOrders().getFirst().price()),
+                  () -> assertNull(callAuction.collect(order(OrderDirection.BID, OrderType.LIMIT, 10.00, 10L))));
+    }
+
+    private void assertPriceEquals(BigDecimal expected, BigDecimal actual) {
+        assertEquals(0, expected.compareTo(actual), () -> "expected " + expected + " but was " + actual);
+    }
+
+    private CallAuction auctionOf(RegisterOrderCommand... registerOrderCommands) {
+        CallAuction callAuction = new CallAuction(TICKER);
+        for (RegisterOrderCommand registerOrderCommand : registerOrderCommands) {
+            assertEquals(TransactionPhase.IDLING_ON_QUEUE, callAuction.collect(registerOrderCommand).transactionPhase());
+        }
+        return callAuction;
+    }
+
+    @Test
+    @DisplayName("Should reject iceberg order without display volume and GTD order without expiry as continuous trading does")
+    void shouldRejectOrdersMissingFieldsOfTheirType() {
+        CallAuction callAuction = new CallAuction(TICKER);
+
+        assertAll(() -> assertThrows(OrderBookException.class, () -> callAuction.collect(order(OrderDirection.BID, OrderType.ICEBERG, 10.00, 10L))),
+                  () -> assertThrows(OrderBookException.class,
+                                     () -> callAuction.collect(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.BID, OrderType.ICEBERG, TICKER,
+                                                                                        BigDecimal.valueOf(10.00), 10L, ExecutionReportMode.PER_ORDER, -1L))),
+                  () -> assertThrows(OrderBookException.class, () -> callAuction.collect(order(OrderDirection.ASK, OrderType.GTD, 10.00, 10L))),
+                  () -> assertEquals(0, callAuction.size()));
+    }
+
+    private RegisterOrderCommand order(OrderDirection orderDirection, OrderType orderType, Double price, long volume) {
+        return new RegisterOrderCommand(UUID.randomUUID(), orderDirection, orderType, TICKER, price == null ? null : BigDecimal.valueOf(price), volume);
+    }
+}
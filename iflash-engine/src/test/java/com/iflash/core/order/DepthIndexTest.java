@@ -0,0 +1,43 @@
+package com.iflash.core.order;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DepthIndexTest {
+
+    @Test
+    @DisplayName("Should sum volume below and above price same as summing all levels")
+    void shouldSumVolumeBelowAndAbovePriceSameAsSummingAllLevels() {
+        Random random = new Random(7L);
+        DepthIndex depthIndex = new DepthIndex();
+        TreeMap<BigDecimal, Long> levels = new TreeMap<>();
+
+        for (int change = 0; change < 5_000; change++) {
+            BigDecimal price = BigDecimal.valueOf(10_000 + random.nextInt(200), 2);
+            long levelVolume = levels.getOrDefault(price, 0L);
+            long volumeDelta = levelVolume > 0 && random.nextBoolean() ? -(1 + random.nextInt((int) Math.min(levelVolume, 50))) : 1 + random.nextInt(50);
+            depthIndex.change(price, volumeDelta);
+            levels.merge(price, volumeDelta, Long::sum);
+            levels.remove(price, 0L);
+
+            BigDecimal probe = BigDecimal.valueOf(10_000 + random.nextInt(200), 2);
+            assertEquals(sum(levels.headMap(probe, false)), depthIndex.volumeBelow(probe));
+            assertEquals(sum(levels.tailMap(probe, false)), depthIndex.volumeAbove(probe));
+        }
+        assertEquals(sum(levels), depthIndex.totalVolume());
+    }
+
+    private long sum(Map<BigDecimal, Long> levels) {
+        return levels.values()
+                     .stream()
+                     .mapToLong(Long::longValue)
+                     .sum();
+    }
+}
@@ -15,6 +15,8 @@ import org.junit.jupiter.params.provider.ArgumentsSource;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -49,6 +51,26 @@ class OrderRegistrationValidatorTest {
         assertAll(() -> assertEquals(validationResult, isProposedPriceValid));
     }
 
+    @Test
+    @DisplayName("Should reuse reference price until quotation changes")
+    void shouldReuseReferencePriceUntilQuotationChanges() {
+        var ticker = "NVDA";
+        AtomicReference<CurrentQuotation> currentQuotation = new AtomicReference<>(new CurrentQuotation(0L, CURRENT_QUOTE));
+        OrderRegistrationValidator orderRegistrationValidator = new OrderRegistrationValidator(quotationProvider(currentQuotation::get));
+
+        OrderRegistrationValidator.ReferencePrice first = orderRegistrationValidator.referencePrice(ticker);
+        OrderRegistrationValidator.ReferencePrice unchanged = orderRegistrationValidator.referencePrice(ticker);
+        currentQuotation.set(new CurrentQuotation(1L, BigDecimal.valueOf(200.00)));
+        OrderRegistrationValidator.ReferencePrice changed = orderRegistrationValidator.referencePrice(ticker);
+
+        assertAll(() -> assertSame(first, unchanged),
+                  () -> assertEquals(new BigDecimal("145.0100"), first.marketPricePlusSpread().setScale(4, RoundingMode.HALF_UP)),
+                  () -> assertTrue(first.isMarketPricePlusSpreadValid()),
+                  () -> assertNotSame(first, changed),
+                  () -> assertEquals(BigDecimal.valueOf(170.0000).setScale(4, RoundingMode.HALF_UP), changed.priceCorridor().floorPrice()),
+                  () -> assertFalse(changed.priceCorridor().contains(first.marketPricePlusSpreadUnits())));
+    }
+
     static class ArgsProvider implements ArgumentsProvider {
         @Override
         public Stream<? extends Arguments> provideArguments(org.junit.jupiter.api.extension.ExtensionContext context) {
@@ -63,10 +85,14 @@ class OrderRegistrationValidatorTest {
     }
 
     private QuotationProvider quotationProvider() {
+        return quotationProvider(() -> new CurrentQuotation(0L, CURRENT_QUOTE));
+    }
+
+    private QuotationProvider quotationProvider(Supplier<CurrentQuotation> currentQuotation) {
         return new QuotationProvider() {
             @Override
             public CurrentQuotation getCurrentQuote(String ticker) {
-                return new CurrentQuotation(0L, CURRENT_QUOTE);
+                return currentQuotation.get();
             }
 
             @Override
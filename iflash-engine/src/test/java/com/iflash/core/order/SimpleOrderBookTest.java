@@ -4,6 +4,10 @@ import java.util.UUID;
 import com.iflash.commons.OrderBy;
 import com.iflash.commons.Page;
 import com.iflash.commons.Pagination;
+import com.iflash.core.marketdata.BookSnapshot;
+import com.iflash.core.marketdata.MarketDataListener;
+import com.iflash.core.marketdata.MarketDataPublisher;
+import com.iflash.core.marketdata.PriceLevel;
 import com.iflash.core.quotation.CurrentQuotation;
 import com.iflash.core.quotation.QuotationProvider;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,8 +16,15 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -384,4 +395,298 @@ class SimpleOrderBookTest {
                   () -> assertEquals(BigDecimal.valueOf(171.7202), snapshotWithOffset.getElements().get(0).price()),
                   () -> assertEquals(BigDecimal.valueOf(171.8431), snapshotWithOffset.getElements().get(1).price()));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return best orders in price and time priority for top orders")
+    void shouldReturnBestOrdersInPriceAndTimePriority() {
+        var ticker = "NVDA.US";
+
+        SimpleOrderBook orderBook = (SimpleOrderBook) OrderBookFactory.factorizeOrderBook(quotationProvider);
+        orderBook.registerTicker(ticker);
+        List.of(BigDecimal.valueOf(10.00), BigDecimal.valueOf(12.00), BigDecimal.valueOf(11.00), BigDecimal.valueOf(12.00))
+            .forEach(price -> orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.BID, OrderType.LIMIT, ticker, price, 1L)));
+        List.of(BigDecimal.valueOf(13.00), BigDecimal.valueOf(15.00), BigDecimal.valueOf(14.00))
+            .forEach(price -> orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.ASK, OrderType.LIMIT, ticker, price, 1L)));
+
+        List<OrderInformation> topBids = orderBook.getTopOrders(ticker, OrderDirection.BID, 3);
+        List<OrderInformation> topAsks = orderBook.getTopOrders(ticker, OrderDirection.ASK, 2);
+
+        assertAll(() -> assertEquals(List.of(BigDecimal.valueOf(12.00), BigDecimal.valueOf(12.00), BigDecimal.valueOf(11.00)),
+                                     topBids.stream().map(OrderInformation::price).toList()),
+                  () -> assertFalse(topBids.get(0).orderCreationDate().isAfter(topBids.get(1).orderCreationDate())),
+                  () -> assertEquals(List.of(BigDecimal.valueOf(13.00), BigDecimal.valueOf(14.00)),
+                                     topAsks.stream().map(OrderInformation::price).toList()));
+    }
+
+    @Test
+    @DisplayName("Should aggregate fills per price level when market order sweeps book with PER_LEVEL execution report")
+    void shouldAggregateFillsPerPriceLevelForPerLevelExecutionReport() {
+        var ticker = "NVDA.US";
+
+        SimpleOrderBook orderBook = (SimpleOrderBook) OrderBookFactory.factorizeOrderBook(quotationProvider);
+        orderBook.registerTicker(ticker);
+        List.of(BigDecimal.valueOf(10.00), BigDecimal.valueOf(10.10), BigDecimal.valueOf(10.00), BigDecimal.valueOf(10.10), BigDecimal.valueOf(10.00))
+            .forEach(price -> orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.ASK, OrderType.LIMIT, ticker, price, 10L)));
+        RegisterOrderCommand sweepingBid = new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.BID, OrderType.MARKET, ticker, null, 50L,
+                                                                    ExecutionReportMode.PER_LEVEL);
+
+        List<FinishedTransactionInfo> levelFills = orderBook.registerOrder(sweepingBid)
+                                                            .finishedTransactionInfoList();
+
+        assertAll(() -> assertEquals(2, levelFills.size()),
+                  () -> assertEquals(BigDecimal.valueOf(10.00), levelFills.get(0).price()),
+                  () -> assertEquals(30L, levelFills.get(0).volume()),
+                  () -> assertEquals(3, levelFills.get(0).fillCount()),
+                  () -> assertNull(levelFills.get(0).orderUuid()),
+                  () -> assertEquals(BigDecimal.valueOf(10.10), levelFills.get(1).price()),
+                  () -> assertEquals(20L, levelFills.get(1).volume()),
+                  () -> assertEquals(2, levelFills.get(1).fillCount()));
+    }
+
+    @Test
+    @DisplayName("Should kill FOK order without touching book and cancel unfilled rest of IOC order")
+    void shouldKillFokOrderAndCancelRestOfIocOrder() {
+        var ticker = "NVDA.US";
+
+        SimpleOrderBook orderBook = (SimpleOrderBook) OrderBookFactory.factorizeOrderBook(quotationProvider);
+        orderBook.registerTicker(ticker);
+        List.of(BigDecimal.valueOf(10.00), BigDecimal.valueOf(10.10), BigDecimal.valueOf(10.20))
+            .forEach(price -> orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.ASK, OrderType.LIMIT, ticker, price, 10L)));
+
+        OrderRegistrationResult fok = orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.BID, OrderType.FOK, ticker,
+                                                                                       BigDecimal.valueOf(10.15), 25L));
+        Long volumeAfterFok = orderBook.getAsksVolume(ticker);
+        OrderRegistrationResult ioc = orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.BID, OrderType.IOC, ticker,
+                                                                                       BigDecimal.valueOf(10.15), 25L));
+
+        assertAll(() -> assertEquals(TransactionPhase.CANCELLED, fok.transactionPhase()),
+                  () -> assertTrue(fok.finishedTransactionInfoList().isEmpty()),
+                  () -> assertEquals(30L, volumeAfterFok),
+                  () -> assertEquals(TransactionPhase.PARTIALLY_COMPLETED, ioc.transactionPhase()),
+                  () -> assertEquals(20L, ioc.orderFillDetails().volumeFilled()),
+                  () -> assertEquals(5L, ioc.orderFillDetails().volumePending()),
+                  () -> assertEquals(10L, orderBook.getAsksVolume(ticker)),
+                  () -> assertTrue(orderBook.getBidsOrderQueue(ticker).isEmpty()));
+    }
+
+    @Test
+    @DisplayName("Should keep depth index in step with the queue while orders are registered from several threads")
+    void shouldKeepDepthIndexInStepUnderConcurrentRegistration() throws Exception {
+        var ticker = "NVDA.US";
+
+        SimpleOrderBook orderBook = (SimpleOrderBook) OrderBookFactory.factorizeOrderBook(quotationProvider);
+        orderBook.registerTicker(ticker);
+        List<Callable<Long>> traders = IntStream.range(0, 4)
+                                                .mapToObj(trader -> (Callable<Long>) () -> {
+                                                    long filled = 0L;
+                                                    for (int step = 0; step < 2_000; step++) {
+                                                        orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.ASK, OrderType.LIMIT,
+                                                                                                         ticker, BigDecimal.valueOf(10.00), 1L));
+                                                        filled += orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.BID,
+                                                                                                                   OrderType.IOC, ticker,
+                                                                                                                   BigDecimal.valueOf(10.05), 2L))
+                                                                           .finishedTransactionInfoList()
+                                                                           .stream()
+                                                                           .mapToLong(FinishedTransactionInfo::volume)
+                                                                           .sum();
+                                                    }
+                                                    return filled;
+                                                })
+                                                .toList();
+
+        long filledVolume = 0L;
+        try (ExecutorService executorService = Executors.newFixedThreadPool(traders.size())) {
+            for (Future<Long> trader : executorService.invokeAll(traders)) {
+                filledVolume += trader.get();
+            }
+        }
+        long filled = filledVolume;
+        long restingVolume = orderBook.getAsksOrderQueue(ticker)
+                                      .stream()
+                                      .mapToLong(Order::getVolume)
+                                      .sum();
+
+        assertAll(() -> assertEquals(restingVolume, orderBook.getAsksVolume(ticker)),
+                  () -> assertEquals(8_000L, filled + restingVolume));
+    }
+
+    @Test
+    @DisplayName("Should fill AON order in full and sweep IOC sell order from highest bid")
+    void shouldFillAonOrderInFullAndSweepIocSellFromHighestBid() {
+        var ticker = "NVDA.US";
+
+        SimpleOrderBook orderBook = (SimpleOrderBook) OrderBookFactory.factorizeOrderBook(quotationProvider);
+        orderBook.registerTicker(ticker);
+        List.of(BigDecimal.valueOf(9.80), BigDecimal.valueOf(9.90), BigDecimal.valueOf(9.70))
+            .forEach(price -> orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.BID, OrderType.LIMIT, ticker, price, 10L)));
+        orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.ASK, OrderType.LIMIT, ticker, BigDecimal.valueOf(10.00), 10L));
+
+        OrderRegistrationResult aon = orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.BID, OrderType.AON, ticker, null, 10L));
+        OrderRegistrationResult ioc = orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.ASK, OrderType.IOC, ticker,
+                                                                                       BigDecimal.valueOf(9.75), 15L));
+
+        assertAll(() -> assertEquals(TransactionPhase.FULLY_COMPLETED, aon.transactionPhase()),
+                  () -> assertEquals(0L, orderBook.getAsksVolume(ticker)),
+                  () -> assertEquals(TransactionPhase.FULLY_COMPLETED, ioc.transactionPhase()),
+                  () -> assertEquals(List.of(BigDecimal.valueOf(9.90), BigDecimal.valueOf(9.80)),
+                                     ioc.finishedTransactionInfoList().stream().map(FinishedTransactionInfo::price).toList()),
+                  () -> assertEquals(BigDecimal.valueOf(9.80), orderBook.getBidsOrderQueue(ticker).peek().getPrice()),
+                  () -> assertEquals(2, orderBook.getBidsOrderQueue(ticker).size()));
+    }
+
+    @Test
+    @DisplayName("Should expose only display volume of iceberg order and replenish it from hidden reserve after each filled slice")
+    void shouldExposeOnlyDisplayVolumeOfIcebergOrderAndReplenishIt() {
+        var ticker = "NVDA.US";
+
+        MarketDataPublisher marketDataPublisher = MarketDataPublisher.create(MarketDataListener.NO_OP);
+        SimpleOrderBook orderBook = (SimpleOrderBook) OrderBookFactory.factorizeOrderBook(quotationProvider, marketDataPublisher);
+        orderBook.registerTicker(ticker);
+        marketDataPublisher.registerTicker(ticker);
+        orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.ASK, OrderType.ICEBERG, ticker, BigDecimal.valueOf(10.00), 25L,
+                                                         ExecutionReportMode.PER_ORDER, 10L));
+        orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.ASK, OrderType.LIMIT, ticker, BigDecimal.valueOf(10.10), 5L));
+        Long visibleVolumeBeforeFill = orderBook.getAsksVolume(ticker);
+
+        OrderRegistrationResult orderRegistrationResult = orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.BID, OrderType.LIMIT,
+                                                                                                           ticker, BigDecimal.valueOf(10.05), 22L));
+        BookSnapshot bookSnapshot = marketDataPublisher.snapshot(ticker);
+
+        assertAll(() -> assertEquals(15L, visibleVolumeBeforeFill),
+                  () -> assertEquals(TransactionPhase.FULLY_COMPLETED, orderRegistrationResult.transactionPhase()),
+                  () -> assertEquals(List.of(10L, 10L, 2L), orderRegistrationResult.finishedTransactionInfoList().stream().map(FinishedTransactionInfo::volume).toList()),
+                  () -> assertEquals(1L, orderRegistrationResult.finishedTransactionInfoList().stream().map(FinishedTransactionInfo::orderUuid).distinct().count()),
+                  () -> assertEquals(List.of(3L, 5L), bookSnapshot.asks().stream().map(PriceLevel::volume).toList()),
+                  () -> assertEquals(8L, orderBook.getAsksVolume(ticker)),
+                  () -> assertThrows(OrderBookException.class, () -> orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.ASK,
+                                                                                                                      OrderType.ICEBERG, ticker,
+                                                                                                                      BigDecimal.valueOf(10.00), 25L))));
+    }
+
+    @Test
+    @DisplayName("Should fill replenished iceberg slice only after orders resting earlier at the same price")
+    void shouldQueueReplenishedIcebergSliceBehindEarlierOrdersAtSamePrice() {
+        var ticker = "NVDA.US";
+
+        SimpleOrderBook orderBook = (SimpleOrderBook) OrderBookFactory.factorizeOrderBook(quotationProvider);
+        orderBook.registerTicker(ticker);
+        orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.ASK, OrderType.ICEBERG, ticker, BigDecimal.valueOf(10.00), 20L,
+                                                         ExecutionReportMode.PER_ORDER, 10L));
+        UUID icebergOrderId = orderBook.getAsksOrderQueue(ticker).element().getOrderUuid();
+        orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.ASK, OrderType.LIMIT, ticker, BigDecimal.valueOf(10.00), 5L));
+        orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.ASK, OrderType.LIMIT, ticker, BigDecimal.valueOf(10.00), 4L));
+
+        List<FinishedTransactionInfo> fills = Stream.of(10L, 5L, 4L, 10L)
+                                                    .map(volume -> orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.BID,
+                                                                                                                    OrderType.LIMIT, ticker,
+                                                                                                                    BigDecimal.valueOf(10.05), volume)))
+                                                    .map(orderRegistrationResult -> orderRegistrationResult.finishedTransactionInfoList().getFirst())
+                                                    .toList();
+
+        assertAll(() -> assertEquals(List.of(10L, 5L, 4L, 10L), fills.stream().map(FinishedTransactionInfo::volume).toList()),
+                  () -> assertEquals(icebergOrderId, fills.getFirst().orderUuid()),
+                  () -> assertNotEquals(icebergOrderId, fills.get(1).orderUuid()),
+                  () -> assertNotEquals(icebergOrderId, fills.get(2).orderUuid()),
+                  () -> assertEquals(icebergOrderId, fills.getLast().orderUuid()),
+                  () -> assertTrue(orderBook.getAsksOrderQueue(ticker).isEmpty()));
+    }
+
+    @Test
+    @DisplayName("Should fill market order only up to requested volume when it sweeps replenished iceberg slices")
+    void shouldFillMarketOrderOnlyUpToRequestedVolumeAcrossIcebergSlices() {
+        var ticker = "NVDA.US";
+
+        SimpleOrderBook orderBook = (SimpleOrderBook) OrderBookFactory.factorizeOrderBook(quotationProvider);
+        orderBook.registerTicker(ticker);
+        orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.ASK, OrderType.ICEBERG, ticker, BigDecimal.valueOf(10.00), 25L,
+                                                         ExecutionReportMode.PER_ORDER, 10L));
+
+        OrderRegistrationResult orderRegistrationResult = orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.BID, OrderType.MARKET,
+                                                                                                           ticker, BigDecimal.valueOf(10.00), 12L));
+
+        assertAll(() -> assertEquals(List.of(10L, 2L), orderRegistrationResult.finishedTransactionInfoList().stream().map(FinishedTransactionInfo::volume).toList()),
+                  () -> assertEquals(8L, orderBook.getAsksVolume(ticker)),
+                  () -> assertEquals(8L, orderBook.getAsksOrderQueue(ticker).peek().getVolume()),
+                  () -> assertEquals(5L, orderBook.getAsksOrderQueue(ticker).peek().getHiddenVolume()));
+    }
+
+    @Test
+    @DisplayName("Should expire GTD order at its timestamp and other resting orders after ticker time to live but never GTC order")
+    void shouldExpireRestingOrdersByTimeInForce() {
+        var ticker = "NVDA.US";
+        long now = System.currentTimeMillis();
+
+        MarketDataPublisher marketDataPublisher = MarketDataPublisher.create(MarketDataListener.NO_OP);
+        SimpleOrderBook orderBook = (SimpleOrderBook) OrderBookFactory.factorizeOrderBook(quotationProvider, marketDataPublisher);
+        orderBook.registerTicker(ticker, Duration.ofMinutes(1));
+        marketDataPublisher.registerTicker(ticker);
+        orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.ASK, OrderType.LIMIT, ticker, BigDecimal.valueOf(10.00), 1L));
+        orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.ASK, OrderType.GTC, ticker, BigDecimal.valueOf(10.10), 2L));
+        orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.ASK, OrderType.GTD, ticker, BigDecimal.valueOf(10.20), 4L,
+                                                         ExecutionReportMode.PER_ORDER, null, now + 10_000L));
+
+        orderBook.expireOrders(now + 30_000L);
+        Long volumeAfterGtdExpiry = orderBook.getAsksVolume(ticker);
+        orderBook.expireOrders(now + 120_000L);
+        BookSnapshot bookSnapshot = marketDataPublisher.snapshot(ticker);
+
+        assertAll(() -> assertEquals(3L, volumeAfterGtdExpiry),
+                  () -> assertEquals(2L, orderBook.getAsksVolume(ticker)),
+                  () -> assertEquals(1, orderBook.getAsksOrderQueue(ticker).size()),
+                  () -> assertEquals(List.of(2L), bookSnapshot.asks().stream().map(PriceLevel::volume).toList()),
+                  () -> assertThrows(OrderBookException.class, () -> orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.ASK,
+                                                                                                                      OrderType.GTD, ticker,
+                                                                                                                      BigDecimal.valueOf(10.00), 1L))));
+    }
+
+    @Test
+    @DisplayName("Should expire iceberg order through the slice resting after its first slice was filled")
+    void shouldExpireIcebergOrderThroughRestingSlice() {
+        var ticker = "NVDA.US";
+        long now = System.currentTimeMillis();
+
+        MarketDataPublisher marketDataPublisher = MarketDataPublisher.create(MarketDataListener.NO_OP);
+        SimpleOrderBook orderBook = (SimpleOrderBook) OrderBookFactory.factorizeOrderBook(quotationProvider, marketDataPublisher);
+        orderBook.registerTicker(ticker, Duration.ofMinutes(1));
+        marketDataPublisher.registerTicker(ticker);
+        orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.ASK, OrderType.ICEBERG, ticker, BigDecimal.valueOf(10.00), 25L,
+                                                         ExecutionReportMode.PER_ORDER, 10L));
+        orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.BID, OrderType.MARKET, ticker, BigDecimal.valueOf(10.00), 12L));
+
+        orderBook.expireOrders(now + 120_000L);
+        BookSnapshot bookSnapshot = marketDataPublisher.snapshot(ticker);
+
+        assertAll(() -> assertEquals(0L, orderBook.getAsksVolume(ticker)),
+                  () -> assertTrue(orderBook.getAsksOrderQueue(ticker).isEmpty()),
+                  () -> assertTrue(bookSnapshot.asks().isEmpty()));
+    }
+
+    @Test
+    @DisplayName("Should expire every due order of both sides in one tick and keep the orders resting until later")
+    void shouldExpireDueOrdersOfBothSidesInOneTick() {
+        var ticker = "NVDA.US";
+        long now = System.currentTimeMillis();
+
+        MarketDataPublisher marketDataPublisher = MarketDataPublisher.create(MarketDataListener.NO_OP);
+        SimpleOrderBook orderBook = (SimpleOrderBook) OrderBookFactory.factorizeOrderBook(quotationProvider, marketDataPublisher);
+        orderBook.registerTicker(ticker);
+        marketDataPublisher.registerTicker(ticker);
+        IntStream.range(0, 50).forEach(i -> {
+            long expireTimestamp = i % 2 == 0 ? now + 10_000L : now + 60_000L;
+            orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.ASK, OrderType.GTD, ticker, BigDecimal.valueOf(10.00 + i % 5),
+                                                             1L, ExecutionReportMode.PER_ORDER, null, expireTimestamp));
+            orderBook.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.BID, OrderType.GTD, ticker, BigDecimal.valueOf(9.00 - i % 5),
+                                                             2L, ExecutionReportMode.PER_ORDER, null, expireTimestamp));
+        });
+
+        orderBook.expireOrders(now + 30_000L);
+        BookSnapshot bookSnapshot = marketDataPublisher.snapshot(ticker);
+
+        assertAll(() -> assertEquals(25, orderBook.getAsksOrderQueue(ticker).size()),
+                  () -> assertEquals(25, orderBook.getBidsOrderQueue(ticker).size()),
+                  () -> assertEquals(25L, orderBook.getAsksVolume(ticker)),
+                  () -> assertEquals(25L, bookSnapshot.asks().stream().mapToLong(PriceLevel::volume).sum()),
+                  () -> assertEquals(50L, bookSnapshot.bids().stream().mapToLong(PriceLevel::volume).sum()),
+                  () -> assertTrue(orderBook.getAsksOrderQueue(ticker).stream().allMatch(order -> order.getExpireTimestamp() == now + 60_000L)));
+    }
+}
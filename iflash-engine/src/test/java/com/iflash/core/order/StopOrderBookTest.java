@@ -0,0 +1,64 @@
+package com.iflash.core.order;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StopOrderBookTest {
+
+    private static final String TICKER = "NVDA.US";
+    private static final BigDecimal LIMIT_PRICE = BigDecimal.valueOf(10.05);
+
+    @Test
+    @DisplayName("Should trigger only stops crossed by price move in trigger price order")
+    void shouldTriggerOnlyStopsCrossedByPriceMoveInTriggerPriceOrder() {
+        StopOrderBook stopOrderBook = new StopOrderBook();
+        stopOrderBook.registerTicker(TICKER);
+        RegisterOrderCommand buyStopAt11 = stopOrder(OrderDirection.BID, OrderType.STOP, 11.00);
+        RegisterOrderCommand buyStopAt10 = stopOrder(OrderDirection.BID, OrderType.STOP_LIMIT, 10.00);
+        RegisterOrderCommand buyStopAt12 = stopOrder(OrderDirection.BID, OrderType.STOP, 12.00);
+        RegisterOrderCommand sellStopAt9 = stopOrder(OrderDirection.ASK, OrderType.STOP, 9.00);
+        RegisterOrderCommand sellStopAt8 = stopOrder(OrderDirection.ASK, OrderType.STOP, 8.00);
+        List.of(buyStopAt11, buyStopAt10, buyStopAt12, sellStopAt9, sellStopAt8)
+            .forEach(stopOrderBook::registerStopOrder);
+
+        List<RegisterOrderCommand> triggeredOnRise = stopOrderBook.triggerStopOrders(TICKER, BigDecimal.valueOf(11.00));
+        List<RegisterOrderCommand> triggeredInsideRange = stopOrderBook.triggerStopOrders(TICKER, BigDecimal.valueOf(10.50));
+        List<RegisterOrderCommand> triggeredOnFall = stopOrderBook.triggerStopOrders(TICKER, BigDecimal.valueOf(8.50));
+
+        assertAll(() -> assertEquals(List.of(buyStopAt10.orderId(), buyStopAt11.orderId()), triggeredOnRise.stream().map(RegisterOrderCommand::orderId).toList()),
+                  () -> assertEquals(List.of(OrderType.LIMIT, OrderType.MARKET), triggeredOnRise.stream().map(RegisterOrderCommand::orderType).toList()),
+                  () -> assertEquals(LIMIT_PRICE, triggeredOnRise.getFirst().price()),
+                  () -> assertTrue(triggeredInsideRange.isEmpty()),
+                  () -> assertEquals(List.of(sellStopAt9.orderId()), triggeredOnFall.stream().map(RegisterOrderCommand::orderId).toList()),
+                  () -> assertEquals(2, stopOrderBook.pendingStopOrders(TICKER)));
+    }
+
+    @Test
+    @DisplayName("Should place stop order waiting for trigger price and reject stop order without trigger price")
+    void shouldPlaceStopOrderAndRejectStopOrderWithoutTriggerPrice() {
+        StopOrderBook stopOrderBook = new StopOrderBook();
+        stopOrderBook.registerTicker(TICKER);
+
+        OrderRegistrationResult orderRegistrationResult = stopOrderBook.registerStopOrder(stopOrder(OrderDirection.BID, OrderType.STOP, 11.00));
+
+        assertAll(() -> assertEquals(TransactionPhase.IDLING_ON_QUEUE, orderRegistrationResult.transactionPhase()),
+                  () -> assertEquals(10L, orderRegistrationResult.orderFillDetails().volumePending()),
+                  () -> assertThrows(OrderBookException.class,
+                                     () -> stopOrderBook.registerStopOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.BID, OrderType.STOP, TICKER, null, 10L))),
+                  () -> assertThrows(OrderBookException.class,
+                                     () -> stopOrderBook.registerStopOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.BID, OrderType.STOP_LIMIT, TICKER,
+                                                                                                    BigDecimal.valueOf(11.00), 10L))),
+                  () -> assertTrue(StopOrderBook.isTriggered(stopOrder(OrderDirection.ASK, OrderType.STOP, 9.00), BigDecimal.valueOf(9.0))),
+                  () -> assertFalse(StopOrderBook.isTriggered(stopOrder(OrderDirection.BID, OrderType.STOP, 11.00), BigDecimal.valueOf(10.99))));
+    }
+
+    private RegisterOrderCommand stopOrder(OrderDirection orderDirection, OrderType orderType, double triggerPrice) {
+        return new RegisterOrderCommand(UUID.randomUUID(), orderDirection, orderType, TICKER, BigDecimal.valueOf(triggerPrice), 10L, null, null, null, LIMIT_PRICE);
+    }
+}
@@ -0,0 +1,72 @@
+package com.iflash.core.order;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private static final long TICK_MILLIS = 10L;
+
+    @Test
+    @DisplayName("Should expire every entry on first advance reaching its deadline and never before it")
+    void shouldExpireEveryEntryOnFirstAdvanceReachingItsDeadline() {
+        Random random = new Random(11L);
+        long timestamp = 1_000_003L;
+        TimingWheel<Long> timingWheel = new TimingWheel<>(TICK_MILLIS, timestamp);
+        List<Long> deadlines = new ArrayList<>();
+        Set<Long> expired = new HashSet<>();
+
+        for (int step = 0; step < 20_000; step++) {
+            if (random.nextInt(3) > 0) {
+                long deadline = timestamp + random.nextInt(random.nextBoolean() ? 2_000 : 3_000_000);
+                deadlines.add(deadline);
+                timingWheel.schedule(deadline, deadline);
+            }
+            timestamp += random.nextInt(random.nextInt(10) == 0 ? 5_000 : 50);
+            long now = timestamp;
+            timingWheel.advance(now, deadline -> {
+                assertTrue(deadline <= now, "expired before deadline");
+                expired.add(deadline);
+            });
+            deadlines.removeIf(deadline -> {
+                boolean due = deadline <= now - TICK_MILLIS;
+                if (due) {
+                    assertTrue(expired.contains(deadline), "not expired one tick after deadline");
+                }
+                return due;
+            });
+        }
+        long lastDeadline = timestamp + 3_000_000L;
+        timingWheel.advance(lastDeadline, expired::add);
+        assertEquals(0, timingWheel.size());
+        assertTrue(expired.containsAll(deadlines));
+    }
+
+    @Test
+    @DisplayName("Should jump over an idle gap to the next occupied slot instead of stepping through every tick")
+    void shouldJumpOverIdleGapToNextOccupiedSlot() {
+        long timestamp = 1_000_003L;
+        long year = Duration.ofDays(365).toMillis();
+        TimingWheel<Long> timingWheel = new TimingWheel<>(TICK_MILLIS, timestamp);
+        List<Long> expired = new ArrayList<>();
+        List.of(timestamp + 5L, timestamp + 700L, timestamp + 90_000L, timestamp + year / 2, timestamp + 2 * year)
+            .forEach(deadline -> timingWheel.schedule(deadline, deadline));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> timingWheel.advance(timestamp + year, expired::add));
+        int pendingAfterYear = timingWheel.size();
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> timingWheel.advance(timestamp + 3 * year, expired::add));
+
+        assertAll(() -> assertEquals(1, pendingAfterYear),
+                  () -> assertEquals(List.of(timestamp + 5L, timestamp + 700L, timestamp + 90_000L, timestamp + year / 2, timestamp + 2 * year), expired),
+                  () -> assertEquals(0, timingWheel.size()));
+    }
+}
@@ -0,0 +1,27 @@
+package com.iflash.core.quotation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ExponentialMovingAverageQuotationTest {
+
+    @Test
+    @DisplayName("Should seed average with first fill and move it by alpha with every next fill")
+    void shouldMoveAverageByAlpha() {
+        ExponentialMovingAverageQuotation exponentialMovingAverageQuotation = new ExponentialMovingAverageQuotation(new BigDecimal("0.5"));
+
+        Quotation first = exponentialMovingAverageQuotation.calculate("NVDA.US", List.of(new QuotableInformation(10L, new BigDecimal("10.00"))));
+        Quotation second = exponentialMovingAverageQuotation.calculate("NVDA.US", List.of(new QuotableInformation(10L, new BigDecimal("12.00")),
+                                                                                         new QuotableInformation(10L, new BigDecimal("14.00"))));
+
+        assertAll(() -> assertEquals(new BigDecimal("10.0000"), first.quotation()),
+                  () -> assertEquals(new BigDecimal("12.5000"), second.quotation()),
+                  () -> assertEquals(20L, second.volume()));
+    }
+}
@@ -0,0 +1,42 @@
+package com.iflash.core.quotation;
+
+import com.iflash.core.marketdata.TopOfBook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MicroPriceQuotationTest {
+
+    private final String ticker = "NVDA.US";
+    private final List<QuotableInformation> fills = List.of(new QuotableInformation(10L, new BigDecimal("10.05")));
+
+    @Test
+    @DisplayName("Should weight best prices by opposite side volume")
+    void shouldWeightBestPricesByOppositeSideVolume() {
+        MicroPriceQuotation microPriceQuotation = new MicroPriceQuotation();
+        microPriceQuotation.updateTopOfBook(new TopOfBook(ticker, 2L, new BigDecimal("10.00"), 300L, new BigDecimal("10.10"), 100L));
+        microPriceQuotation.updateTopOfBook(new TopOfBook(ticker, 1L, new BigDecimal("9.00"), 100L, new BigDecimal("11.00"), 100L));
+
+        Quotation quotation = microPriceQuotation.calculate(ticker, fills);
+
+        assertEquals(new BigDecimal("10.0750"), quotation.quotation());
+    }
+
+    @Test
+    @DisplayName("Should fall back to last fill price when one side of book is empty")
+    void shouldFallBackToLastFillPriceWhenOneSideIsEmpty() {
+        MicroPriceQuotation microPriceQuotation = new MicroPriceQuotation();
+        Quotation withoutBook = microPriceQuotation.calculate(ticker, fills);
+        microPriceQuotation.updateTopOfBook(new TopOfBook(ticker, 1L, new BigDecimal("10.00"), 300L, null, 0L));
+
+        Quotation oneSided = microPriceQuotation.calculate(ticker, fills);
+
+        assertAll(() -> assertEquals(new BigDecimal("10.05"), withoutBook.quotation()),
+                  () -> assertEquals(new BigDecimal("10.05"), oneSided.quotation()));
+    }
+}
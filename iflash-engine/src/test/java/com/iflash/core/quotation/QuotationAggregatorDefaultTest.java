@@ -3,6 +3,7 @@ package com.iflash.core.quotation;
 import com.iflash.commons.OrderBy;
 import com.iflash.commons.Page;
 import com.iflash.commons.Pagination;
+import com.iflash.core.marketdata.PriceLevel;
 import com.iflash.core.order.OrderDirection;
 import com.iflash.core.order.OrderType;
 import com.iflash.core.order.RegisterOrderCommand;
@@ -131,4 +132,36 @@ class QuotationAggregatorDefaultTest {
                   () -> assertEquals(lastQuotesAsc.getElements().get(1).price(), quotations.get(ticker).get(1).quotation()),
                   () -> assertEquals(2, lastQuotesAsc.getElements().size()));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should calculate Quotation with calculation type registered for ticker")
+    void shouldCalculateQuotationWithCalculationTypeRegisteredForTicker() {
+        QuotationAggregator quotationAggregator = new QuotationAggregatorDefault(new WeightedAverageQuotation(), new HashMap<>(), new HashMap<>());
+        quotationAggregator.initTicker(ticker, price, QuotationCalculationType.LAST_TRADE);
+        quotationAggregator.initTicker("AAPL.US", price);
+        List<FinishedTransactionInfo> finishedTransactionInfos = List.of(new FinishedTransactionInfo(UUID.randomUUID(), ticker, 30, BigDecimal.valueOf(171.10)),
+                                                                         new FinishedTransactionInfo(UUID.randomUUID(), ticker, 10, BigDecimal.valueOf(171.50)));
+
+        quotationAggregator.calculateQuotationPostTransaction(ticker, finishedTransactionInfos);
+        quotationAggregator.calculateQuotationPostTransaction("AAPL.US", finishedTransactionInfos);
+
+        QuotationProvider quotationProvider = (QuotationProvider) quotationAggregator;
+        assertAll(() -> assertEquals(BigDecimal.valueOf(171.50), quotationProvider.getCurrentQuote(ticker).price()),
+                  () -> assertEquals(BigDecimal.valueOf(171.20), quotationProvider.getCurrentQuote("AAPL.US").price()));
+    }
+
+    @Test
+    @DisplayName("Should calculate theoretical Quotation as micro-price of best levels")
+    void shouldCalculateTheoreticalQuotationAsMicroPriceOfBestLevels() {
+        Map<String, List<Quotation>> theoreticalQuotations = new HashMap<>();
+        QuotationAggregator quotationAggregator = new QuotationAggregatorDefault(new WeightedAverageQuotation(), new HashMap<>(), theoreticalQuotations);
+        List<PriceLevel> topBids = List.of(new PriceLevel(new BigDecimal("10.00"), 300L), new PriceLevel(new BigDecimal("9.90"), 100L));
+        List<PriceLevel> topAsks = List.of(new PriceLevel(new BigDecimal("10.10"), 100L));
+
+        quotationAggregator.calculateTheoreticalQuotation(ticker, topBids, topAsks);
+        quotationAggregator.calculateTheoreticalQuotation(ticker, List.of(), List.of());
+
+        assertAll(() -> assertEquals(1, theoreticalQuotations.get(ticker).size()),
+                  () -> assertEquals(new BigDecimal("10.0750"), theoreticalQuotations.get(ticker).getFirst().quotation()));
+    }
+}
@@ -0,0 +1,48 @@
+package com.iflash.core.quotation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TimeWindowVwapQuotationTest {
+
+    @Test
+    @DisplayName("Should calculate VWAP only from fills within time window")
+    void shouldCalculateVwapOnlyFromFillsWithinTimeWindow() {
+        AtomicLong clock = new AtomicLong(0L);
+        TimeWindowVwapQuotation timeWindowVwapQuotation = new TimeWindowVwapQuotation(1_000L, clock::get);
+
+        Quotation first = timeWindowVwapQuotation.calculate("NVDA.US", List.of(new QuotableInformation(100L, new BigDecimal("10.00"))));
+        clock.set(500L);
+        Quotation second = timeWindowVwapQuotation.calculate("NVDA.US", List.of(new QuotableInformation(100L, new BigDecimal("12.00"))));
+        clock.set(1_200L);
+        Quotation third = timeWindowVwapQuotation.calculate("NVDA.US", List.of(new QuotableInformation(100L, new BigDecimal("14.00"))));
+
+        assertAll(() -> assertEquals(new BigDecimal("10.0000"), first.quotation()),
+                  () -> assertEquals(new BigDecimal("11.0000"), second.quotation()),
+                  () -> assertEquals(new BigDecimal("13.0000"), third.quotation()),
+                  () -> assertEquals(100L, third.volume()));
+    }
+
+    @Test
+    @DisplayName("Should round VWAP to price scale and keep last traded price once the window is empty")
+    void shouldRoundVwapAndKeepLastPriceOfEmptyWindow() {
+        AtomicLong clock = new AtomicLong(0L);
+        TimeWindowVwapQuotation timeWindowVwapQuotation = new TimeWindowVwapQuotation(1_000L, clock::get);
+
+        Quotation rounded = timeWindowVwapQuotation.calculate("NVDA.US", List.of(new QuotableInformation(1L, new BigDecimal("10.00")),
+                                                                                 new QuotableInformation(2L, new BigDecimal("10.01"))));
+        clock.set(5_000L);
+        Quotation emptyWindow = timeWindowVwapQuotation.calculate("NVDA.US", List.of());
+
+        assertAll(() -> assertEquals(new BigDecimal("10.0067"), rounded.quotation()),
+                  () -> assertEquals(new BigDecimal("10.01"), emptyWindow.quotation()),
+                  () -> assertEquals(0L, emptyWindow.volume()));
+    }
+}
@@ -0,0 +1,27 @@
+package com.iflash.core.quotation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class VolumeWindowVwapQuotationTest {
+
+    @Test
+    @DisplayName("Should calculate VWAP of last window volume cutting oldest fill partially")
+    void shouldCalculateVwapOfLastWindowVolume() {
+        VolumeWindowVwapQuotation volumeWindowVwapQuotation = new VolumeWindowVwapQuotation(100L);
+
+        Quotation first = volumeWindowVwapQuotation.calculate("NVDA.US", List.of(new QuotableInformation(50L, new BigDecimal("10.00"))));
+        Quotation second = volumeWindowVwapQuotation.calculate("NVDA.US", List.of(new QuotableInformation(100L, new BigDecimal("12.00"))));
+        Quotation third = volumeWindowVwapQuotation.calculate("NVDA.US", List.of(new QuotableInformation(50L, new BigDecimal("14.00"))));
+
+        assertAll(() -> assertEquals(new BigDecimal("10.0000"), first.quotation()),
+                  () -> assertEquals(new BigDecimal("12.0000"), second.quotation()),
+                  () -> assertEquals(new BigDecimal("13.0000"), third.quotation()));
+    }
+}
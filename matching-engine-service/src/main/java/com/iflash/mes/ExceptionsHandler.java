@@ -0,0 +1,27 @@
+package com.iflash.mes;
+
+import com.iflash.core.configuration.MatchingEngineException;
+import com.iflash.mes.partition.PartitionException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+class ExceptionsHandler {
+
+    @ResponseStatus(HttpStatus.NOT_ACCEPTABLE)
+    @ExceptionHandler(exception = MatchingEngineException.class)
+    public ExceptionResponse matchingEngineException(MatchingEngineException matchingEngineException) {
+        return new ExceptionResponse(matchingEngineException.getMessage());
+    }
+
+    @ExceptionHandler(exception = PartitionException.class)
+    public ResponseEntity<ExceptionResponse> partitionException(PartitionException partitionException) {
+        return ResponseEntity.status(partitionException.getHttpStatus())
+                             .body(new ExceptionResponse(partitionException.getMessage()));
+    }
+
+    record ExceptionResponse(String message) {}
+}
@@ -0,0 +1,236 @@
+package com.iflash.mes.engine;
+
+import com.iflash.core.configuration.GlobalSettings;
+import com.iflash.core.engine.FinancialInstrumentInfo;
+import com.iflash.core.engine.MatchingEngine;
+import com.iflash.core.engine.MatchingEngineFactory;
+import com.iflash.core.engine.MatchingEngineType;
+import com.iflash.core.engine.OrderLatencyRecorder;
+import com.iflash.core.engine.TickerRegistrationCommand;
+import com.iflash.core.order.OrderBookException;
+import com.iflash.core.order.OrderRegistrationResult;
+import com.iflash.core.order.RegisterOrderCommand;
+import com.iflash.mes.partition.PartitionException;
+import com.iflash.mes.replication.ReplicationStream;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Engines of the tickers held by this node, one {@link MatchingEngine} per ticker so a ticker can be handed to
+ * another node and taken back later without leftovers. Orders of a ticker are registered under its read lock and
+ * releasing the ticker takes the write lock, so the hand-off contains every order accepted here, resting and stop
+ * orders alike, and no order is accepted afterwards. A released engine stays here, answering repeated release requests with the same snapshot,
+ * until the node taking the ticker over completes the release, so a lost hand-off response loses no orders.
+ * Market data of every engine and the tickers started, taken over and released here feed the {@link ReplicationStream}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TickerEngines {
+
+    private final Map<String, TickerEngine> enginesByTicker = new ConcurrentHashMap<>();
+    private final ReplicationStream replicationStream;
+
+    @Value("${engine.default-order-time-to-live:#{null}}") // e.g. 8h, resting orders never expire when missing
+    private Duration defaultOrderTimeToLive;
+
+    /**
+     * @return {@code true} when the ticker trades here, a released ticker waiting for its release to complete does not
+     */
+    public boolean holds(String ticker) {
+        TickerEngine tickerEngine = enginesByTicker.get(ticker);
+        return tickerEngine != null && !tickerEngine.released;
+    }
+
+    public Set<String> tickers() {
+        return enginesByTicker.entrySet()
+                              .stream()
+                              .filter(entry -> !entry.getValue().released)
+                              .map(Map.Entry::getKey)
+                              .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    /**
+     * @return {@code true} when no ticker trades here and no release waits for completion
+     */
+    public boolean isEmpty() {
+        return enginesByTicker.isEmpty();
+    }
+
+    /**
+     * Starts the ticker from its initial price, or resumes it from its released engine when no other node took the
+     * released state over.
+     */
+    public void start(String ticker, BigDecimal initialPrice) {
+        TickerEngine tickerEngine = enginesByTicker.computeIfAbsent(ticker, key -> new TickerEngine(initializedEngine(ticker, initialPrice)));
+        tickerEngine.lock.writeLock().lock();
+        try {
+            if (tickerEngine.released) {
+                tickerEngine.released = false;
+                tickerEngine.tickerHandoff = null;
+                log.info("Ticker: {} resumed from its released state", ticker);
+            }
+            else {
+                log.info("Ticker: {} started at price {}", ticker, initialPrice);
+            }
+        }
+        finally {
+            tickerEngine.lock.writeLock().unlock();
+        }
+        replicationStream.onTickerHeld(ticker);
+    }
+
+    public void takeOver(TickerHandoff tickerHandoff) {
+        String ticker = tickerHandoff.ticker();
+        enginesByTicker.compute(ticker, (key, tickerEngine) -> {
+            if (tickerEngine != null && !tickerEngine.released) {
+                return tickerEngine;
+            }
+            if (tickerEngine != null) {
+                tickerEngine.matchingEngine.close();
+            }
+            MatchingEngine matchingEngine = initializedEngine(ticker, tickerHandoff.currentQuote().price());
+            matchingEngine.recoveryOperations().restorePendingOrders(tickerHandoff.pendingOrders());
+            return new TickerEngine(matchingEngine);
+        });
+        replicationStream.onTickerHeld(ticker);
+        log.info("Ticker: {} taken over at price {} and sequence {}", ticker, tickerHandoff.currentQuote().price(), tickerHandoff.sequence());
+    }
+
+    /**
+     * Stops accepting orders of the ticker, the engine is kept until {@link #completeRelease(String)}.
+     *
+     * @return state of the ticker for the node taking it over, the same state for every call until the release
+     * completes, {@code null} when the ticker is not held here
+     */
+    public TickerHandoff release(String ticker) {
+        TickerEngine tickerEngine = enginesByTicker.get(ticker);
+        if (tickerEngine == null) {
+            return null;
+        }
+        tickerEngine.lock.writeLock().lock();
+        try {
+            if (!tickerEngine.released) {
+                tickerEngine.released = true;
+                MatchingEngine matchingEngine = tickerEngine.matchingEngine;
+                tickerEngine.tickerHandoff = new TickerHandoff(ticker, matchingEngine.quotationProvider().getCurrentQuote(ticker),
+                                                               matchingEngine.orderBookOperations().getMarketSnapshot(ticker).sequence(),
+                                                               matchingEngine.recoveryOperations().getPendingOrders(ticker));
+                replicationStream.onTickerReleased(ticker);
+                log.info("Ticker: {} released at sequence {}", ticker, tickerEngine.tickerHandoff.sequence());
+            }
+            return tickerEngine.tickerHandoff;
+        }
+        finally {
+            tickerEngine.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the released engine once the node taking the ticker over has restored its state.
+     *
+     * @return {@code false} when no release of the ticker waits for completion here
+     */
+    public boolean completeRelease(String ticker) {
+        TickerEngine tickerEngine = enginesByTicker.get(ticker);
+        if (tickerEngine == null) {
+            return false;
+        }
+        tickerEngine.lock.writeLock().lock();
+        try {
+            if (!tickerEngine.released || !enginesByTicker.remove(ticker, tickerEngine)) {
+                return false;
+            }
+        }
+        finally {
+            tickerEngine.lock.writeLock().unlock();
+        }
+        tickerEngine.matchingEngine.close();
+        log.info("Ticker: {} handed over", ticker);
+        return true;
+    }
+
+    public OrderRegistrationResult registerOrder(RegisterOrderCommand registerOrderCommand) {
+        TickerEngine tickerEngine = tickerEngine(registerOrderCommand.ticker());
+        tickerEngine.lock.readLock().lock();
+        try {
+            if (tickerEngine.released) {
+                throw PartitionException.notOwned(registerOrderCommand.ticker());
+            }
+            return tickerEngine.matchingEngine.tradingOperations().registerOrder(registerOrderCommand);
+        }
+        finally {
+            tickerEngine.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @throws PartitionException when the ticker is not held here, also once it is released, so readers ask its new owner
+     */
+    public MatchingEngine engine(String ticker) {
+        TickerEngine tickerEngine = tickerEngine(ticker);
+        if (tickerEngine.released) {
+            throw PartitionException.notOwned(ticker);
+        }
+        return tickerEngine.matchingEngine;
+    }
+
+    public List<FinancialInstrumentInfo> instruments() {
+        return enginesByTicker.values()
+                              .stream()
+                              .filter(tickerEngine -> !tickerEngine.released)
+                              .flatMap(tickerEngine -> tickerEngine.matchingEngine.orderBookOperations().getFinancialInstrumentInfo().stream())
+                              .sorted(Comparator.comparing(FinancialInstrumentInfo::ticker))
+                              .toList();
+    }
+
+    @PreDestroy
+    void close() {
+        enginesByTicker.values()
+                       .forEach(tickerEngine -> tickerEngine.matchingEngine.close());
+    }
+
+    private TickerEngine tickerEngine(String ticker) {
+        if (ticker == null) {
+            throw OrderBookException.tickerNull();
+        }
+        TickerEngine tickerEngine = enginesByTicker.get(ticker);
+        if (tickerEngine == null) {
+            throw PartitionException.notOwned(ticker);
+        }
+        return tickerEngine;
+    }
+
+    private MatchingEngine initializedEngine(String ticker, BigDecimal initialPrice) {
+        MatchingEngine matchingEngine = MatchingEngineFactory.factorize(MatchingEngineType.SINGLE_THREAD_ENGINE, OrderLatencyRecorder.NO_OP, replicationStream);
+        matchingEngine.initialize(List.of(new TickerRegistrationCommand(ticker, initialPrice, GlobalSettings.QUOTATION_CALCULABLE, defaultOrderTimeToLive)));
+        return matchingEngine;
+    }
+
+    private static class TickerEngine {
+
+        private final MatchingEngine matchingEngine;
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private volatile boolean released;
+        private TickerHandoff tickerHandoff;
+
+        private TickerEngine(MatchingEngine matchingEngine) {
+            this.matchingEngine = matchingEngine;
+        }
+    }
+}
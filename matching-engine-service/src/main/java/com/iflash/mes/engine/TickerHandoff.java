@@ -0,0 +1,13 @@
+package com.iflash.mes.engine;
+
+import com.iflash.core.engine.PendingOrders;
+import com.iflash.core.quotation.CurrentQuotation;
+
+/**
+ * State of a ticker released by one node for the node taking it over.
+ *
+ * @param sequence      market data sequence of the ticker when it was released
+ * @param pendingOrders resting orders with their hidden iceberg volume and expiry, and the pending stop orders
+ */
+public record TickerHandoff(String ticker, CurrentQuotation currentQuote, long sequence, PendingOrders pendingOrders) {
+}
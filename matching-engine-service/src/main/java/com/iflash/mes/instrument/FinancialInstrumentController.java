@@ -0,0 +1,26 @@
+package com.iflash.mes.instrument;
+
+import com.iflash.core.engine.FinancialInstrumentInfo;
+import com.iflash.mes.partition.ClusterInstruments;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/instrument")
+@RequiredArgsConstructor
+class FinancialInstrumentController {
+
+    private final ClusterInstruments clusterInstruments;
+
+    @GetMapping
+    Mono<ResponseEntity<List<FinancialInstrumentInfo>>> getFinancialInstruments() {
+        return clusterInstruments.instruments()
+                                 .map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,9 @@
+package com.iflash.mes.instrument;
+
+import java.math.BigDecimal;
+
+/**
+ * @param initialPrice price a ticker starts at when no node hands its state over
+ */
+public record Instrument(String ticker, BigDecimal initialPrice) {
+}
@@ -0,0 +1,45 @@
+package com.iflash.mes.instrument;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Every ticker traded by the cluster, each node starts or takes over the ones it owns.
+ */
+@Component
+public class InstrumentUniverse {
+
+    private final List<Instrument> instruments;
+
+    InstrumentUniverse(@Value("${engine.initial-data-path}") String initialDataPath) {
+        this.instruments = read(initialDataPath);
+    }
+
+    public List<Instrument> instruments() {
+        return instruments;
+    }
+
+    private List<Instrument> read(String path) {
+        List<Instrument> instruments = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(getClass().getResourceAsStream(path)))) {
+            reader.readLine(); // header
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(",");
+                instruments.add(new Instrument(parts[1].trim(), new BigDecimal(parts[3].trim())));
+            }
+        }
+        catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+        return List.copyOf(instruments);
+    }
+}
@@ -0,0 +1,61 @@
+package com.iflash.mes.orderbook;
+
+import com.iflash.commons.OrderBy;
+import com.iflash.commons.Page;
+import com.iflash.commons.Pagination;
+import com.iflash.core.marketdata.BookSnapshot;
+import com.iflash.core.marketdata.MarketSnapshot;
+import com.iflash.core.marketdata.OrdersSnapshot;
+import com.iflash.core.order.OrderDirection;
+import com.iflash.core.order.OrderInformation;
+import com.iflash.mes.engine.TickerEngines;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.ZonedDateTime;
+
+@RestController
+@RequestMapping("/api/v1/orderbook")
+@RequiredArgsConstructor
+class OrderBookController {
+
+    private final TickerEngines tickerEngines;
+
+    @GetMapping("/{ticker}")
+    ResponseEntity<OrderBookSnapshotResponse> getOrderBookSnapshot(@PathVariable String ticker,
+                                                                   @RequestParam(required = true) OrderDirection orderDirection,
+                                                                   @RequestParam(defaultValue = "0") int page,
+                                                                   @RequestParam(defaultValue = "20") int size,
+                                                                   @RequestParam(defaultValue = "ASC") OrderBy orderBy) {
+        String upperCaseTicker = ticker.toUpperCase();
+        Page<OrderInformation> orderBookSnapshot = tickerEngines.engine(upperCaseTicker)
+                                                                .orderBookOperations()
+                                                                .getOrderBookSnapshot(upperCaseTicker, orderDirection, new Pagination(page, size, orderBy));
+        Page<OrderBookSnapshotResponse.OrderBookEntry> orderBookEntryPage = orderBookSnapshot.map(orderInfo -> new OrderBookSnapshotResponse.OrderBookEntry(orderInfo.orderCreationDate(), orderInfo.price(), orderInfo.volume()));
+
+        return ResponseEntity.ok(new OrderBookSnapshotResponse(ZonedDateTime.now(), upperCaseTicker, orderDirection, orderBookEntryPage));
+    }
+
+    @GetMapping("/{ticker}/levels")
+    ResponseEntity<BookSnapshot> getBookSnapshot(@PathVariable String ticker) {
+        String upperCaseTicker = ticker.toUpperCase();
+        return ResponseEntity.ok(tickerEngines.engine(upperCaseTicker).orderBookOperations().getBookSnapshot(upperCaseTicker));
+    }
+
+    @GetMapping("/{ticker}/orders")
+    ResponseEntity<OrdersSnapshot> getOrdersSnapshot(@PathVariable String ticker) {
+        String upperCaseTicker = ticker.toUpperCase();
+        return ResponseEntity.ok(tickerEngines.engine(upperCaseTicker).orderBookOperations().getOrdersSnapshot(upperCaseTicker));
+    }
+
+    @GetMapping("/{ticker}/top")
+    ResponseEntity<MarketSnapshot> getMarketSnapshot(@PathVariable String ticker) {
+        String upperCaseTicker = ticker.toUpperCase();
+        return ResponseEntity.ok(tickerEngines.engine(upperCaseTicker).orderBookOperations().getMarketSnapshot(upperCaseTicker));
+    }
+}
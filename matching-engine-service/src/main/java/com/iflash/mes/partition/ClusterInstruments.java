@@ -0,0 +1,46 @@
+package com.iflash.mes.partition;
+
+import com.iflash.core.engine.FinancialInstrumentInfo;
+import com.iflash.mes.engine.TickerEngines;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Instruments of the whole cluster, each live node lists only the tickers it holds. A node which does not answer is
+ * left out of the list, its tickers show up again once they are handed over or the node answers.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClusterInstruments {
+
+    private final PartitionCoordinator partitionCoordinator;
+    private final PartitionClient partitionClient;
+    private final TickerEngines tickerEngines;
+
+    public Mono<List<FinancialInstrumentInfo>> instruments() {
+        PartitionStatus partitionStatus = partitionCoordinator.status();
+        Flux<FinancialInstrumentInfo> otherNodesInstruments = Flux.fromIterable(partitionStatus.liveNodes())
+                                                                  .filter(node -> !node.equals(partitionStatus.node()))
+                                                                  .flatMap(node -> partitionClient.instruments(node)
+                                                                                                  .onErrorResume(exception -> {
+                                                                                                      log.warn("Node {} did not list its instruments", node.nodeId(), exception);
+                                                                                                      return Mono.empty();
+                                                                                                  }))
+                                                                  .flatMapIterable(instruments -> instruments);
+        return Flux.fromIterable(heldInstruments())
+                   .concatWith(otherNodesInstruments)
+                   .sort(Comparator.comparing(FinancialInstrumentInfo::ticker))
+                   .collectList();
+    }
+
+    List<FinancialInstrumentInfo> heldInstruments() {
+        return tickerEngines.instruments();
+    }
+}
@@ -0,0 +1,59 @@
+package com.iflash.mes.partition;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Every node takes {@code virtualNodes} points on a ring of 64 bit hashes and a key belongs to the node of the first
+ * point at or after the hash of the key. Adding or removing one of {@code n} nodes moves only about {@code 1/n} of
+ * the keys, all of them from or to that node. Points depend only on the node ids, so every process building a ring
+ * of the same nodes assigns every key to the same node.
+ */
+class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> nodeIdsByPoint = new TreeMap<>();
+
+    ConsistentHashRing(Collection<String> nodeIds, int virtualNodes) {
+        nodeIds.stream()
+               .sorted()
+               .forEach(nodeId -> {
+                   for (int virtualNode = 0; virtualNode < virtualNodes; virtualNode++) {
+                       nodeIdsByPoint.putIfAbsent(hash(nodeId + "#" + virtualNode), nodeId);
+                   }
+               });
+    }
+
+    /**
+     * @return node owning the key, {@code null} for an empty ring
+     */
+    String nodeId(String key) {
+        if (nodeIdsByPoint.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> point = nodeIdsByPoint.ceilingEntry(hash(key));
+        return (point != null ? point : nodeIdsByPoint.firstEntry()).getValue();
+    }
+
+    static long hash(String key) {
+        byte[] digest = md5().digest(key.getBytes(StandardCharsets.UTF_8));
+        long hash = 0L;
+        for (int index = 0; index < Long.BYTES; index++) {
+            hash = hash << Byte.SIZE | (digest[index] & 0xFF);
+        }
+        return hash;
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        }
+        catch (NoSuchAlgorithmException noSuchAlgorithmException) {
+            throw new IllegalStateException(noSuchAlgorithmException);
+        }
+    }
+}
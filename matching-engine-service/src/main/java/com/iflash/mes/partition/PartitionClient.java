@@ -0,0 +1,82 @@
+package com.iflash.mes.partition;
+
+import com.iflash.core.engine.FinancialInstrumentInfo;
+import com.iflash.mes.engine.TickerHandoff;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Asks other nodes to hand over tickers and to list the instruments they hold.
+ */
+@Component
+class PartitionClient {
+
+    private final WebClient webClient;
+    private final Duration requestTimeout;
+
+    PartitionClient(WebClient.Builder webClientBuilder, @Value("${partition.request-timeout}") Duration requestTimeout) {
+        this.webClient = webClientBuilder.build();
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * @return state of the ticker, empty when the node answers that it does not hold the ticker
+     * @throws RuntimeException when the node does not answer within {@code partition.request-timeout} or refuses the
+     *                          hand-off for now, the node may still hold the ticker
+     */
+    Optional<TickerHandoff> release(PartitionNode node, String ticker, String requestingNodeId) {
+        return webClient.post()
+                        .uri(node.url() + "/api/v1/partition/tickers/{ticker}/release?nodeId={nodeId}", ticker, requestingNodeId)
+                        .exchangeToMono(response -> {
+                            if (response.statusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+                                return response.releaseBody().then(Mono.<TickerHandoff>empty());
+                            }
+                            if (response.statusCode().is2xxSuccessful()) {
+                                return response.bodyToMono(TickerHandoff.class);
+                            }
+                            return response.createError();
+                        })
+                        .blockOptional(requestTimeout);
+    }
+
+    /**
+     * Lets the releasing node drop the ticker state restored here.
+     *
+     * @return {@code false} when the node has no release of the ticker waiting for completion
+     * @throws RuntimeException when the node does not answer within {@code partition.request-timeout}
+     */
+    boolean completeRelease(PartitionNode node, String ticker, String requestingNodeId) {
+        return Boolean.TRUE.equals(webClient.post()
+                                            .uri(node.url() + "/api/v1/partition/tickers/{ticker}/release/complete?nodeId={nodeId}", ticker, requestingNodeId)
+                                            .exchangeToMono(response -> {
+                                                if (response.statusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+                                                    return response.releaseBody().thenReturn(false);
+                                                }
+                                                if (response.statusCode().is2xxSuccessful()) {
+                                                    return response.releaseBody().thenReturn(true);
+                                                }
+                                                return response.createError();
+                                            })
+                                            .block(requestTimeout));
+    }
+
+    /**
+     * @return instruments of the tickers the node holds, an error when it does not answer within
+     * {@code partition.request-timeout}
+     */
+    Mono<List<FinancialInstrumentInfo>> instruments(PartitionNode node) {
+        return webClient.get()
+                        .uri(node.url() + "/api/v1/partition/instruments")
+                        .retrieve()
+                        .bodyToMono(new ParameterizedTypeReference<List<FinancialInstrumentInfo>>() {})
+                        .timeout(requestTimeout);
+    }
+}
@@ -0,0 +1,59 @@
+package com.iflash.mes.partition;
+
+import com.iflash.core.engine.FinancialInstrumentInfo;
+import com.iflash.mes.engine.TickerHandoff;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/partition")
+@RequiredArgsConstructor
+class PartitionController {
+
+    private final PartitionCoordinator partitionCoordinator;
+    private final ClusterInstruments clusterInstruments;
+
+    @GetMapping
+    ResponseEntity<PartitionStatus> getPartitionStatus() {
+        return ResponseEntity.ok(partitionCoordinator.status());
+    }
+
+    @GetMapping("/owner/{ticker}")
+    ResponseEntity<PartitionNode> getOwner(@PathVariable String ticker) {
+        return ResponseEntity.ok(partitionCoordinator.owner(ticker.toUpperCase()));
+    }
+
+    /**
+     * Instruments of the tickers this node holds, {@code /api/v1/instrument} lists the whole cluster.
+     */
+    @GetMapping("/instruments")
+    ResponseEntity<List<FinancialInstrumentInfo>> getHeldInstruments() {
+        return ResponseEntity.ok(clusterInstruments.heldInstruments());
+    }
+
+    /**
+     * Called by the node taking the ticker over, the ticker stops accepting orders here. Repeated calls return the
+     * same state until the release completes.
+     */
+    @PostMapping("/tickers/{ticker}/release")
+    ResponseEntity<TickerHandoff> release(@PathVariable String ticker, @RequestParam String nodeId) {
+        return ResponseEntity.ok(partitionCoordinator.release(ticker.toUpperCase(), nodeId));
+    }
+
+    /**
+     * Called by the node which took the ticker over once it restored the hand-off, the released state is dropped here.
+     */
+    @PostMapping("/tickers/{ticker}/release/complete")
+    ResponseEntity<Void> completeRelease(@PathVariable String ticker, @RequestParam String nodeId) {
+        partitionCoordinator.completeRelease(ticker.toUpperCase(), nodeId);
+        return ResponseEntity.noContent().build();
+    }
+}
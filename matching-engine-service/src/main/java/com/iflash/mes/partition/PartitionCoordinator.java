@@ -0,0 +1,211 @@
+package com.iflash.mes.partition;
+
+import com.iflash.mes.engine.TickerEngines;
+import com.iflash.mes.engine.TickerHandoff;
+import com.iflash.mes.instrument.Instrument;
+import com.iflash.mes.instrument.InstrumentUniverse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps this node in the {@link PartitionDirectory} and the held tickers in line with the {@link PartitionMap} of the
+ * live nodes. A node gaining a ticker asks every other live node to release it, replays the returned snapshot into a
+ * new engine and then completes the release, only then the releasing node drops its state. A ticker starts from its
+ * initial price only when every node asked answered that it does not hold it. When some node does not answer or
+ * refuses, the ticker is tried again on the next refresh, so a ticker is never started while another node may still
+ * hold it. Nodes which left the directory are still asked for {@code partition.drain-timeout}, the tickers of a
+ * crashed node start over empty once it passes. A node hands a ticker only to its owner in its own partition map,
+ * nodes which disagree about the live nodes retry until their maps converge.
+ * <p>
+ * Stopping leaves the directory first and keeps serving hand-off requests until the other nodes took over and
+ * completed the release of every held ticker or {@code partition.drain-timeout} passes. The lifecycle stops before
+ * the web server does.
+ */
+@Slf4j
+@Component
+class PartitionCoordinator implements SmartLifecycle {
+
+    private final PartitionDirectory partitionDirectory;
+    private final PartitionClient partitionClient;
+    private final TickerEngines tickerEngines;
+    private final InstrumentUniverse instrumentUniverse;
+    private final PartitionNode node;
+    private final Duration refreshInterval;
+    private final Duration drainTimeout;
+    private final ScheduledExecutorService refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> Thread.ofPlatform()
+                                                                                                                          .name("partition-coordinator")
+                                                                                                                          .daemon(true)
+                                                                                                                          .unstarted(runnable));
+    private final Map<PartitionNode, Long> departedNodeDeadlines = new HashMap<>(); // refresh thread only
+    private final Map<String, PartitionNode> pendingReleaseCompletions = new HashMap<>(); // refresh thread only
+    private volatile PartitionMap partitionMap = PartitionMap.of(List.of());
+    private volatile boolean running;
+
+    PartitionCoordinator(PartitionDirectory partitionDirectory, PartitionClient partitionClient, TickerEngines tickerEngines, InstrumentUniverse instrumentUniverse,
+                         @Value("${partition.node-id}") String nodeId, @Value("${partition.advertised-url}") String advertisedUrl,
+                         @Value("${partition.refresh-interval}") Duration refreshInterval, @Value("${partition.drain-timeout}") Duration drainTimeout) {
+        this.partitionDirectory = partitionDirectory;
+        this.partitionClient = partitionClient;
+        this.tickerEngines = tickerEngines;
+        this.instrumentUniverse = instrumentUniverse;
+        this.node = new PartitionNode(nodeId, advertisedUrl);
+        this.refreshInterval = refreshInterval;
+        this.drainTimeout = drainTimeout;
+    }
+
+    @Override
+    public void start() {
+        log.info("Node {} joining partition directory as {}", node.nodeId(), node.url());
+        running = true;
+        refreshExecutor.scheduleWithFixedDelay(this::refresh, 0L, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        refreshExecutor.shutdownNow();
+        partitionDirectory.remove(node);
+        log.info("Node {} left partition directory, handing over {} tickers", node.nodeId(), tickerEngines.tickers().size());
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+        while (!tickerEngines.isEmpty() && !partitionDirectory.liveNodes().isEmpty() && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(refreshInterval.toMillis());
+            }
+            catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        if (!tickerEngines.isEmpty()) {
+            log.warn("Node {} stopped with tickers not handed over, {} still trading", node.nodeId(), tickerEngines.tickers().size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    PartitionStatus status() {
+        return new PartitionStatus(node, partitionMap.nodes(), tickerEngines.tickers());
+    }
+
+    PartitionNode owner(String ticker) {
+        PartitionNode owner = partitionMap.owner(ticker);
+        if (owner == null) {
+            throw PartitionException.noOwner(ticker);
+        }
+        return owner;
+    }
+
+    TickerHandoff release(String ticker, String requestingNodeId) {
+        PartitionNode owner = partitionMap.owner(ticker);
+        if (running && (owner == null || !owner.nodeId().equals(requestingNodeId))) {
+            throw PartitionException.notOwner(requestingNodeId, ticker);
+        }
+        TickerHandoff tickerHandoff = tickerEngines.release(ticker);
+        if (tickerHandoff == null) {
+            throw PartitionException.notHeld(ticker);
+        }
+        return tickerHandoff;
+    }
+
+    void completeRelease(String ticker, String requestingNodeId) {
+        if (!tickerEngines.completeRelease(ticker)) {
+            throw PartitionException.notHeld(ticker);
+        }
+        log.debug("Node {} completed release of ticker: {}", requestingNodeId, ticker);
+    }
+
+    private void refresh() {
+        try {
+            partitionDirectory.heartbeat(node);
+            PartitionMap currentPartitionMap = PartitionMap.of(partitionDirectory.liveNodes());
+            if (!currentPartitionMap.equals(partitionMap)) {
+                log.info("Partition map changed to {}", currentPartitionMap);
+                long drainDeadline = System.nanoTime() + drainTimeout.toNanos();
+                partitionMap.nodes()
+                            .stream()
+                            .filter(partitionNode -> !partitionNode.equals(node) && !currentPartitionMap.nodes().contains(partitionNode))
+                            .forEach(departedNode -> departedNodeDeadlines.put(departedNode, drainDeadline));
+                currentPartitionMap.nodes().forEach(departedNodeDeadlines::remove);
+                partitionMap = currentPartitionMap;
+            }
+            departedNodeDeadlines.values().removeIf(drainDeadline -> drainDeadline - System.nanoTime() < 0L);
+            for (Instrument instrument : instrumentUniverse.instruments()) {
+                if (running && currentPartitionMap.isOwner(node, instrument.ticker()) && !tickerEngines.holds(instrument.ticker())) {
+                    acquire(instrument, currentPartitionMap);
+                }
+            }
+            completePendingReleases(currentPartitionMap);
+        }
+        catch (RuntimeException runtimeException) {
+            log.warn("Partition refresh failed: {}", runtimeException.getMessage());
+        }
+    }
+
+    /**
+     * Asks the live nodes and the nodes still draining after leaving the directory. A node which does not answer may
+     * still hold the ticker, a live one may only be behind with its partition map and a departed one may still be
+     * draining.
+     */
+    private void acquire(Instrument instrument, PartitionMap currentPartitionMap) {
+        String ticker = instrument.ticker();
+        boolean holderMayExist = false;
+        List<PartitionNode> partitionNodes = new ArrayList<>(currentPartitionMap.nodes());
+        partitionNodes.addAll(departedNodeDeadlines.keySet());
+        for (PartitionNode partitionNode : partitionNodes) {
+            if (!partitionNode.equals(node)) {
+                try {
+                    Optional<TickerHandoff> tickerHandoff = partitionClient.release(partitionNode, ticker, node.nodeId());
+                    if (tickerHandoff.isPresent()) {
+                        tickerEngines.takeOver(tickerHandoff.get());
+                        pendingReleaseCompletions.put(ticker, partitionNode);
+                        return;
+                    }
+                }
+                catch (RuntimeException runtimeException) {
+                    holderMayExist = true;
+                    log.debug("Node {} did not hand over ticker: {}: {}", partitionNode.nodeId(), ticker, runtimeException.getMessage());
+                }
+            }
+        }
+        if (holderMayExist) {
+            log.info("Ticker: {} not acquired, a node which may hold it did not answer", ticker);
+            return;
+        }
+        tickerEngines.start(ticker, instrument.initialPrice());
+    }
+
+    /**
+     * Retried on every refresh until the releasing node answers or it is neither live nor draining any more.
+     */
+    private void completePendingReleases(PartitionMap currentPartitionMap) {
+        pendingReleaseCompletions.entrySet().removeIf(pendingRelease -> {
+            PartitionNode releasingNode = pendingRelease.getValue();
+            if (!currentPartitionMap.nodes().contains(releasingNode) && !departedNodeDeadlines.containsKey(releasingNode)) {
+                return true;
+            }
+            try {
+                partitionClient.completeRelease(releasingNode, pendingRelease.getKey(), node.nodeId());
+                return true;
+            }
+            catch (RuntimeException runtimeException) {
+                log.debug("Node {} did not complete release of ticker: {}: {}", releasingNode.nodeId(), pendingRelease.getKey(), runtimeException.getMessage());
+                return false;
+            }
+        });
+    }
+}
@@ -0,0 +1,83 @@
+package com.iflash.mes.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Live nodes of the cluster kept as one file per node in a directory shared by all nodes, e.g. a volume mounted into
+ * every container. Every heartbeat rewrites the file of the node and a node counts as live while its file is younger
+ * than {@code partition.node-timeout}, so a crashed node drops out of the cluster without any coordination.
+ */
+@Slf4j
+@Component
+class PartitionDirectory {
+
+    private static final String NODE_FILE_SUFFIX = ".node";
+
+    private final Path directory;
+    private final Duration nodeTimeout;
+
+    PartitionDirectory(@Value("${partition.directory}") Path directory, @Value("${partition.node-timeout}") Duration nodeTimeout) {
+        this.directory = directory;
+        this.nodeTimeout = nodeTimeout;
+    }
+
+    void heartbeat(PartitionNode node) {
+        try {
+            Files.createDirectories(directory);
+            Path temporaryFile = Files.writeString(directory.resolve(node.nodeId() + NODE_FILE_SUFFIX + ".tmp"), node.url());
+            Files.move(temporaryFile, nodeFile(node), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+
+    void remove(PartitionNode node) {
+        try {
+            Files.deleteIfExists(nodeFile(node));
+        }
+        catch (IOException ioException) {
+            log.warn("Cannot remove node {} from partition directory: {}", node.nodeId(), ioException.getMessage());
+        }
+    }
+
+    List<PartitionNode> liveNodes() {
+        FileTime oldestLiveHeartbeat = FileTime.from(Instant.now().minus(nodeTimeout));
+        List<PartitionNode> liveNodes = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(path -> path.getFileName().toString().endsWith(NODE_FILE_SUFFIX)).toList()) {
+                try {
+                    if (Files.getLastModifiedTime(file).compareTo(oldestLiveHeartbeat) >= 0) {
+                        String fileName = file.getFileName().toString();
+                        liveNodes.add(new PartitionNode(fileName.substring(0, fileName.length() - NODE_FILE_SUFFIX.length()), Files.readString(file).trim()));
+                    }
+                }
+                catch (IOException ioException) {
+                    log.debug("Skipping node file {}: {}", file, ioException.getMessage()); // removed while listing
+                }
+            }
+        }
+        catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+        return liveNodes;
+    }
+
+    private Path nodeFile(PartitionNode node) {
+        return directory.resolve(node.nodeId() + NODE_FILE_SUFFIX);
+    }
+}
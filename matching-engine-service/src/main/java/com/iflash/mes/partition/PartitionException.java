@@ -0,0 +1,31 @@
+package com.iflash.mes.partition;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class PartitionException extends RuntimeException {
+
+    private final HttpStatus httpStatus;
+
+    private PartitionException(String message, HttpStatus httpStatus) {
+        super(message);
+        this.httpStatus = httpStatus;
+    }
+
+    public static PartitionException notOwned(String ticker) {
+        return new PartitionException("Ticker " + ticker + " is not owned by this node", HttpStatus.MISDIRECTED_REQUEST);
+    }
+
+    public static PartitionException noOwner(String ticker) {
+        return new PartitionException("No live node owns ticker " + ticker, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    public static PartitionException notOwner(String nodeId, String ticker) {
+        return new PartitionException("Node " + nodeId + " does not own ticker " + ticker + " in the current partition map", HttpStatus.CONFLICT);
+    }
+
+    public static PartitionException notHeld(String ticker) {
+        return new PartitionException("Ticker " + ticker + " is not held by this node", HttpStatus.NOT_FOUND);
+    }
+}
@@ -0,0 +1,61 @@
+package com.iflash.mes.partition;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Assignment of tickers to the live nodes of the cluster by a {@link ConsistentHashRing} of their node ids. Two maps
+ * of the same nodes are equal and assign every ticker the same way.
+ */
+public class PartitionMap {
+
+    private static final int VIRTUAL_NODES = 128;
+
+    private final Map<String, PartitionNode> nodesById;
+    private final ConsistentHashRing consistentHashRing;
+
+    private PartitionMap(Map<String, PartitionNode> nodesById) {
+        this.nodesById = nodesById;
+        this.consistentHashRing = new ConsistentHashRing(nodesById.keySet(), VIRTUAL_NODES);
+    }
+
+    public static PartitionMap of(Collection<PartitionNode> nodes) {
+        Map<String, PartitionNode> nodesById = new TreeMap<>();
+        nodes.forEach(node -> nodesById.put(node.nodeId(), node));
+        return new PartitionMap(nodesById);
+    }
+
+    /**
+     * @return node owning the ticker, {@code null} when there is no live node
+     */
+    public PartitionNode owner(String ticker) {
+        String nodeId = consistentHashRing.nodeId(ticker);
+        return nodeId == null ? null : nodesById.get(nodeId);
+    }
+
+    public boolean isOwner(PartitionNode node, String ticker) {
+        return node.equals(owner(ticker));
+    }
+
+    public List<PartitionNode> nodes() {
+        return List.copyOf(nodesById.values());
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof PartitionMap partitionMap && nodesById.equals(partitionMap.nodesById);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(nodesById);
+    }
+
+    @Override
+    public String toString() {
+        return "PartitionMap" + nodesById.keySet();
+    }
+}
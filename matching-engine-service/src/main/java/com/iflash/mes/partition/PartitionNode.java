@@ -0,0 +1,7 @@
+package com.iflash.mes.partition;
+
+/**
+ * @param url base url other nodes and the gateway reach the node at
+ */
+public record PartitionNode(String nodeId, String url) {
+}
@@ -0,0 +1,10 @@
+package com.iflash.mes.partition;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @param heldTickers tickers this node currently matches, they lag behind the partition map during a hand-off
+ */
+public record PartitionStatus(PartitionNode node, List<PartitionNode> liveNodes, Set<String> heldTickers) {
+}
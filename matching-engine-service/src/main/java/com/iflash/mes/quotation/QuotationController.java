@@ -0,0 +1,42 @@
+package com.iflash.mes.quotation;
+
+import com.iflash.commons.OrderBy;
+import com.iflash.commons.Page;
+import com.iflash.commons.Pagination;
+import com.iflash.core.quotation.CurrentQuotation;
+import com.iflash.mes.engine.TickerEngines;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/quotation")
+@RequiredArgsConstructor
+class QuotationController {
+
+    private final TickerEngines tickerEngines;
+
+    @GetMapping("/{ticker}/price")
+    ResponseEntity<CurrentQuoteResponse> getCurrentPrice(@PathVariable String ticker) {
+        String upperCaseTicker = ticker.toUpperCase();
+        CurrentQuotation currentQuotation = tickerEngines.engine(upperCaseTicker).quotationProvider().getCurrentQuote(upperCaseTicker);
+
+        return ResponseEntity.ok(CurrentQuoteResponse.create(currentQuotation, upperCaseTicker));
+    }
+
+    @GetMapping("/{ticker}/quotes")
+    ResponseEntity<CurrentMultiQuoteResponse> getCurrentPrices(@PathVariable String ticker,
+                                                               @RequestParam(defaultValue = "0") int page,
+                                                               @RequestParam(defaultValue = "20") int size,
+                                                               @RequestParam(defaultValue = "ASC") OrderBy orderBy) {
+        String upperCaseTicker = ticker.toUpperCase();
+        Pagination pagination = new Pagination(page, size, orderBy);
+        Page<CurrentQuotation> lastQuotes = tickerEngines.engine(upperCaseTicker).quotationProvider().getLastQuotes(upperCaseTicker, pagination);
+
+        return ResponseEntity.ok(CurrentMultiQuoteResponse.create(lastQuotes, upperCaseTicker));
+    }
+}
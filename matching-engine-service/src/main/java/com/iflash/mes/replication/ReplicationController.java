@@ -0,0 +1,59 @@
+package com.iflash.mes.replication;
+
+import com.iflash.core.marketdata.BookUpdate;
+import com.iflash.core.marketdata.LastTrade;
+import com.iflash.core.marketdata.QuotationUpdate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * Server-sent replication stream of the tickers held by this node. It is never conflated, it is completed with an
+ * error when the client falls too far behind.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/stream")
+@RequiredArgsConstructor
+class ReplicationController {
+
+    private final ReplicationStream replicationStream;
+
+    @GetMapping(path = "/replication", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    Flux<ServerSentEvent<Object>> streamReplication() {
+        log.info("New replication subscription");
+        return replicationStream.events()
+                                .map(ReplicationController::toServerSentEvent);
+    }
+
+    private static ServerSentEvent<Object> toServerSentEvent(Object update) {
+        return switch (update) {
+            case QuotationUpdate quotationUpdate -> ServerSentEvent.builder((Object) quotationUpdate)
+                                                                   .event("quotation")
+                                                                   .build();
+            case LastTrade lastTrade -> ServerSentEvent.builder((Object) lastTrade)
+                                                       .event("trade")
+                                                       .id(String.valueOf(lastTrade.sequence()))
+                                                       .build();
+            case BookUpdate bookUpdate -> ServerSentEvent.builder((Object) bookUpdate)
+                                                         .event("book-update")
+                                                         .id(String.valueOf(bookUpdate.sequence()))
+                                                         .build();
+            case TickerHeld tickerHeld -> ServerSentEvent.builder((Object) tickerHeld)
+                                                         .event("ticker-held")
+                                                         .build();
+            case TickerReleased tickerReleased -> ServerSentEvent.builder((Object) tickerReleased)
+                                                                 .event("ticker-released")
+                                                                 .build();
+            case ReplicationStarted replicationStarted -> ServerSentEvent.builder((Object) replicationStarted)
+                                                                         .event("replication-started")
+                                                                         .build();
+            default -> throw new IllegalStateException("Unknown replication update: " + update);
+        };
+    }
+}
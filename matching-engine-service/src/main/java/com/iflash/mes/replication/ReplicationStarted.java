@@ -0,0 +1,8 @@
+package com.iflash.mes.replication;
+
+/**
+ * First event of every replication stream, sent once the subscriber is registered. Snapshots of the tickers held
+ * by this node taken after receiving it are continued by the updates of the same stream.
+ */
+record ReplicationStarted(long timestamp) {
+}
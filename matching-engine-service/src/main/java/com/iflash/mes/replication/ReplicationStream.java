@@ -0,0 +1,71 @@
+package com.iflash.mes.replication;
+
+import com.iflash.core.marketdata.BookUpdate;
+import com.iflash.core.marketdata.LastTrade;
+import com.iflash.core.marketdata.MarketDataListener;
+import com.iflash.core.marketdata.QuotationUpdate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Feeds the order book replicas from the engines of the tickers held by this node. Book updates, trades and
+ * quotations are offered unconflated to every replication subscriber, together with the tickers this node starts
+ * and stops holding, so a replica follows each ticker to the node owning it. Delivery happens on the parallel
+ * scheduler, the engine thread only records the update in each subscriber's buffer.
+ */
+@Component
+public class ReplicationStream implements MarketDataListener {
+
+    private final Set<BufferingSubscriber<Object>> subscribers = ConcurrentHashMap.newKeySet();
+    private final Scheduler deliveryScheduler = Schedulers.parallel();
+    private final int bufferSize;
+
+    public ReplicationStream(@Value("${replication.buffer-size}") int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void onLastTrade(LastTrade lastTrade) {
+        replicate(lastTrade);
+    }
+
+    @Override
+    public void onQuotation(QuotationUpdate quotationUpdate) {
+        replicate(quotationUpdate);
+    }
+
+    @Override
+    public void onBookUpdate(BookUpdate bookUpdate) {
+        replicate(bookUpdate);
+    }
+
+    public void onTickerHeld(String ticker) {
+        replicate(new TickerHeld(ticker));
+    }
+
+    public void onTickerReleased(String ticker) {
+        replicate(new TickerReleased(ticker));
+    }
+
+    Flux<Object> events() {
+        return Flux.create(sink -> {
+            BufferingSubscriber<Object> subscriber = new BufferingSubscriber<>(sink, deliveryScheduler, bufferSize);
+            sink.onRequest(requested -> subscriber.requested());
+            sink.onDispose(() -> subscribers.remove(subscriber));
+            subscribers.add(subscriber);
+            subscriber.offer(new ReplicationStarted(System.currentTimeMillis()));
+        });
+    }
+
+    private void replicate(Object update) {
+        for (BufferingSubscriber<Object> subscriber : subscribers) {
+            subscriber.offer(update);
+        }
+    }
+}
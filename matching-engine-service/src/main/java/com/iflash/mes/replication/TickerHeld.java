@@ -0,0 +1,7 @@
+package com.iflash.mes.replication;
+
+/**
+ * The ticker started or resumed trading on this node, replicas load its snapshot from here and follow its updates.
+ */
+record TickerHeld(String ticker) {
+}
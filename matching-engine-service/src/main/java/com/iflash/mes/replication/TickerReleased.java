@@ -0,0 +1,7 @@
+package com.iflash.mes.replication;
+
+/**
+ * The ticker stopped trading on this node, replicas wait for the node taking it over.
+ */
+record TickerReleased(String ticker) {
+}
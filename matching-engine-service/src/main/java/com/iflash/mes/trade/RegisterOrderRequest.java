@@ -0,0 +1,31 @@
+package com.iflash.mes.trade;
+
+import com.iflash.core.order.ExecutionReportMode;
+import com.iflash.core.order.OrderDirection;
+import com.iflash.core.order.OrderType;
+import com.iflash.core.order.RegisterOrderCommand;
+import lombok.Data;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@ToString
+class RegisterOrderRequest {
+
+    private UUID orderId;
+    private OrderDirection orderDirection;
+    private OrderType orderType;
+    private String ticker;
+    private BigDecimal price;
+    private Long volume;
+    private ExecutionReportMode executionReportMode; // optional, PER_ORDER when missing
+    private Long displayVolume; // only for ICEBERG orders
+    private Long expireTimestamp; // epoch millis, required for GTD orders
+    private BigDecimal limitPrice; // required for STOP_LIMIT orders
+
+    RegisterOrderCommand command() {
+        return new RegisterOrderCommand(orderId, orderDirection, orderType, ticker, price, volume, executionReportMode, displayVolume, expireTimestamp, limitPrice);
+    }
+}
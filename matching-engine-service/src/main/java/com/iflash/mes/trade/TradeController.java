@@ -0,0 +1,26 @@
+package com.iflash.mes.trade;
+
+import com.iflash.core.order.OrderRegistrationResult;
+import com.iflash.mes.engine.TickerEngines;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/trade")
+@RequiredArgsConstructor
+class TradeController {
+
+    private final TickerEngines tickerEngines;
+
+    @PostMapping("/order")
+    ResponseEntity<OrderRegistrationResult> registerOrder(@RequestBody RegisterOrderRequest registerOrderRequest) {
+        log.debug("Order registration request: {}", registerOrderRequest);
+        return ResponseEntity.ok(tickerEngines.registerOrder(registerOrderRequest.command()));
+    }
+}
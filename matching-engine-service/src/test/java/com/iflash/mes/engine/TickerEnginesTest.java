@@ -0,0 +1,98 @@
+package com.iflash.mes.engine;
+
+import com.iflash.core.engine.PendingOrders;
+import com.iflash.core.marketdata.BookOrder;
+import com.iflash.core.order.ExecutionReportMode;
+import com.iflash.core.order.OrderDirection;
+import com.iflash.core.order.OrderType;
+import com.iflash.core.order.RegisterOrderCommand;
+import com.iflash.core.order.RestingOrder;
+import com.iflash.mes.partition.PartitionException;
+import com.iflash.mes.replication.ReplicationStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickerEnginesTest {
+
+    private static final String TICKER = "AAPL";
+    private static final BigDecimal INITIAL_PRICE = new BigDecimal("245.27");
+
+    private final TickerEngines tickerEngines = new TickerEngines(new ReplicationStream(1024));
+
+    @Test
+    @DisplayName("Should keep released ticker and answer every release with the same state until the release completes")
+    void shouldKeepReleasedTickerUntilReleaseCompletes() {
+        tickerEngines.start(TICKER, INITIAL_PRICE);
+        tickerEngines.registerOrder(bid(17L));
+
+        TickerHandoff tickerHandoff = tickerEngines.release(TICKER);
+        TickerHandoff repeatedTickerHandoff = tickerEngines.release(TICKER);
+        boolean heldAfterRelease = tickerEngines.holds(TICKER);
+        boolean emptyAfterRelease = tickerEngines.isEmpty();
+        boolean releaseCompleted = tickerEngines.completeRelease(TICKER);
+
+        assertAll(() -> assertEquals(List.of(17L), tickerHandoff.pendingOrders().bids().stream().map(RestingOrder::volume).toList()),
+                  () -> assertSame(tickerHandoff, repeatedTickerHandoff),
+                  () -> assertFalse(heldAfterRelease),
+                  () -> assertFalse(emptyAfterRelease),
+                  () -> assertThrows(PartitionException.class, () -> tickerEngines.registerOrder(bid(3L))),
+                  () -> assertTrue(releaseCompleted),
+                  () -> assertTrue(tickerEngines.isEmpty()),
+                  () -> assertNull(tickerEngines.release(TICKER)),
+                  () -> assertFalse(tickerEngines.completeRelease(TICKER)));
+    }
+
+    @Test
+    @DisplayName("Should resume released ticker with its resting orders when nobody took it over")
+    void shouldResumeReleasedTickerWithItsOrders() {
+        tickerEngines.start(TICKER, INITIAL_PRICE);
+        tickerEngines.registerOrder(bid(17L));
+        tickerEngines.release(TICKER);
+
+        tickerEngines.start(TICKER, INITIAL_PRICE);
+        tickerEngines.registerOrder(bid(3L));
+
+        assertAll(() -> assertTrue(tickerEngines.holds(TICKER)),
+                  () -> assertEquals(List.of(17L, 3L), tickerEngines.engine(TICKER)
+                                                                    .orderBookOperations()
+                                                                    .getOrdersSnapshot(TICKER)
+                                                                    .bids()
+                                                                    .stream()
+                                                                    .map(BookOrder::volume)
+                                                                    .toList()));
+    }
+
+    @Test
+    @DisplayName("Should hand pending stop order and iceberg reserve with its expiry over to the node taking the ticker over")
+    void shouldHandStopAndIcebergOrdersOver() {
+        long expireTimestamp = System.currentTimeMillis() + 3_600_000L;
+        RegisterOrderCommand stopOrder = new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.BID, OrderType.STOP, TICKER, new BigDecimal("300.00"), 5L);
+        tickerEngines.start(TICKER, INITIAL_PRICE);
+        tickerEngines.registerOrder(stopOrder);
+        tickerEngines.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.ASK, OrderType.ICEBERG, TICKER, INITIAL_PRICE, 30L,
+                                                             ExecutionReportMode.PER_ORDER, 10L, expireTimestamp));
+        TickerEngines takingOverEngines = new TickerEngines(new ReplicationStream(1024));
+
+        takingOverEngines.takeOver(tickerEngines.release(TICKER));
+        PendingOrders pendingOrders = takingOverEngines.engine(TICKER).recoveryOperations().getPendingOrders(TICKER);
+        RestingOrder icebergOrder = pendingOrders.asks().getFirst();
+
+        assertAll(() -> assertEquals(List.of(stopOrder), pendingOrders.stopOrders()),
+                  () -> assertEquals(1, pendingOrders.asks().size()),
+                  () -> assertEquals(10L, icebergOrder.volume()),
+                  () -> assertEquals(10L, icebergOrder.displayVolume()),
+                  () -> assertEquals(20L, icebergOrder.hiddenVolume()),
+                  () -> assertEquals(expireTimestamp, icebergOrder.expireTimestamp()),
+                  () -> assertEquals(10L, takingOverEngines.engine(TICKER).orderBookOperations().getMarketSnapshot(TICKER).bestAskVolume()));
+    }
+
+    private static RegisterOrderCommand bid(long volume) {
+        return new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.BID, OrderType.LIMIT, TICKER, INITIAL_PRICE, volume);
+    }
+}
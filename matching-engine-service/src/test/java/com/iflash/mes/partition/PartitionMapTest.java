@@ -0,0 +1,49 @@
+package com.iflash.mes.partition;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionMapTest {
+
+    private static final List<String> TICKERS = IntStream.range(0, 10_000).mapToObj(index -> "TICKER" + index).toList();
+
+    @Test
+    @DisplayName("Should assign tickers evenly and the same way regardless of node order")
+    void shouldAssignTickersEvenlyAndDeterministically() {
+        PartitionMap partitionMap = PartitionMap.of(List.of(node("a"), node("b"), node("c"), node("d")));
+        PartitionMap reversedPartitionMap = PartitionMap.of(List.of(node("d"), node("c"), node("b"), node("a")));
+
+        Map<String, Long> tickersByNode = TICKERS.stream().collect(Collectors.groupingBy(ticker -> partitionMap.owner(ticker).nodeId(), Collectors.counting()));
+
+        assertAll(() -> assertEquals(partitionMap, reversedPartitionMap),
+                  () -> assertTrue(TICKERS.stream().allMatch(ticker -> partitionMap.owner(ticker).equals(reversedPartitionMap.owner(ticker)))),
+                  () -> assertEquals(4, tickersByNode.size()),
+                  () -> assertTrue(tickersByNode.values().stream().allMatch(count -> count > 1_750L && count < 3_250L), tickersByNode::toString),
+                  () -> assertNull(PartitionMap.of(List.of()).owner("AAPL")));
+    }
+
+    @Test
+    @DisplayName("Should move only tickers taken by joining node")
+    void shouldMoveOnlyTickersTakenByJoiningNode() {
+        PartitionMap partitionMap = PartitionMap.of(List.of(node("a"), node("b"), node("c")));
+        PartitionMap joinedPartitionMap = PartitionMap.of(List.of(node("a"), node("b"), node("c"), node("d")));
+
+        Map<String, PartitionNode> ownersBefore = TICKERS.stream().collect(Collectors.toMap(Function.identity(), partitionMap::owner));
+        List<String> movedTickers = TICKERS.stream().filter(ticker -> !ownersBefore.get(ticker).equals(joinedPartitionMap.owner(ticker))).toList();
+
+        assertAll(() -> assertTrue(movedTickers.stream().allMatch(ticker -> joinedPartitionMap.isOwner(node("d"), ticker))),
+                  () -> assertTrue(movedTickers.size() > 1_750 && movedTickers.size() < 3_250, () -> "moved " + movedTickers.size()));
+    }
+
+    private PartitionNode node(String nodeId) {
+        return new PartitionNode(nodeId, "http://" + nodeId + ":8080");
+    }
+}
@@ -0,0 +1,129 @@
+package com.iflash.mes.partition;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every node as a separate JVM sharing one partition directory.
+ */
+class PartitionedNodesTest {
+
+    private static final List<String> TICKERS = List.of("AAPL", "MSFT", "AMZN", "GOOGL", "META", "NVDA", "TSLA");
+    private static final Duration TIMEOUT = Duration.ofSeconds(60L);
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final List<Process> processes = new ArrayList<>();
+
+    @TempDir
+    private Path partitionDirectory;
+
+    @AfterEach
+    void tearDown() {
+        processes.forEach(Process::destroyForcibly);
+    }
+
+    @Test
+    @DisplayName("Should hand resting orders of a ticker to the joining owner, list it from every node and take it back when the owner leaves")
+    void shouldHandTickerOverWhenNodesJoinAndLeave() throws Exception {
+        PartitionNode nodeA = new PartitionNode("node-a", "http://localhost:" + freePort());
+        PartitionNode nodeB = new PartitionNode("node-b", "http://localhost:" + freePort());
+        PartitionMap partitionMap = PartitionMap.of(List.of(nodeA, nodeB));
+        String ticker = TICKERS.stream().filter(candidate -> partitionMap.isOwner(nodeB, candidate)).findFirst().orElseThrow();
+        UUID orderId = UUID.randomUUID();
+        String order = """
+                {"orderId": "%s", "orderDirection": "BID", "orderType": "LIMIT", "ticker": "%s", "price": 1.00, "volume": 17}
+                """.formatted(orderId, ticker);
+
+        start(nodeA);
+        awaitBody(nodeA, "/api/v1/partition", body -> body.contains('"' + ticker + '"'));
+        assertEquals(200, post(nodeA, "/api/v1/trade/order", order).statusCode());
+
+        Process processB = start(nodeB);
+        awaitBody(nodeB, "/api/v1/partition", body -> body.contains('"' + ticker + '"'));
+        String ordersOnB = get(nodeB, "/api/v1/orderbook/" + ticker + "/orders").body();
+        int statusOnA = post(nodeA, "/api/v1/trade/order", order.replace(orderId.toString(), UUID.randomUUID().toString())).statusCode();
+        int quotationStatusOnA = get(nodeA, "/api/v1/quotation/" + ticker + "/price").statusCode();
+        String instrumentsOnA = get(nodeA, "/api/v1/instrument").body();
+
+        processB.destroy();
+        assertTrue(processB.waitFor(TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+        awaitBody(nodeA, "/api/v1/partition", body -> body.contains('"' + ticker + '"'));
+        String ordersOnA = get(nodeA, "/api/v1/orderbook/" + ticker + "/orders").body();
+
+        assertAll(() -> assertTrue(ordersOnB.contains("\"volume\":17"), ordersOnB),
+                  () -> assertEquals(421, statusOnA),
+                  () -> assertEquals(421, quotationStatusOnA),
+                  () -> assertTrue(instrumentsOnA.contains("{\"ticker\":\"" + ticker + "\""), instrumentsOnA),
+                  () -> assertTrue(ordersOnA.contains("\"volume\":17"), ordersOnA));
+    }
+
+    private Process start(PartitionNode node) throws IOException {
+        List<String> command = List.of(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                                       "-cp", System.getProperty("java.class.path"),
+                                       "com.iflash.mes.MatchingEngineServiceApplication",
+                                       "--server.port=" + URI.create(node.url()).getPort(),
+                                       "--partition.node-id=" + node.nodeId(),
+                                       "--partition.advertised-url=" + node.url(),
+                                       "--partition.directory=" + partitionDirectory,
+                                       "--partition.refresh-interval=200ms",
+                                       "--partition.node-timeout=2s");
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                                                     .redirectOutput(partitionDirectory.resolve(node.nodeId() + ".log").toFile())
+                                                     .start();
+        processes.add(process);
+        return process;
+    }
+
+    private void awaitBody(PartitionNode node, String path, Predicate<String> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                HttpResponse<String> response = get(node, path);
+                if (response.statusCode() == 200 && condition.test(response.body())) {
+                    return;
+                }
+            }
+            catch (IOException ioException) {
+                // node still starting
+            }
+            Thread.sleep(200L);
+        }
+        fail("Node " + node.nodeId() + " did not reach expected state of " + path);
+    }
+
+    private HttpResponse<String> get(PartitionNode node, String path) throws IOException, InterruptedException {
+        return httpClient.send(HttpRequest.newBuilder(URI.create(node.url() + path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(PartitionNode node, String path, String body) throws IOException, InterruptedException {
+        HttpRequest httpRequest = HttpRequest.newBuilder(URI.create(node.url() + path))
+                                             .header("Content-Type", "application/json")
+                                             .POST(HttpRequest.BodyPublishers.ofString(body))
+                                             .build();
+        return httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private int freePort() throws IOException {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            return serverSocket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.iflash.mes.replication;
+
+import com.iflash.core.marketdata.BookUpdate;
+import com.iflash.core.marketdata.QuotationUpdate;
+import com.iflash.core.order.OrderDirection;
+import com.iflash.core.order.OrderType;
+import com.iflash.core.order.RegisterOrderCommand;
+import com.iflash.mes.engine.TickerEngines;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicationStreamTest {
+
+    private static final String TICKER = "AAPL";
+    private static final BigDecimal INITIAL_PRICE = new BigDecimal("245.27");
+
+    private final ReplicationStream replicationStream = new ReplicationStream(1024);
+    private final TickerEngines tickerEngines = new TickerEngines(replicationStream);
+
+    @Test
+    @DisplayName("Should replicate book updates of a held ticker between the events of holding and releasing it")
+    void shouldReplicateHeldTickerUntilItsRelease() throws Exception {
+        CompletableFuture<List<Object>> replicatedEvents = replicationStream.events()
+                                                                            .filter(event -> !(event instanceof QuotationUpdate))
+                                                                            .take(4)
+                                                                            .collectList()
+                                                                            .toFuture();
+
+        tickerEngines.start(TICKER, INITIAL_PRICE);
+        tickerEngines.registerOrder(new RegisterOrderCommand(UUID.randomUUID(), OrderDirection.BID, OrderType.LIMIT, TICKER, INITIAL_PRICE, 17L));
+        tickerEngines.release(TICKER);
+        List<Object> events = replicatedEvents.get(5L, TimeUnit.SECONDS);
+
+        assertAll(() -> assertInstanceOf(ReplicationStarted.class, events.get(0)),
+                  () -> assertEquals(new TickerHeld(TICKER), events.get(1)),
+                  () -> assertEquals(17L, assertInstanceOf(BookUpdate.class, events.get(2)).volume()),
+                  () -> assertEquals(new TickerReleased(TICKER), events.get(3)));
+    }
+}
@@ -0,0 +1,18 @@
+package com.iflash.obs;
+
+import com.iflash.obs.replica.ReplicaException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+class ExceptionsHandler {
+
+    @ExceptionHandler(exception = ReplicaException.class)
+    public ResponseEntity<ExceptionResponse> replicaException(ReplicaException replicaException) {
+        return ResponseEntity.status(replicaException.getHttpStatus())
+                             .body(new ExceptionResponse(replicaException.getMessage()));
+    }
+
+    record ExceptionResponse(String message) {}
+}
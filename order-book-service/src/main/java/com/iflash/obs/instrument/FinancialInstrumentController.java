@@ -0,0 +1,24 @@
+package com.iflash.obs.instrument;
+
+import com.iflash.core.engine.FinancialInstrumentInfo;
+import com.iflash.obs.replica.ReplicaStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/instrument")
+@RequiredArgsConstructor
+class FinancialInstrumentController {
+
+    private final ReplicaStore replicaStore;
+
+    @GetMapping
+    ResponseEntity<List<FinancialInstrumentInfo>> getFinancialInstruments() {
+        return ResponseEntity.ok(replicaStore.getFinancialInstrumentInfo());
+    }
+}
@@ -0,0 +1,54 @@
+package com.iflash.obs.orderbook;
+
+import com.iflash.commons.OrderBy;
+import com.iflash.commons.Page;
+import com.iflash.commons.Pagination;
+import com.iflash.core.marketdata.BookOrder;
+import com.iflash.core.marketdata.BookSnapshot;
+import com.iflash.core.marketdata.MarketSnapshot;
+import com.iflash.core.marketdata.OrdersSnapshot;
+import com.iflash.core.order.OrderDirection;
+import com.iflash.obs.replica.ReplicaStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.ZonedDateTime;
+
+@RestController
+@RequestMapping("/api/v1/orderbook")
+@RequiredArgsConstructor
+class OrderBookController {
+
+    private final ReplicaStore replicaStore;
+
+    @GetMapping("/{ticker}")
+    ResponseEntity<OrderBookSnapshotResponse> getOrderBookSnapshot(@PathVariable String ticker,
+                                                                   @RequestParam(required = true) OrderDirection orderDirection,
+                                                                   @RequestParam(defaultValue = "0") int page,
+                                                                   @RequestParam(defaultValue = "20") int size) {
+        String upperCaseTicker = ticker.toUpperCase();
+        Page<BookOrder> bookOrders = replicaStore.getBookOrders(upperCaseTicker, orderDirection, new Pagination(page, size, OrderBy.ASC));
+
+        return ResponseEntity.ok(new OrderBookSnapshotResponse(ZonedDateTime.now(), upperCaseTicker, orderDirection, bookOrders));
+    }
+
+    @GetMapping("/{ticker}/levels")
+    ResponseEntity<BookSnapshot> getBookSnapshot(@PathVariable String ticker) {
+        return ResponseEntity.ok(replicaStore.getBookSnapshot(ticker.toUpperCase()));
+    }
+
+    @GetMapping("/{ticker}/orders")
+    ResponseEntity<OrdersSnapshot> getOrdersSnapshot(@PathVariable String ticker) {
+        return ResponseEntity.ok(replicaStore.getOrdersSnapshot(ticker.toUpperCase()));
+    }
+
+    @GetMapping("/{ticker}/top")
+    ResponseEntity<MarketSnapshot> getMarketSnapshot(@PathVariable String ticker) {
+        return ResponseEntity.ok(replicaStore.getMarketSnapshot(ticker.toUpperCase()));
+    }
+}
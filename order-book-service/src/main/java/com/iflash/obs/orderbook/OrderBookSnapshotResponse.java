@@ -0,0 +1,10 @@
+package com.iflash.obs.orderbook;
+
+import com.iflash.commons.Page;
+import com.iflash.core.marketdata.BookOrder;
+import com.iflash.core.order.OrderDirection;
+
+import java.time.ZonedDateTime;
+
+record OrderBookSnapshotResponse(ZonedDateTime responseZonedDateTime, String ticker, OrderDirection orderDirection, Page<BookOrder> data) {
+}
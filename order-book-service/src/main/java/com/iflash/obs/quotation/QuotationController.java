@@ -0,0 +1,40 @@
+package com.iflash.obs.quotation;
+
+import com.iflash.commons.OrderBy;
+import com.iflash.commons.Page;
+import com.iflash.commons.Pagination;
+import com.iflash.core.quotation.CurrentQuotation;
+import com.iflash.obs.replica.ReplicaStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/quotation")
+@RequiredArgsConstructor
+class QuotationController {
+
+    private final ReplicaStore replicaStore;
+
+    @GetMapping("/{ticker}/price")
+    ResponseEntity<CurrentQuoteResponse> getCurrentPrice(@PathVariable String ticker) {
+        CurrentQuotation currentQuotation = replicaStore.getCurrentQuote(ticker.toUpperCase());
+
+        return ResponseEntity.ok(CurrentQuoteResponse.create(currentQuotation, ticker.toUpperCase()));
+    }
+
+    @GetMapping("/{ticker}/quotes")
+    ResponseEntity<CurrentMultiQuoteResponse> getCurrentPrices(@PathVariable String ticker,
+                                                               @RequestParam(defaultValue = "0") int page,
+                                                               @RequestParam(defaultValue = "20") int size,
+                                                               @RequestParam(defaultValue = "ASC") OrderBy orderBy) {
+        Pagination pagination = new Pagination(page, size, orderBy);
+        Page<CurrentQuotation> lastQuotes = replicaStore.getLastQuotes(ticker.toUpperCase(), pagination);
+
+        return ResponseEntity.ok(CurrentMultiQuoteResponse.create(lastQuotes, ticker.toUpperCase()));
+    }
+}
@@ -0,0 +1,112 @@
+package com.iflash.obs.replica;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.iflash.core.engine.FinancialInstrumentInfo;
+import com.iflash.core.marketdata.MarketSnapshot;
+import com.iflash.core.marketdata.OrdersSnapshot;
+import com.iflash.core.quotation.CurrentQuotation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Lists the live matching engine nodes through any node of {@code replica.engine-url} and reads the replication stream
+ * of each node and the snapshots used to bootstrap and resynchronize the tickers it holds.
+ */
+@Component
+class EngineClient {
+
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SERVER_SENT_EVENT = new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<List<FinancialInstrumentInfo>> INSTRUMENTS = new ParameterizedTypeReference<>() {};
+
+    private final WebClient webClient;
+
+    EngineClient(WebClient.Builder webClientBuilder, @Value("${replica.engine-url}") String engineUrl) {
+        this.webClient = webClientBuilder.baseUrl(engineUrl)
+                                         .build();
+    }
+
+    /**
+     * @return base urls of the live engine nodes
+     */
+    Mono<List<String>> nodeUrls() {
+        return webClient.get()
+                        .uri("/api/v1/partition")
+                        .retrieve()
+                        .bodyToMono(PartitionStatus.class)
+                        .map(partitionStatus -> partitionStatus.liveNodes()
+                                                               .stream()
+                                                               .map(PartitionStatus.PartitionNode::url)
+                                                               .toList());
+    }
+
+    Flux<ServerSentEvent<String>> replicationEvents(String nodeUrl) {
+        return webClient.get()
+                        .uri(nodeUrl + "/api/v1/stream/replication")
+                        .retrieve()
+                        .bodyToFlux(SERVER_SENT_EVENT);
+    }
+
+    /**
+     * Instruments of the tickers the node holds.
+     */
+    Mono<List<FinancialInstrumentInfo>> heldInstruments(String nodeUrl) {
+        return webClient.get()
+                        .uri(nodeUrl + "/api/v1/partition/instruments")
+                        .retrieve()
+                        .bodyToMono(INSTRUMENTS);
+    }
+
+    Mono<OrdersSnapshot> ordersSnapshot(String nodeUrl, String ticker) {
+        return webClient.get()
+                        .uri(nodeUrl + "/api/v1/orderbook/{ticker}/orders", ticker)
+                        .retrieve()
+                        .bodyToMono(OrdersSnapshot.class);
+    }
+
+    Mono<MarketSnapshot> marketSnapshot(String nodeUrl, String ticker) {
+        return webClient.get()
+                        .uri(nodeUrl + "/api/v1/orderbook/{ticker}/top", ticker)
+                        .retrieve()
+                        .bodyToMono(MarketSnapshot.class);
+    }
+
+    /**
+     * Up to {@code size} latest quotations, oldest first.
+     */
+    Mono<List<CurrentQuotation>> lastQuotes(String nodeUrl, String ticker, int size) {
+        return webClient.get()
+                        .uri(nodeUrl + "/api/v1/quotation/{ticker}/quotes?size={size}&orderBy=DESC", ticker, size)
+                        .retrieve()
+                        .bodyToMono(QuotesResponse.class)
+                        .map(quotesResponse -> quotesResponse.quotations()
+                                                             .elements()
+                                                             .reversed()
+                                                             .stream()
+                                                             .map(quote -> new CurrentQuotation(quote.quoteTimestamp(), quote.price()))
+                                                             .toList());
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private record PartitionStatus(List<PartitionNode> liveNodes) {
+
+        @JsonIgnoreProperties(ignoreUnknown = true)
+        private record PartitionNode(String url) {}
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private record QuotesResponse(String ticker, QuotesPage quotations) {
+
+        @JsonIgnoreProperties(ignoreUnknown = true)
+        private record QuotesPage(List<Quote> elements) {}
+
+        private record Quote(long quoteTimestamp, BigDecimal price) {}
+    }
+}
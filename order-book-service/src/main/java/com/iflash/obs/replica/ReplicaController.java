@@ -0,0 +1,22 @@
+package com.iflash.obs.replica;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/replica")
+@RequiredArgsConstructor
+class ReplicaController {
+
+    private final ReplicaStore replicaStore;
+
+    @GetMapping("/status")
+    ResponseEntity<List<ReplicaStatus>> getReplicaStatus() {
+        return ResponseEntity.ok(replicaStore.getReplicaStatus());
+    }
+}
@@ -0,0 +1,23 @@
+package com.iflash.obs.replica;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class ReplicaException extends RuntimeException {
+
+    private final HttpStatus httpStatus;
+
+    private ReplicaException(String message, HttpStatus httpStatus) {
+        super(message);
+        this.httpStatus = httpStatus;
+    }
+
+    public static ReplicaException noTicker(String ticker) {
+        return new ReplicaException("Ticker " + ticker + " is not replicated", HttpStatus.NOT_FOUND);
+    }
+
+    public static ReplicaException notSynced(String ticker) {
+        return new ReplicaException("Replica of " + ticker + " is synchronizing with the engine", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
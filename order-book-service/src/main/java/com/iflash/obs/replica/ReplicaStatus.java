@@ -0,0 +1,4 @@
+package com.iflash.obs.replica;
+
+public record ReplicaStatus(String ticker, boolean synced, long sequence) {
+}
@@ -0,0 +1,93 @@
+package com.iflash.obs.replica;
+
+import com.iflash.commons.Page;
+import com.iflash.commons.Pagination;
+import com.iflash.core.engine.FinancialInstrumentInfo;
+import com.iflash.core.marketdata.BookOrder;
+import com.iflash.core.marketdata.BookSnapshot;
+import com.iflash.core.marketdata.MarketSnapshot;
+import com.iflash.core.marketdata.OrdersSnapshot;
+import com.iflash.core.order.OrderDirection;
+import com.iflash.core.quotation.CurrentQuotation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read model of every replicated ticker. Queries are answered only from tickers in sync with the engine, a ticker
+ * still loading or recovering from a lost update is reported as unavailable so the gateway can retry on another
+ * replica.
+ */
+@Component
+public class ReplicaStore {
+
+    private final Map<String, TickerReplica> replicasByTicker = new ConcurrentHashMap<>();
+
+    @Value("${replica.quote-history-size}")
+    private int quoteHistorySize;
+
+    public List<FinancialInstrumentInfo> getFinancialInstrumentInfo() {
+        return replicasByTicker.values()
+                               .stream()
+                               .filter(TickerReplica::synced)
+                               .map(tickerReplica -> new FinancialInstrumentInfo(tickerReplica.ticker(), tickerReplica.currentQuote().price()))
+                               .sorted(Comparator.comparing(FinancialInstrumentInfo::ticker))
+                               .toList();
+    }
+
+    public CurrentQuotation getCurrentQuote(String ticker) {
+        return syncedReplica(ticker).currentQuote();
+    }
+
+    public Page<CurrentQuotation> getLastQuotes(String ticker, Pagination pagination) {
+        return syncedReplica(ticker).lastQuotes(pagination);
+    }
+
+    public BookSnapshot getBookSnapshot(String ticker) {
+        return syncedReplica(ticker).bookSnapshot();
+    }
+
+    public OrdersSnapshot getOrdersSnapshot(String ticker) {
+        return syncedReplica(ticker).ordersSnapshot();
+    }
+
+    public Page<BookOrder> getBookOrders(String ticker, OrderDirection orderDirection, Pagination pagination) {
+        return syncedReplica(ticker).bookOrders(orderDirection, pagination);
+    }
+
+    public MarketSnapshot getMarketSnapshot(String ticker) {
+        return syncedReplica(ticker).marketSnapshot();
+    }
+
+    public List<ReplicaStatus> getReplicaStatus() {
+        return replicasByTicker.values()
+                               .stream()
+                               .map(tickerReplica -> new ReplicaStatus(tickerReplica.ticker(), tickerReplica.synced(), tickerReplica.sequence()))
+                               .sorted(Comparator.comparing(ReplicaStatus::ticker))
+                               .toList();
+    }
+
+    TickerReplica tickerReplica(String ticker) {
+        return replicasByTicker.computeIfAbsent(ticker, key -> new TickerReplica(key, quoteHistorySize));
+    }
+
+    Collection<TickerReplica> tickerReplicas() {
+        return replicasByTicker.values();
+    }
+
+    private TickerReplica syncedReplica(String ticker) {
+        TickerReplica tickerReplica = replicasByTicker.get(ticker);
+        if (tickerReplica == null) {
+            throw ReplicaException.noTicker(ticker);
+        }
+        if (!tickerReplica.synced()) {
+            throw ReplicaException.notSynced(ticker);
+        }
+        return tickerReplica;
+    }
+}
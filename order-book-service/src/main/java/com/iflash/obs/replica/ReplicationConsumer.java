@@ -0,0 +1,186 @@
+package com.iflash.obs.replica;
+
+import com.iflash.core.marketdata.BookUpdate;
+import com.iflash.core.marketdata.LastTrade;
+import com.iflash.core.marketdata.QuotationUpdate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the {@link ReplicaStore} in sync with the matching engine nodes. The live nodes are listed every
+ * {@code replica.node-refresh-interval} and the replication stream of each is followed, every ticker is replicated
+ * from the node holding it and updates of other nodes are skipped. Every connection to a stream starts with a
+ * resynchronization of the tickers the node holds from its snapshots, a ticker taken over by a node is loaded from
+ * that node, and a ticker is loaded again whenever a sequence gap shows that an update was lost. A released ticker
+ * stays out of sync until its new owner announces it. A dropped connection is reopened after
+ * {@code replica.reconnect-delay}.
+ */
+@Slf4j
+@Component
+class ReplicationConsumer {
+
+    private final EngineClient engineClient;
+    private final ReplicaStore replicaStore;
+    private final JsonMapper jsonMapper;
+    private final Duration nodeRefreshInterval;
+    private final Duration reconnectDelay;
+    private final int quoteHistorySize;
+    private final Map<String, Disposable> subscriptionsByNode = new ConcurrentHashMap<>();
+    private Disposable nodeRefresh;
+
+    ReplicationConsumer(EngineClient engineClient, ReplicaStore replicaStore, JsonMapper jsonMapper,
+                        @Value("${replica.node-refresh-interval}") Duration nodeRefreshInterval, @Value("${replica.reconnect-delay}") Duration reconnectDelay,
+                        @Value("${replica.quote-history-size}") int quoteHistorySize) {
+        this.engineClient = engineClient;
+        this.replicaStore = replicaStore;
+        this.jsonMapper = jsonMapper;
+        this.nodeRefreshInterval = nodeRefreshInterval;
+        this.reconnectDelay = reconnectDelay;
+        this.quoteHistorySize = quoteHistorySize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        nodeRefresh = Flux.interval(Duration.ZERO, nodeRefreshInterval)
+                          .onBackpressureDrop()
+                          .concatMap(ignored -> engineClient.nodeUrls()
+                                                            .onErrorResume(exception -> {
+                                                                log.warn("Cannot list engine nodes: {}", exception.getMessage());
+                                                                return Mono.empty();
+                                                            }))
+                          .subscribe(this::followNodes);
+    }
+
+    @EventListener(ContextClosedEvent.class) // before the lifecycle stop of the http client waiting for open streams
+    void stop() {
+        if (nodeRefresh != null) {
+            nodeRefresh.dispose();
+        }
+        subscriptionsByNode.values()
+                           .forEach(Disposable::dispose);
+    }
+
+    private void followNodes(List<String> nodeUrls) {
+        nodeUrls.forEach(nodeUrl -> subscriptionsByNode.computeIfAbsent(nodeUrl, this::subscribe));
+        subscriptionsByNode.keySet()
+                           .stream()
+                           .filter(nodeUrl -> !nodeUrls.contains(nodeUrl))
+                           .toList()
+                           .forEach(this::unsubscribe);
+    }
+
+    private Disposable subscribe(String nodeUrl) {
+        log.info("Following replication stream of engine node {}", nodeUrl);
+        return engineClient.replicationEvents(nodeUrl)
+                           .doOnNext(event -> onEvent(nodeUrl, event))
+                           .doOnError(exception -> log.warn("Replication stream of {} failed: {}", nodeUrl, exception.getMessage()))
+                           .retryWhen(Retry.fixedDelay(Long.MAX_VALUE, reconnectDelay))
+                           .repeatWhen(completed -> completed.delayElements(reconnectDelay))
+                           .subscribe();
+    }
+
+    private void unsubscribe(String nodeUrl) {
+        log.info("Engine node {} left, its tickers wait for their new owners", nodeUrl);
+        subscriptionsByNode.remove(nodeUrl)
+                           .dispose();
+        replicaStore.tickerReplicas()
+                    .stream()
+                    .filter(tickerReplica -> tickerReplica.follows(nodeUrl))
+                    .forEach(TickerReplica::invalidate);
+    }
+
+    private void onEvent(String nodeUrl, ServerSentEvent<String> event) {
+        String eventType = event.event();
+        if (eventType == null || event.data() == null) {
+            return;
+        }
+        switch (eventType) {
+            case "replication-started" -> resyncNode(nodeUrl);
+            case "ticker-held" -> {
+                TickerReplica tickerReplica = replicaStore.tickerReplica(jsonMapper.readValue(event.data(), TickerEvent.class).ticker());
+                tickerReplica.follow(nodeUrl);
+                resync(tickerReplica);
+            }
+            case "ticker-released" -> {
+                TickerReplica tickerReplica = replicaStore.tickerReplica(jsonMapper.readValue(event.data(), TickerEvent.class).ticker());
+                if (tickerReplica.follows(nodeUrl)) {
+                    tickerReplica.invalidate();
+                }
+            }
+            case "book-update" -> {
+                BookUpdate bookUpdate = jsonMapper.readValue(event.data(), BookUpdate.class);
+                TickerReplica tickerReplica = replicaStore.tickerReplica(bookUpdate.ticker());
+                if (tickerReplica.follows(nodeUrl) && !tickerReplica.apply(bookUpdate)) {
+                    resync(tickerReplica);
+                }
+            }
+            case "trade" -> {
+                LastTrade lastTrade = jsonMapper.readValue(event.data(), LastTrade.class);
+                TickerReplica tickerReplica = replicaStore.tickerReplica(lastTrade.ticker());
+                if (tickerReplica.follows(nodeUrl)) {
+                    tickerReplica.onLastTrade(lastTrade);
+                }
+            }
+            case "quotation" -> {
+                QuotationUpdate quotationUpdate = jsonMapper.readValue(event.data(), QuotationUpdate.class);
+                TickerReplica tickerReplica = replicaStore.tickerReplica(quotationUpdate.ticker());
+                if (tickerReplica.follows(nodeUrl)) {
+                    tickerReplica.onQuotation(quotationUpdate);
+                }
+            }
+            default -> log.debug("Skipping replication event {}", eventType);
+        }
+    }
+
+    private void resyncNode(String nodeUrl) {
+        log.info("Replication stream of {} connected, synchronizing its tickers", nodeUrl);
+        replicaStore.tickerReplicas()
+                    .stream()
+                    .filter(tickerReplica -> tickerReplica.follows(nodeUrl))
+                    .forEach(TickerReplica::invalidate);
+        engineClient.heldInstruments(nodeUrl)
+                    .subscribe(instruments -> instruments.forEach(instrument -> {
+                                   TickerReplica tickerReplica = replicaStore.tickerReplica(instrument.ticker());
+                                   tickerReplica.follow(nodeUrl);
+                                   resync(tickerReplica);
+                               }),
+                               exception -> log.warn("Cannot load instruments of {}: {}", nodeUrl, exception.getMessage()));
+    }
+
+    private void resync(TickerReplica tickerReplica) {
+        String nodeUrl = tickerReplica.sourceNode();
+        if (nodeUrl == null || !tickerReplica.startResync()) {
+            return;
+        }
+        String ticker = tickerReplica.ticker();
+        Mono.zip(engineClient.ordersSnapshot(nodeUrl, ticker), engineClient.marketSnapshot(nodeUrl, ticker), engineClient.lastQuotes(nodeUrl, ticker, quoteHistorySize))
+            .subscribe(snapshots -> {
+                boolean synced = tickerReplica.load(nodeUrl, snapshots.getT1(), snapshots.getT2(), snapshots.getT3());
+                tickerReplica.finishResync();
+                if (!synced) {
+                    resync(tickerReplica);
+                }
+            }, exception -> {
+                tickerReplica.finishResync();
+                log.warn("Cannot load snapshot of {} from {}: {}", ticker, nodeUrl, exception.getMessage());
+            });
+    }
+
+    private record TickerEvent(String ticker) {
+    }
+}
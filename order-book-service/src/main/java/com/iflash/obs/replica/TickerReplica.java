@@ -0,0 +1,196 @@
+package com.iflash.obs.replica;
+
+import com.iflash.commons.Page;
+import com.iflash.commons.Pagination;
+import com.iflash.core.marketdata.BookOrder;
+import com.iflash.core.marketdata.BookSnapshot;
+import com.iflash.core.marketdata.BookUpdate;
+import com.iflash.core.marketdata.LastTrade;
+import com.iflash.core.marketdata.MarketSnapshot;
+import com.iflash.core.marketdata.OrderBookReplica;
+import com.iflash.core.marketdata.OrdersSnapshot;
+import com.iflash.core.marketdata.PriceLevel;
+import com.iflash.core.marketdata.QuotationUpdate;
+import com.iflash.core.order.OrderDirection;
+import com.iflash.core.quotation.CurrentQuotation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.iflash.core.configuration.GlobalSettings.MARKET_SNAPSHOT_DEPTH;
+
+/**
+ * Replicated state of one ticker: the order level book, the last trade and a bounded quotation history. Written by
+ * the replication consumer and by snapshot loads from the engine node holding the ticker, read by any request thread.
+ */
+class TickerReplica {
+
+    private final String ticker;
+    private final int quoteHistorySize;
+    private final OrderBookReplica orderBookReplica;
+    private final Deque<CurrentQuotation> quotations = new ArrayDeque<>();
+    private final AtomicBoolean resyncing = new AtomicBoolean();
+    private LastTrade lastTrade;
+    private boolean quotationsLoaded;
+    private String sourceNode;
+
+    TickerReplica(String ticker, int quoteHistorySize) {
+        this.ticker = ticker;
+        this.quoteHistorySize = quoteHistorySize;
+        this.orderBookReplica = OrderBookReplica.create(ticker);
+    }
+
+    String ticker() {
+        return ticker;
+    }
+
+    /**
+     * Replicates the ticker from the node which started holding it, the state replicated so far is dropped.
+     */
+    synchronized void follow(String nodeUrl) {
+        sourceNode = nodeUrl;
+        invalidate();
+    }
+
+    synchronized boolean follows(String nodeUrl) {
+        return nodeUrl.equals(sourceNode);
+    }
+
+    synchronized String sourceNode() {
+        return sourceNode;
+    }
+
+    boolean apply(BookUpdate bookUpdate) {
+        return orderBookReplica.apply(bookUpdate);
+    }
+
+    /**
+     * An auction trade changes no level, so it shares its sequence with the book update before it and only its
+     * timestamp tells it is newer.
+     */
+    synchronized void onLastTrade(LastTrade lastTrade) {
+        if (this.lastTrade == null || lastTrade.sequence() > this.lastTrade.sequence()
+            || lastTrade.sequence() == this.lastTrade.sequence() && lastTrade.timestamp() >= this.lastTrade.timestamp()) {
+            this.lastTrade = lastTrade;
+        }
+    }
+
+    synchronized void onQuotation(QuotationUpdate quotationUpdate) {
+        addQuotation(new CurrentQuotation(quotationUpdate.timestamp(), quotationUpdate.price()));
+    }
+
+    /**
+     * Replaces the replicated state with the one loaded from the engine. Quotations received while the snapshot was
+     * loaded and newer than its last quotation are kept.
+     *
+     * @return {@code false} when the book snapshot is already outdated or the ticker moved to another node since
+     * {@code nodeUrl} answered, it has to be loaded again
+     */
+    boolean load(String nodeUrl, OrdersSnapshot ordersSnapshot, MarketSnapshot marketSnapshot, List<CurrentQuotation> quotationHistory) {
+        synchronized (this) {
+            if (!follows(nodeUrl)) {
+                return false;
+            }
+            if (marketSnapshot.lastTrade() != null) {
+                onLastTrade(marketSnapshot.lastTrade());
+            }
+            long lastLoadedTimestamp = quotationHistory.isEmpty() ? Long.MIN_VALUE : quotationHistory.getLast().timestamp();
+            List<CurrentQuotation> receivedQuotations = quotations.stream()
+                                                                  .filter(quotation -> quotation.timestamp() > lastLoadedTimestamp)
+                                                                  .toList();
+            quotations.clear();
+            quotationHistory.forEach(this::addQuotation);
+            receivedQuotations.forEach(this::addQuotation);
+            quotationsLoaded = true;
+        }
+        return orderBookReplica.load(ordersSnapshot);
+    }
+
+    /**
+     * Drops state which cannot be compared with the updates of a new connection until the next {@link #load}.
+     */
+    synchronized void invalidate() {
+        lastTrade = null;
+        orderBookReplica.invalidate();
+    }
+
+    boolean startResync() {
+        return resyncing.compareAndSet(false, true);
+    }
+
+    void finishResync() {
+        resyncing.set(false);
+    }
+
+    synchronized boolean synced() {
+        return quotationsLoaded && orderBookReplica.synced();
+    }
+
+    long sequence() {
+        return orderBookReplica.sequence();
+    }
+
+    synchronized CurrentQuotation currentQuote() {
+        return quotations.getLast();
+    }
+
+    Page<CurrentQuotation> lastQuotes(Pagination pagination) {
+        if (pagination.size() <= 0) {
+            throw new IllegalStateException("Cannot get last quotes for size value less or equal to 0");
+        }
+        if (pagination.page() < 0) {
+            throw new IllegalStateException("Cannot get last quotes for page value less than 0");
+        }
+        List<CurrentQuotation> orderedQuotations;
+        synchronized (this) {
+            orderedQuotations = new ArrayList<>(quotations);
+        }
+        switch (pagination.orderBy()) {
+            case ASC -> {
+            }
+            case DESC -> Collections.reverse(orderedQuotations);
+        }
+        int fromIndex = pagination.page() * pagination.size();
+        if (fromIndex >= orderedQuotations.size()) {
+            return Page.of(List.of(), pagination);
+        }
+        int toIndex = Math.min(fromIndex + pagination.size(), orderedQuotations.size());
+        return Page.of(List.copyOf(orderedQuotations.subList(fromIndex, toIndex)), pagination);
+    }
+
+    BookSnapshot bookSnapshot() {
+        return orderBookReplica.bookSnapshot();
+    }
+
+    OrdersSnapshot ordersSnapshot() {
+        return orderBookReplica.ordersSnapshot();
+    }
+
+    Page<BookOrder> bookOrders(OrderDirection side, Pagination pagination) {
+        return Page.of(orderBookReplica.bookOrders(side, pagination.page() * pagination.size(), pagination.size()), pagination);
+    }
+
+    MarketSnapshot marketSnapshot() {
+        BookSnapshot topLevels = orderBookReplica.bookSnapshot(MARKET_SNAPSHOT_DEPTH);
+        PriceLevel bestBid = topLevels.bids().isEmpty() ? null : topLevels.bids().getFirst();
+        PriceLevel bestAsk = topLevels.asks().isEmpty() ? null : topLevels.asks().getFirst();
+        LastTrade replicatedLastTrade;
+        synchronized (this) {
+            replicatedLastTrade = lastTrade;
+        }
+        return new MarketSnapshot(ticker, topLevels.sequence(), bestBid == null ? null : bestBid.price(), bestBid == null ? 0L : bestBid.volume(),
+                                  bestAsk == null ? null : bestAsk.price(), bestAsk == null ? 0L : bestAsk.volume(), replicatedLastTrade, topLevels.bids(),
+                                  topLevels.asks());
+    }
+
+    private void addQuotation(CurrentQuotation currentQuotation) {
+        if (quotations.size() == quoteHistorySize) {
+            quotations.removeFirst();
+        }
+        quotations.addLast(currentQuotation);
+    }
+}
@@ -0,0 +1,224 @@
+package com.iflash.obs.replica;
+
+import com.iflash.core.marketdata.BookOrder;
+import com.iflash.core.marketdata.BookSnapshot;
+import com.iflash.core.marketdata.BookUpdate;
+import com.iflash.core.marketdata.BookUpdateType;
+import com.iflash.core.marketdata.MarketSnapshot;
+import com.iflash.core.marketdata.OrdersSnapshot;
+import com.iflash.core.marketdata.PriceLevel;
+import com.iflash.core.order.OrderDirection;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"replica.reconnect-delay=100ms", "replica.node-refresh-interval=100ms"})
+class ReplicationConsumerTest {
+
+    private static final String TICKER = "AAPL";
+    private static final String HANDED_OVER_TICKER = "MSFT";
+    private static final BigDecimal PRICE = new BigDecimal("245.27");
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder().build();
+    private static final EngineNode ENGINE_NODE_1 = engineNode(Set.of(TICKER, HANDED_OVER_TICKER));
+    private static final EngineNode ENGINE_NODE_2 = engineNode(Set.of());
+
+    @Autowired
+    private ReplicaStore replicaStore;
+
+    @DynamicPropertySource
+    static void engineUrl(DynamicPropertyRegistry registry) {
+        registry.add("replica.engine-url", ENGINE_NODE_1::url);
+    }
+
+    @AfterAll
+    static void stopEngine() {
+        List.of(ENGINE_NODE_1, ENGINE_NODE_2).forEach(engineNode -> engineNode.server().stop(0));
+    }
+
+    @Test
+    @DisplayName("Should load snapshot on connect, apply updates in sequence and reload snapshot after a sequence gap")
+    void shouldApplyUpdatesAndResyncAfterSequenceGap() {
+        awaitStatus(TICKER, true, 5L);
+        assertEquals(List.of(new PriceLevel(PRICE, 10L)), replicaStore.getBookSnapshot(TICKER).bids());
+
+        ENGINE_NODE_1.publish("book-update", bookUpdate(TICKER, 6L, 3L, 13L));
+        awaitStatus(TICKER, true, 6L);
+        BookSnapshot appliedSnapshot = replicaStore.getBookSnapshot(TICKER);
+
+        ENGINE_NODE_1.ordersSnapshots().put(TICKER, ordersSnapshot(TICKER, 9L, 20L));
+        ENGINE_NODE_1.publish("book-update", bookUpdate(TICKER, 8L, 4L, 17L)); // sequence 7 was lost
+        awaitStatus(TICKER, true, 9L);
+        BookSnapshot resyncedSnapshot = replicaStore.getBookSnapshot(TICKER);
+
+        assertAll(() -> assertEquals(List.of(new PriceLevel(PRICE, 13L)), appliedSnapshot.bids()),
+                  () -> assertEquals(List.of(new PriceLevel(PRICE, 20L)), resyncedSnapshot.bids()),
+                  () -> assertEquals(2, ENGINE_NODE_1.ordersSnapshotLoads(TICKER)),
+                  () -> assertEquals(PRICE, replicaStore.getCurrentQuote(TICKER).price()));
+    }
+
+    @Test
+    @DisplayName("Should follow a handed over ticker to its new owner and skip updates of the previous owner")
+    void shouldFollowTickerToItsNewOwner() {
+        awaitStatus(HANDED_OVER_TICKER, true, 5L);
+
+        ENGINE_NODE_1.publish("ticker-released", Map.of("ticker", HANDED_OVER_TICKER));
+        awaitStatus(HANDED_OVER_TICKER, false, 5L);
+        ENGINE_NODE_2.ordersSnapshots().put(HANDED_OVER_TICKER, ordersSnapshot(HANDED_OVER_TICKER, 2L, 7L));
+        ENGINE_NODE_2.publish("ticker-held", Map.of("ticker", HANDED_OVER_TICKER));
+        awaitStatus(HANDED_OVER_TICKER, true, 2L);
+
+        ENGINE_NODE_1.publish("book-update", bookUpdate(HANDED_OVER_TICKER, 3L, 100L, 107L)); // late update of the previous owner
+        ENGINE_NODE_1.publish("ticker-held", Map.of("ticker", "PROBE"));
+        await(() -> replicaStore.getReplicaStatus().stream().anyMatch(replicaStatus -> replicaStatus.ticker().equals("PROBE")));
+        ENGINE_NODE_2.publish("book-update", bookUpdate(HANDED_OVER_TICKER, 3L, 2L, 9L));
+        awaitStatus(HANDED_OVER_TICKER, true, 3L);
+
+        assertAll(() -> assertEquals(List.of(new PriceLevel(PRICE, 9L)), replicaStore.getBookSnapshot(HANDED_OVER_TICKER).bids()),
+                  () -> assertEquals(1, ENGINE_NODE_2.ordersSnapshotLoads(HANDED_OVER_TICKER)));
+    }
+
+    private void awaitStatus(String ticker, boolean synced, long sequence) {
+        await(() -> replicaStore.getReplicaStatus()
+                                .contains(new ReplicaStatus(ticker, synced, sequence)));
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Replica did not reach expected state");
+            try {
+                Thread.sleep(20L);
+            }
+            catch (InterruptedException interruptedException) {
+                throw new IllegalStateException(interruptedException);
+            }
+        }
+    }
+
+    private static BookUpdate bookUpdate(String ticker, long sequence, long volume, long levelVolume) {
+        return new BookUpdate(ticker, sequence, BookUpdateType.ADD, OrderDirection.BID, UUID.randomUUID(), PRICE, volume, levelVolume);
+    }
+
+    private static OrdersSnapshot ordersSnapshot(String ticker, long sequence, long volume) {
+        return new OrdersSnapshot(ticker, sequence, List.of(new BookOrder(UUID.randomUUID(), PRICE, volume)), List.of());
+    }
+
+    private static void engineEndpoint(EngineNode engineNode, HttpExchange exchange) throws IOException {
+        String[] path = exchange.getRequestURI().getPath().substring("/api/v1/".length()).split("/");
+        switch (String.join("/", path)) {
+            case "partition" -> respond(exchange, "{\"liveNodes\":[{\"nodeId\":\"node-1\",\"url\":\"" + ENGINE_NODE_1.url() + "\"},"
+                                                  + "{\"nodeId\":\"node-2\",\"url\":\"" + ENGINE_NODE_2.url() + "\"}]}");
+            case "stream/replication" -> replicationStream(engineNode, exchange);
+            case "partition/instruments" -> respond(exchange, JSON_MAPPER.writeValueAsString(engineNode.heldTickers()
+                                                                                                       .stream()
+                                                                                                       .map(ticker -> Map.of("ticker", ticker, "currentPrice", PRICE))
+                                                                                                       .toList()));
+            default -> tickerEndpoint(engineNode, exchange, path);
+        }
+    }
+
+    private static void tickerEndpoint(EngineNode engineNode, HttpExchange exchange, String[] path) throws IOException {
+        OrdersSnapshot ordersSnapshot = path.length == 3 ? engineNode.ordersSnapshots().get(path[1]) : null;
+        if (ordersSnapshot == null) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        switch (path[0] + "/" + path[2]) {
+            case "orderbook/orders" -> {
+                engineNode.ordersSnapshotLoads().computeIfAbsent(path[1], ignored -> new AtomicInteger()).incrementAndGet();
+                respond(exchange, JSON_MAPPER.writeValueAsString(ordersSnapshot));
+            }
+            case "orderbook/top" -> respond(exchange, JSON_MAPPER.writeValueAsString(
+                    new MarketSnapshot(path[1], ordersSnapshot.sequence(), null, 0L, null, 0L, null, List.of(), List.of())));
+            case "quotation/quotes" -> respond(exchange, "{\"ticker\":\"" + path[1] + "\",\"quotations\":{\"elements\":[{\"quoteTimestamp\":1,\"price\":"
+                                                         + PRICE + "}]}}");
+            default -> {
+                exchange.sendResponseHeaders(404, -1);
+                exchange.close();
+            }
+        }
+    }
+
+    private static void replicationStream(EngineNode engineNode, HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write("event:replication-started\ndata:{\"timestamp\":1}\n\n".getBytes(StandardCharsets.UTF_8));
+            body.flush();
+            while (true) {
+                body.write(engineNode.events().take().getBytes(StandardCharsets.UTF_8));
+                body.flush();
+            }
+        }
+        catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    private static EngineNode engineNode(Set<String> heldTickers) {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            Map<String, OrdersSnapshot> ordersSnapshots = new ConcurrentHashMap<>();
+            heldTickers.forEach(ticker -> ordersSnapshots.put(ticker, ordersSnapshot(ticker, 5L, 10L)));
+            EngineNode engineNode = new EngineNode(server, heldTickers, new LinkedBlockingQueue<>(), ordersSnapshots, new ConcurrentHashMap<>());
+            server.createContext("/", exchange -> engineEndpoint(engineNode, exchange));
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.start();
+            return engineNode;
+        }
+        catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+
+    private record EngineNode(HttpServer server, Set<String> heldTickers, BlockingQueue<String> events, Map<String, OrdersSnapshot> ordersSnapshots,
+                              Map<String, AtomicInteger> ordersSnapshotLoads) {
+
+        String url() {
+            return "http://localhost:" + server.getAddress().getPort();
+        }
+
+        void publish(String event, Object data) {
+            events.add("event:" + event + "\ndata:" + JSON_MAPPER.writeValueAsString(data) + "\n\n");
+        }
+
+        int ordersSnapshotLoads(String ticker) {
+            return ordersSnapshotLoads.getOrDefault(ticker, new AtomicInteger()).get();
+        }
+    }
+}